@@ -19,6 +19,7 @@
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -32,6 +33,7 @@
 import org.apache.sqoop.common.SqoopException;
 import org.apache.sqoop.json.*;
 import org.apache.sqoop.model.*;
+import org.apache.sqoop.submission.SubmissionUtils;
 import org.apache.sqoop.validation.ConfigValidationResult;
 import org.apache.sqoop.validation.Status;
 
@@ -49,6 +51,12 @@
 @InterfaceStability.Unstable
 public class SqoopClient {
 
+  /**
+   * Older servers read the bulk status URL as the status of a job named "job"
+   * and fail with this message unless such a job exists.
+   */
+  private static final String OLD_SERVER_STATUS_ERROR = "Job: job doesn't exist";
+
   /**
    * Underlying request object to fetch data from Sqoop server.
    */
@@ -564,6 +572,7 @@ public MSubmission startJob(String jobName, SubmissionCallback callback, long po
     // What does first even mean in s distributed client/server model?
     boolean first = true;
     MSubmission submission = resourceRequests.startJob(jobName).getSubmissions().get(0);
+    boolean statusWait = true;
     // what happens when the server fails, do we just say finished?
     while(submission.getStatus().isRunning()) {
       if(first) {
@@ -572,15 +581,56 @@ public MSubmission startJob(String jobName, SubmissionCallback callback, long po
       } else {
         invokeSubmissionCallback(callback, submission, SubmissionStatus.UPDATED);
       }
-      Thread.sleep(pollTime);
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
 
-      //Works with both name as well as id (in string form) as argument
-      submission = getJobStatus(jobName);
+      // Server returns as soon as the submission changes or after pollTime at the latest.
+      // Works with both name as well as id (in string form) as argument
+      long start = System.currentTimeMillis();
+      MSubmission changed = statusWait ? waitForJobStatusChange(jobName, submission, pollTime) : null;
+      if (changed != null) {
+        pauseIfUnchanged(Collections.singletonList(submission), Collections.singletonList(changed), start, pollTime);
+      } else {
+        // Server doesn't support waiting for status change, poll it instead
+        statusWait = false;
+        Thread.sleep(pollTime);
+        changed = getJobStatus(jobName);
+      }
+      submission = changed;
     }
     invokeSubmissionCallback(callback, submission, SubmissionStatus.FINISHED);
     return submission;
   }
 
+  /**
+   * Wait for status change of a single job.
+   *
+   * @return Last submission of the job or null if the server doesn't support
+   *         waiting for status change
+   */
+  private MSubmission waitForJobStatusChange(String jobName, MSubmission lastSeen, long timeout) {
+    MSubmission submission;
+    try {
+      submission = waitForJobsStatusChange(Collections.singletonList(jobName),
+          Collections.singletonList(lastSeen), timeout).get(0);
+    } catch (SqoopException e) {
+      // Any other failure is a real one, it must not switch the client to
+      // polling for the rest of the job
+      if (isOldServerStatusError(e)) {
+        return null;
+      }
+      throw e;
+    }
+    // Older server with a job named "job" returns status of that job
+    return submission.getJobId() == lastSeen.getJobId() ? submission : null;
+  }
+
+  private static boolean isOldServerStatusError(SqoopException e) {
+    return e.getErrorCode() == ClientError.CLIENT_0001 && e.getCause() != null
+        && OLD_SERVER_STATUS_ERROR.equals(e.getCause().getMessage());
+  }
+
     public MSubmission startJob(long jobId, SubmissionCallback callback, long pollTime)
             throws InterruptedException {
       return startJob(String.valueOf(jobId), callback, pollTime);
@@ -652,6 +702,97 @@ public MSubmission getJobStatus(long jid) {
     return resourceRequests.getJobStatus(String.valueOf(jid)).getSubmissions().get(0);
   }
 
+  /**
+   * Get status for all given jobs using single request.
+   *
+   * @param jobNames Job names
+   * @return Last submission of every job in the same order as given names
+   */
+  public List<MSubmission> getJobsStatus(List<String> jobNames) {
+    return resourceRequests.getJobsStatus(jobNames, null, 0).getSubmissions();
+  }
+
+  /**
+   * Wait until status or progress of any of given jobs differs from given
+   * submissions or until the timeout expires. Server holds the request for the
+   * whole time so no polling is needed on the client side.
+   *
+   * @param jobNames Job names
+   * @param lastSeen Submissions previously returned for the same job names
+   * @param timeout Maximal number of milliseconds to wait, server might cap it
+   * @return Last submission of every job in the same order as given names
+   */
+  public List<MSubmission> waitForJobsStatusChange(List<String> jobNames,
+      List<MSubmission> lastSeen, long timeout) {
+    return resourceRequests.getJobsStatus(jobNames,
+        SubmissionUtils.getStateToken(lastSeen), timeout).getSubmissions();
+  }
+
+  /**
+   * Watch given jobs until none of them is running.
+   *
+   * Single server request is used for all jobs and it returns as soon as any
+   * of the jobs changes. Callback's updated method is invoked for every
+   * running submission that has changed, finished method once for every job
+   * that is not running (including jobs that were never executed).
+   *
+   * @param jobNames Job names
+   * @param callback User may set null if submission status is not required
+   * @param pollTime Maximal time between two status updates
+   * @return Final submissions in the same order as given names
+   * @throws InterruptedException
+   */
+  public List<MSubmission> watchJobs(List<String> jobNames, SubmissionCallback callback, long pollTime)
+      throws InterruptedException {
+    if(pollTime <= 0) {
+      throw new SqoopException(ClientError.CLIENT_0002);
+    }
+    List<MSubmission> submissions = getJobsStatus(jobNames);
+    String[] stateTokens = new String[jobNames.size()];
+    boolean[] finished = new boolean[jobNames.size()];
+    while(true) {
+      boolean running = false;
+      for (int i = 0; i < submissions.size(); i++) {
+        MSubmission submission = submissions.get(i);
+        String stateToken = SubmissionUtils.getStateToken(Collections.singletonList(submission));
+        if (submission.getStatus().isRunning()) {
+          running = true;
+          if (!stateToken.equals(stateTokens[i])) {
+            invokeSubmissionCallback(callback, submission, SubmissionStatus.UPDATED);
+          }
+        } else if (!finished[i]) {
+          finished[i] = true;
+          invokeSubmissionCallback(callback, submission, SubmissionStatus.FINISHED);
+        }
+        stateTokens[i] = stateToken;
+      }
+      if (!running) {
+        return submissions;
+      }
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+      long start = System.currentTimeMillis();
+      List<MSubmission> changed = waitForJobsStatusChange(jobNames, submissions, pollTime);
+      pauseIfUnchanged(submissions, changed, start, pollTime);
+      submissions = changed;
+    }
+  }
+
+  /**
+   * Server that is already holding too many status watch requests answers
+   * right away even when nothing has changed. Sleep for the rest of the poll
+   * time then, instead of asking again immediately.
+   */
+  private static void pauseIfUnchanged(List<MSubmission> lastSeen, List<MSubmission> current,
+      long start, long pollTime) throws InterruptedException {
+    long remaining = start + pollTime - System.currentTimeMillis();
+    if (remaining > 0
+        && SubmissionUtils.getStateToken(lastSeen).equals(SubmissionUtils.getStateToken(current))) {
+      Thread.sleep(remaining);
+    }
+  }
+
   /**
    * Retrieve list of all submissions.
    *
@@ -17,11 +17,14 @@
  */
 package org.apache.sqoop.client.request;
 
+import java.util.List;
+
 import org.apache.hadoop.security.token.delegation.web.DelegationTokenAuthenticatedURL;
 import org.apache.sqoop.json.JSONUtils;
 import org.apache.sqoop.json.JobBean;
 import org.apache.sqoop.json.JobsBean;
 import org.apache.sqoop.json.SubmissionBean;
+import org.apache.sqoop.json.SubmissionsBean;
 import org.apache.sqoop.json.ValidationResultBean;
 import org.apache.sqoop.model.MJob;
 import org.apache.sqoop.utils.UrlSafeUtils;
@@ -40,6 +43,7 @@ public class JobResourceRequest extends ResourceRequest {
   private static final String START = "/start";
   private static final String STOP = "/stop";
   private static final String STATUS = "/status";
+  private static final String JOBS_STATUS = "status";
 
   public JobResourceRequest(){
     super();
@@ -124,6 +128,31 @@ public SubmissionBean status(String serverUrl, String jobArg) {
     return createJobSubmissionResponse(response);
   }
 
+  /**
+   * Status of multiple jobs in one request. When stateToken is not null, server
+   * will hold the request until the state of the jobs differs from the token or
+   * until the timeout expires.
+   */
+  public SubmissionsBean status(String serverUrl, List<String> jobArgs, String stateToken, long timeout) {
+    StringBuilder names = new StringBuilder();
+    for (String jobArg : jobArgs) {
+      if (names.length() > 0) {
+        names.append(',');
+      }
+      names.append(UrlSafeUtils.urlEncode(jobArg));
+    }
+    StringBuilder url = new StringBuilder(serverUrl + RESOURCE + JOBS_STATUS);
+    url.append("?names=").append(UrlSafeUtils.urlEncode(names.toString()));
+    if (stateToken != null) {
+      url.append("&token=").append(UrlSafeUtils.urlEncode(stateToken));
+      url.append("&timeout=").append(timeout);
+    }
+    String response = super.get(url.toString());
+    SubmissionsBean submissionsBean = new SubmissionsBean();
+    submissionsBean.restore(JSONUtils.parse(response));
+    return submissionsBean;
+  }
+
   private SubmissionBean createJobSubmissionResponse(String response) {
     SubmissionBean submissionBean = new SubmissionBean();
     submissionBean.restore(JSONUtils.parse(response));
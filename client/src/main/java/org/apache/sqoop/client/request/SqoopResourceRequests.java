@@ -181,6 +181,10 @@ public SubmissionBean getJobStatus(String jArg) {
     return getJobResourceRequest().status(serverUrl, jArg);
   }
 
+  public SubmissionsBean getJobsStatus(List<String> jArgs, String stateToken, long timeout) {
+    return getJobResourceRequest().status(serverUrl, jArgs, stateToken, timeout);
+  }
+
   public SubmissionBean startJob(String jArg) {
     return getJobResourceRequest().start(serverUrl, jArg);
   }
@@ -19,6 +19,12 @@
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -26,6 +32,7 @@
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -37,14 +44,18 @@
 import org.apache.sqoop.common.SqoopException;
 import org.apache.sqoop.json.ConnectorBean;
 import org.apache.sqoop.json.DriverBean;
+import org.apache.sqoop.json.SubmissionBean;
+import org.apache.sqoop.json.SubmissionsBean;
 import org.apache.sqoop.model.MConfig;
 import org.apache.sqoop.model.MConnector;
 import org.apache.sqoop.model.MDriver;
 import org.apache.sqoop.model.MDriverConfig;
 import org.apache.sqoop.model.MFromConfig;
 import org.apache.sqoop.model.MLinkConfig;
+import org.apache.sqoop.model.MSubmission;
 import org.apache.sqoop.model.MToConfig;
 import org.apache.sqoop.model.MValidator;
+import org.apache.sqoop.submission.SubmissionStatus;
 import org.apache.sqoop.utils.MapResourceBundle;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -195,6 +206,122 @@ public void testCreateLink() {
     client.createLink("non existing connector");
   }
 
+  /**
+   * Watching multiple jobs should use one bulk status request per change and
+   * report every job as finished exactly once.
+   */
+  @Test
+  public void testWatchJobs() throws Exception {
+    List<String> jobNames = Arrays.asList("A", "B");
+    when(resourceRequests.getJobsStatus(eq(jobNames), (String) isNull(), anyLong())).thenReturn(
+        submissionsBean(submission(1, SubmissionStatus.RUNNING), submission(2, SubmissionStatus.RUNNING)));
+    when(resourceRequests.getJobsStatus(eq(jobNames), any(String.class), eq(100L))).thenReturn(
+        submissionsBean(submission(1, SubmissionStatus.SUCCEEDED), submission(2, SubmissionStatus.RUNNING)),
+        submissionsBean(submission(1, SubmissionStatus.SUCCEEDED), submission(2, SubmissionStatus.FAILED)));
+
+    SubmissionCallback callback = mock(SubmissionCallback.class);
+    List<MSubmission> submissions = client.watchJobs(jobNames, callback, 100);
+
+    assertEquals(SubmissionStatus.SUCCEEDED, submissions.get(0).getStatus());
+    assertEquals(SubmissionStatus.FAILED, submissions.get(1).getStatus());
+    verify(callback, times(2)).updated(any(MSubmission.class));
+    verify(callback, times(2)).finished(any(MSubmission.class));
+    verify(resourceRequests, times(1)).getJobsStatus(eq(jobNames), (String) isNull(), anyLong());
+    verify(resourceRequests, times(2)).getJobsStatus(eq(jobNames), any(String.class), eq(100L));
+  }
+
+  /**
+   * Synchronous start waits for status changes on the server.
+   */
+  @Test
+  public void testStartJobWithCallback() throws Exception {
+    List<String> jobNames = Arrays.asList("A");
+    when(resourceRequests.startJob("A")).thenReturn(new SubmissionBean(submission(1, SubmissionStatus.BOOTING)));
+    when(resourceRequests.getJobsStatus(eq(jobNames), any(String.class), eq(100L))).thenReturn(
+        submissionsBean(submission(1, SubmissionStatus.RUNNING)),
+        submissionsBean(submission(1, SubmissionStatus.SUCCEEDED)));
+
+    SubmissionCallback callback = mock(SubmissionCallback.class);
+    MSubmission submission = client.startJob("A", callback, 100);
+
+    assertEquals(submission.getStatus(), SubmissionStatus.SUCCEEDED);
+    verify(callback, times(1)).submitted(any(MSubmission.class));
+    verify(callback, times(1)).updated(any(MSubmission.class));
+    verify(callback, times(1)).finished(any(MSubmission.class));
+    verify(resourceRequests, times(2)).getJobsStatus(eq(jobNames), any(String.class), eq(100L));
+    verify(resourceRequests, times(0)).getJobStatus("A");
+  }
+
+  /**
+   * Servers without support for waiting on status change are polled.
+   */
+  @Test
+  public void testStartJobWithCallbackOnOldServer() throws Exception {
+    List<String> jobNames = Arrays.asList("A");
+    when(resourceRequests.startJob("A")).thenReturn(new SubmissionBean(submission(1, SubmissionStatus.BOOTING)));
+    // Server side error as recreated by the client
+    when(resourceRequests.getJobsStatus(eq(jobNames), any(String.class), eq(10L))).thenThrow(
+        new SqoopException(ClientError.CLIENT_0001, new Throwable("Job: job doesn't exist")));
+    when(resourceRequests.getJobStatus("A")).thenReturn(
+        new SubmissionBean(submission(1, SubmissionStatus.RUNNING)),
+        new SubmissionBean(submission(1, SubmissionStatus.SUCCEEDED)));
+
+    MSubmission submission = client.startJob("A", null, 10);
+
+    assertEquals(submission.getStatus(), SubmissionStatus.SUCCEEDED);
+    verify(resourceRequests, times(1)).getJobsStatus(eq(jobNames), any(String.class), eq(10L));
+    verify(resourceRequests, times(2)).getJobStatus("A");
+  }
+
+  /**
+   * Busy server answers right away without a change, the client doesn't ask
+   * again before the poll time is over.
+   */
+  @Test
+  public void testStartJobWithCallbackOnBusyServer() throws Exception {
+    List<String> jobNames = Arrays.asList("A");
+    when(resourceRequests.startJob("A")).thenReturn(new SubmissionBean(submission(1, SubmissionStatus.RUNNING)));
+    when(resourceRequests.getJobsStatus(eq(jobNames), any(String.class), eq(200L))).thenReturn(
+        submissionsBean(submission(1, SubmissionStatus.RUNNING)),
+        submissionsBean(submission(1, SubmissionStatus.SUCCEEDED)));
+
+    long start = System.currentTimeMillis();
+    MSubmission submission = client.startJob("A", null, 200);
+
+    assertEquals(submission.getStatus(), SubmissionStatus.SUCCEEDED);
+    assertTrue(System.currentTimeMillis() - start >= 200);
+    verify(resourceRequests, times(2)).getJobsStatus(eq(jobNames), any(String.class), eq(200L));
+  }
+
+  /**
+   * Other failures of the status wait are not mistaken for an older server.
+   */
+  @Test
+  public void testStartJobWithCallbackFailure() throws Exception {
+    List<String> jobNames = Arrays.asList("A");
+    when(resourceRequests.startJob("A")).thenReturn(new SubmissionBean(submission(1, SubmissionStatus.BOOTING)));
+    when(resourceRequests.getJobsStatus(eq(jobNames), any(String.class), eq(10L))).thenThrow(
+        new SqoopException(ClientError.CLIENT_0000));
+
+    try {
+      client.startJob("A", null, 10);
+      fail("Status wait failure should be propagated");
+    } catch (SqoopException e) {
+      assertEquals(e.getErrorCode(), ClientError.CLIENT_0000);
+    }
+    verify(resourceRequests, times(0)).getJobStatus("A");
+  }
+
+  private SubmissionsBean submissionsBean(MSubmission...submissions) {
+    return new SubmissionsBean(Arrays.asList(submissions));
+  }
+
+  private MSubmission submission(long jobId, SubmissionStatus status) {
+    MSubmission submission = new MSubmission(jobId);
+    submission.setStatus(status);
+    return submission;
+  }
+
   private ConnectorBean connectorBean(MConnector...connectors) {
     List<MConnector> connectorList = new ArrayList<MConnector>();
     Map<String, ResourceBundle> bundles = new HashMap<String, ResourceBundle>();
@@ -68,6 +68,6 @@ public void stopZookeeper() throws IOException {
     }
 
     public String getConnectString() {
-        return ZOOKEEPER_HOSTS + zkPort;
+        return ZOOKEEPER_HOSTS + ":" + zkPort;
     }
 }
@@ -30,6 +30,9 @@ public enum AuditLoggerError implements ErrorCode {
   /** The audit logger name is not given. */
   AUDIT_0002("The logger name for FileAuditLogger is not specified"),
 
+  /** The audit queue overflow policy is not valid. */
+  AUDIT_0003("Invalid audit queue overflow policy"),
+
   ;
 
   private final String message;
@@ -83,6 +83,8 @@ public enum GenericJdbcConnectorError implements ErrorCode {
 
   GENERIC_JDBC_CONNECTOR_0025("No primary key"),
 
+  GENERIC_JDBC_CONNECTOR_0026("Invalid incremental read configuration"),
+
   ;
 
   private final String message;
@@ -38,6 +38,9 @@ public enum HdfsConnectorError implements ErrorCode{
 
   GENERIC_HDFS_CONNECTOR_0008("Error occurs during destroyer run"),
 
+  /** Avro or Parquet input file can't be read into the job schema */
+  GENERIC_HDFS_CONNECTOR_0009("Unable to map input file schema to the job schema"),
+
   ;
 
   private final String message;
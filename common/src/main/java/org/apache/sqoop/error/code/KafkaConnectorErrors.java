@@ -22,7 +22,10 @@
 public enum KafkaConnectorErrors implements ErrorCode {
 
   KAFKA_CONNECTOR_0000("Unknown error occurred."),
-  KAFKA_CONNECTOR_0001("Error occurred while sending data to Kafka")
+  KAFKA_CONNECTOR_0001("Error occurred while sending data to Kafka"),
+  KAFKA_CONNECTOR_0002("Key column is not part of the schema"),
+  KAFKA_CONNECTOR_0003("Unable to get topic metadata from Kafka"),
+  KAFKA_CONNECTOR_0004("Error occurred while fetching data from Kafka")
   ;
 
   private final String message;
@@ -33,6 +33,12 @@ public enum KiteConnectorError implements ErrorCode {
   /** Error occurred while creating partitions */
   GENERIC_KITE_CONNECTOR_0003("Error occurred while creating partitions"),
 
+  /** Error occurred while reading a dataset file */
+  GENERIC_KITE_CONNECTOR_0004("Error occurred while reading dataset file"),
+
+  /** Error occurred while merging temporary datasets */
+  GENERIC_KITE_CONNECTOR_0005("Error occurred while merging temporary datasets"),
+
   ;
 
   private final String message;
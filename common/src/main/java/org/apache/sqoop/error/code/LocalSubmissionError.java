@@ -0,0 +1,58 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.error.code;
+
+import org.apache.sqoop.common.ErrorCode;
+
+/**
+ * Errors of the in-process (local) submission engine.
+ */
+public enum LocalSubmissionError implements ErrorCode {
+
+  LOCAL_0001("Unknown error"),
+
+  LOCAL_0002("Failure on submission engine initialization"),
+
+  LOCAL_0003("Unknown local job"),
+
+  LOCAL_0004("Error occurs during partitioner run"),
+
+  LOCAL_0005("Error occurs during extractor run"),
+
+  LOCAL_0006("Error occurs during loader run"),
+
+  LOCAL_0007("Job has been stopped"),
+
+  LOCAL_0008("Job has been lost, most likely because of server restart"),
+
+  ;
+
+  private final String message;
+
+  private LocalSubmissionError(String message) {
+    this.message = message;
+  }
+
+  public String getCode() {
+    return name();
+  }
+
+  public String getMessage() {
+    return message;
+  }
+}
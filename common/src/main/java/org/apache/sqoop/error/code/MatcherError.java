@@ -27,6 +27,8 @@
 public enum MatcherError implements ErrorCode {
   MATCHER_0000("To few Schemas provided."),
 
+  MATCHER_0001("Value can't be converted to the type of the target column without loss of information"),
+
   ;
 
   private final String message;
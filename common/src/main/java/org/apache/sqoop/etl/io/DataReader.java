@@ -17,6 +17,9 @@
  */
 package org.apache.sqoop.etl.io;
 
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
 import org.apache.sqoop.classification.InterfaceAudience;
 import org.apache.sqoop.classification.InterfaceStability;
 
@@ -28,6 +31,8 @@
 @InterfaceStability.Unstable
 public abstract class DataReader {
 
+  private static final Charset UTF8 = Charset.forName("UTF-8");
+
   /**
    * Read data from the execution engine as an object array.
    * @return - array of objects with each column represented as an object
@@ -35,6 +40,32 @@ public abstract class DataReader {
    */
   public abstract Object[] readArrayRecord() throws Exception;
 
+  /**
+   * Read block of records from the execution engine as object arrays.
+   *
+   * Fewer than max records might be returned even when more data will
+   * follow, only null indicates that there is no more data. Default
+   * implementation repeatedly calls readArrayRecord(), execution engines
+   * are expected to override it when they are able to hand over rows in
+   * blocks.
+   *
+   * @param max - maximal number of records to return
+   * @return - array of records or null if there is no more data
+   * @throws Exception
+   */
+  public Object[][] readArrayRecords(int max) throws Exception {
+    Object[][] rows = new Object[max][];
+    int count = 0;
+    Object[] row;
+    while (count < max && (row = readArrayRecord()) != null) {
+      rows[count++] = row;
+    }
+    if (count == 0) {
+      return null;
+    }
+    return count == max ? rows : Arrays.copyOf(rows, count);
+  }
+
   /**
    * Read data from execution engine as text - as a CSV record.
    * public abstract Object readContent(int type) throws Exception;
@@ -43,6 +74,20 @@ public abstract class DataReader {
    */
   public abstract String readTextRecord() throws Exception;
 
+  /**
+   * Read data from execution engine as UTF-8 encoded text - as a CSV record.
+   * Loaders that write the record out as bytes can avoid encoding a String.
+   * The returned array must not be modified. Default implementation encodes
+   * result of readTextRecord(), execution engines are expected to override
+   * it when they carry records as bytes.
+   * @return - CSV formatted data or null if there is no more data
+   * @throws Exception
+   */
+  public byte[] readTextRecordBytes() throws Exception {
+    String text = readTextRecord();
+    return text == null ? null : text.getBytes(UTF8);
+  }
+
   /**
    * Read data from execution engine as a native format.
    * @return - the content in the native format of the intermediate data
@@ -17,6 +17,8 @@
  */
 package org.apache.sqoop.etl.io;
 
+import java.nio.charset.Charset;
+
 import org.apache.sqoop.classification.InterfaceAudience;
 import org.apache.sqoop.classification.InterfaceStability;
 
@@ -28,12 +30,29 @@
 @InterfaceStability.Unstable
 public abstract class DataWriter {
 
+  private static final Charset UTF8 = Charset.forName("UTF-8");
+
   /**
    * Write an array of objects into the execution framework
    * @param array - data to be written
    */
   public abstract void writeArrayRecord(Object[] array);
 
+  /**
+   * Write block of object arrays into the execution framework. Only the
+   * first count rows are written, the rows array itself can be reused by
+   * the caller once this method returns. Default implementation repeatedly
+   * calls writeArrayRecord(), execution engines are expected to override it
+   * when they are able to hand over rows in blocks.
+   * @param rows - data to be written
+   * @param count - number of rows to be written
+   */
+  public void writeArrayRecords(Object[][] rows, int count) {
+    for (int i = 0; i < count; i++) {
+      writeArrayRecord(rows[i]);
+    }
+  }
+
   /**
    * Write data into execution framework as text. The Intermediate Data Format
    * may choose to convert the data to another format based on how the data
@@ -42,6 +61,21 @@ public abstract class DataWriter {
    */
   public abstract void writeStringRecord(String text);
 
+  /**
+   * Write data into execution framework as UTF-8 encoded text - as a CSV
+   * record. Connectors that already hold the record as bytes can avoid
+   * decoding it into a String. The bytes are copied, the caller can reuse the
+   * array once this method returns. Default implementation decodes the text
+   * and calls writeStringRecord(), execution engines are expected to override
+   * it when they are able to carry the bytes through.
+   * @param bytes - buffer containing the record
+   * @param offset - offset of the record in the buffer
+   * @param length - length of the record in bytes
+   */
+  public void writeTextRecord(byte[] bytes, int offset, int length) {
+    writeStringRecord(new String(bytes, offset, length, UTF8));
+  }
+
   /**
    * Write data in the intermediate data format's native format.
    * @param obj - data to be written
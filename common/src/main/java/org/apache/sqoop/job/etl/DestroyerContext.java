@@ -35,6 +35,8 @@ public class DestroyerContext extends TransferableContext {
 
   private Schema schema;
 
+  private volatile double progress = -1;
+
   public DestroyerContext(ImmutableContext context, boolean success, Schema schema, String user) {
     super(context, user);
     this.success = success;
@@ -59,4 +61,27 @@ public Schema getSchema() {
     return schema;
   }
 
+  /**
+   * Report how much of the destroyer work is done.
+   *
+   * Only the local submission engine includes it in the progress of the
+   * submission. The map reduce engine runs destroyers in the output
+   * committer of the job and the spark engine as part of the submit call,
+   * neither of them publishes the value.
+   *
+   * @param progress Fraction of the work between 0 and 1
+   */
+  public void setProgress(double progress) {
+    this.progress = progress;
+  }
+
+  /**
+   * Return progress reported by the destroyer.
+   *
+   * @return Fraction of the work between 0 and 1 or -1 if not reported
+   */
+  public double getProgress() {
+    return progress;
+  }
+
 }
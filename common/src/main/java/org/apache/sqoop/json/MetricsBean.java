@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.json;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.apache.sqoop.classification.InterfaceAudience;
+import org.apache.sqoop.classification.InterfaceStability;
+import org.json.simple.JSONObject;
+
+/**
+ * Snapshot of server metrics, metric name to its value.
+ */
+@InterfaceAudience.Private
+@InterfaceStability.Unstable
+public class MetricsBean implements JsonBean {
+
+  public static final String METRICS = "metrics";
+
+  private SortedMap<String, Long> metrics;
+
+  // for "extract"
+  public MetricsBean(Map<String, Long> metrics) {
+    this.metrics = new TreeMap<String, Long>(metrics);
+  }
+
+  // for "restore"
+  public MetricsBean() {
+    this.metrics = new TreeMap<String, Long>();
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public JSONObject extract(boolean skipSensitive) {
+    JSONObject metricsObject = new JSONObject();
+    metricsObject.putAll(metrics);
+    JSONObject result = new JSONObject();
+    result.put(METRICS, metricsObject);
+    return result;
+  }
+
+  @Override
+  public void restore(JSONObject jsonObject) {
+    metrics.clear();
+    JSONObject metricsObject = JSONUtils.getJSONObject(jsonObject, METRICS);
+    for (Object key : metricsObject.keySet()) {
+      metrics.put((String) key, ((Number) metricsObject.get(key)).longValue());
+    }
+  }
+
+  public SortedMap<String, Long> getMetrics() {
+    return metrics;
+  }
+}
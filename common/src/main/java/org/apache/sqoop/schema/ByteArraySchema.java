@@ -33,7 +33,7 @@ public class ByteArraySchema extends Schema {
   private static final String BYTE_ARRAY_COLUMN_NAME = "ByteArraySchema_Bytes";
 
   public static final ByteArraySchema instance = (ByteArraySchema) new ByteArraySchema()
-      .addColumn(new Binary(BYTE_ARRAY_COLUMN_NAME));
+      .addColumn(new Binary(BYTE_ARRAY_COLUMN_NAME)).freeze();
 
   public static ByteArraySchema getInstance() {
     return instance;
@@ -22,9 +22,11 @@
 import org.apache.sqoop.classification.InterfaceStability;
 import org.apache.sqoop.common.SqoopException;
 import org.apache.sqoop.schema.type.Column;
+import org.apache.sqoop.schema.type.ColumnType;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -76,6 +78,21 @@ public class Schema implements Serializable{
 
   int columnIndex;
 
+  /**
+   * Frozen schema can't be changed anymore.
+   */
+  private boolean frozen;
+
+  /**
+   * Cached columns array, rebuilt lazily whenever columns change.
+   */
+  private transient volatile Column[] columnsArray;
+
+  /**
+   * Cached column types in the same order as columns.
+   */
+  private transient volatile ColumnType[] columnTypes;
+
   private Schema() {
     creationDate = new Date();
     columns = new ArrayList<Column>();
@@ -102,6 +119,7 @@ public Schema(String name) {
    * @return a reference to this object
    */
   public Schema addColumn(Column column) {
+    checkNotFrozen();
     if(columNames.contains(column.getName())) {
       throw new SqoopException(SchemaError.SCHEMA_0002, "Column: " + column);
     }
@@ -109,9 +127,54 @@ public Schema addColumn(Column column) {
     columns.add(column);
     nameToIndexMap.put(column.getName(), columnIndex);
     columnIndex ++;
+    columnsArray = null;
+    columnTypes = null;
+    return this;
+  }
+
+  /**
+   * Make the schema immutable.
+   *
+   * Execution engines are freezing schemas before processing any data, hot
+   * paths can then rely on cached column arrays and lookups.
+   *
+   * @return a reference to this object
+   */
+  public Schema freeze() {
+    if (!frozen) {
+      getColumnsArray();
+      getColumnTypes();
+      frozen = true;
+    }
     return this;
   }
 
+  public boolean isFrozen() {
+    return frozen;
+  }
+
+  /**
+   * Create a schema with the same name, note, creation date and columns. The
+   * copy is not frozen even if this schema is.
+   *
+   * @return New schema instance
+   */
+  public Schema copy() {
+    Schema copy = new Schema(name);
+    copy.note = note;
+    copy.creationDate = creationDate != null ? new Date(creationDate.getTime()) : null;
+    for (Column column : columns) {
+      copy.addColumn(column);
+    }
+    return copy;
+  }
+
+  private void checkNotFrozen() {
+    if (frozen) {
+      throw new SqoopException(SchemaError.SCHEMA_0008, "Schema: " + name);
+    }
+  }
+
   public String getName() {
     return name;
   }
@@ -128,11 +191,13 @@ public String getNote() {
   }
 
   public Schema setNote(String note) {
+    checkNotFrozen();
     this.note = note;
     return this;
   }
 
   public Schema setCreationDate(Date creationDate) {
+    checkNotFrozen();
     if (creationDate != null) {
       this.creationDate = new Date(creationDate.getTime());
     } else {
@@ -141,12 +206,42 @@ public Schema setCreationDate(Date creationDate) {
     return this;
   }
 
+  /**
+   * Return columns as an array. The array is cached and shared by all
+   * callers, it must not be modified.
+   *
+   * @return Columns in the order in which they were added
+   */
   public Column[] getColumnsArray() {
-    return columns.toArray(new Column[columns.size()]);
+    Column[] array = columnsArray;
+    if (array == null) {
+      array = columns.toArray(new Column[columns.size()]);
+      columnsArray = array;
+    }
+    return array;
+  }
+
+  /**
+   * Return types of all columns in the order of the columns. The array is
+   * cached and shared by all callers, it must not be modified.
+   *
+   * @return Column types
+   */
+  public ColumnType[] getColumnTypes() {
+    ColumnType[] types = columnTypes;
+    if (types == null) {
+      Column[] array = getColumnsArray();
+      types = new ColumnType[array.length];
+      for (int i = 0; i < array.length; i++) {
+        types[i] = array[i].getType();
+      }
+      columnTypes = types;
+    }
+    return types;
   }
 
   public List<Column> getColumnsList() {
-    return columns;
+    return frozen ? Collections.unmodifiableList(columns) : columns;
   }
 
   public int getColumnsCount() {
@@ -154,8 +249,9 @@ public int getColumnsCount() {
   }
 
   public Integer getColumnNameIndex(String name) {
-    if (columNames.contains(name)) {
-      return nameToIndexMap.get(name);
+    Integer index = nameToIndexMap.get(name);
+    if (index != null) {
+      return index;
     }
     throw new SqoopException(SchemaError.SCHEMA_0007, "Column: " + name);
   }
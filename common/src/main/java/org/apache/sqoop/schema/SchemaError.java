@@ -44,6 +44,8 @@ public enum SchemaError implements ErrorCode {
 
   SCHEMA_0007("Unknown column name"),
 
+  SCHEMA_0008("Schema can't be modified once it's frozen"),
+
   ;
 
   private final String message;
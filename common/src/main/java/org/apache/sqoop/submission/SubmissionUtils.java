@@ -0,0 +1,58 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.submission;
+
+import java.util.Collection;
+
+import org.apache.sqoop.classification.InterfaceAudience;
+import org.apache.sqoop.classification.InterfaceStability;
+import org.apache.sqoop.model.MSubmission;
+
+/**
+ * Helper methods shared by client and server when watching submissions.
+ */
+@InterfaceAudience.Private
+@InterfaceStability.Unstable
+public final class SubmissionUtils {
+
+  /**
+   * Compute token describing observable state (status, progress and external
+   * job id) of given submissions.
+   *
+   * Client will send back the last token it has seen and server will hold the
+   * request until the token of the watched submissions changes. Both sides
+   * need to compute the token exactly the same way.
+   *
+   * @param submissions Submissions in the order in which they are watched
+   * @return Hex encoded state token
+   */
+  public static String getStateToken(Collection<MSubmission> submissions) {
+    long hash = 1125899906842597L;
+    for (MSubmission submission : submissions) {
+      hash = 31 * hash + submission.getJobId();
+      hash = 31 * hash + (submission.getStatus() == null ? 0 : submission.getStatus().ordinal() + 1);
+      hash = 31 * hash + Double.doubleToLongBits(submission.getProgress());
+      hash = 31 * hash + (submission.getExternalJobId() == null ? 0 : submission.getExternalJobId().hashCode());
+    }
+    return Long.toHexString(hash);
+  }
+
+  private SubmissionUtils() {
+    // Disable explicit object creation
+  }
+}
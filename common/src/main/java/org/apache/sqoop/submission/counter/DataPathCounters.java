@@ -0,0 +1,175 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.submission.counter;
+
+import java.util.Date;
+
+import org.apache.sqoop.classification.InterfaceAudience;
+import org.apache.sqoop.classification.InterfaceStability;
+
+/**
+ * Incrementally updated SqoopCounters of one side (extracting or loading) of
+ * a running task.
+ *
+ * Time is attributed to counters by marking boundaries between the phases of
+ * the data path, so every row costs only a few System.nanoTime calls. The
+ * class is not thread safe, every thread has to use its own instance and the
+ * execution engine is responsible for publishing the values.
+ */
+@InterfaceAudience.Private
+@InterfaceStability.Unstable
+public class DataPathCounters {
+
+  /**
+   * Name of the counter with average number of rows written per second.
+   */
+  public static final String ROWS_PER_SECOND = "ROWS_PER_SECOND";
+
+  /**
+   * Name of the counter with average number of bytes transferred per second.
+   */
+  public static final String BYTES_PER_SECOND = "BYTES_PER_SECOND";
+
+  private static final SqoopCounters[] COUNTERS = SqoopCounters.values();
+
+  /**
+   * Raw values, time counters are kept in nanoseconds.
+   */
+  private final long[] values = new long[COUNTERS.length];
+
+  private final boolean[] used = new boolean[COUNTERS.length];
+
+  private long lastMark = System.nanoTime();
+
+  /**
+   * Start new phase without attributing the elapsed time to any counter.
+   */
+  public void mark() {
+    lastMark = System.nanoTime();
+  }
+
+  /**
+   * Attribute time elapsed since the last mark to given time counter and
+   * start new phase.
+   *
+   * @param counter Time counter
+   */
+  public void addElapsed(SqoopCounters counter) {
+    assert counter.isTime();
+    long now = System.nanoTime();
+    increment(counter, now - lastMark);
+    lastMark = now;
+  }
+
+  /**
+   * Increment given counter, time counters are incremented in nanoseconds.
+   *
+   * @param counter Counter
+   * @param delta Value to add
+   */
+  public void increment(SqoopCounters counter, long delta) {
+    values[counter.ordinal()] += delta;
+    used[counter.ordinal()] = true;
+  }
+
+  /**
+   * Override given counter with value in its reporting unit.
+   *
+   * @param counter Counter
+   * @param value New value, milliseconds for time counters
+   */
+  public void set(SqoopCounters counter, long value) {
+    values[counter.ordinal()] = counter.isTime() ? value * 1000000 : value;
+    used[counter.ordinal()] = true;
+  }
+
+  /**
+   * @param counter Counter
+   * @return True if the counter has been touched by this instance
+   */
+  public boolean isUsed(SqoopCounters counter) {
+    return used[counter.ordinal()];
+  }
+
+  /**
+   * Value of given counter in its reporting unit.
+   *
+   * @param counter Counter
+   * @return Current value, milliseconds for time counters
+   */
+  public long getValue(SqoopCounters counter) {
+    long value = values[counter.ordinal()];
+    return counter.isTime() ? value / 1000000 : value;
+  }
+
+  /**
+   * Add average throughput counters computed from ROWS_WRITTEN and
+   * BYTES_TRANSFERRED into the SqoopCounters group of given counters.
+   *
+   * @param counters Counters reported by the execution engine
+   * @param since Start of the measured period
+   */
+  public static void addThroughput(Counters counters, Date since) {
+    CounterGroup group = counters == null ? null : counters.getCounterGroup(SqoopCounters.class.getName());
+    if (group == null || since == null) {
+      return;
+    }
+    long elapsed = Math.max(System.currentTimeMillis() - since.getTime(), 1);
+    Counter rows = group.getCounter(SqoopCounters.ROWS_WRITTEN.name());
+    if (rows != null) {
+      group.addCounter(new Counter(ROWS_PER_SECOND, rows.getValue() * 1000 / elapsed));
+    }
+    Counter bytes = group.getCounter(SqoopCounters.BYTES_TRANSFERRED.name());
+    if (bytes != null) {
+      group.addCounter(new Counter(BYTES_PER_SECOND, bytes.getValue() * 1000 / elapsed));
+    }
+  }
+
+  /**
+   * Size of given text encoded in UTF-8, which is what BYTES_TRANSFERRED
+   * counts for text rows. Nothing is encoded or allocated.
+   *
+   * @param text Text or null
+   * @return Number of bytes, 0 for null
+   */
+  public static long utf8Length(CharSequence text) {
+    if (text == null) {
+      return 0;
+    }
+    int length = text.length();
+    long bytes = 0;
+    for (int i = 0; i < length; i++) {
+      char c = text.charAt(i);
+      if (c < 0x80) {
+        bytes += 1;
+      } else if (c < 0x800) {
+        bytes += 2;
+      } else if (!Character.isSurrogate(c)) {
+        bytes += 3;
+      } else if (Character.isHighSurrogate(c) && i + 1 < length
+          && Character.isLowSurrogate(text.charAt(i + 1))) {
+        bytes += 4;
+        i++;
+      } else {
+        // Unpaired surrogate is encoded as '?'
+        bytes += 1;
+      }
+    }
+    return bytes;
+  }
+}
@@ -21,11 +21,51 @@
 import org.apache.sqoop.classification.InterfaceStability;
 
 /**
+ * Counters reported by the data path of every Sqoop task.
  *
+ * Time counters are reported in milliseconds and summed over all tasks.
  */
 @InterfaceAudience.Private
 @InterfaceStability.Unstable
 public enum SqoopCounters {
-  ROWS_READ,
-  ROWS_WRITTEN
+  /** Rows handed over by the extractor */
+  ROWS_READ(false),
+
+  /** Rows consumed by the loader */
+  ROWS_WRITTEN(false),
+
+  /** Size of the UTF-8 text representation of the rows passed from extractors to loaders */
+  BYTES_TRANSFERRED(false),
+
+  /** Time spent inside extractors, i.e. waiting on the source */
+  EXTRACTOR_TIME(true),
+
+  /** Time spent inside loaders, i.e. waiting on the sink */
+  LOADER_TIME(true),
+
+  /** Time spent converting and matching extracted rows in intermediate data formats */
+  EXTRACT_CONVERSION_TIME(true),
+
+  /** Time spent converting rows from intermediate data format for the loader */
+  LOAD_CONVERSION_TIME(true),
+
+  /** Time the extracting side was blocked waiting for the loader to take a row */
+  PRODUCER_STALL_TIME(true),
+
+  /** Time the loading side was blocked waiting for the next row */
+  CONSUMER_STALL_TIME(true),
+  ;
+
+  private final boolean time;
+
+  private SqoopCounters(boolean time) {
+    this.time = time;
+  }
+
+  /**
+   * @return True if the counter measures time in milliseconds
+   */
+  public boolean isTime() {
+    return time;
+  }
 }
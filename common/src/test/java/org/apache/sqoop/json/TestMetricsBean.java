@@ -0,0 +1,50 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.json;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.json.simple.JSONObject;
+import org.testng.annotations.Test;
+
+public class TestMetricsBean {
+
+  @Test
+  public void testSerialization() {
+    Map<String, Long> metrics = new HashMap<String, Long>();
+    metrics.put("repository.call.latency_us.p99", 1023L);
+    metrics.put("server.threads.active", 3L);
+
+    // Serialize it to JSON object
+    MetricsBean bean = new MetricsBean(metrics);
+    JSONObject json = bean.extract(false);
+
+    // "Move" it across network in text form
+    String string = json.toJSONString();
+
+    // Retrieved transferred object
+    JSONObject retrievedJson = JSONUtils.parse(string);
+    MetricsBean retrievedBean = new MetricsBean();
+    retrievedBean.restore(retrievedJson);
+
+    assertEquals(retrievedBean.getMetrics(), metrics);
+  }
+}
@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.schema;
+
+import static org.testng.Assert.*;
+
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.schema.type.Column;
+import org.apache.sqoop.schema.type.ColumnType;
+import org.apache.sqoop.schema.type.FixedPoint;
+import org.apache.sqoop.schema.type.Text;
+import org.testng.annotations.Test;
+
+public class TestSchema {
+
+  @Test
+  public void testColumnsArrayIsCached() {
+    Schema schema = new Schema("s").addColumn(new Text("a"));
+    Column[] columns = schema.getColumnsArray();
+    assertSame(schema.getColumnsArray(), columns);
+
+    // Adding column invalidates the cache
+    schema.addColumn(new FixedPoint("b", 4L, true));
+    assertEquals(schema.getColumnsArray().length, 2);
+    assertEquals(schema.getColumnTypes(), new ColumnType[] {ColumnType.TEXT, ColumnType.FIXED_POINT});
+    assertEquals((int) schema.getColumnNameIndex("b"), 1);
+  }
+
+  @Test
+  public void testFreeze() {
+    Schema schema = new Schema("s").addColumn(new Text("a")).freeze();
+    assertTrue(schema.isFrozen());
+    assertEquals(schema.getColumnsArray().length, 1);
+
+    try {
+      schema.addColumn(new Text("b"));
+      fail("Frozen schema can't be modified");
+    } catch (SqoopException e) {
+      assertEquals(e.getErrorCode(), SchemaError.SCHEMA_0008);
+    }
+
+    try {
+      schema.getColumnsList().clear();
+      fail("Frozen schema can't be modified");
+    } catch (UnsupportedOperationException e) {
+      // Expected
+    }
+  }
+
+  @Test
+  public void testCopy() {
+    Schema schema = new Schema("s").setNote("note").addColumn(new Text("a")).freeze();
+    Schema copy = schema.copy();
+    assertFalse(copy.isFrozen());
+    assertEquals(copy, schema);
+    assertEquals(copy.getNote(), "note");
+    assertEquals(copy.getCreationDate(), schema.getCreationDate());
+
+    copy.addColumn(new Text("b"));
+    assertEquals(schema.getColumnsCount(), 1);
+  }
+
+  @Test(expectedExceptions = SqoopException.class)
+  public void testUnknownColumnNameIndex() {
+    new Schema("s").addColumn(new Text("a")).getColumnNameIndex("b");
+  }
+}
@@ -0,0 +1,50 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.submission.counter;
+
+import java.nio.charset.Charset;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for org.apache.sqoop.submission.counter.DataPathCounters
+ */
+public class TestDataPathCounters {
+
+  private static final Charset UTF8 = Charset.forName("UTF-8");
+
+  /**
+   * Test method for UTF-8 length of text rows
+   */
+  @Test
+  public void testUtf8Length() {
+    String[] texts = {
+        "",
+        "1,'ascii'",
+        "2,'caf\u00e9'",
+        "3,'\u6771\u4eac'",
+        "4,'\ud83d\ude00'",
+        "5,'\ud83d',\ude00'"
+    };
+    for (String text : texts) {
+      Assert.assertEquals(DataPathCounters.utf8Length(text), text.getBytes(UTF8).length, text);
+    }
+    Assert.assertEquals(DataPathCounters.utf8Length(null), 0);
+  }
+}
@@ -0,0 +1,78 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.blackhole;
+
+import java.io.Serializable;
+
+import org.apache.log4j.Logger;
+import org.apache.sqoop.connector.blackhole.configuration.ReadMode;
+import org.apache.sqoop.connector.blackhole.configuration.ToJobConfiguration;
+import org.apache.sqoop.connector.common.EmptyConfiguration;
+import org.apache.sqoop.etl.io.DataReader;
+import org.apache.sqoop.job.etl.Loader;
+import org.apache.sqoop.job.etl.LoaderContext;
+
+/**
+ * Reads all rows through configured DataReader method and throws them away,
+ * only the rows are counted.
+ */
+public class BlackholeLoader extends Loader<EmptyConfiguration, ToJobConfiguration> implements Serializable {
+
+  private static final Logger LOG = Logger.getLogger(BlackholeLoader.class);
+
+  private long rowsWritten = 0;
+
+  @Override
+  public void load(LoaderContext context, EmptyConfiguration linkConfiguration,
+      ToJobConfiguration jobConfiguration) throws Exception {
+    ReadMode mode = jobConfiguration.toJobConfig.readMode == null ?
+        ReadMode.ARRAY : jobConfiguration.toJobConfig.readMode;
+    DataReader reader = context.getDataReader();
+
+    LOG.info("Consuming rows with read mode " + mode);
+    switch (mode) {
+      case ARRAY:
+        while (reader.readArrayRecord() != null) {
+          rowsWritten++;
+        }
+        break;
+      case ARRAY_BATCH:
+        Object[][] records;
+        while ((records = reader.readArrayRecords(BlackholeConstants.BATCH_SIZE)) != null) {
+          rowsWritten += records.length;
+        }
+        break;
+      case TEXT:
+        while (reader.readTextRecord() != null) {
+          rowsWritten++;
+        }
+        break;
+      case CONTENT:
+        while (reader.readContent() != null) {
+          rowsWritten++;
+        }
+        break;
+    }
+    LOG.info("Consumed " + rowsWritten + " rows");
+  }
+
+  @Override
+  public long getRowsWritten() {
+    return rowsWritten;
+  }
+}
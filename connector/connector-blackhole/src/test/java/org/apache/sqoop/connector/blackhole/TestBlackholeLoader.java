@@ -0,0 +1,67 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.blackhole;
+
+import static org.testng.Assert.assertEquals;
+
+import org.apache.sqoop.common.MutableMapContext;
+import org.apache.sqoop.connector.blackhole.configuration.ReadMode;
+import org.apache.sqoop.connector.blackhole.configuration.ToJobConfiguration;
+import org.apache.sqoop.connector.common.EmptyConfiguration;
+import org.apache.sqoop.etl.io.DataReader;
+import org.apache.sqoop.job.etl.LoaderContext;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class TestBlackholeLoader {
+
+  private static final int NUMBER_OF_ROWS = 1000;
+
+  @DataProvider(name = "readModes")
+  public static Object[][] readModes() {
+    return new Object[][] { { null }, { ReadMode.ARRAY }, { ReadMode.ARRAY_BATCH }, { ReadMode.TEXT }, { ReadMode.CONTENT } };
+  }
+
+  @Test(dataProvider = "readModes")
+  public void testLoad(ReadMode mode) throws Exception {
+    LoaderContext context = new LoaderContext(new MutableMapContext(), new DataReader() {
+      private int index = 0;
+
+      @Override
+      public Object[] readArrayRecord() {
+        return index++ < NUMBER_OF_ROWS ? new Object[] { index } : null;
+      }
+
+      @Override
+      public String readTextRecord() {
+        return index++ < NUMBER_OF_ROWS ? Integer.toString(index) : null;
+      }
+
+      @Override
+      public Object readContent() {
+        return readArrayRecord();
+      }
+    }, null, null);
+
+    ToJobConfiguration jobConfiguration = new ToJobConfiguration();
+    jobConfiguration.toJobConfig.readMode = mode;
+    BlackholeLoader loader = new BlackholeLoader();
+    loader.load(context, new EmptyConfiguration(), jobConfiguration);
+    assertEquals(loader.getRowsWritten(), NUMBER_OF_ROWS);
+  }
+}
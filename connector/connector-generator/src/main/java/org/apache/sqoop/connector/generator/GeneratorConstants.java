@@ -0,0 +1,50 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.generator;
+
+import org.apache.sqoop.job.Constants;
+
+public final class GeneratorConstants extends Constants {
+
+  // Resource bundle name
+  public static final String RESOURCE_BUNDLE_NAME = "generator-connector-config";
+
+  public static final String COLUMN_SEPARATOR = ",";
+
+  /**
+   * Columns generated when none are configured, every type that all
+   * intermediate data formats can represent.
+   */
+  public static final String DEFAULT_COLUMNS =
+      "FIXED_POINT,FLOATING_POINT,DECIMAL,BIT,TEXT,ENUM,BINARY,DATE,TIME,DATE_TIME,ARRAY,SET,MAP";
+
+  public static final int DEFAULT_NULL_PERCENTAGE = 0;
+
+  public static final int DEFAULT_TEXT_LENGTH = 32;
+
+  public static final long DEFAULT_SEED = 0;
+
+  /**
+   * Number of rows handed over to the data writer at once.
+   */
+  public static final int BATCH_SIZE = 256;
+
+  private GeneratorConstants() {
+    // Instantiation is prohibited
+  }
+}
@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.generator;
+
+import java.io.Serializable;
+
+import org.apache.log4j.Logger;
+import org.apache.sqoop.connector.common.EmptyConfiguration;
+import org.apache.sqoop.connector.generator.configuration.FromJobConfig;
+import org.apache.sqoop.connector.generator.configuration.FromJobConfiguration;
+import org.apache.sqoop.etl.io.DataWriter;
+import org.apache.sqoop.job.etl.Extractor;
+import org.apache.sqoop.job.etl.ExtractorContext;
+
+/**
+ * Generates rows of given partition as fast as possible and hands them over
+ * to the data writer in batches.
+ */
+public class GeneratorExtractor extends Extractor<EmptyConfiguration, FromJobConfiguration, GeneratorPartition> implements Serializable {
+
+  private static final Logger LOG = Logger.getLogger(GeneratorExtractor.class);
+
+  private long rowsRead = 0;
+
+  @Override
+  public void extract(ExtractorContext context, EmptyConfiguration linkConfiguration,
+      FromJobConfiguration jobConfiguration, GeneratorPartition partition) {
+    FromJobConfig config = jobConfiguration.fromJobConfig;
+    int nullPercentage = config.nullPercentage == null ?
+        GeneratorConstants.DEFAULT_NULL_PERCENTAGE : config.nullPercentage;
+    int textLength = config.textLength == null ?
+        GeneratorConstants.DEFAULT_TEXT_LENGTH : config.textLength;
+    long seed = config.seed == null ? GeneratorConstants.DEFAULT_SEED : config.seed;
+
+    // Every partition has its own stream of values, independent of the
+    // thread (or host) that generates it
+    RowGenerator generator = new RowGenerator(context.getSchema(), nullPercentage, textLength,
+        seed * 31 + partition.getStart());
+    DataWriter writer = context.getDataWriter();
+    Object[][] batch = new Object[GeneratorConstants.BATCH_SIZE][];
+
+    LOG.info("Generating " + partition.getCount() + " rows");
+    long remaining = partition.getCount();
+    while (remaining > 0) {
+      int count = (int) Math.min(batch.length, remaining);
+      for (int i = 0; i < count; i++) {
+        batch[i] = generator.next();
+      }
+      writer.writeArrayRecords(batch, count);
+      remaining -= count;
+      rowsRead += count;
+    }
+  }
+
+  @Override
+  public long getRowsRead() {
+    return rowsRead;
+  }
+}
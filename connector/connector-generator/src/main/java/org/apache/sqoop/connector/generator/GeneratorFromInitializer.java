@@ -0,0 +1,44 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.generator;
+
+import java.io.Serializable;
+
+import org.apache.log4j.Logger;
+import org.apache.sqoop.connector.common.EmptyConfiguration;
+import org.apache.sqoop.connector.generator.configuration.FromJobConfiguration;
+import org.apache.sqoop.job.etl.Initializer;
+import org.apache.sqoop.job.etl.InitializerContext;
+import org.apache.sqoop.schema.Schema;
+
+public class GeneratorFromInitializer extends Initializer<EmptyConfiguration, FromJobConfiguration> implements Serializable {
+
+  private static final Logger LOG = Logger.getLogger(GeneratorFromInitializer.class);
+
+  @Override
+  public void initialize(InitializerContext context, EmptyConfiguration linkConfiguration,
+      FromJobConfiguration jobConfiguration) {
+    LOG.info("Running Generator Connector initializer. This does nothing except log this message.");
+  }
+
+  @Override
+  public Schema getSchema(InitializerContext context, EmptyConfiguration linkConfiguration,
+      FromJobConfiguration jobConfiguration) {
+    return RowGenerator.createSchema(jobConfiguration.fromJobConfig);
+  }
+}
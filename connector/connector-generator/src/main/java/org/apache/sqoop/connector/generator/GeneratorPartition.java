@@ -0,0 +1,68 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.generator;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+
+import org.apache.sqoop.job.etl.Partition;
+
+/**
+ * Continuous range of generated rows.
+ */
+public class GeneratorPartition extends Partition implements Serializable {
+
+  private long start;
+
+  private long count;
+
+  public GeneratorPartition() {
+  }
+
+  public GeneratorPartition(long start, long count) {
+    this.start = start;
+    this.count = count;
+  }
+
+  public long getStart() {
+    return start;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  @Override
+  public void readFields(DataInput in) throws IOException {
+    start = in.readLong();
+    count = in.readLong();
+  }
+
+  @Override
+  public void write(DataOutput out) throws IOException {
+    out.writeLong(start);
+    out.writeLong(count);
+  }
+
+  @Override
+  public String toString() {
+    return "{" + start + ", " + count + "}";
+  }
+}
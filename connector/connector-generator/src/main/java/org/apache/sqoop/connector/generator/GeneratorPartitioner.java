@@ -0,0 +1,52 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.generator;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.sqoop.connector.common.EmptyConfiguration;
+import org.apache.sqoop.connector.generator.configuration.FromJobConfiguration;
+import org.apache.sqoop.job.etl.Partition;
+import org.apache.sqoop.job.etl.Partitioner;
+import org.apache.sqoop.job.etl.PartitionerContext;
+
+/**
+ * Splits requested number of rows evenly among at most maximal number of
+ * partitions.
+ */
+public class GeneratorPartitioner extends Partitioner<EmptyConfiguration, FromJobConfiguration> implements Serializable {
+
+  @Override
+  public List<Partition> getPartitions(PartitionerContext context,
+      EmptyConfiguration linkConfiguration, FromJobConfiguration jobConfiguration) {
+    long rows = jobConfiguration.fromJobConfig.rows;
+    // There is always at least one (possibly empty) partition
+    int partitions = (int) Math.max(1, Math.min(context.getMaxPartitions(), rows));
+
+    List<Partition> result = new ArrayList<Partition>(partitions);
+    long start = 0;
+    for (int i = 0; i < partitions; i++) {
+      long count = rows / partitions + (i < rows % partitions ? 1 : 0);
+      result.add(new GeneratorPartition(start, count));
+      start += count;
+    }
+    return result;
+  }
+}
@@ -0,0 +1,202 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.generator;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.generator.configuration.FromJobConfig;
+import org.apache.sqoop.error.code.GeneratorConnectorError;
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.schema.type.Array;
+import org.apache.sqoop.schema.type.Binary;
+import org.apache.sqoop.schema.type.Bit;
+import org.apache.sqoop.schema.type.Column;
+import org.apache.sqoop.schema.type.ColumnType;
+import org.apache.sqoop.schema.type.Date;
+import org.apache.sqoop.schema.type.DateTime;
+import org.apache.sqoop.schema.type.Decimal;
+import org.apache.sqoop.schema.type.FixedPoint;
+import org.apache.sqoop.schema.type.FloatingPoint;
+import org.apache.sqoop.schema.type.Text;
+import org.apache.sqoop.schema.type.Time;
+import org.apache.sqoop.schema.type.Unknown;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalTime;
+
+/**
+ * Produces rows of random values for a schema created from the generator
+ * job configuration.
+ *
+ * Values are cheap to compute so that the generator itself doesn't dominate
+ * measured throughput. Given the same seed the same rows are generated.
+ */
+public class RowGenerator {
+
+  private static final char[] ALPHABET = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789".toCharArray();
+
+  private static final String[] ENUM_OPTIONS = { "RED", "GREEN", "BLUE", "BLACK" };
+
+  private static final int LIST_SIZE = 3;
+
+  private static final int DECIMAL_PRECISION = 18;
+
+  private static final int DECIMAL_SCALE = 4;
+
+  // 2000-01-01
+  private static final long EPOCH_DAY_2000 = 10957;
+
+  private static final long MILLIS_PER_DAY = 86400000L;
+
+  private final ColumnType[] types;
+  private final int nullPercentage;
+  private final Random random;
+  private final char[] text;
+
+  public RowGenerator(Schema schema, int nullPercentage, int textLength, long seed) {
+    this.types = schema.getColumnTypes();
+    this.nullPercentage = nullPercentage;
+    this.random = new Random(seed);
+    this.text = new char[textLength];
+  }
+
+  /**
+   * @return New row with a value (or null) for every column
+   */
+  public Object[] next() {
+    Object[] row = new Object[types.length];
+    for (int i = 0; i < types.length; i++) {
+      if (nullPercentage > 0 && random.nextInt(100) < nullPercentage) {
+        continue;
+      }
+      row[i] = value(types[i]);
+    }
+    return row;
+  }
+
+  private Object value(ColumnType type) {
+    switch (type) {
+      case FIXED_POINT:
+        return random.nextLong();
+      case FLOATING_POINT:
+        return random.nextDouble();
+      case DECIMAL:
+        return BigDecimal.valueOf(random.nextLong() % 100000000000000L, DECIMAL_SCALE);
+      case BIT:
+        return random.nextBoolean();
+      case TEXT:
+        return text();
+      case ENUM:
+        return ENUM_OPTIONS[random.nextInt(ENUM_OPTIONS.length)];
+      case BINARY:
+      case UNKNOWN:
+        byte[] bytes = new byte[text.length];
+        random.nextBytes(bytes);
+        return bytes;
+      case DATE:
+        return new LocalDate((EPOCH_DAY_2000 + random.nextInt(10000)) * MILLIS_PER_DAY);
+      case TIME:
+        return LocalTime.fromMillisOfDay(random.nextInt((int) MILLIS_PER_DAY));
+      case DATE_TIME:
+        return new org.joda.time.DateTime(EPOCH_DAY_2000 * MILLIS_PER_DAY + (random.nextLong() & Long.MAX_VALUE) % (10000 * MILLIS_PER_DAY));
+      case ARRAY:
+      case SET:
+        Object[] list = new Object[LIST_SIZE];
+        for (int i = 0; i < list.length; i++) {
+          list[i] = text();
+        }
+        return list;
+      case MAP:
+        Map<Object, Object> map = new HashMap<Object, Object>();
+        for (int i = 0; i < LIST_SIZE; i++) {
+          map.put("key" + i, text());
+        }
+        return map;
+      default:
+        throw new SqoopException(GeneratorConnectorError.GENERATOR_CONNECTOR_0001, type.name());
+    }
+  }
+
+  private String text() {
+    for (int i = 0; i < text.length; i++) {
+      text[i] = ALPHABET[random.nextInt(ALPHABET.length)];
+    }
+    return new String(text);
+  }
+
+  /**
+   * Create schema described by given configuration, column names are derived
+   * from their position and type.
+   */
+  public static Schema createSchema(FromJobConfig config) {
+    String columns = config.columns == null || config.columns.trim().isEmpty() ?
+        GeneratorConstants.DEFAULT_COLUMNS : config.columns;
+    Schema schema = new Schema("generator");
+    int index = 0;
+    for (String name : columns.split(GeneratorConstants.COLUMN_SEPARATOR)) {
+      ColumnType type;
+      try {
+        type = ColumnType.valueOf(name.trim().toUpperCase());
+      } catch (IllegalArgumentException e) {
+        throw new SqoopException(GeneratorConnectorError.GENERATOR_CONNECTOR_0001, name, e);
+      }
+      schema.addColumn(createColumn("c" + index++ + "_" + type.name().toLowerCase(), type));
+    }
+    return schema;
+  }
+
+  private static Column createColumn(String name, ColumnType type) {
+    switch (type) {
+      case FIXED_POINT:
+        return new FixedPoint(name, 8L, true);
+      case FLOATING_POINT:
+        return new FloatingPoint(name, 8L);
+      case DECIMAL:
+        return new Decimal(name, DECIMAL_PRECISION, DECIMAL_SCALE);
+      case BIT:
+        return new Bit(name);
+      case TEXT:
+        return new Text(name);
+      case ENUM:
+        return new org.apache.sqoop.schema.type.Enum(name, new HashSet<String>(Arrays.asList(ENUM_OPTIONS)));
+      case BINARY:
+        return new Binary(name);
+      case UNKNOWN:
+        return new Unknown(name);
+      case DATE:
+        return new Date(name);
+      case TIME:
+        return new Time(name, true);
+      case DATE_TIME:
+        return new DateTime(name, true, false);
+      case ARRAY:
+        return new Array(name, new Text(name));
+      case SET:
+        return new org.apache.sqoop.schema.type.Set(name, new Text(name));
+      case MAP:
+        return new org.apache.sqoop.schema.type.Map(name, new Text(name), new Text(name));
+      default:
+        throw new SqoopException(GeneratorConnectorError.GENERATOR_CONNECTOR_0001, type.name());
+    }
+  }
+}
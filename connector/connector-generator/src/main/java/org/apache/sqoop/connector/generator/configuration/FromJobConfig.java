@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.generator.configuration;
+
+import java.io.Serializable;
+
+import org.apache.sqoop.connector.generator.GeneratorConstants;
+import org.apache.sqoop.model.ConfigClass;
+import org.apache.sqoop.model.Input;
+import org.apache.sqoop.model.Validator;
+import org.apache.sqoop.schema.type.ColumnType;
+import org.apache.sqoop.validation.Status;
+import org.apache.sqoop.validation.validators.AbstractValidator;
+import org.apache.sqoop.validation.validators.NotNull;
+
+/**
+ * Shape of the generated data. Everything but number of rows is optional.
+ */
+@ConfigClass(validators = { @Validator(FromJobConfig.FromJobConfigValidator.class)})
+public class FromJobConfig implements Serializable {
+
+  @Input(validators = { @Validator(NotNull.class)}) public Long rows;
+
+  /** Comma separated column types, one column is generated for each of them */
+  @Input(size = 1024) public String columns;
+
+  @Input public Integer nullPercentage;
+
+  @Input public Integer textLength;
+
+  @Input public Long seed;
+
+  public static class FromJobConfigValidator extends AbstractValidator<FromJobConfig> {
+    @Override
+    public void validate(FromJobConfig conf) {
+      if (conf.rows != null && conf.rows < 0) {
+        addMessage(Status.ERROR, "Number of rows can't be negative");
+      }
+      if (conf.nullPercentage != null && (conf.nullPercentage < 0 || conf.nullPercentage > 100)) {
+        addMessage(Status.ERROR, "Null percentage has to be between 0 and 100");
+      }
+      if (conf.textLength != null && conf.textLength < 0) {
+        addMessage(Status.ERROR, "Text length can't be negative");
+      }
+      if (conf.columns != null) {
+        for (String column : conf.columns.split(GeneratorConstants.COLUMN_SEPARATOR)) {
+          try {
+            ColumnType.valueOf(column.trim().toUpperCase());
+          } catch (IllegalArgumentException e) {
+            addMessage(Status.ERROR, "Unknown column type " + column);
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,168 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.generator;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.sqoop.common.MutableMapContext;
+import org.apache.sqoop.connector.common.EmptyConfiguration;
+import org.apache.sqoop.connector.generator.configuration.FromJobConfiguration;
+import org.apache.sqoop.connector.idf.AVROIntermediateDataFormat;
+import org.apache.sqoop.connector.idf.CSVIntermediateDataFormat;
+import org.apache.sqoop.connector.idf.IntermediateDataFormat;
+import org.apache.sqoop.connector.idf.JSONIntermediateDataFormat;
+import org.apache.sqoop.etl.io.DataWriter;
+import org.apache.sqoop.job.etl.ExtractorContext;
+import org.apache.sqoop.job.etl.Partition;
+import org.apache.sqoop.job.etl.PartitionerContext;
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.validation.ConfigValidationRunner;
+import org.apache.sqoop.validation.Status;
+import org.testng.annotations.Test;
+
+public class TestGenerator {
+
+  @Test
+  public void testPartitioner() {
+    assertPartitions(1000, 7, 7);
+    assertPartitions(3, 10, 3);
+    assertPartitions(0, 10, 1);
+  }
+
+  private void assertPartitions(long rows, long maxPartitions, int expected) {
+    FromJobConfiguration jobConfiguration = new FromJobConfiguration();
+    jobConfiguration.fromJobConfig.rows = rows;
+    PartitionerContext context = new PartitionerContext(new MutableMapContext(), maxPartitions, null, null);
+
+    List<Partition> partitions = new GeneratorPartitioner().getPartitions(context, new EmptyConfiguration(), jobConfiguration);
+    assertEquals(partitions.size(), expected);
+    long start = 0;
+    for (Partition partition : partitions) {
+      GeneratorPartition range = (GeneratorPartition) partition;
+      assertEquals(range.getStart(), start);
+      start += range.getCount();
+    }
+    assertEquals(start, rows);
+  }
+
+  @Test
+  public void testAllTypesThroughDataFormats() {
+    FromJobConfiguration jobConfiguration = new FromJobConfiguration();
+    jobConfiguration.fromJobConfig.rows = 1000L;
+    jobConfiguration.fromJobConfig.nullPercentage = 10;
+    Schema schema = new GeneratorFromInitializer().getSchema(null, new EmptyConfiguration(), jobConfiguration);
+    assertEquals(schema.getColumnsCount(), 13);
+
+    List<Object[]> rows = extract(schema, jobConfiguration, new GeneratorPartition(0, 1000));
+    assertEquals(rows.size(), 1000);
+
+    int nulls = 0;
+    for (Object[] row : rows) {
+      for (Object value : row) {
+        if (value == null) {
+          nulls++;
+        }
+      }
+    }
+    double ratio = (double) nulls / (1000 * 13);
+    assertTrue(ratio > 0.05 && ratio < 0.15, "Unexpected null ratio " + ratio);
+
+    List<IntermediateDataFormat<?>> formats = new ArrayList<IntermediateDataFormat<?>>();
+    formats.add(new CSVIntermediateDataFormat(schema));
+    formats.add(new JSONIntermediateDataFormat(schema));
+    formats.add(new AVROIntermediateDataFormat(schema));
+    for (IntermediateDataFormat<?> format : formats) {
+      for (Object[] row : rows) {
+        format.setObjectData(row);
+        assertEquals(format.getObjectData().length, row.length);
+      }
+    }
+  }
+
+  @Test
+  public void testSameSeedSameData() {
+    FromJobConfiguration jobConfiguration = new FromJobConfiguration();
+    jobConfiguration.fromJobConfig.rows = 10L;
+    jobConfiguration.fromJobConfig.columns = "FIXED_POINT, text";
+    jobConfiguration.fromJobConfig.textLength = 5;
+    jobConfiguration.fromJobConfig.seed = 42L;
+    Schema schema = RowGenerator.createSchema(jobConfiguration.fromJobConfig);
+    assertEquals(schema.getColumnsCount(), 2);
+
+    CSVIntermediateDataFormat format = new CSVIntermediateDataFormat(schema);
+    List<String> first = new ArrayList<String>();
+    for (Object[] row : extract(schema, jobConfiguration, new GeneratorPartition(5, 10))) {
+      format.setObjectData(row);
+      first.add(format.getCSVTextData());
+      assertEquals(((String) row[1]).length(), 5);
+    }
+    List<String> second = new ArrayList<String>();
+    for (Object[] row : extract(schema, jobConfiguration, new GeneratorPartition(5, 10))) {
+      format.setObjectData(row);
+      second.add(format.getCSVTextData());
+    }
+    assertEquals(second, first);
+  }
+
+  @Test
+  public void testValidation() {
+    ConfigValidationRunner runner = new ConfigValidationRunner();
+    FromJobConfiguration jobConfiguration = new FromJobConfiguration();
+    assertEquals(runner.validate(jobConfiguration).getStatus(), Status.ERROR);
+
+    jobConfiguration.fromJobConfig.rows = 10L;
+    jobConfiguration.fromJobConfig.columns = "TEXT,DATE_TIME";
+    assertEquals(runner.validate(jobConfiguration).getStatus(), Status.OK);
+
+    jobConfiguration.fromJobConfig.columns = "TEXT,VARCHAR";
+    assertEquals(runner.validate(jobConfiguration).getStatus(), Status.ERROR);
+
+    jobConfiguration.fromJobConfig.columns = null;
+    jobConfiguration.fromJobConfig.nullPercentage = 101;
+    assertEquals(runner.validate(jobConfiguration).getStatus(), Status.ERROR);
+  }
+
+  private List<Object[]> extract(Schema schema, FromJobConfiguration jobConfiguration, GeneratorPartition partition) {
+    final List<Object[]> rows = new ArrayList<Object[]>();
+    DataWriter writer = new DataWriter() {
+      @Override
+      public void writeArrayRecord(Object[] array) {
+        rows.add(array);
+      }
+
+      @Override
+      public void writeStringRecord(String text) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public void writeRecord(Object obj) {
+        throw new UnsupportedOperationException();
+      }
+    };
+    ExtractorContext context = new ExtractorContext(new MutableMapContext(), writer, schema, null);
+    GeneratorExtractor extractor = new GeneratorExtractor();
+    extractor.extract(context, new EmptyConfiguration(), jobConfiguration, partition);
+    assertEquals(extractor.getRowsRead(), partition.getCount());
+    return rows;
+  }
+}
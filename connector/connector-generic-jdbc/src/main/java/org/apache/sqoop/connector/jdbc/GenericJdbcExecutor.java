@@ -275,6 +275,80 @@ public void migrateData(String fromTable, String toTable) {
     }
   }
 
+  /**
+   * Upsert staged data into destination table. Rows of the destination table
+   * that share key with any staged row are replaced by the staged version,
+   * everything is done in a single transaction.
+   *
+   * @param fromTable Stage table
+   * @param toTable Destination table
+   * @param keyColumns Columns identifying a row
+   */
+  public void mergeData(String fromTable, String toTable, List<String> keyColumns) {
+    StringBuilder deleteQuery = new StringBuilder();
+    deleteQuery.append("DELETE FROM ").append(encloseIdentifier(toTable));
+    deleteQuery.append(" WHERE EXISTS (SELECT 1 FROM ").append(encloseIdentifier(fromTable)).append(" stage WHERE ");
+    boolean first = true;
+    for (String column : keyColumns) {
+      if (!first) {
+        deleteQuery.append(" AND ");
+      }
+      deleteQuery.append("stage.").append(encloseIdentifier(column));
+      deleteQuery.append(" = ").append(encloseIdentifier(toTable)).append(".").append(encloseIdentifier(column));
+      first = false;
+    }
+    deleteQuery.append(")");
+    String insertQuery = "INSERT INTO " + encloseIdentifier(toTable) + " SELECT * FROM " + encloseIdentifier(fromTable);
+
+    Statement stmt = null;
+    Boolean oldAutoCommit = null;
+    try {
+      final long expectedInsertCount = getTableRowCount(fromTable);
+      oldAutoCommit = connection.getAutoCommit();
+      connection.setAutoCommit(false);
+      stmt = createStatement();
+      final int replacedCount = stmt.executeUpdate(deleteQuery.toString());
+      final int actualInsertCount = stmt.executeUpdate(insertQuery);
+      if(expectedInsertCount == actualInsertCount) {
+        LOG.info("Merged " + actualInsertCount + " rows of staged data " +
+          "from: " + fromTable + " to: " + toTable + " (" + replacedCount + " rows replaced)");
+        connection.commit();
+        deleteTableData(fromTable);
+        connection.commit();
+      } else {
+        LOG.error("Rolling back as number of rows merged into table: " +
+          toTable + " was: " + actualInsertCount + " expected: " +
+          expectedInsertCount);
+        connection.rollback();
+        throw new SqoopException(
+          GenericJdbcConnectorError.GENERIC_JDBC_CONNECTOR_0018);
+      }
+    } catch(SQLException e) {
+      logSQLException(e, "Got SQLException while merging data from: " + fromTable + " to: " + toTable);
+      try {
+        connection.rollback();
+      } catch(SQLException re) {
+        logSQLException(re, "Got SQLException while rolling back merge.");
+      }
+      throw new SqoopException(GenericJdbcConnectorError.GENERIC_JDBC_CONNECTOR_0018, e);
+    } finally {
+      if(stmt != null) {
+        try {
+          stmt.close();
+        } catch(SQLException e) {
+          logSQLException(e, "Got SQLException at the time of closing statement.");
+        }
+      }
+      if(oldAutoCommit != null) {
+        try {
+          connection.setAutoCommit(oldAutoCommit);
+        } catch(SQLException e) {
+          logSQLException(e, "Got SQLException while setting autoCommit mode.");
+        }
+      }
+    }
+  }
+
   public long getTableRowCount(String tableName) {
     try (Statement statement = createStatement();
          ResultSet resultSet = statement.executeQuery("SELECT COUNT(1) FROM " + encloseIdentifier(tableName));) {
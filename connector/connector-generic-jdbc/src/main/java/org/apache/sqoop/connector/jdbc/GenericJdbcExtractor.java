@@ -18,10 +18,10 @@
 package org.apache.sqoop.connector.jdbc;
 
 import java.io.Serializable;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
-import java.sql.Statement;
 
 import org.apache.log4j.Logger;
 import org.apache.sqoop.common.SqoopException;
@@ -42,6 +42,12 @@ public class GenericJdbcExtractor extends Extractor<LinkConfiguration, FromJobCo
 
  public static final Logger LOG = Logger.getLogger(GenericJdbcExtractor.class);
 
+  /**
+   * Number of rows handed over to the data writer at once when fetch size is
+   * not configured on the link.
+   */
+  public static final int DEFAULT_ROWS_PER_BLOCK = 100;
+
  private long rowsRead = 0;
   @Override
   public void extract(ExtractorContext context, LinkConfiguration linkConfig, FromJobConfiguration fromJobConfig, GenericJdbcPartition partition) {
@@ -49,20 +55,27 @@ public void extract(ExtractorContext context, LinkConfiguration linkConfig, From
 
     String query = context.getString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_FROM_DATA_SQL);
     String conditions = partition.getConditions();
+    String incrementalConditions = context.getString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_INCREMENTAL_CONDITIONS);
+    if (incrementalConditions != null) {
+      conditions = "(" + conditions + ") AND " + incrementalConditions;
+    }
     query = query.replace(GenericJdbcConnectorConstants.SQL_CONDITIONS_TOKEN, conditions);
     LOG.info("Using query: " + query);
 
     rowsRead = 0;
     Schema schema = context.getSchema();
     Column[] schemaColumns = schema.getColumnsArray();
-    try (Statement statement = executor.getConnection().createStatement(
+    try (PreparedStatement statement = executor.getConnection().prepareStatement(query,
             ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
-         ResultSet resultSet = statement.executeQuery(query);) {
+         ResultSet resultSet = executeQuery(statement, linkConfig);) {
       ResultSetMetaData metaData = resultSet.getMetaData();
       int columnCount = metaData.getColumnCount();
       if (schemaColumns.length != columnCount) {
         throw new SqoopException(GenericJdbcConnectorError.GENERIC_JDBC_CONNECTOR_0021, schemaColumns.length + ":" + columnCount);
       }
+      // Rows are passed to the data writer in blocks matching the fetch size
+      Object[][] block = new Object[getRowsPerBlock(linkConfig)][];
+      int blockCount = 0;
       while (resultSet.next()) {
         Object[] array = new Object[columnCount];
         for (int i = 0; i < columnCount; i++) {
@@ -91,8 +104,16 @@ public void extract(ExtractorContext context, LinkConfiguration linkConfig, From
 
           }
         }
-        context.getDataWriter().writeArrayRecord(array);
-        rowsRead++;
+        block[blockCount++] = array;
+        if (blockCount == block.length) {
+          context.getDataWriter().writeArrayRecords(block, blockCount);
+          rowsRead += blockCount;
+          blockCount = 0;
+        }
+      }
+      if (blockCount > 0) {
+        context.getDataWriter().writeArrayRecords(block, blockCount);
+        rowsRead += blockCount;
       }
     } catch (SQLException e) {
       throw new SqoopException(
@@ -103,6 +124,18 @@ public void extract(ExtractorContext context, LinkConfiguration linkConfig, From
     }
   }
 
+  private static int getRowsPerBlock(LinkConfiguration linkConfig) {
+    Integer fetchSize = linkConfig.linkConfig.fetchSize;
+    return fetchSize != null && fetchSize > 0 ? fetchSize : DEFAULT_ROWS_PER_BLOCK;
+  }
+
+  private ResultSet executeQuery(PreparedStatement statement, LinkConfiguration linkConfig) throws SQLException {
+    if (linkConfig.linkConfig.fetchSize != null) {
+      statement.setFetchSize(linkConfig.linkConfig.fetchSize);
+    }
+    return statement.executeQuery();
+  }
+
   @Override
   public long getRowsRead() {
     return rowsRead;
@@ -18,11 +18,13 @@
 package org.apache.sqoop.connector.jdbc;
 
 import java.io.Serializable;
+import java.math.BigDecimal;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Types;
 import java.util.List;
 import java.util.Set;
 
@@ -31,6 +33,7 @@
 import org.apache.sqoop.common.MutableContext;
 import org.apache.sqoop.common.SqoopException;
 import org.apache.sqoop.connector.jdbc.configuration.FromJobConfiguration;
+import org.apache.sqoop.connector.jdbc.configuration.IncrementalMode;
 import org.apache.sqoop.connector.jdbc.configuration.LinkConfiguration;
 import org.apache.sqoop.connector.jdbc.util.SqlTypesUtils;
 import org.apache.sqoop.error.code.GenericJdbcConnectorError;
@@ -163,29 +166,59 @@ private void configurePartitionProperties(MutableContext context, LinkConfigurat
       fromFragment = sb.toString();
     }
 
-    // If this is incremental, then we need to get new maximal value and persist is a constant
-    String incrementalMaxValue = null;
+    // If this is incremental, then we need to get new upper bound and persist it as a constant
+    String incrementalConditions = null;
     if(incrementalImport) {
+      boolean lastModified = jobConf.incrementalRead.mode == IncrementalMode.LAST_MODIFIED;
       sb.setLength(0);
       sb.append("SELECT ");
 //      sb.append("MAX(").append(executor.encloseIdentifier(jobConf.incrementalRead.checkColumn)).append(") ");
       sb.append("MAX(").append(jobConf.incrementalRead.checkColumn).append(") ");
+      if (lastModified) {
+        // Upper bound of last modified import is the time the job started
+        sb.append(", CURRENT_TIMESTAMP, CURRENT_DATE ");
+      }
       sb.append("FROM ");
       sb.append(fromFragment);
 
       String incrementalNewMaxValueQuery = sb.toString();
       LOG.info("Incremental new max value query:  " + incrementalNewMaxValueQuery);
 
+      String incrementalMaxValue;
+      int checkColumnType;
       try (Statement statement = executor.createStatement();
            ResultSet rs = statement.executeQuery(incrementalNewMaxValueQuery);) {
         if (!rs.next()) {
           throw new SqoopException(GenericJdbcConnectorError.GENERIC_JDBC_CONNECTOR_0022);
         }
 
-        incrementalMaxValue = rs.getString(1);
-        context.setString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_LAST_INCREMENTAL_VALUE, incrementalMaxValue);
-        LOG.info("New maximal value for incremental import is " + incrementalMaxValue);
+        checkColumnType = rs.getMetaData().getColumnType(1);
+        if (!lastModified) {
+          incrementalMaxValue = rs.getString(1);
+        } else if (checkColumnType == Types.TIMESTAMP) {
+          incrementalMaxValue = rs.getTimestamp(2).toString();
+        } else if (checkColumnType == Types.DATE) {
+          incrementalMaxValue = rs.getDate(3).toString();
+        } else {
+          throw new SqoopException(GenericJdbcConnectorError.GENERIC_JDBC_CONNECTOR_0026,
+              "Last modified incremental read requires date or timestamp check column");
+        }
+      }
+
+      // Empty table, nothing has changed since the last run
+      if (incrementalMaxValue == null) {
+        incrementalMaxValue = jobConf.incrementalRead.lastValue;
       }
+      context.setString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_LAST_INCREMENTAL_VALUE, incrementalMaxValue);
+      LOG.info("New upper bound for incremental import is " + incrementalMaxValue);
+
+      // Extractors are restricting every partition to rows changed between
+      // the stored and the new value, so that the delta is imported even when
+      // check column differs from the partition column
+      incrementalConditions = getIncrementalConditions(jobConf, lastModified,
+          checkColumnType, incrementalMaxValue);
+      context.setString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_INCREMENTAL_CONDITIONS, incrementalConditions);
+      LOG.info("Incremental conditions: " + incrementalConditions);
     }
 
     // Retrieving min and max values for partition column
@@ -201,9 +234,7 @@ private void configurePartitionProperties(MutableContext context, LinkConfigurat
 
       if(incrementalImport) {
         sb.append("WHERE ");
-        sb.append(executor.encloseIdentifier(jobConf.incrementalRead.checkColumn)).append(" > ?");
-        sb.append(" AND ");
-        sb.append(executor.encloseIdentifier(jobConf.incrementalRead.checkColumn)).append(" <= ?");
+        sb.append(incrementalConditions);
       }
 
       minMaxQuery = sb.toString();
@@ -214,11 +245,6 @@ private void configurePartitionProperties(MutableContext context, LinkConfigurat
     ResultSet rs = null;
     try {
       ps = executor.prepareStatement(minMaxQuery);
-      if (incrementalImport) {
-        ps.setString(1, jobConf.incrementalRead.lastValue);
-        ps.setString(2, incrementalMaxValue);
-      }
-
       rs = ps.executeQuery();
       if(!rs.next()) {
         throw new SqoopException(GenericJdbcConnectorError.GENERIC_JDBC_CONNECTOR_0006);
@@ -250,6 +276,60 @@ private void configurePartitionProperties(MutableContext context, LinkConfigurat
     }
   }
 
+  /**
+   * Conditions selecting rows changed since the last run. Bounds are spliced
+   * into the conditions as literals, the same way as partition conditions
+   * are, so that extractors don't need to bind any parameters.
+   *
+   * Append mode imports rows with values in (last value, new max value],
+   * last modified mode rows modified in [last value, job start), so that rows
+   * modified while the job is running are picked by the next run. Last
+   * modified import without last value is the initial load with no lower
+   * bound.
+   */
+  private String getIncrementalConditions(FromJobConfiguration jobConf, boolean lastModified,
+      int checkColumnType, String upperValue) {
+    if (upperValue == null) {
+      return "1 = 0";
+    }
+    String checkColumn = executor.encloseIdentifier(jobConf.incrementalRead.checkColumn);
+    StringBuilder sb = new StringBuilder();
+    String lowerValue = jobConf.incrementalRead.lastValue;
+    if (lowerValue != null) {
+      sb.append(checkColumn).append(lastModified ? " >= " : " > ");
+      sb.append(toLiteral(lowerValue, checkColumnType));
+      sb.append(" AND ");
+    }
+    sb.append(checkColumn).append(lastModified ? " < " : " <= ");
+    sb.append(toLiteral(upperValue, checkColumnType));
+    return sb.toString();
+  }
+
+  /**
+   * SQL literal of given value of a column of given type.
+   */
+  private static String toLiteral(String value, int sqlType) {
+    switch (sqlType) {
+      case Types.TINYINT:
+      case Types.SMALLINT:
+      case Types.INTEGER:
+      case Types.BIGINT:
+      case Types.REAL:
+      case Types.FLOAT:
+      case Types.DOUBLE:
+      case Types.NUMERIC:
+      case Types.DECIMAL:
+        try {
+          return new BigDecimal(value.trim()).toString();
+        } catch (NumberFormatException e) {
+          throw new SqoopException(GenericJdbcConnectorError.GENERIC_JDBC_CONNECTOR_0026,
+              "Value " + value + " is not a number", e);
+        }
+      default:
+        return "'" + value.replace("'", "''") + "'";
+    }
+  }
+
   private void configureTableProperties(MutableContext context, LinkConfiguration linkConfig, FromJobConfiguration fromJobConfig) {
     String dataSql;
     String fieldNames;
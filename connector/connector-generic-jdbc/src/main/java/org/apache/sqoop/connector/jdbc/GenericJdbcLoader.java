@@ -42,11 +42,15 @@ public void load(LoaderContext context, LinkConfiguration linkConfig, ToJobConfi
     try {
       int numberOfRowsPerBatch = 0;
       int numberOfBatchesPerTransaction = 0;
-      Object[] array;
+      Object[][] rows;
 
-      while ((array = context.getDataReader().readArrayRecord()) != null) {
-        numberOfRowsPerBatch++;
-        executor.addBatch(array, context.getSchema());
+      // Never ask for more rows than what is missing to the next batch
+      while ((rows = context.getDataReader().readArrayRecords(rowsPerBatch - numberOfRowsPerBatch)) != null) {
+        for (Object[] array : rows) {
+          executor.addBatch(array, context.getSchema());
+        }
+        numberOfRowsPerBatch += rows.length;
+        rowsWritten += rows.length;
 
         if (numberOfRowsPerBatch == rowsPerBatch) {
           numberOfBatchesPerTransaction++;
@@ -58,7 +62,6 @@ public void load(LoaderContext context, LinkConfiguration linkConfig, ToJobConfi
           }
           numberOfRowsPerBatch = 0;
         }
-        rowsWritten ++;
       }
 
       if (numberOfRowsPerBatch != 0 || numberOfBatchesPerTransaction != 0) {
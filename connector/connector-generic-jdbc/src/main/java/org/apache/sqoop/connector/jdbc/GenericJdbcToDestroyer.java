@@ -18,6 +18,7 @@
 package org.apache.sqoop.connector.jdbc;
 
 import java.io.Serializable;
+import java.util.List;
 
 import org.apache.log4j.Logger;
 import org.apache.sqoop.connector.jdbc.configuration.LinkConfiguration;
@@ -39,14 +40,18 @@ public void destroy(DestroyerContext context, LinkConfiguration linkConfig, ToJo
       stageTableName.length() > 0;
     if(stageEnabled) {
       moveDataToDestinationTable(linkConfig,
-        context.isSuccess(), stageTableName, tableName);
+        context.isSuccess(), stageTableName, tableName, toJobConfig.toJobConfig.mergeKey);
     }
   }
 
-  private void moveDataToDestinationTable(LinkConfiguration linkConfig, boolean success, String stageTableName, String tableName) {
+  private void moveDataToDestinationTable(LinkConfiguration linkConfig, boolean success, String stageTableName, String tableName, List<String> mergeKey) {
     GenericJdbcExecutor executor = new GenericJdbcExecutor(linkConfig);
     try {
-      if(success) {
+      if(success && mergeKey != null && !mergeKey.isEmpty()) {
+        LOG.info("Job completed, merging data from stage table to " +
+          "destination table using key " + mergeKey);
+        executor.mergeData(stageTableName, tableName, mergeKey);
+      } else if(success) {
         LOG.info("Job completed, transferring data from stage fromTable to " +
           "destination fromTable.");
         executor.migrateData(stageTableName, tableName);
@@ -30,6 +30,9 @@
  */
 @ConfigClass(validators = {@Validator(IncrementalRead.ConfigValidator.class)})
 public class IncrementalRead implements Serializable{
+  @Input
+  public IncrementalMode mode;
+
   @Input(size = 50)
   public String checkColumn;
 
@@ -39,10 +42,15 @@ public class IncrementalRead implements Serializable{
   public static class ConfigValidator extends AbstractValidator<IncrementalRead> {
     @Override
     public void validate(IncrementalRead conf) {
-      if(conf.checkColumn != null && conf.lastValue == null) {
+      // First run of last modified import can start without last value and import everything
+      if(conf.checkColumn != null && conf.lastValue == null && conf.mode != IncrementalMode.LAST_MODIFIED) {
         addMessage(Status.ERROR, "Last value is required during incremental read");
       }
 
+      if(conf.checkColumn == null && conf.mode == IncrementalMode.LAST_MODIFIED) {
+        addMessage(Status.ERROR, "Last modified incremental read requires check column.");
+      }
+
       if(conf.checkColumn == null && conf.lastValue != null) {
         addMessage(Status.ERROR, "Last value can't be filled without check column.");
       }
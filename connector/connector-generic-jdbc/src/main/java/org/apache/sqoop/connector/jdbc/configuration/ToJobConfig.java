@@ -47,8 +47,12 @@ public class ToJobConfig {
   @Input
   public Boolean shouldClearStageTable;
 
+  @Input
+  public List<String> mergeKey;
+
   public ToJobConfig() {
     columnList = new LinkedList<>();
+    mergeKey = new LinkedList<>();
   }
 
   public static class ConfigValidator extends AbstractValidator<ToJobConfig> {
@@ -58,6 +62,10 @@ public void validate(ToJobConfig config) {
         addMessage(Status.ERROR,
             "Should Clear stage table cannot be specified without specifying the name of the stage table.");
       }
+      if (config.stageTableName == null && config.mergeKey != null && !config.mergeKey.isEmpty()) {
+        addMessage(Status.ERROR,
+            "Merge key cannot be specified without specifying the name of the stage table.");
+      }
     }
   }
 }
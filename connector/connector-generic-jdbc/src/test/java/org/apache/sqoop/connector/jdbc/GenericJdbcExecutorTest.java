@@ -22,7 +22,10 @@
 import static org.testng.Assert.assertTrue;
 
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
 
 import org.apache.sqoop.common.SqoopException;
 import org.apache.sqoop.connector.jdbc.configuration.LinkConfiguration;
@@ -156,6 +159,26 @@ public void testMigrateData() throws Exception {
             "Table " + emptyTable + " is expected to have " + NUMBER_OF_ROWS + " rows.");
   }
 
+  @Test
+  public void testMergeData() throws Exception {
+    // Half of the staged keys are already present in the destination table
+    for (int i = 0; i < NUMBER_OF_ROWS / 2; i++) {
+      executor.executeUpdate("INSERT INTO " + executor.encloseIdentifier(emptyTable) + " VALUES(" + i + ", 'old')");
+    }
+
+    executor.mergeData(table, emptyTable, Arrays.asList("ICOL"));
+
+    assertEquals(0, executor.getTableRowCount(table),
+            "Table " + table + " is expected to be empty.");
+    assertEquals(NUMBER_OF_ROWS, executor.getTableRowCount(emptyTable),
+            "Table " + emptyTable + " is expected to have " + NUMBER_OF_ROWS + " rows.");
+    try (Statement statement = executor.createStatement();
+         ResultSet rs = statement.executeQuery("SELECT COUNT(1) FROM " + executor.encloseIdentifier(emptyTable) + " WHERE VCOL = 'old'")) {
+      assertTrue(rs.next());
+      assertEquals(0, rs.getInt(1), "Existing rows are expected to be replaced.");
+    }
+  }
+
   @Test
   public void testGetTableRowCount() throws Exception {
     assertEquals(NUMBER_OF_ROWS, executor.getTableRowCount(table),
@@ -119,6 +119,38 @@ public void testQuery() throws Exception {
     extractor.extract(extractorContext, linkConfig, jobConfig, partition);
   }
 
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  @Test
+  public void testIncrementalConditions() throws Exception {
+    MutableContext context = new MutableMapContext();
+
+    LinkConfiguration linkConfig = new LinkConfiguration();
+
+    linkConfig.linkConfig.jdbcDriver = GenericJdbcTestConstants.DRIVER;
+    linkConfig.linkConfig.connectionString = GenericJdbcTestConstants.URL;
+
+    FromJobConfiguration jobConfig = new FromJobConfiguration();
+
+    context.setString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_FROM_DATA_SQL,
+        "SELECT * FROM " + executor.encloseIdentifier(tableName) + " WHERE ${CONDITIONS}");
+    context.setString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_INCREMENTAL_CONDITIONS,
+        "\"ICOL\" > " + (START - 1) + " AND \"ICOL\" <= " + (START + 9));
+
+    Extractor extractor = new GenericJdbcExtractor();
+    DummyWriter writer = new DummyWriter();
+    Schema schema = new Schema("TestExtractor");
+    schema.addColumn(new FixedPoint("c1",2L, true)).addColumn(new Decimal("c2", 5, 2)).addColumn(new Text("c3")).addColumn(new Date("c4"));
+
+    ExtractorContext extractorContext = new ExtractorContext(context, writer, schema, "test_user");
+
+    // Partition covers whole table, only rows within incremental bounds are expected
+    GenericJdbcPartition partition = new GenericJdbcPartition();
+    partition.setConditions("-50.0 <= DCOL AND DCOL <= 50.0");
+    extractor.extract(extractorContext, linkConfig, jobConfig, partition);
+
+    assertEquals(10, extractor.getRowsRead());
+  }
+
   @SuppressWarnings({ "unchecked", "rawtypes" })
   @Test
   public void testSubquery() throws Exception {
@@ -18,7 +18,10 @@
 package org.apache.sqoop.connector.jdbc;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
 
+import java.sql.Timestamp;
 import java.sql.Types;
 import java.util.LinkedList;
 import java.util.List;
@@ -26,7 +29,9 @@
 import org.apache.commons.lang.StringUtils;
 import org.apache.sqoop.common.MutableContext;
 import org.apache.sqoop.common.MutableMapContext;
+import org.apache.sqoop.common.SqoopException;
 import org.apache.sqoop.connector.jdbc.configuration.FromJobConfiguration;
+import org.apache.sqoop.connector.jdbc.configuration.IncrementalMode;
 import org.apache.sqoop.connector.jdbc.configuration.LinkConfiguration;
 import org.apache.sqoop.job.Constants;
 import org.apache.sqoop.job.etl.Initializer;
@@ -44,6 +49,7 @@ public class TestFromInitializer {
   private final String schemaName;
   private final String tableName;
   private final String schemalessTableName;
+  private final String lastModifiedTableName;
   private final String tableSql;
   private final String schemalessTableSql;
   private final List<String> tableColumns;
@@ -58,6 +64,7 @@ public TestFromInitializer() {
     schemaName = getClass().getSimpleName().toUpperCase() + "SCHEMA";
     tableName = getClass().getSimpleName().toUpperCase() + "TABLEWITHSCHEMA";
     schemalessTableName = getClass().getSimpleName().toUpperCase() + "TABLE";
+    lastModifiedTableName = getClass().getSimpleName().toUpperCase() + "LASTMODIFIED";
     tableSql = "SELECT * FROM " + schemaName + "." + tableName + " WHERE ${CONDITIONS}";
     schemalessTableSql = "SELECT * FROM " + schemalessTableName + " WHERE ${CONDITIONS}";
     testUser = "test_user";
@@ -98,6 +105,18 @@ public void setUp() {
         executor.executeUpdate(sql);
       }
     }
+
+    fullTableName = executor.encloseIdentifier(lastModifiedTableName);
+    if (!executor.existTable(lastModifiedTableName)) {
+      executor.executeUpdate("CREATE TABLE "
+          + fullTableName
+          + "(ICOL INTEGER PRIMARY KEY, TSCOL TIMESTAMP)");
+
+      for (int i = 1; i <= 3; i++) {
+        executor.executeUpdate("INSERT INTO " + fullTableName
+            + " VALUES(" + i + ", '2015-01-0" + i + " 00:00:00')");
+      }
+    }
   }
 
   /**
@@ -175,6 +194,99 @@ public void testIncrementalTableNameFullRange() throws Exception {
         String.valueOf(START+NUMBER_OF_ROWS-1));
 
     assertEquals(String.valueOf(START+NUMBER_OF_ROWS-1), context.getString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_LAST_INCREMENTAL_VALUE));
+    assertEquals(context.getString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_INCREMENTAL_CONDITIONS),
+        "\"ICOL\" > -51 AND \"ICOL\" <= " + (START+NUMBER_OF_ROWS-1));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testLastModifiedTableNameInitialLoad() throws Exception {
+    LinkConfiguration linkConfig = new LinkConfiguration();
+    FromJobConfiguration jobConfig = new FromJobConfiguration();
+
+    linkConfig.linkConfig.jdbcDriver = GenericJdbcTestConstants.DRIVER;
+    linkConfig.linkConfig.connectionString = GenericJdbcTestConstants.URL;
+    jobConfig.fromJobConfig.tableName = lastModifiedTableName;
+    jobConfig.incrementalRead.mode = IncrementalMode.LAST_MODIFIED;
+    jobConfig.incrementalRead.checkColumn = "TSCOL";
+
+    MutableContext context = new MutableMapContext();
+    InitializerContext initializerContext = new InitializerContext(context, testUser);
+
+    @SuppressWarnings("rawtypes")
+    Initializer initializer = new GenericJdbcFromInitializer();
+    initializer.initialize(initializerContext, linkConfig, jobConfig);
+
+    // Upper bound is the time the job started, not the newest row
+    String upperValue = context.getString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_LAST_INCREMENTAL_VALUE);
+    assertNotNull(upperValue);
+    assertTrue(Timestamp.valueOf(upperValue).after(Timestamp.valueOf("2015-01-03 00:00:00")));
+    assertEquals(context.getString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_INCREMENTAL_CONDITIONS),
+        "\"TSCOL\" < '" + upperValue + "'");
+    assertEquals(context.getString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_PARTITION_MINVALUE), "1");
+    assertEquals(context.getString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_PARTITION_MAXVALUE), "3");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testLastModifiedTableName() throws Exception {
+    LinkConfiguration linkConfig = new LinkConfiguration();
+    FromJobConfiguration jobConfig = new FromJobConfiguration();
+
+    linkConfig.linkConfig.jdbcDriver = GenericJdbcTestConstants.DRIVER;
+    linkConfig.linkConfig.connectionString = GenericJdbcTestConstants.URL;
+    jobConfig.fromJobConfig.tableName = lastModifiedTableName;
+    jobConfig.incrementalRead.mode = IncrementalMode.LAST_MODIFIED;
+    jobConfig.incrementalRead.checkColumn = "TSCOL";
+    jobConfig.incrementalRead.lastValue = "2015-01-02 00:00:00.0";
+
+    MutableContext context = new MutableMapContext();
+    InitializerContext initializerContext = new InitializerContext(context, testUser);
+
+    @SuppressWarnings("rawtypes")
+    Initializer initializer = new GenericJdbcFromInitializer();
+    initializer.initialize(initializerContext, linkConfig, jobConfig);
+
+    // Rows modified at the last value are imported again, older ones are not
+    String upperValue = context.getString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_LAST_INCREMENTAL_VALUE);
+    assertEquals(context.getString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_INCREMENTAL_CONDITIONS),
+        "\"TSCOL\" >= '2015-01-02 00:00:00.0' AND \"TSCOL\" < '" + upperValue + "'");
+    assertEquals(context.getString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_PARTITION_MINVALUE), "2");
+    assertEquals(context.getString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_PARTITION_MAXVALUE), "3");
+  }
+
+  @Test(expectedExceptions = SqoopException.class)
+  @SuppressWarnings("unchecked")
+  public void testLastModifiedRequiresTimestamp() throws Exception {
+    LinkConfiguration linkConfig = new LinkConfiguration();
+    FromJobConfiguration jobConfig = new FromJobConfiguration();
+
+    linkConfig.linkConfig.jdbcDriver = GenericJdbcTestConstants.DRIVER;
+    linkConfig.linkConfig.connectionString = GenericJdbcTestConstants.URL;
+    jobConfig.fromJobConfig.tableName = schemalessTableName;
+    jobConfig.incrementalRead.mode = IncrementalMode.LAST_MODIFIED;
+    jobConfig.incrementalRead.checkColumn = "DCOL";
+
+    @SuppressWarnings("rawtypes")
+    Initializer initializer = new GenericJdbcFromInitializer();
+    initializer.initialize(new InitializerContext(new MutableMapContext(), testUser), linkConfig, jobConfig);
+  }
+
+  @Test(expectedExceptions = SqoopException.class)
+  @SuppressWarnings("unchecked")
+  public void testIncrementalInvalidLastValue() throws Exception {
+    LinkConfiguration linkConfig = new LinkConfiguration();
+    FromJobConfiguration jobConfig = new FromJobConfiguration();
+
+    linkConfig.linkConfig.jdbcDriver = GenericJdbcTestConstants.DRIVER;
+    linkConfig.linkConfig.connectionString = GenericJdbcTestConstants.URL;
+    jobConfig.fromJobConfig.tableName = schemalessTableName;
+    jobConfig.incrementalRead.checkColumn = "ICOL";
+    jobConfig.incrementalRead.lastValue = "0 OR 1 = 1";
+
+    @SuppressWarnings("rawtypes")
+    Initializer initializer = new GenericJdbcFromInitializer();
+    initializer.initialize(new InitializerContext(new MutableMapContext(), testUser), linkConfig, jobConfig);
   }
 
   @Test
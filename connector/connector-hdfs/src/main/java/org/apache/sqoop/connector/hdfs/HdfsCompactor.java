@@ -0,0 +1,259 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.hdfs;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.DataOutputBuffer;
+import org.apache.hadoop.io.IOUtils;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.hadoop.io.compress.CompressionCodecFactory;
+import org.apache.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Merges small loader outputs in a directory into larger files.
+ *
+ * Only files smaller than the threshold are merged and they are merged only
+ * with files of the same kind: text files with the same extension (and thus
+ * the same codec) and sequence files with the same key, value, compression
+ * type and codec. Merged files are about the threshold in size. Every merged
+ * file is written under a hidden temporary name and renamed into place, its
+ * sources are removed only after that.
+ */
+public class HdfsCompactor {
+
+  private static final Logger LOG = Logger.getLogger(HdfsCompactor.class);
+
+  private static final String SEQUENCE_FILE_EXTENSION = ".seq";
+
+  private final FileSystem fs;
+  private final Configuration conf;
+  private final long threshold;
+
+  public HdfsCompactor(FileSystem fs, Configuration conf, long threshold) {
+    this.fs = fs;
+    this.conf = conf;
+    this.threshold = threshold;
+  }
+
+  /**
+   * Compact files in given directory.
+   *
+   * @param directory Directory with loader outputs
+   * @param executor Executor that will run the merges
+   * @return Number of merged files that were created
+   */
+  public int compact(Path directory, ExecutorService executor) throws Exception {
+    List<Future<Void>> futures = new LinkedList<Future<Void>>();
+    for (final List<Path> group : getGroups(directory)) {
+      final Path target = new Path(directory, UUID.randomUUID() + getExtension(group.get(0)));
+      futures.add(executor.submit(new Callable<Void>() {
+        @Override
+        public Void call() throws Exception {
+          merge(group, target);
+          return null;
+        }
+      }));
+    }
+    HdfsUtils.waitFor(futures);
+    return futures.size();
+  }
+
+  /**
+   * Split small files in the directory into groups that will be merged
+   * together. Groups with a single file are omitted.
+   */
+  List<List<Path>> getGroups(Path directory) throws IOException {
+    FileStatus[] statuses = fs.listStatus(directory);
+    Arrays.sort(statuses);
+
+    Map<String, List<FileStatus>> kinds = new LinkedHashMap<String, List<FileStatus>>();
+    for (FileStatus status : statuses) {
+      if (!status.isFile() || status.getLen() >= threshold || HdfsUtils.isHidden(status.getPath())) {
+        continue;
+      }
+      String kind = getKind(status.getPath());
+      if (kind == null) {
+        continue;
+      }
+      if (!kinds.containsKey(kind)) {
+        kinds.put(kind, new ArrayList<FileStatus>());
+      }
+      kinds.get(kind).add(status);
+    }
+
+    List<List<Path>> groups = new LinkedList<List<Path>>();
+    for (List<FileStatus> files : kinds.values()) {
+      List<Path> group = new ArrayList<Path>();
+      long size = 0;
+      for (FileStatus file : files) {
+        group.add(file.getPath());
+        size += file.getLen();
+        if (size >= threshold) {
+          addGroup(groups, group);
+          group = new ArrayList<Path>();
+          size = 0;
+        }
+      }
+      addGroup(groups, group);
+    }
+    return groups;
+  }
+
+  private static void addGroup(List<List<Path>> groups, List<Path> group) {
+    if (group.size() > 1) {
+      groups.add(group);
+    }
+  }
+
+  /**
+   * Return description of the file format, files with the same kind can be
+   * merged together. Null is returned for files that can't be merged.
+   */
+  @SuppressWarnings("deprecation")
+  private String getKind(Path path) throws IOException {
+    String extension = getExtension(path);
+    if (SEQUENCE_FILE_EXTENSION.equals(extension)) {
+      SequenceFile.Reader reader = new SequenceFile.Reader(fs, path, conf);
+      try {
+        CompressionCodec codec = reader.getCompressionCodec();
+        return extension + ":" + reader.getKeyClassName() + ":" + reader.getValueClassName()
+            + ":" + reader.getCompressionType() + ":" + (codec == null ? null : codec.getClass().getName());
+      } finally {
+        reader.close();
+      }
+    }
+
+    // Text files, the extension determines the codec
+    if (extension.equals(".txt") || new CompressionCodecFactory(conf).getCodec(path) != null) {
+      return extension;
+    }
+    return null;
+  }
+
+  private void merge(List<Path> sources, Path target) throws IOException {
+    LOG.info("Merging " + sources.size() + " files into " + target);
+    // Half written file must never be taken for output, hidden name keeps it
+    // out of the commit and of input formats reading the directory
+    Path temporary = new Path(target.getParent(), "_" + target.getName());
+    try {
+      if (SEQUENCE_FILE_EXTENSION.equals(getExtension(target))) {
+        mergeSequenceFiles(sources, temporary);
+      } else {
+        mergeTextFiles(sources, temporary);
+      }
+      if (!fs.rename(temporary, target)) {
+        throw new IOException("Can't move " + temporary + " to " + target);
+      }
+    } catch (IOException e) {
+      fs.delete(temporary, false);
+      throw e;
+    }
+
+    // Source left next to its merged copy would duplicate its rows in the
+    // output, so the commit must not go on
+    for (Path source : sources) {
+      if (!fs.delete(source, false)) {
+        throw new IOException("Can't delete " + source + " merged into " + target);
+      }
+    }
+  }
+
+  /**
+   * Text files are decompressed and written again into a single compressed
+   * stream, concatenation of compressed streams is not supported by all codecs.
+   */
+  private void mergeTextFiles(List<Path> sources, Path target) throws IOException {
+    // All sources share the extension and thus the codec
+    CompressionCodec codec = new CompressionCodecFactory(conf).getCodec(sources.get(0));
+    OutputStream out = fs.create(target, false);
+    try {
+      if (codec != null) {
+        out = codec.createOutputStream(out);
+      }
+      for (Path source : sources) {
+        InputStream in = fs.open(source);
+        try {
+          if (codec != null) {
+            in = codec.createInputStream(in);
+          }
+          IOUtils.copyBytes(in, out, conf, false);
+        } finally {
+          in.close();
+        }
+      }
+    } finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Records are copied in their raw form, all sources share the same
+   * compression so the values don't need to be decompressed.
+   */
+  @SuppressWarnings("deprecation")
+  private void mergeSequenceFiles(List<Path> sources, Path target) throws IOException {
+    SequenceFile.Writer writer = null;
+    try {
+      for (Path source : sources) {
+        SequenceFile.Reader reader = new SequenceFile.Reader(fs, source, conf);
+        try {
+          if (writer == null) {
+            writer = SequenceFile.createWriter(fs, conf, target, reader.getKeyClass(), reader.getValueClass(),
+                reader.getCompressionType(), reader.getCompressionCodec());
+          }
+          DataOutputBuffer key = new DataOutputBuffer();
+          SequenceFile.ValueBytes value = reader.createValueBytes();
+          while (reader.nextRaw(key, value) != -1) {
+            writer.appendRaw(key.getData(), 0, key.getLength(), value);
+            key.reset();
+          }
+        } finally {
+          reader.close();
+        }
+      }
+    } finally {
+      if (writer != null) {
+        writer.close();
+      }
+    }
+  }
+
+  private static String getExtension(Path path) {
+    String name = path.getName();
+    int dot = name.indexOf('.');
+    return dot < 0 ? "" : name.substring(dot);
+  }
+}
@@ -39,4 +39,8 @@ public final class HdfsConstants extends Constants implements Serializable {
   public static final String MAX_IMPORT_DATE = PREFIX + "max_import_date";
 
   public static final String DELEGATION_TOKENS = PREFIX + "delegation_tokens";
+
+  public static final int DEFAULT_COMMIT_THREADS = 10;
+
+  public static final int DEFAULT_LISTING_THREADS = 10;
 }
@@ -21,6 +21,14 @@
 import java.io.Serializable;
 import java.io.UnsupportedEncodingException;
 import java.security.PrivilegedExceptionAction;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.avro.file.DataFileReader;
+import org.apache.avro.file.SeekableInput;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
 
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataInputStream;
@@ -31,6 +39,7 @@
 import org.apache.hadoop.io.Text;
 import org.apache.hadoop.io.compress.CompressionCodec;
 import org.apache.hadoop.io.compress.CompressionCodecFactory;
+import org.apache.hadoop.mapred.Reporter;
 import org.apache.hadoop.security.UserGroupInformation;
 import org.apache.hadoop.util.LineReader;
 import org.apache.log4j.Logger;
@@ -46,6 +55,16 @@
 import org.apache.sqoop.schema.ByteArraySchema;
 import org.apache.sqoop.schema.Schema;
 
+import parquet.avro.AvroReadSupport;
+import parquet.avro.AvroSchemaConverter;
+import parquet.hadoop.ParquetFileReader;
+import parquet.hadoop.ParquetInputSplit;
+import parquet.hadoop.ParquetRecordReader;
+import parquet.hadoop.api.ReadSupport;
+import parquet.hadoop.metadata.BlockMetaData;
+import parquet.hadoop.metadata.ParquetMetadata;
+import parquet.schema.MessageType;
+
 /**
  * Extract from HDFS.
  * Default field delimiter of a record is comma.
@@ -59,6 +78,7 @@ public class HdfsExtractor extends Extractor<LinkConfiguration, FromJobConfigura
   private DataWriter dataWriter;
   private Schema schema;
   private long rowsRead = 0;
+  private byte[] csvBuffer = new byte[0];
 
   @Override
   public void extract(final ExtractorContext context, final LinkConfiguration linkConfiguration, final FromJobConfiguration jobConfiguration, final HdfsPartition partition) {
@@ -72,7 +92,7 @@ public Void run() throws Exception {
           LOG.info("Working on partition: " + p);
           int numFiles = p.getNumberOfFiles();
           for (int i = 0; i < numFiles; i++) {
-            extractFile(linkConfiguration, jobConfiguration, p.getFile(i), p.getOffset(i), p.getLength(i));
+            extractFile(linkConfiguration, jobConfiguration, p.getFile(i), p.getOffset(i), p.getLength(i), p.getFormat(i));
           }
           return null;
         }
@@ -84,15 +104,23 @@ public Void run() throws Exception {
 
   private void extractFile(LinkConfiguration linkConfiguration,
                            FromJobConfiguration fromJobConfiguration,
-                           Path file, long start, long length)
-      throws IOException {
+                           Path file, long start, long length, HdfsFileFormat format)
+      throws IOException, InterruptedException {
     long end = start + length;
     LOG.info("Extracting file " + file);
     LOG.info("\t from offset " + start);
     LOG.info("\t to offset " + end);
     LOG.info("\t of length " + length);
-    if(isSequenceFile(file)) {
+    if (format == null) {
+      // partition created without format information
+      format = HdfsFileFormat.detect(file.getFileSystem(conf), file);
+    }
+    if(format == HdfsFileFormat.SEQUENCE) {
       extractSequenceFile(linkConfiguration, fromJobConfiguration, file, start, length);
+    } else if(format == HdfsFileFormat.AVRO) {
+      extractAvroFile(file, start, length);
+    } else if(format == HdfsFileFormat.PARQUET) {
+      extractParquetFile(file, start, length);
     } else {
       extractTextFile(linkConfiguration, fromJobConfiguration, file, start, length);
     }
@@ -192,39 +220,185 @@ private void extractTextFile(LinkConfiguration linkConfiguration,
     filestream.close();
   }
 
-  @Override
-  public long getRowsRead() {
-    return rowsRead;
-  }
-
   /**
-   * Returns true if given file is sequence
+   * Extracts Avro file, split starts and ends on the sync markers following
+   * given offsets.
    * @param file
-   * @return boolean
+   * @param start
+   * @param length
+   * @throws IOException
    */
-  @SuppressWarnings("deprecation")
-  private boolean isSequenceFile(Path file) {
-    SequenceFile.Reader filereader = null;
+  private void extractAvroFile(Path file, long start, long length)
+      throws IOException {
+    LOG.info("Extracting avro file");
+    long end = start + length;
+    FileSystem fs = file.getFileSystem(conf);
+    GenericDatumReader<GenericRecord> datumReader = new GenericDatumReader<GenericRecord>();
+    DataFileReader<GenericRecord> filereader = new DataFileReader<GenericRecord>(
+        new FsSeekableInput(fs, file), datumReader);
     try {
-      filereader = new SequenceFile.Reader(file.getFileSystem(conf), file, conf);
+      HdfsRecordProjection projection = new HdfsRecordProjection(filereader.getSchema(), schema);
+      // fields that are not part of the projection are skipped while decoding
+      datumReader.setExpected(projection.getReaderSchema());
+
+      filereader.sync(start);
+      GenericRecord record = null;
+      while (filereader.hasNext() && !filereader.pastSync(end)) {
+        record = filereader.next(record);
+        rowsRead++;
+        dataWriter.writeArrayRecord(projection.toObjectArray(record));
+      }
+    } finally {
       filereader.close();
-    } catch (IOException e) {
-      return false;
     }
-    return true;
+  }
+
+  /**
+   * Extracts Parquet file, split consists of the row groups that start
+   * within given range. Only projected columns are read from the disk.
+   * @param file
+   * @param start
+   * @param length
+   * @throws IOException
+   */
+  private void extractParquetFile(Path file, long start, long length)
+      throws IOException, InterruptedException {
+    LOG.info("Extracting parquet file");
+    long end = start + length;
+    ParquetMetadata footer = ParquetFileReader.readFooter(conf, file);
+    List<BlockMetaData> rowGroups = new ArrayList<BlockMetaData>();
+    for (BlockMetaData rowGroup : footer.getBlocks()) {
+      long rowGroupStart = HdfsUtils.getRowGroupStart(rowGroup);
+      if (start <= rowGroupStart && rowGroupStart < end) {
+        rowGroups.add(rowGroup);
+      }
+    }
+    LOG.info("Reading " + rowGroups.size() + " out of " + footer.getBlocks().size() + " row groups");
+    if (rowGroups.isEmpty()) {
+      return;
+    }
+
+    MessageType fileSchema = footer.getFileMetaData().getSchema();
+    String avroSchema = footer.getFileMetaData().getKeyValueMetaData().get("avro.schema");
+    HdfsRecordProjection projection = new HdfsRecordProjection(avroSchema != null
+        ? new org.apache.avro.Schema.Parser().parse(avroSchema)
+        : new AvroSchemaConverter().convert(fileSchema), schema);
+
+    Configuration fileConf = new Configuration(conf);
+    AvroReadSupport.setRequestedProjection(fileConf, projection.getReaderSchema());
+    AvroReadSupport.setAvroReadSchema(fileConf, projection.getReaderSchema());
+    // there is no map reduce reporter to report the benchmark counters to
+    fileConf.setBoolean("parquet.benchmark.bytes.read", false);
+    fileConf.setBoolean("parquet.benchmark.bytes.total", false);
+    fileConf.setBoolean("parquet.benchmark.time.read", false);
+    AvroReadSupport<GenericRecord> readSupport = new AvroReadSupport<GenericRecord>();
+    ReadSupport.ReadContext readContext = readSupport.init(fileConf,
+        footer.getFileMetaData().getKeyValueMetaData(), fileSchema);
+    // Row groups are read one by one, reader of this parquet version fails
+    // on its statistics when it moves to the next row group too quickly
+    for (BlockMetaData rowGroup : rowGroups) {
+      ParquetInputSplit split = new ParquetInputSplit(file, start, length, new String[0],
+          Collections.singletonList(rowGroup), readContext.getRequestedSchema().toString(),
+          fileSchema.toString(), footer.getFileMetaData().getKeyValueMetaData(),
+          readContext.getReadSupportMetadata());
+      ParquetRecordReader<GenericRecord> filereader = new ParquetRecordReader<GenericRecord>(readSupport);
+      try {
+        filereader.initialize(split, fileConf, Reporter.NULL);
+        while (filereader.nextKeyValue()) {
+          rowsRead++;
+          dataWriter.writeArrayRecord(projection.toObjectArray(filereader.getCurrentValue()));
+        }
+      } finally {
+        filereader.close();
+      }
+    }
+  }
+
+  @Override
+  public long getRowsRead() {
+    return rowsRead;
   }
 
   private void extractRow(LinkConfiguration linkConfiguration, FromJobConfiguration fromJobConfiguration, Text line) throws UnsupportedEncodingException {
     if (schema instanceof ByteArraySchema) {
-      dataWriter.writeArrayRecord(new Object[] {line.toString().getBytes(SqoopIDFUtils.BYTE_FIELD_CHARSET)});
+      if (isByteFieldText(line)) {
+        // Line decodes to the same characters as the byte field, its CSV can
+        // be produced from the UTF-8 bytes directly
+        if (csvBuffer.length < 2 * line.getLength() + 2) {
+          csvBuffer = new byte[2 * line.getLength() + 2];
+        }
+        int length = SqoopIDFUtils.toCSVString(line.getBytes(), 0, line.getLength(), csvBuffer);
+        dataWriter.writeTextRecord(csvBuffer, 0, length);
+      } else {
+        dataWriter.writeArrayRecord(new Object[] {line.toString().getBytes(SqoopIDFUtils.BYTE_FIELD_CHARSET)});
+      }
     } else if (!HdfsUtils.hasCustomFormat(linkConfiguration,
       fromJobConfiguration)) {
-      dataWriter.writeStringRecord(line.toString());
+      // Line is already Sqoop CSV, pass its UTF-8 bytes through
+      dataWriter.writeTextRecord(line.getBytes(), 0, line.getLength());
     } else {
       Object[] data = SqoopIDFUtils.fromCSV(line.toString(), schema);
       dataWriter.writeArrayRecord(HdfsUtils.formatRecord(linkConfiguration, fromJobConfiguration, data));
     }
   }
 
+  /**
+   * Returns true if the UTF-8 encoded line contains only characters that
+   * are representable in BYTE_FIELD_CHARSET (ISO-8859-1). UTF-8 encoding of
+   * such line is exactly UTF-8 encoding of the byte field extracted from it.
+   * @param line
+   * @return boolean
+   */
+  private static boolean isByteFieldText(Text line) {
+    byte[] bytes = line.getBytes();
+    int length = line.getLength();
+    for (int i = 0; i < length; i++) {
+      int b = bytes[i] & 0xFF;
+      if (b >= 0x80) {
+        // Only two byte sequences for U+0080 - U+00FF are allowed
+        if ((b != 0xC2 && b != 0xC3) || ++i == length || (bytes[i] & 0xC0) != 0x80) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Avro view of a file opened from Hadoop file system.
+   */
+  private static class FsSeekableInput implements SeekableInput {
+    private final FSDataInputStream stream;
+    private final long length;
+
+    FsSeekableInput(FileSystem fs, Path file) throws IOException {
+      this.length = fs.getFileStatus(file).getLen();
+      this.stream = fs.open(file);
+    }
+
+    @Override
+    public void seek(long p) throws IOException {
+      stream.seek(p);
+    }
 
+    @Override
+    public long tell() throws IOException {
+      return stream.getPos();
+    }
+
+    @Override
+    public long length() throws IOException {
+      return length;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      return stream.read(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+      stream.close();
+    }
+  }
 }
@@ -0,0 +1,194 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.hdfs;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.log4j.Logger;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Physical format of an input file.
+ *
+ * Format is decided from the magic bytes at the beginning of the file, which
+ * costs one small read instead of opening the file with a full reader. Avro
+ * and Parquet files carry their own compression and are always splittable.
+ */
+public enum HdfsFileFormat {
+
+  TEXT,
+
+  SEQUENCE,
+
+  AVRO,
+
+  PARQUET;
+
+  private static final Logger LOG = Logger.getLogger(HdfsFileFormat.class);
+
+  /**
+   * Magic bytes every SequenceFile starts with (followed by version byte).
+   */
+  private static final byte[] SEQUENCE_MAGIC = new byte[] {'S', 'E', 'Q'};
+
+  /**
+   * Highest SequenceFile version known to the reader.
+   */
+  private static final byte SEQUENCE_MAX_VERSION = 6;
+
+  /**
+   * Magic bytes of Avro object container file.
+   */
+  private static final byte[] AVRO_MAGIC = new byte[] {'O', 'b', 'j', 1};
+
+  /**
+   * Magic bytes Parquet file starts (and ends) with.
+   */
+  private static final byte[] PARQUET_MAGIC = new byte[] {'P', 'A', 'R', '1'};
+
+  private static final int MAX_MAGIC_LENGTH = 4;
+
+  /**
+   * Detect format of given file from its header.
+   *
+   * Files that are shorter than the magic or that do not start with it are
+   * read as text, compressed text files are recognized by their extension
+   * later on. "SEQ" is a plausible start of a text file, so files with that
+   * magic are SequenceFiles only if their header can be read as well.
+   *
+   * @param fs File system of the file
+   * @param file File status
+   * @return Format of the file
+   */
+  public static HdfsFileFormat detect(FileSystem fs, FileStatus file) throws IOException {
+    if (file.getLen() < SEQUENCE_MAGIC.length) {
+      return TEXT;
+    }
+    byte[] header = new byte[(int) Math.min(MAX_MAGIC_LENGTH, file.getLen())];
+    FSDataInputStream in = fs.open(file.getPath());
+    try {
+      in.readFully(0, header);
+    } catch (EOFException e) {
+      return TEXT;
+    } finally {
+      in.close();
+    }
+
+    if (startsWith(header, SEQUENCE_MAGIC)) {
+      return isSequenceFile(fs, file, header) ? SEQUENCE : TEXT;
+    } else if (startsWith(header, AVRO_MAGIC)) {
+      return AVRO;
+    } else if (startsWith(header, PARQUET_MAGIC)) {
+      return PARQUET;
+    }
+    return TEXT;
+  }
+
+  /**
+   * Detect format of given file from its header.
+   *
+   * @param fs File system of the file
+   * @param path Path to the file
+   * @return Format of the file
+   */
+  public static HdfsFileFormat detect(FileSystem fs, Path path) throws IOException {
+    return detect(fs, fs.getFileStatus(path));
+  }
+
+  private static boolean isSequenceFile(FileSystem fs, FileStatus file, byte[] header) {
+    if (header.length <= SEQUENCE_MAGIC.length
+        || header[SEQUENCE_MAGIC.length] < 1 || header[SEQUENCE_MAGIC.length] > SEQUENCE_MAX_VERSION) {
+      return false;
+    }
+    // Version byte looks right, let the reader check the rest of the header
+    try {
+      new SequenceFile.Reader(fs.getConf(), SequenceFile.Reader.file(file.getPath())).close();
+      return true;
+    } catch (Exception e) {
+      LOG.info("File " + file.getPath() + " starts with SequenceFile magic but can't be read as one, reading it as text", e);
+      return false;
+    }
+  }
+
+  private static boolean startsWith(byte[] header, byte[] magic) {
+    if (header.length < magic.length) {
+      return false;
+    }
+    for (int i = 0; i < magic.length; i++) {
+      if (header[i] != magic[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Detect formats of all given files, headers are read in parallel.
+   *
+   * @param fs File system of the files
+   * @param files Files to inspect
+   * @param threads Maximal number of concurrent reads
+   * @return Format for each of the files
+   */
+  public static Map<Path, HdfsFileFormat> detect(final FileSystem fs, List<? extends FileStatus> files, int threads) throws Exception {
+    final Map<Path, HdfsFileFormat> formats = new HashMap<Path, HdfsFileFormat>();
+    if (files.size() <= 1 || threads <= 1) {
+      for (FileStatus file : files) {
+        formats.put(file.getPath(), detect(fs, file));
+      }
+      return formats;
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, files.size()),
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("hdfs-detect-%d").build());
+    try {
+      List<Future<HdfsFileFormat>> futures = new ArrayList<Future<HdfsFileFormat>>(files.size());
+      for (final FileStatus file : files) {
+        futures.add(executor.submit(new Callable<HdfsFileFormat>() {
+          @Override
+          public HdfsFileFormat call() throws Exception {
+            return detect(fs, file);
+          }
+        }));
+      }
+      HdfsUtils.waitFor(futures);
+
+      for (int i = 0; i < files.size(); i++) {
+        formats.put(files.get(i).getPath(), futures.get(i).get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    return formats;
+  }
+}
@@ -81,8 +81,8 @@ public Void run() throws Exception {
           if(incremental) {
             LOG.info("Detected incremental import");
             long maxModifiedTime = -1;
-            FileStatus[] fileStatuses = fs.listStatus(path);
-            for(FileStatus status : fileStatuses) {
+            // Only files that will be processed by the partitioner are considered
+            for(FileStatus status : HdfsInputLister.create(fs, configuration, jobConfig.fromJobConfig).list(path)) {
               if(maxModifiedTime < status.getModificationTime()) {
                 maxModifiedTime = status.getModificationTime();
               }
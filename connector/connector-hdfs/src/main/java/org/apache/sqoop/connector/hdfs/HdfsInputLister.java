@@ -0,0 +1,186 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.hdfs;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.GlobFilter;
+import org.apache.hadoop.fs.LocatedFileStatus;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.PathFilter;
+import org.apache.hadoop.fs.RemoteIterator;
+import org.apache.hadoop.util.ReflectionUtils;
+import org.apache.log4j.Logger;
+import org.apache.sqoop.connector.hdfs.configuration.FromJobConfig;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Lists input files of a job together with their block locations.
+ *
+ * Every directory is listed exactly once with listLocatedStatus, so sizes
+ * and block locations of all files are fetched by a single pass. With
+ * recursion enabled the directory tree is walked level by level, all
+ * directories of one level are listed in parallel. Hidden directories (names
+ * starting with "_" or ".", e.g. _temporary) are never entered.
+ */
+public class HdfsInputLister {
+
+  private static final Logger LOG = Logger.getLogger(HdfsInputLister.class);
+
+  /**
+   * Number of threads listing directories, shared with FileInputFormat.
+   */
+  public static final String LIST_STATUS_NUM_THREADS = "mapreduce.input.fileinputformat.list-status.num-threads";
+
+  /**
+   * Custom PathFilter implementation, shared with FileInputFormat.
+   */
+  public static final String PATHFILTER_CLASS = "mapreduce.input.pathFilter.class";
+
+  private final FileSystem fs;
+  private final boolean recursive;
+  private final List<PathFilter> filters;
+  private final int threads;
+
+  public HdfsInputLister(FileSystem fs, boolean recursive, List<PathFilter> filters, int threads) {
+    this.fs = fs;
+    this.recursive = recursive;
+    this.filters = filters;
+    this.threads = threads;
+  }
+
+  /**
+   * Create lister for input of given job.
+   *
+   * @param fs File system of the input directory
+   * @param conf Hadoop configuration
+   * @param fromJobConfig Job configuration
+   */
+  public static HdfsInputLister create(FileSystem fs, Configuration conf, FromJobConfig fromJobConfig) throws IOException {
+    List<PathFilter> filters = new ArrayList<PathFilter>();
+    if (fromJobConfig.fileFilter != null && !fromJobConfig.fileFilter.trim().isEmpty()) {
+      filters.add(new GlobFilter(fromJobConfig.fileFilter.trim()));
+    }
+    Class<?> filterClass = conf.getClass(PATHFILTER_CLASS, null, PathFilter.class);
+    if (filterClass != null) {
+      filters.add((PathFilter) ReflectionUtils.newInstance(filterClass, conf));
+    }
+
+    boolean recursive = fromJobConfig.recursive != null && fromJobConfig.recursive;
+    int threads = Math.max(1, conf.getInt(LIST_STATUS_NUM_THREADS, HdfsConstants.DEFAULT_LISTING_THREADS));
+    return new HdfsInputLister(fs, recursive, filters, threads);
+  }
+
+  public int getThreads() {
+    return threads;
+  }
+
+  /**
+   * List all accepted files in given directory.
+   *
+   * @param directory Input directory
+   * @return Files sorted by their path
+   */
+  public List<LocatedFileStatus> list(Path directory) throws Exception {
+    List<LocatedFileStatus> files = new ArrayList<LocatedFileStatus>();
+    List<Path> level = Collections.singletonList(directory);
+
+    ExecutorService executor = null;
+    try {
+      while (!level.isEmpty()) {
+        List<Path> nextLevel = new ArrayList<Path>();
+
+        if (level.size() == 1 || threads == 1) {
+          for (Path dir : level) {
+            listDirectory(dir, files, nextLevel);
+          }
+        } else {
+          if (executor == null) {
+            executor = Executors.newFixedThreadPool(threads,
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("hdfs-list-%d").build());
+          }
+          List<Future<Void>> futures = new LinkedList<Future<Void>>();
+          final List<LocatedFileStatus> levelFiles = Collections.synchronizedList(new ArrayList<LocatedFileStatus>());
+          final List<Path> levelDirectories = Collections.synchronizedList(new ArrayList<Path>());
+          for (final Path dir : level) {
+            futures.add(executor.submit(new Callable<Void>() {
+              @Override
+              public Void call() throws Exception {
+                listDirectory(dir, levelFiles, levelDirectories);
+                return null;
+              }
+            }));
+          }
+          HdfsUtils.waitFor(futures);
+          files.addAll(levelFiles);
+          nextLevel.addAll(levelDirectories);
+        }
+
+        level = nextLevel;
+      }
+    } finally {
+      if (executor != null) {
+        executor.shutdownNow();
+      }
+    }
+
+    Collections.sort(files, new Comparator<LocatedFileStatus>() {
+      @Override
+      public int compare(LocatedFileStatus o1, LocatedFileStatus o2) {
+        return o1.getPath().compareTo(o2.getPath());
+      }
+    });
+    LOG.info("Found " + files.size() + " input files in " + directory);
+    return files;
+  }
+
+  private void listDirectory(Path directory, List<LocatedFileStatus> files, List<Path> directories) throws IOException {
+    RemoteIterator<LocatedFileStatus> iterator = fs.listLocatedStatus(directory);
+    while (iterator.hasNext()) {
+      LocatedFileStatus status = iterator.next();
+      if (status.isDirectory()) {
+        if (recursive && !HdfsUtils.isHidden(status.getPath())) {
+          directories.add(status.getPath());
+        }
+      } else if (accept(status.getPath())) {
+        files.add(status);
+      }
+    }
+  }
+
+  private boolean accept(Path path) {
+    for (PathFilter filter : filters) {
+      if (!filter.accept(path)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
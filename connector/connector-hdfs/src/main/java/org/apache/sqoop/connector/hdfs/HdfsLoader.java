@@ -24,6 +24,7 @@
 
 import org.apache.hadoop.conf.Configurable;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.compress.CompressionCodec;
 import org.apache.hadoop.security.UserGroupInformation;
@@ -33,8 +34,7 @@
 import org.apache.sqoop.connector.hdfs.configuration.ToFormat;
 import org.apache.sqoop.connector.hdfs.configuration.ToJobConfiguration;
 import org.apache.sqoop.connector.hdfs.hdfsWriter.GenericHdfsWriter;
-import org.apache.sqoop.connector.hdfs.hdfsWriter.HdfsSequenceWriter;
-import org.apache.sqoop.connector.hdfs.hdfsWriter.HdfsTextWriter;
+import org.apache.sqoop.connector.hdfs.hdfsWriter.HdfsRollingWriter;
 import org.apache.sqoop.connector.hdfs.security.SecurityUtils;
 import org.apache.sqoop.error.code.HdfsConnectorError;
 import org.apache.sqoop.etl.io.DataReader;
@@ -45,6 +45,13 @@
 
 public class HdfsLoader extends Loader<LinkConfiguration, ToJobConfiguration> implements Serializable {
 
+  /**
+   * Space left free in the last block of a file when rolling on the block
+   * size, it covers data that are buffered by the writers when the size is
+   * checked.
+   */
+  static final long BLOCK_SIZE_MARGIN = 1024 * 1024;
+
   private long rowsWritten = 0;
 
   /**
@@ -89,17 +96,22 @@ public Void run() throws Exception {
         try {
           Path filepath = new Path(filename);
 
-          GenericHdfsWriter filewriter = getWriter(toJobConfig);
+          GenericHdfsWriter filewriter = getWriter(toJobConfig, filepath.getFileSystem(conf), filepath);
 
           filewriter.initialize(filepath, conf, codec);
 
       if (!HdfsUtils.hasCustomFormat(linkConfiguration, toJobConfig) || (context.getSchema() instanceof ByteArraySchema)) {
-        String record;
-        while ((record = reader.readTextRecord()) != null) {
+        // Records are written as UTF-8 bytes, they are never decoded
+        byte[] record;
+        byte[] text = new byte[0];
+        while ((record = reader.readTextRecordBytes()) != null) {
           if (context.getSchema() instanceof ByteArraySchema) {
-            filewriter.write(SqoopIDFUtils.toText(record));
+            if (text.length < record.length) {
+              text = new byte[record.length];
+            }
+            filewriter.write(text, 0, SqoopIDFUtils.toText(record, 0, record.length, text));
           } else {
-            filewriter.write(record);
+            filewriter.write(record, 0, record.length);
           }
           rowsWritten++;
         }
@@ -124,9 +136,22 @@ public Void run() throws Exception {
   });
   }
 
-  private GenericHdfsWriter getWriter(ToJobConfiguration toJobConf) {
-    return (toJobConf.toJobConfig.outputFormat == ToFormat.SEQUENCE_FILE) ? new HdfsSequenceWriter()
-        : new HdfsTextWriter();
+  private GenericHdfsWriter getWriter(ToJobConfiguration toJobConf, FileSystem fs, Path filepath) {
+    return new HdfsRollingWriter(toJobConf.toJobConfig.outputFormat,
+        getMaxFileSize(toJobConf, fs, filepath),
+        toJobConf.toJobConfig.maxFileRows == null ? 0 : toJobConf.toJobConfig.maxFileRows);
+  }
+
+  /**
+   * Files are aligned to the block size of the target file system unless
+   * user has asked for a specific size.
+   */
+  static long getMaxFileSize(ToJobConfiguration toJobConf, FileSystem fs, Path filepath) {
+    if (toJobConf.toJobConfig.maxFileSize != null) {
+      return toJobConf.toJobConfig.maxFileSize;
+    }
+    long blockSize = fs.getDefaultBlockSize(filepath);
+    return blockSize > 2 * BLOCK_SIZE_MARGIN ? blockSize - BLOCK_SIZE_MARGIN : blockSize;
   }
 
   private String getCompressionCodecName(ToJobConfiguration toJobConf) {
@@ -37,12 +37,18 @@ public class HdfsPartition extends Partition implements Serializable {
   private Path[] files;
   private long[] offsets;
   private long[] lengths;
+  private HdfsFileFormat[] formats;
   private String[] locations;
 
   public HdfsPartition() {}
 
   public HdfsPartition(Path[] files, long[] offsets,
                        long[] lengths, String[] locations) {
+    this(files, offsets, lengths, new HdfsFileFormat[files.length], locations);
+  }
+
+  public HdfsPartition(Path[] files, long[] offsets, long[] lengths,
+                       HdfsFileFormat[] formats, String[] locations) {
     for(long length : lengths) {
       this.lenFiles += length;
     }
@@ -50,6 +56,7 @@ public HdfsPartition(Path[] files, long[] offsets,
     this.files = files.clone();
     this.offsets = offsets.clone();
     this.lengths = lengths.clone();
+    this.formats = formats.clone();
     this.locations = locations.clone();
   }
 
@@ -73,6 +80,15 @@ public long getLength(int i) {
     return lengths[i];
   }
 
+  /**
+   * Format of i-th file as detected by the partitioner.
+   *
+   * @return File format or null if it's not known
+   */
+  public HdfsFileFormat getFormat(int i) {
+    return formats[i];
+  }
+
   @Override
   public void readFields(DataInput in) throws IOException {
     numFiles = in.readInt();
@@ -92,6 +108,12 @@ public void readFields(DataInput in) throws IOException {
       lengths[i] = in.readLong();
     }
 
+    formats = new HdfsFileFormat[numFiles];
+    for(int i=0; i<numFiles; i++) {
+      int format = in.readByte();
+      formats[i] = format < 0 ? null : HdfsFileFormat.values()[format];
+    }
+
     for(long length : lengths) {
       lenFiles += length;
     }
@@ -123,6 +145,10 @@ public void write(DataOutput out) throws IOException {
       out.writeLong(length);
     }
 
+    for(HdfsFileFormat format : formats) {
+      out.writeByte(format == null ? -1 : format.ordinal());
+    }
+
     if (locations == null || locations.length == 0) {
       out.writeInt(0);
     } else {
@@ -149,6 +175,9 @@ public String toString() {
       sb.append(" (offset=").append(offsets[i]);
       sb.append(", end=").append(offsets[i] + lengths[i]);
       sb.append(", length=").append(lengths[i]);
+      if (formats[i] != null) {
+        sb.append(", format=").append(formats[i]);
+      }
       sb.append(")");
     }
     sb.append("}");
@@ -26,7 +26,6 @@
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -35,6 +34,7 @@
 import org.apache.hadoop.fs.BlockLocation;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocatedFileStatus;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.compress.CompressionCodec;
 import org.apache.hadoop.io.compress.CompressionCodecFactory;
@@ -52,6 +52,10 @@
 import org.apache.sqoop.job.etl.Partitioner;
 import org.apache.sqoop.job.etl.PartitionerContext;
 
+import parquet.hadoop.Footer;
+import parquet.hadoop.ParquetFileReader;
+import parquet.hadoop.metadata.BlockMetaData;
+
 /**
  * This class derives mostly from CombineFileInputFormat of Hadoop, i.e.
  * org.apache.hadoop.mapreduce.lib.input.CombineFileInputFormat.
@@ -74,6 +78,12 @@ public class HdfsPartitioner extends Partitioner<LinkConfiguration, FromJobConfi
   private HashMap<String, Set<String>> rackToNodes =
       new HashMap<String, Set<String>>();
 
+  // format of every input file
+  private Map<Path, HdfsFileFormat> formats;
+
+  // row group offsets of parquet input files
+  private Map<Path, List<Long>> rowGroups;
+
   @Override
   public List<Partition> getPartitions(final PartitionerContext context,
                                        final LinkConfiguration linkConfiguration,
@@ -87,7 +97,45 @@ public List<Partition> getPartitions(final PartitionerContext context,
     try {
       SecurityUtils.createProxyUserAndLoadDelegationTokens(context).doAs(new PrivilegedExceptionAction<Void>() {
         public Void run() throws Exception {
-          long numInputBytes = getInputSize(conf, fromJobConfig.fromJobConfig.inputDirectory);
+          // Incremental import related options
+          boolean incremental = fromJobConfig.incremental.incrementalType != null
+            && fromJobConfig.incremental.incrementalType == IncrementalType.NEW_FILES;
+          long lastImportedDate = fromJobConfig.incremental.lastImportedDate != null
+            ? fromJobConfig.incremental.lastImportedDate.getMillis() : -1;
+          long maxImportDate = context.getLong(HdfsConstants.MAX_IMPORT_DATE, -1);
+
+          // all the files in input set, sizes and block locations are fetched by the same listing
+          String indir = fromJobConfig.fromJobConfig.inputDirectory;
+          FileSystem fs = FileSystem.get(conf);
+
+          HdfsInputLister lister = HdfsInputLister.create(fs, conf, fromJobConfig.fromJobConfig);
+          List<LocatedFileStatus> files = new ArrayList<LocatedFileStatus>();
+          long numInputBytes = 0;
+          for (LocatedFileStatus status : lister.list(new Path(indir))) {
+            if (incremental) {
+              long modifiedDate = status.getModificationTime();
+              if (lastImportedDate < modifiedDate && modifiedDate <= maxImportDate) {
+                LOG.info("Will process input file: " + status.getPath() + " with modification date " + modifiedDate);
+              } else {
+                LOG.info("Skipping input file: " + status.getPath() + " with modification date " + modifiedDate);
+                continue;
+              }
+            } else {
+              // Without incremental mode, we're processing all files
+              LOG.info("Will process input file: " + status.getPath());
+            }
+            files.add(status);
+            numInputBytes += status.getLen();
+          }
+
+          if (files.size() == 0) {
+            return null;
+          }
+
+          // format is decided here once per file, extractors won't need to probe it
+          formats = HdfsFileFormat.detect(fs, files, lister.getThreads());
+          rowGroups = getRowGroups(conf, files);
+
           maxSplitSize = numInputBytes / context.getMaxPartitions();
 
           if (numInputBytes % context.getMaxPartitions() != 0) {
@@ -128,45 +176,13 @@ public Void run() throws Exception {
               " cannot be smaller than minimum split " + "size per rack " + minSizeRack);
           }
 
-          // Incremental import related options
-          boolean incremental = fromJobConfig.incremental.incrementalType != null
-            && fromJobConfig.incremental.incrementalType == IncrementalType.NEW_FILES;
-          long lastImportedDate = fromJobConfig.incremental.lastImportedDate != null
-            ? fromJobConfig.incremental.lastImportedDate.getMillis() : -1;
-          long maxImportDate = context.getLong(HdfsConstants.MAX_IMPORT_DATE, -1);
-
-          // all the files in input set
-          String indir = fromJobConfig.fromJobConfig.inputDirectory;
-          FileSystem fs = FileSystem.get(conf);
-
-          List<Path> paths = new LinkedList<Path>();
-          for (FileStatus status : fs.listStatus(new Path(indir))) {
-            if (!status.isDir()) {
-              if (incremental) {
-                long modifiedDate = status.getModificationTime();
-                if (lastImportedDate < modifiedDate && modifiedDate <= maxImportDate) {
-                  LOG.info("Will process input file: " + status.getPath() + " with modification date " + modifiedDate);
-                  paths.add(status.getPath());
-                } else {
-                  LOG.info("Skipping input file: " + status.getPath() + " with modification date " + modifiedDate);
-                }
-              } else {
-                // Without incremental mode, we're processing all files
-                LOG.info("Will process input file: " + status.getPath());
-                paths.add(status.getPath());
-              }
-            }
-          }
-
-          if (paths.size() == 0) {
-            return null;
-          }
-
           // create splits for all files that are not in any pool.
-          getMoreSplits(conf, paths, maxSize, minSizeNode, minSizeRack, partitions);
+          getMoreSplits(conf, files, maxSize, minSizeNode, minSizeRack, partitions);
 
-          // free up rackToNodes map
+          // free up rackToNodes, formats and rowGroups map
           rackToNodes.clear();
+          formats = null;
+          rowGroups = null;
 
           return null;
         }
@@ -178,21 +194,10 @@ public Void run() throws Exception {
     return partitions;
   }
 
-  //TODO: Perhaps get the FS from link configuration so we can support remote HDFS
-  private long getInputSize(Configuration conf, String indir) throws IOException {
-    FileSystem fs = FileSystem.get(conf);
-    FileStatus[] files = fs.listStatus(new Path(indir));
-    long count = 0;
-    for (FileStatus file : files) {
-      count += file.getLen();
-    }
-    return count;
-  }
-
   /**
    * Return all the splits in the specified set of paths
    */
-  private void getMoreSplits(Configuration conf, List<Path> paths,
+  private void getMoreSplits(Configuration conf, List<LocatedFileStatus> files,
       long maxSize, long minSizeNode, long minSizeRack,
       List<Partition> partitions) throws IOException {
 
@@ -208,14 +213,14 @@ private void getMoreSplits(Configuration conf, List<Path> paths,
     HashMap<String, List<OneBlockInfo>> nodeToBlocks =
                               new HashMap<String, List<OneBlockInfo>>();
 
-    if (paths.size() == 0) {
+    if (files.size() == 0) {
       return;
     }
 
     // populate all the blocks for all files
-    for (int i = 0; i < paths.size(); i++) {
-      new OneFileInfo(paths.get(i), conf, isSplitable(conf, paths.get(i)),
-                                 rackToBlocks, blockToNodes, nodeToBlocks,
+    for (LocatedFileStatus file : files) {
+      new OneFileInfo(file, isSplitable(conf, file.getPath()),
+                                 rowGroups.get(file.getPath()), rackToBlocks, blockToNodes, nodeToBlocks,
                                  rackToNodes, maxSize);
     }
 
@@ -375,6 +380,12 @@ private void getMoreSplits(Configuration conf, List<Path> paths,
   }
 
   private boolean isSplitable(Configuration conf, Path file) {
+    HdfsFileFormat format = formats.get(file);
+    if (format == HdfsFileFormat.AVRO || format == HdfsFileFormat.PARQUET) {
+      // compressed per block internally
+      return true;
+    }
+
     final CompressionCodec codec =
         new CompressionCodecFactory(conf).getCodec(file);
 
@@ -395,18 +406,46 @@ private void addCreatedSplit(List<Partition> partitions,
     Path[] files = new Path[validBlocks.size()];
     long[] offsets = new long[validBlocks.size()];
     long[] lengths = new long[validBlocks.size()];
+    HdfsFileFormat[] fileFormats = new HdfsFileFormat[validBlocks.size()];
     for (int i = 0; i < validBlocks.size(); i++) {
       files[i] = validBlocks.get(i).onepath;
       offsets[i] = validBlocks.get(i).offset;
       lengths[i] = validBlocks.get(i).length;
+      fileFormats[i] = formats.get(files[i]);
     }
 
      // add this split to the list that is returned
     HdfsPartition partition = new HdfsPartition(
-        files, offsets, lengths, locations.toArray(new String[0]));
+        files, offsets, lengths, fileFormats, locations.toArray(new String[0]));
     partitions.add(partition);
   }
 
+  /**
+   * Read footers of all parquet input files, splits of these files have to
+   * start at row group boundaries.
+   */
+  private Map<Path, List<Long>> getRowGroups(Configuration conf, List<LocatedFileStatus> files) throws IOException {
+    List<FileStatus> parquetFiles = new ArrayList<FileStatus>();
+    for (LocatedFileStatus file : files) {
+      if (formats.get(file.getPath()) == HdfsFileFormat.PARQUET) {
+        parquetFiles.add(file);
+      }
+    }
+
+    Map<Path, List<Long>> offsets = new HashMap<Path, List<Long>>();
+    if (parquetFiles.isEmpty()) {
+      return offsets;
+    }
+    for (Footer footer : ParquetFileReader.readAllFootersInParallel(conf, parquetFiles)) {
+      List<Long> starts = new ArrayList<Long>();
+      for (BlockMetaData rowGroup : footer.getParquetMetadata().getBlocks()) {
+        starts.add(HdfsUtils.getRowGroupStart(rowGroup));
+      }
+      offsets.put(footer.getFile(), starts);
+    }
+    return offsets;
+  }
+
   private Set<String> getHosts(Set<String> racks) {
     Set<String> hosts = new HashSet<String>();
     for (String rack : racks) {
@@ -434,8 +473,9 @@ private static class OneFileInfo {
     private long fileSize;               // size of the file
     private OneBlockInfo[] blocks;       // all blocks in this file
 
-    OneFileInfo(Path path, Configuration conf,
+    OneFileInfo(LocatedFileStatus stat,
                 boolean isSplitable,
+                List<Long> rowGroups,
                 HashMap<String, List<OneBlockInfo>> rackToBlocks,
                 HashMap<OneBlockInfo, String[]> blockToNodes,
                 HashMap<String, List<OneBlockInfo>> nodeToBlocks,
@@ -444,13 +484,11 @@ private static class OneFileInfo {
                 throws IOException {
       this.fileSize = 0;
 
-      // get block locations from file system
-      FileSystem fs = path.getFileSystem(conf);
-      FileStatus stat = fs.getFileStatus(path);
-      BlockLocation[] locations = fs.getFileBlockLocations(stat, 0,
-                                                           stat.getLen());
+      // block locations were fetched together with the file status
+      Path path = stat.getPath();
+      BlockLocation[] locations = stat.getBlockLocations();
       // create a list of all block and their locations
-      if (locations == null) {
+      if (locations == null || locations.length == 0) {
         blocks = new OneBlockInfo[0];
       } else {
         if (!isSplitable) {
@@ -460,6 +498,9 @@ private static class OneFileInfo {
           fileSize = stat.getLen();
           blocks[0] = new OneBlockInfo(path, 0, fileSize, locations[0]
               .getHosts(), locations[0].getTopologyPaths());
+        } else if (rowGroups != null) {
+          blocks = getRowGroupBlocks(stat, rowGroups, maxSize);
+          fileSize = stat.getLen();
         } else {
           ArrayList<OneBlockInfo> blocksList = new ArrayList<OneBlockInfo>(
               locations.length);
@@ -541,6 +582,39 @@ private static class OneFileInfo {
 
   }
 
+  /**
+   * Create blocks of a parquet file. Consecutive row groups are combined up
+   * to maxSize and every block starts at a row group boundary, so no split
+   * ends up without a row group to read.
+   */
+  private static OneBlockInfo[] getRowGroupBlocks(LocatedFileStatus stat,
+      List<Long> rowGroups, long maxSize) throws IOException {
+    BlockLocation[] locations = stat.getBlockLocations();
+    List<OneBlockInfo> blocksList = new ArrayList<OneBlockInfo>();
+    long blockStart = 0;
+    for (int i = 0; i < rowGroups.size(); i++) {
+      long next = i + 1 < rowGroups.size() ? rowGroups.get(i + 1) : stat.getLen();
+      if (i + 1 == rowGroups.size() || (maxSize != 0 && next - blockStart >= maxSize)) {
+        // locality is decided by the HDFS block this block starts in
+        BlockLocation location = locations[0];
+        for (BlockLocation candidate : locations) {
+          if (candidate.getOffset() <= blockStart) {
+            location = candidate;
+          }
+        }
+        blocksList.add(new OneBlockInfo(stat.getPath(), blockStart, next - blockStart,
+            location.getHosts(), location.getTopologyPaths()));
+        blockStart = next;
+      }
+    }
+    if (blocksList.isEmpty()) {
+      // file without row groups
+      blocksList.add(new OneBlockInfo(stat.getPath(), 0, stat.getLen(),
+          locations[0].getHosts(), locations[0].getTopologyPaths()));
+    }
+    return blocksList.toArray(new OneBlockInfo[blocksList.size()]);
+  }
+
   /**
    * information about one block from the File System
    */
@@ -0,0 +1,342 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.hdfs;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.avro.generic.GenericFixed;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.log4j.Logger;
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.common.SqoopAvroUtils;
+import org.apache.sqoop.connector.common.SqoopIDFUtils;
+import org.apache.sqoop.error.code.HdfsConnectorError;
+import org.apache.sqoop.schema.ByteArraySchema;
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.schema.type.Column;
+import org.apache.sqoop.schema.type.DateTime;
+import org.apache.sqoop.schema.type.FloatingPoint;
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.joda.time.LocalTime;
+
+/**
+ * Maps records of an Avro (or Parquet, read through its Avro model) input
+ * file to the Sqoop schema of the job.
+ *
+ * HDFS does not provide a schema on its own, so the schema extractor gets
+ * is the schema of the TO side. Columns are matched to file fields by name
+ * (case insensitive as a fallback) and only the matched fields are part of
+ * the reader schema, the rest of the file is skipped by the reader. When no
+ * column name matches, fields are matched by position.
+ */
+public class HdfsRecordProjection {
+
+  public static final Logger LOG = Logger.getLogger(HdfsRecordProjection.class);
+
+  private static final LocalDate EPOCH_DATE = new LocalDate(1970, 1, 1);
+
+  private final org.apache.avro.Schema readerSchema;
+
+  private final Column[] columns;
+
+  // field index in the reader schema for each column, -1 if not in the file
+  private final int[] fields;
+
+  // logical type of the file field of each column, null if it has none
+  private final String[] logicalTypes;
+
+  public HdfsRecordProjection(org.apache.avro.Schema fileSchema, Schema schema) {
+    if (fileSchema.getType() != org.apache.avro.Schema.Type.RECORD) {
+      throw new SqoopException(HdfsConnectorError.GENERIC_HDFS_CONNECTOR_0009,
+          "File schema is not a record: " + fileSchema);
+    }
+
+    if (schema == null || schema.isEmpty() || schema instanceof ByteArraySchema) {
+      // whole record is passed as a single field
+      this.readerSchema = fileSchema;
+      this.columns = null;
+      this.fields = null;
+      this.logicalTypes = null;
+      return;
+    }
+
+    List<org.apache.avro.Schema.Field> fileFields = fileSchema.getFields();
+    this.columns = schema.getColumnsArray();
+    int[] fileIndexes = new int[columns.length];
+    boolean matched = false;
+    for (int i = 0; i < columns.length; i++) {
+      fileIndexes[i] = findField(fileSchema, columns[i].getName());
+      matched |= fileIndexes[i] >= 0;
+    }
+    if (!matched) {
+      if (fileFields.size() < columns.length) {
+        throw new SqoopException(HdfsConnectorError.GENERIC_HDFS_CONNECTOR_0009,
+            "None of the columns " + schema.getColumnsList() + " found in " + fileSchema);
+      }
+      LOG.warn("No column name found in file schema, matching fields by position");
+      for (int i = 0; i < columns.length; i++) {
+        fileIndexes[i] = i;
+      }
+    }
+
+    // reader schema keeps the order of the file fields
+    boolean[] used = new boolean[fileFields.size()];
+    for (int fileIndex : fileIndexes) {
+      if (fileIndex >= 0) {
+        used[fileIndex] = true;
+      }
+    }
+    int[] readerIndexes = new int[fileFields.size()];
+    List<org.apache.avro.Schema.Field> readerFields = new ArrayList<org.apache.avro.Schema.Field>();
+    for (int i = 0; i < fileFields.size(); i++) {
+      if (used[i]) {
+        readerIndexes[i] = readerFields.size();
+        readerFields.add(copyField(fileFields.get(i)));
+      }
+    }
+    this.fields = new int[columns.length];
+    this.logicalTypes = new String[columns.length];
+    for (int i = 0; i < columns.length; i++) {
+      fields[i] = fileIndexes[i] < 0 ? -1 : readerIndexes[fileIndexes[i]];
+      if (fileIndexes[i] >= 0) {
+        logicalTypes[i] = getLogicalType(fileFields.get(fileIndexes[i]).schema());
+      }
+    }
+
+    this.readerSchema = org.apache.avro.Schema.createRecord(fileSchema.getName(),
+        fileSchema.getDoc(), fileSchema.getNamespace(), false);
+    this.readerSchema.setFields(readerFields);
+    LOG.info("Reading " + readerFields.size() + " out of " + fileFields.size() + " fields of " + fileSchema.getFullName());
+  }
+
+  /**
+   * Schema the file should be read with, contains only the needed fields.
+   */
+  public org.apache.avro.Schema getReaderSchema() {
+    return readerSchema;
+  }
+
+  /**
+   * Convert record read with the reader schema to the object array of the
+   * job schema.
+   *
+   * @param record Record read with getReaderSchema()
+   * @return Object array matching the job schema
+   */
+  public Object[] toObjectArray(GenericRecord record) throws UnsupportedEncodingException {
+    if (columns == null) {
+      return new Object[] {record.toString().getBytes(SqoopIDFUtils.BYTE_FIELD_CHARSET)};
+    }
+
+    Object[] data = new Object[columns.length];
+    for (int i = 0; i < columns.length; i++) {
+      if (fields[i] >= 0) {
+        Object value = record.get(fields[i]);
+        if (value != null) {
+          try {
+            data[i] = toObject(value, columns[i], logicalTypes[i]);
+          } catch (RuntimeException e) {
+            throw new SqoopException(HdfsConnectorError.GENERIC_HDFS_CONNECTOR_0009,
+                "Can't convert value " + value + " to column " + columns[i], e);
+          }
+        }
+      }
+    }
+    return data;
+  }
+
+  private static int findField(org.apache.avro.Schema fileSchema, String name) {
+    org.apache.avro.Schema.Field field = fileSchema.getField(name);
+    if (field != null) {
+      return field.pos();
+    }
+    for (org.apache.avro.Schema.Field candidate : fileSchema.getFields()) {
+      if (candidate.name().equalsIgnoreCase(name)) {
+        return candidate.pos();
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Logical type of the field schema (or of the non-null branch of a union).
+   * Avro 1.7 does not interpret logical types, they are kept as properties.
+   */
+  private static String getLogicalType(org.apache.avro.Schema fieldSchema) {
+    if (fieldSchema.getType() == org.apache.avro.Schema.Type.UNION) {
+      for (org.apache.avro.Schema branch : fieldSchema.getTypes()) {
+        if (branch.getType() != org.apache.avro.Schema.Type.NULL) {
+          return getLogicalType(branch);
+        }
+      }
+      return null;
+    }
+    String logicalType = fieldSchema.getProp("logicalType");
+    if (logicalType == null && fieldSchema.getType() == org.apache.avro.Schema.Type.INT) {
+      // int encoded dates and times without the property (e.g. Parquet DATE
+      // converted by older Parquet versions) follow the same convention
+      return "int";
+    }
+    return logicalType;
+  }
+
+  @SuppressWarnings("deprecation")
+  private static org.apache.avro.Schema.Field copyField(org.apache.avro.Schema.Field field) {
+    // fields can't be shared between record schemas
+    return new org.apache.avro.Schema.Field(field.name(), field.schema(), field.doc(), field.defaultValue());
+  }
+
+  private static Object toObject(Object value, Column column, String logicalType) throws UnsupportedEncodingException {
+    switch (column.getType()) {
+    case ENUM:
+    case TEXT:
+      // Utf8, String or enum symbol
+      return value.toString();
+    case FIXED_POINT:
+      if (value instanceof Number) {
+        long number = toLong((Number) value);
+        if (SqoopIDFUtils.isInteger(column)) {
+          if (number < Integer.MIN_VALUE || number > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Value " + value + " is out of integer range");
+          }
+          return (int) number;
+        }
+        return number;
+      }
+      return SqoopIDFUtils.toFixedPoint(value.toString(), column);
+    case FLOATING_POINT:
+      if (value instanceof Number) {
+        Long byteSize = ((FloatingPoint) column).getByteSize();
+        Number number = (Number) value;
+        if (byteSize != null && byteSize <= (Float.SIZE / Byte.SIZE)) {
+          float floatValue = number.floatValue();
+          if (Float.isInfinite(floatValue) && !Double.isInfinite(number.doubleValue())) {
+            throw new IllegalArgumentException("Value " + value + " is out of float range");
+          }
+          return floatValue;
+        }
+        return number.doubleValue();
+      }
+      return SqoopIDFUtils.toFloatingPoint(value.toString(), column);
+    case DECIMAL:
+      return SqoopIDFUtils.toDecimal(value.toString(), column);
+    case BIT:
+      if (value instanceof Boolean) {
+        return value;
+      }
+      return SqoopIDFUtils.toBit(value.toString());
+    case BINARY:
+    case UNKNOWN:
+      if (value instanceof ByteBuffer) {
+        return SqoopAvroUtils.getBytesFromByteBuffer(value);
+      } else if (value instanceof GenericFixed) {
+        return ((GenericFixed) value).bytes().clone();
+      }
+      return value.toString().getBytes("UTF-8");
+    case DATE:
+      if (value instanceof Number) {
+        long number = ((Number) value).longValue();
+        if ("date".equals(logicalType) || "int".equals(logicalType)) {
+          // days since epoch
+          return EPOCH_DATE.plusDays(toInt(number));
+        }
+        // milliseconds at the start of the day in the default time zone, as
+        // written by the Sqoop AVRO intermediate data format
+        return new LocalDate(number);
+      }
+      return SqoopIDFUtils.toDate(value.toString(), column);
+    case TIME:
+      if (value instanceof Number) {
+        long millis = toMillis(((Number) value).longValue(), logicalType);
+        return new LocalTime(millis, DateTimeZone.UTC);
+      }
+      return SqoopIDFUtils.toTime(value.toString(), column);
+    case DATE_TIME:
+      if (value instanceof Number) {
+        long millis = toMillis(((Number) value).longValue(), logicalType);
+        if (((DateTime) column).hasTimezone()) {
+          return new org.joda.time.DateTime(millis, DateTimeZone.UTC);
+        }
+        return new LocalDateTime(millis, DateTimeZone.UTC);
+      }
+      return SqoopIDFUtils.toDateTime(value.toString(), column);
+    case ARRAY:
+    case SET:
+      List<Object> list = new ArrayList<Object>();
+      for (Object element : (Collection<?>) value) {
+        list.add(toJavaObject(element));
+      }
+      return list.toArray();
+    case MAP:
+      Map<Object, Object> map = new HashMap<Object, Object>();
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        map.put(toJavaObject(entry.getKey()), toJavaObject(entry.getValue()));
+      }
+      return map;
+    default:
+      throw new SqoopException(HdfsConnectorError.GENERIC_HDFS_CONNECTOR_0009,
+          "Unsupported column type " + column.getType());
+    }
+  }
+
+  private static long toMillis(long value, String logicalType) {
+    if ("time-micros".equals(logicalType) || "timestamp-micros".equals(logicalType)) {
+      return value / 1000;
+    }
+    return value;
+  }
+
+  private static int toInt(long value) {
+    if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Value " + value + " is out of integer range");
+    }
+    return (int) value;
+  }
+
+  /**
+   * Integral value of the number, fractional or out of range values are
+   * rejected rather than truncated.
+   */
+  private static long toLong(Number number) {
+    if (number instanceof Float || number instanceof Double) {
+      double value = number.doubleValue();
+      if (value != Math.rint(value) || value < Long.MIN_VALUE || value >= 0x1p63) {
+        throw new IllegalArgumentException("Value " + number + " is not an integral number");
+      }
+      return (long) value;
+    }
+    return number.longValue();
+  }
+
+  private static Object toJavaObject(Object value) {
+    if (value instanceof CharSequence) {
+      return value.toString();
+    } else if (value instanceof ByteBuffer) {
+      return SqoopAvroUtils.getBytesFromByteBuffer(value);
+    }
+    return value;
+  }
+}
@@ -31,9 +31,21 @@
 import org.apache.sqoop.job.etl.Destroyer;
 import org.apache.sqoop.job.etl.DestroyerContext;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import java.io.IOException;
 import java.io.Serializable;
 import java.security.PrivilegedExceptionAction;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class HdfsToDestroyer extends Destroyer<LinkConfiguration, ToJobConfiguration> implements Serializable {
 
@@ -58,13 +70,18 @@ public Void run() throws Exception {
 
           // If we succeeded, we need to move all files from working directory
           if (context.isSuccess()) {
-            FileStatus[] fileStatuses = fs.listStatus(new Path
-              (workingDirectory));
-            for (FileStatus status : fileStatuses) {
-              LOG.info("Committing file: " + status.getPath().toString() + " " +
-                "of size " + status.getLen());
-              fs.rename(status.getPath(), new Path(targetDirectory, status
-                .getPath().getName()));
+            ExecutorService executor = Executors.newFixedThreadPool(getCommitThreads(jobConfig),
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("hdfs-commit-%d").build());
+            try {
+              Long threshold = jobConfig.toJobConfig.compactionThreshold;
+              if (threshold != null && threshold > 0) {
+                int merged = new HdfsCompactor(fs, configuration, threshold).compact(new Path(workingDirectory), executor);
+                LOG.info("Compacted small files into " + merged + " files");
+              }
+              // Hidden files are temporary files or markers, e.g. of an interrupted merge
+              commit(fs, fs.listStatus(new Path(workingDirectory), HdfsUtils.NOT_HIDDEN), targetDirectory, executor);
+            } finally {
+              executor.shutdownNow();
             }
           }
 
@@ -77,4 +94,65 @@ public Void run() throws Exception {
       throw new SqoopException(HdfsConnectorError.GENERIC_HDFS_CONNECTOR_0008, e);
     }
   }
+
+  /**
+   * Move all given files into target directory. Renames are independent,
+   * running them in parallel matters on object stores where a rename is a copy.
+   * When any rename fails, files that were already moved are moved back, so
+   * that target directory doesn't end up with part of the output.
+   */
+  static void commit(final FileSystem fs, FileStatus[] fileStatuses, final Path targetDirectory, ExecutorService executor) throws Exception {
+    final Map<Path, Path> committed = new ConcurrentHashMap<Path, Path>();
+    List<Future<Void>> futures = new LinkedList<Future<Void>>();
+    for (final FileStatus status : fileStatuses) {
+      futures.add(executor.submit(new Callable<Void>() {
+        @Override
+        public Void call() throws Exception {
+          LOG.info("Committing file: " + status.getPath().toString() + " " +
+            "of size " + status.getLen());
+          Path target = new Path(targetDirectory, status.getPath().getName());
+          if (!fs.rename(status.getPath(), target)) {
+            throw new IOException("Can't move " + status.getPath() + " to " + target);
+          }
+          committed.put(target, status.getPath());
+          return null;
+        }
+      }));
+    }
+
+    try {
+      HdfsUtils.waitFor(futures);
+    } catch (Exception e) {
+      // Renames that haven't started are skipped, the running ones are waited for
+      for (Future<Void> future : futures) {
+        future.cancel(false);
+      }
+      for (Future<Void> future : futures) {
+        try {
+          future.get();
+        } catch (CancellationException | ExecutionException ignored) {
+          // Already reported or never started
+        }
+      }
+      rollback(fs, committed);
+      throw e;
+    }
+  }
+
+  private static void rollback(FileSystem fs, Map<Path, Path> committed) {
+    for (Map.Entry<Path, Path> entry : committed.entrySet()) {
+      try {
+        if (!fs.rename(entry.getKey(), entry.getValue())) {
+          LOG.error("Can't move committed file " + entry.getKey() + " back to " + entry.getValue());
+        }
+      } catch (IOException e) {
+        LOG.error("Can't move committed file " + entry.getKey() + " back to " + entry.getValue(), e);
+      }
+    }
+  }
+
+  private static int getCommitThreads(ToJobConfiguration jobConfig) {
+    Integer threads = jobConfig.toJobConfig.commitThreads;
+    return threads == null ? HdfsConstants.DEFAULT_COMMIT_THREADS : threads;
+  }
 }
@@ -19,18 +19,25 @@
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.PathFilter;
 import org.apache.log4j.Logger;
 import org.apache.sqoop.common.ImmutableContext;
 import org.apache.sqoop.common.MutableContext;
 import org.apache.sqoop.connector.hdfs.configuration.FromJobConfiguration;
 import org.apache.sqoop.connector.hdfs.configuration.LinkConfiguration;
 import org.apache.sqoop.connector.hdfs.configuration.ToJobConfiguration;
+import parquet.hadoop.metadata.BlockMetaData;
+import parquet.hadoop.metadata.ColumnChunkMetaData;
 
 import java.io.File;
 import java.io.FilenameFilter;
 import java.io.Serializable;
 import java.net.MalformedURLException;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
  * Utilities for HDFS.
@@ -39,6 +46,16 @@ public class HdfsUtils implements Serializable {
 
   public static final String DEFAULT_HADOOP_CONF_DIR = "/etc/hadoop/conf";
 
+  /**
+   * Accepts paths that are not hidden, the same way as FileInputFormat does.
+   */
+  public static final PathFilter NOT_HIDDEN = new PathFilter() {
+    @Override
+    public boolean accept(Path path) {
+      return !isHidden(path);
+    }
+  };
+
   private static final Logger LOG = Logger.getLogger(HdfsUtils.class);
   /**
    * Create Hadoop configuration object
@@ -172,4 +189,53 @@ public static Object[] formatRecord(LinkConfiguration linkConfiguration,
 
     return record;
   }
+
+  /**
+   * Names starting with "_" or "." are temporary files or markers, never
+   * data.
+   *
+   * @param path Path to check
+   * @return True if the path is hidden
+   */
+  public static boolean isHidden(Path path) {
+    String name = path.getName();
+    return name.startsWith("_") || name.startsWith(".");
+  }
+
+  /**
+   * Wait until all given tasks finish, the first failure is rethrown.
+   *
+   * @param futures Tasks to wait for
+   * @throws Exception
+   */
+  public static <T> void waitFor(List<Future<T>> futures) throws Exception {
+    for (Future<T> future : futures) {
+      try {
+        future.get();
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof Exception) {
+          throw (Exception) e.getCause();
+        }
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Offset of the first byte of given Parquet row group.
+   *
+   * Row group belongs to the split that contains this offset, which is the
+   * same rule Parquet input format uses.
+   *
+   * @param rowGroup Row group metadata from the file footer
+   * @return Offset of the row group in the file
+   */
+  public static long getRowGroupStart(BlockMetaData rowGroup) {
+    ColumnChunkMetaData first = rowGroup.getColumns().get(0);
+    long start = first.getFirstDataPageOffset();
+    if (first.getDictionaryPageOffset() > 0 && first.getDictionaryPageOffset() < start) {
+      start = first.getDictionaryPageOffset();
+    }
+    return start;
+  }
 }
@@ -35,4 +35,8 @@ public class FromJobConfig implements Serializable {
   @Input(size = 255) public Boolean overrideNullValue;
 
   @Input(size = 255) public String nullValue;
+
+  @Input public Boolean recursive;
+
+  @Input(size = 255) public String fileFilter;
 }
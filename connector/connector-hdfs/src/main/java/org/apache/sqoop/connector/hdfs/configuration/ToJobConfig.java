@@ -45,6 +45,14 @@ public class ToJobConfig implements Serializable {
 
   @Input public Boolean appendMode;
 
+  @Input public Long maxFileSize;
+
+  @Input public Long maxFileRows;
+
+  @Input public Integer commitThreads;
+
+  @Input public Long compactionThreshold;
+
   public static class ToJobConfigValidator extends AbstractValidator<ToJobConfig> {
     @Override
     public void validate(ToJobConfig conf) {
@@ -58,6 +66,22 @@ public void validate(ToJobConfig conf) {
          (conf.customCompression == null || conf.customCompression.trim().length() == 0)) {
         addMessage(Status.ERROR, "Custom compression field is blank.");
       }
+
+      if(conf.maxFileSize != null && conf.maxFileSize < 0) {
+        addMessage(Status.ERROR, "Maximal file size can't be negative.");
+      }
+
+      if(conf.maxFileRows != null && conf.maxFileRows < 0) {
+        addMessage(Status.ERROR, "Maximal number of rows in a file can't be negative.");
+      }
+
+      if(conf.commitThreads != null && conf.commitThreads < 1) {
+        addMessage(Status.ERROR, "At least one commit thread is required.");
+      }
+
+      if(conf.compactionThreshold != null && conf.compactionThreshold < 0) {
+        addMessage(Status.ERROR, "Compaction threshold can't be negative.");
+      }
     }
   }
 }
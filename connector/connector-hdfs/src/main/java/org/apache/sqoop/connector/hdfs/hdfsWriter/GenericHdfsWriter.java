@@ -17,6 +17,7 @@
  */
 package org.apache.sqoop.connector.hdfs.hdfsWriter;
 
+import com.google.common.base.Charsets;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.compress.CompressionCodec;
@@ -30,6 +31,20 @@ public abstract class GenericHdfsWriter implements Serializable {
 
   public abstract void write(String csv) throws IOException;
 
+  /**
+   * Write UTF-8 encoded record. Default implementation decodes the record
+   * and calls write(String).
+   */
+  public void write(byte[] bytes, int offset, int length) throws IOException {
+    write(new String(bytes, offset, length, Charsets.UTF_8));
+  }
+
   public abstract void destroy() throws IOException;
 
+  /**
+   * Return number of bytes that were already written to the file. Data that
+   * are still buffered by the writer don't have to be accounted.
+   */
+  public abstract long getBytesWritten() throws IOException;
+
 }
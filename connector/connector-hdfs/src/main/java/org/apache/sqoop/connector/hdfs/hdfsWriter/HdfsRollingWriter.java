@@ -0,0 +1,139 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.hdfs.hdfsWriter;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.log4j.Logger;
+import org.apache.sqoop.connector.hdfs.configuration.ToFormat;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * Writer that starts a new file whenever the current one reaches given
+ * number of bytes or rows.
+ *
+ * First file is created with the path given to initialize, following
+ * files get the same name with a sequence number inserted before the
+ * extension (e.g. uuid.txt, uuid_1.txt, uuid_2.txt). Thresholds are checked
+ * before each write and the byte threshold is compared with the data that
+ * were already flushed by the underlying writer, so the files can be
+ * slightly larger than the configured size.
+ */
+public class HdfsRollingWriter extends GenericHdfsWriter implements Serializable {
+
+  private static final Logger LOG = Logger.getLogger(HdfsRollingWriter.class);
+
+  private final ToFormat format;
+  private final long maxBytes;
+  private final long maxRows;
+
+  private Configuration conf;
+  private CompressionCodec codec;
+  private Path directory;
+  private String baseName;
+  private String extension;
+
+  private GenericHdfsWriter writer;
+  private Path currentPath;
+  private int files;
+  private long rows;
+  private long closedBytes;
+
+  /**
+   * @param format Format of the written files
+   * @param maxBytes Maximal size of a single file in bytes, 0 for no limit
+   * @param maxRows Maximal number of rows in a single file, 0 for no limit
+   */
+  public HdfsRollingWriter(ToFormat format, long maxBytes, long maxRows) {
+    this.format = format;
+    this.maxBytes = maxBytes;
+    this.maxRows = maxRows;
+  }
+
+  @Override
+  public void initialize(Path filepath, Configuration conf, CompressionCodec codec) throws IOException {
+    this.conf = conf;
+    this.codec = codec;
+    this.directory = filepath.getParent();
+
+    String name = filepath.getName();
+    int dot = name.indexOf('.');
+    this.baseName = dot < 0 ? name : name.substring(0, dot);
+    this.extension = dot < 0 ? "" : name.substring(dot);
+
+    open(filepath);
+  }
+
+  @Override
+  public void write(String csv) throws IOException {
+    maybeRoll();
+    writer.write(csv);
+    rows++;
+  }
+
+  @Override
+  public void write(byte[] bytes, int offset, int length) throws IOException {
+    maybeRoll();
+    writer.write(bytes, offset, length);
+    rows++;
+  }
+
+  @Override
+  public void destroy() throws IOException {
+    writer.destroy();
+  }
+
+  @Override
+  public long getBytesWritten() throws IOException {
+    return closedBytes + writer.getBytesWritten();
+  }
+
+  /**
+   * @return Number of files that were created so far
+   */
+  public int getFiles() {
+    return files;
+  }
+
+  private void maybeRoll() throws IOException {
+    if (rows > 0 && ((maxRows > 0 && rows >= maxRows) || (maxBytes > 0 && writer.getBytesWritten() >= maxBytes))) {
+      roll();
+    }
+  }
+
+  private void roll() throws IOException {
+    writer.destroy();
+    // Writers can't be asked once closed, the final size is known only to the file system
+    closedBytes += currentPath.getFileSystem(conf).getFileStatus(currentPath).getLen();
+
+    Path filepath = new Path(directory, baseName + "_" + files + extension);
+    LOG.info("Rolling over to file " + filepath + " after " + rows + " rows");
+    open(filepath);
+  }
+
+  private void open(Path filepath) throws IOException {
+    writer = (format == ToFormat.SEQUENCE_FILE) ? new HdfsSequenceWriter() : new HdfsTextWriter();
+    writer.initialize(filepath, conf, codec);
+    currentPath = filepath;
+    files++;
+    rows = 0;
+  }
+}
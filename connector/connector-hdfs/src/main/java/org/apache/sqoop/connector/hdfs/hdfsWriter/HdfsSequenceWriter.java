@@ -52,7 +52,18 @@ public void write(String csv) throws IOException {
       filewriter.append(text, NullWritable.get());
   }
 
+  @Override
+  public void write(byte[] bytes, int offset, int length) throws IOException {
+    text.set(bytes, offset, length);
+    filewriter.append(text, NullWritable.get());
+  }
+
   public void destroy() throws IOException {
     filewriter.close();
   }
+
+  @Override
+  public long getBytesWritten() throws IOException {
+    return filewriter.getLength();
+  }
 }
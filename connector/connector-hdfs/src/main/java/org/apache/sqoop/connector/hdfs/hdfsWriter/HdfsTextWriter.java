@@ -19,44 +19,53 @@
 
 import com.google.common.base.Charsets;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.compress.CompressionCodec;
 import org.apache.sqoop.connector.hdfs.HdfsConstants;
 
-import java.io.BufferedWriter;
-import java.io.DataOutputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
 import java.io.Serializable;
 
 public class HdfsTextWriter extends GenericHdfsWriter implements Serializable {
 
-  private BufferedWriter filewriter;
+  private BufferedOutputStream filewriter;
+  private FSDataOutputStream filestream;
 
   @Override
   public void initialize(Path filepath, Configuration conf, CompressionCodec codec) throws IOException {
     FileSystem fs = filepath.getFileSystem(conf);
 
-    DataOutputStream filestream = fs.create(filepath, false);
+    filestream = fs.create(filepath, false);
     if (codec != null) {
-      filewriter = new BufferedWriter(new OutputStreamWriter(
-              codec.createOutputStream(filestream, codec.createCompressor()),
-              Charsets.UTF_8));
+      filewriter = new BufferedOutputStream(
+              codec.createOutputStream(filestream, codec.createCompressor()));
     } else {
-      filewriter = new BufferedWriter(new OutputStreamWriter(
-              filestream, Charsets.UTF_8));
+      filewriter = new BufferedOutputStream(filestream);
     }
   }
 
   @Override
   public void write(String csv) throws IOException {
-    filewriter.write(csv + HdfsConstants.DEFAULT_RECORD_DELIMITER);
+    byte[] bytes = csv.getBytes(Charsets.UTF_8);
+    write(bytes, 0, bytes.length);
+  }
 
+  @Override
+  public void write(byte[] bytes, int offset, int length) throws IOException {
+    filewriter.write(bytes, offset, length);
+    filewriter.write(HdfsConstants.DEFAULT_RECORD_DELIMITER);
   }
 
   @Override
   public void destroy() throws IOException {
     filewriter.close();
   }
+
+  @Override
+  public long getBytesWritten() throws IOException {
+    return filestream.getPos();
+  }
 }
@@ -0,0 +1,344 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.hdfs;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.sqoop.common.MapContext;
+import org.apache.sqoop.common.MutableMapContext;
+import org.apache.sqoop.connector.hdfs.configuration.FromJobConfiguration;
+import org.apache.sqoop.connector.hdfs.configuration.LinkConfiguration;
+import org.apache.sqoop.etl.io.DataWriter;
+import org.apache.sqoop.job.etl.ExtractorContext;
+import org.apache.sqoop.job.etl.Partition;
+import org.apache.sqoop.job.etl.PartitionerContext;
+import org.apache.sqoop.schema.ByteArraySchema;
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.schema.type.Date;
+import org.apache.sqoop.schema.type.DateTime;
+import org.apache.sqoop.schema.type.FixedPoint;
+import org.apache.sqoop.schema.type.FloatingPoint;
+import org.apache.sqoop.schema.type.Text;
+import org.apache.sqoop.schema.type.Time;
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.joda.time.LocalTime;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import parquet.avro.AvroParquetWriter;
+import parquet.hadoop.ParquetFileReader;
+import parquet.hadoop.metadata.BlockMetaData;
+import parquet.hadoop.metadata.CompressionCodecName;
+
+public class TestAvroParquetInput extends TestHdfsBase {
+  private static final String INPUT_ROOT = System.getProperty("maven.build.directory", "/tmp") + "/sqoop/warehouse/";
+  private static final int NUMBER_OF_ROWS = 10000;
+  private static final String TEST_USER = "test_user";
+
+  private static final org.apache.avro.Schema FILE_SCHEMA = SchemaBuilder.record("row").fields()
+      .requiredInt("id")
+      .requiredString("name")
+      .requiredDouble("score")
+      .optionalString("comment")
+      .endRecord();
+
+  private static final org.apache.avro.Schema TEMPORAL_SCHEMA = new org.apache.avro.Schema.Parser().parse(
+      "{\"type\": \"record\", \"name\": \"temporal\", \"fields\": ["
+      + "{\"name\": \"day\", \"type\": {\"type\": \"int\", \"logicalType\": \"date\"}},"
+      + "{\"name\": \"time\", \"type\": {\"type\": \"int\", \"logicalType\": \"time-millis\"}},"
+      + "{\"name\": \"ts\", \"type\": {\"type\": \"long\", \"logicalType\": \"timestamp-millis\"}},"
+      + "{\"name\": \"tsz\", \"type\": [\"null\", {\"type\": \"long\", \"logicalType\": \"timestamp-micros\"}]},"
+      + "{\"name\": \"big\", \"type\": \"long\"}]}");
+
+  // 2016-01-01T13:14:15.500Z
+  private static final long TIMESTAMP = 1451654055500L;
+  private static final long DAY_MILLIS = 24 * 60 * 60 * 1000L;
+
+  private final String inputDirectory;
+
+  public TestAvroParquetInput() {
+    this.inputDirectory = INPUT_ROOT + getClass().getSimpleName();
+  }
+
+  @BeforeMethod(alwaysRun = true)
+  public void setUp() throws Exception {
+    FileUtils.mkdirs(inputDirectory);
+  }
+
+  @AfterMethod(alwaysRun = true)
+  public void tearDown() throws IOException {
+    FileUtils.delete(inputDirectory);
+  }
+
+  @Test
+  public void testAvroProjection() throws Exception {
+    createAvroInput();
+    assertProjection(HdfsFileFormat.AVRO);
+  }
+
+  @Test
+  public void testParquetProjection() throws Exception {
+    Path file = createParquetInput();
+    List<BlockMetaData> rowGroups = ParquetFileReader.readFooter(new Configuration(), file).getBlocks();
+    assertTrue(rowGroups.size() > 1);
+    Set<Long> rowGroupStarts = new HashSet<Long>();
+    for (BlockMetaData rowGroup : rowGroups) {
+      rowGroupStarts.add(HdfsUtils.getRowGroupStart(rowGroup));
+    }
+
+    // every split but the first one starts on a row group
+    for (HdfsPartition partition : assertProjection(HdfsFileFormat.PARQUET)) {
+      for (int i = 0; i < partition.getNumberOfFiles(); i++) {
+        assertTrue(partition.getOffset(i) == 0 || rowGroupStarts.contains(partition.getOffset(i)),
+            "Split " + partition + " does not start on a row group");
+      }
+    }
+  }
+
+  @Test
+  public void testAvroByteArraySchema() throws Exception {
+    createAvroInput();
+    final int[] rows = new int[1];
+    extract(getPartitions(), ByteArraySchema.getInstance(), new RecordAssert() {
+      @Override
+      public void assertRecord(Object[] array) throws Exception {
+        String json = new String((byte[]) array[0], "ISO-8859-1");
+        assertTrue(json.startsWith("{\"id\": "), json);
+        rows[0]++;
+      }
+    });
+    assertEquals(rows[0], NUMBER_OF_ROWS);
+  }
+
+  @Test
+  public void testAvroTemporalTypes() throws Exception {
+    writeAvro(TEMPORAL_SCHEMA, createTemporalRecord(1));
+    assertTemporalTypes();
+  }
+
+  @Test
+  public void testParquetTemporalTypes() throws Exception {
+    writeParquet(TEMPORAL_SCHEMA, createTemporalRecord(1));
+    assertTemporalTypes();
+  }
+
+  @Test(expectedExceptions = SqoopException.class)
+  public void testOutOfRangeInteger() throws Exception {
+    writeAvro(TEMPORAL_SCHEMA, createTemporalRecord(Integer.MAX_VALUE + 1L));
+    Schema schema = new Schema("schema").addColumn(new FixedPoint("big", 4L, true));
+    extract(getPartitions(), schema, new RecordAssert() {
+      @Override
+      public void assertRecord(Object[] array) {
+        throw new AssertionError("Value out of range was extracted as " + array[0]);
+      }
+    });
+  }
+
+  private void assertTemporalTypes() {
+    Schema schema = new Schema("schema")
+        .addColumn(new Date("day"))
+        .addColumn(new Time("time", true))
+        .addColumn(new DateTime("ts", true, false))
+        .addColumn(new DateTime("tsz", true, true))
+        .addColumn(new FixedPoint("big", 4L, true));
+
+    final int[] rows = new int[1];
+    DateTimeZone defaultZone = DateTimeZone.getDefault();
+    // values must not depend on the time zone of the JVM
+    DateTimeZone.setDefault(DateTimeZone.forID("Asia/Tokyo"));
+    try {
+      extract(getPartitions(), schema, new RecordAssert() {
+        @Override
+        public void assertRecord(Object[] array) {
+          assertEquals(array[0], new LocalDate(2016, 1, 1));
+          assertEquals(array[1], new LocalTime(13, 14, 15, 500));
+          assertEquals(array[2], new LocalDateTime(2016, 1, 1, 13, 14, 15, 500));
+          assertEquals(array[3], new org.joda.time.DateTime(2016, 1, 1, 13, 14, 15, 500, DateTimeZone.UTC));
+          assertEquals(array[4], 1);
+          rows[0]++;
+        }
+      });
+    } finally {
+      DateTimeZone.setDefault(defaultZone);
+    }
+    assertEquals(rows[0], 1);
+  }
+
+  private GenericRecord createTemporalRecord(long big) {
+    GenericRecord record = new GenericData.Record(TEMPORAL_SCHEMA);
+    // days since epoch and milliseconds of the day
+    record.put("day", (int) (TIMESTAMP / DAY_MILLIS));
+    record.put("time", (int) (TIMESTAMP % DAY_MILLIS));
+    record.put("ts", TIMESTAMP);
+    record.put("tsz", TIMESTAMP * 1000);
+    record.put("big", big);
+    return record;
+  }
+
+  private void writeAvro(org.apache.avro.Schema schema, GenericRecord record) throws IOException {
+    DataFileWriter<GenericRecord> writer = new DataFileWriter<GenericRecord>(new GenericDatumWriter<GenericRecord>(schema));
+    writer.create(schema, new File(inputDirectory, "temporal.avro"));
+    try {
+      writer.append(record);
+    } finally {
+      writer.close();
+    }
+  }
+
+  private void writeParquet(org.apache.avro.Schema schema, GenericRecord record) throws IOException {
+    AvroParquetWriter<GenericRecord> writer = new AvroParquetWriter<GenericRecord>(
+        new Path(inputDirectory, "temporal.parquet"), schema);
+    try {
+      writer.write(record);
+    } finally {
+      writer.close();
+    }
+  }
+
+  private List<HdfsPartition> assertProjection(HdfsFileFormat format) throws Exception {
+    // TO side needs only two of the columns, in different order and case
+    Schema schema = new Schema("schema")
+        .addColumn(new FloatingPoint("SCORE", 8L))
+        .addColumn(new FixedPoint("ID", 8L, true))
+        .addColumn(new Text("missing"));
+
+    List<HdfsPartition> partitions = getPartitions();
+    assertTrue(partitions.size() > 1);
+    for (HdfsPartition partition : partitions) {
+      assertEquals(partition.getFormat(0), format);
+    }
+
+    final boolean[] visited = new boolean[NUMBER_OF_ROWS];
+    extract(partitions, schema, new RecordAssert() {
+      @Override
+      public void assertRecord(Object[] array) {
+        assertEquals(array.length, 3);
+        long id = (Long) array[1];
+        assertEquals(array[0], (double) id / 2);
+        assertNull(array[2]);
+        assertTrue(!visited[(int) id], "Row " + id + " extracted twice");
+        visited[(int) id] = true;
+      }
+    });
+
+    for (int i = 0; i < NUMBER_OF_ROWS; i++) {
+      assertTrue(visited[i], "Row " + i + " was not extracted");
+    }
+    return partitions;
+  }
+
+  private List<HdfsPartition> getPartitions() {
+    PartitionerContext context = new PartitionerContext(new MapContext(new HashMap<String, String>()), 4, null, TEST_USER);
+    FromJobConfiguration jobConf = new FromJobConfiguration();
+    jobConf.fromJobConfig.inputDirectory = inputDirectory;
+
+    List<Partition> partitions = new HdfsPartitioner().getPartitions(context, new LinkConfiguration(), jobConf);
+    return Arrays.asList(partitions.toArray(new HdfsPartition[partitions.size()]));
+  }
+
+  private void extract(List<HdfsPartition> partitions, Schema schema, final RecordAssert recordAssert) {
+    ExtractorContext context = new ExtractorContext(new MutableMapContext(new HashMap<String, String>()), new DataWriter() {
+      @Override
+      public void writeArrayRecord(Object[] array) {
+        try {
+          recordAssert.assertRecord(array);
+        } catch (Exception e) {
+          throw new AssertionError(e);
+        }
+      }
+
+      @Override
+      public void writeStringRecord(String text) {
+        throw new AssertionError("Should not be writing string.");
+      }
+
+      @Override
+      public void writeRecord(Object obj) {
+        throw new AssertionError("Should not be writing object.");
+      }
+    }, schema, TEST_USER);
+
+    for (HdfsPartition partition : partitions) {
+      new HdfsExtractor().extract(context, new LinkConfiguration(), new FromJobConfiguration(), partition);
+    }
+  }
+
+  private GenericRecord createRecord(int id) {
+    GenericRecord record = new GenericData.Record(FILE_SCHEMA);
+    record.put("id", id);
+    record.put("name", "name " + id);
+    record.put("score", (double) id / 2);
+    record.put("comment", id % 2 == 0 ? null : "comment " + id);
+    return record;
+  }
+
+  private void createAvroInput() throws IOException {
+    DataFileWriter<GenericRecord> writer = new DataFileWriter<GenericRecord>(new GenericDatumWriter<GenericRecord>(FILE_SCHEMA));
+    // small blocks give the partitioner sync markers to split on
+    writer.setSyncInterval(4096);
+    writer.setCodec(CodecFactory.deflateCodec(1));
+    writer.create(FILE_SCHEMA, new File(inputDirectory, "input.avro"));
+    try {
+      for (int i = 0; i < NUMBER_OF_ROWS; i++) {
+        writer.append(createRecord(i));
+      }
+    } finally {
+      writer.close();
+    }
+  }
+
+  private Path createParquetInput() throws IOException {
+    Path file = new Path(inputDirectory, "input.parquet");
+    AvroParquetWriter<GenericRecord> writer = new AvroParquetWriter<GenericRecord>(file, FILE_SCHEMA,
+        CompressionCodecName.UNCOMPRESSED, 16 * 1024, 1024);
+    try {
+      for (int i = 0; i < NUMBER_OF_ROWS; i++) {
+        writer.write(createRecord(i));
+      }
+    } finally {
+      writer.close();
+    }
+    return file;
+  }
+
+  private interface RecordAssert {
+    void assertRecord(Object[] array) throws Exception;
+  }
+}
@@ -26,16 +26,19 @@
 import java.util.HashMap;
 import java.util.List;
 
+import com.google.common.base.Charsets;
 import org.apache.hadoop.io.compress.BZip2Codec;
 import org.apache.hadoop.io.compress.CompressionCodec;
 import org.apache.hadoop.io.compress.DefaultCodec;
 import org.apache.sqoop.common.MutableMapContext;
+import org.apache.sqoop.connector.common.SqoopIDFUtils;
 import org.apache.sqoop.connector.hdfs.configuration.FromJobConfiguration;
 import org.apache.sqoop.connector.hdfs.configuration.LinkConfiguration;
 import org.apache.sqoop.connector.hdfs.configuration.ToFormat;
 import org.apache.sqoop.etl.io.DataWriter;
 import org.apache.sqoop.job.etl.Extractor;
 import org.apache.sqoop.job.etl.ExtractorContext;
+import org.apache.sqoop.schema.ByteArraySchema;
 import org.apache.sqoop.schema.Schema;
 import org.apache.sqoop.schema.type.FixedPoint;
 import org.apache.sqoop.schema.type.FloatingPoint;
@@ -155,6 +158,50 @@ public void writeRecord(Object obj) {
     }
   }
 
+  @Test
+  public void testByteArraySchema() throws Exception {
+    MutableMapContext mutableContext = new MutableMapContext(new HashMap<String, String>());
+    final boolean[] visited = new boolean[NUMBER_OF_FILES * NUMBER_OF_ROWS_PER_FILE];
+    ExtractorContext context = new ExtractorContext(mutableContext, new DataWriter() {
+      @Override
+      public void writeArrayRecord(Object[] array) {
+        throw new AssertionError("Should not be writing array.");
+      }
+
+      @Override
+      public void writeStringRecord(String text) {
+        throw new AssertionError("Should not be writing string.");
+      }
+
+      @Override
+      public void writeTextRecord(byte[] bytes, int offset, int length) {
+        String csv = new String(bytes, offset, length, Charsets.UTF_8);
+        byte[] field = SqoopIDFUtils.toByteArray(csv);
+        String line = new String(field, Charsets.ISO_8859_1);
+        int index = Integer.parseInt(line.substring(0, line.indexOf(',')));
+
+        // Text has to be the same as CSV of the byte field extracted from the line
+        Assert.assertEquals(csv, SqoopIDFUtils.toCSVByteArray(field));
+        Assert.assertEquals(line, formatRow("%d,%f,NULL,%s,\\\\N", index));
+        Assert.assertFalse(visited[index - 1]);
+        visited[index - 1] = true;
+      }
+
+      @Override
+      public void writeRecord(Object obj) {
+        throw new AssertionError("Should not be writing object.");
+      }
+    }, ByteArraySchema.getInstance(), TEST_USER);
+
+    HdfsPartition partition = createPartition(FileUtils.listDir(inputDirectory));
+
+    extractor.extract(context, new LinkConfiguration(), new FromJobConfiguration(), partition);
+
+    for (int index = 0; index < NUMBER_OF_FILES * NUMBER_OF_ROWS_PER_FILE; ++index) {
+      assertTrue(visited[index], "Index " + (index + 1) + " was not visited");
+    }
+  }
+
   @Test
   public void testOverrideNull() throws Exception {
     MutableMapContext mutableContext = new MutableMapContext(new HashMap<String, String>());
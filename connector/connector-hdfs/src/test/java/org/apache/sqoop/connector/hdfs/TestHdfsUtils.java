@@ -17,7 +17,15 @@
  */
 package org.apache.sqoop.connector.hdfs;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.Text;
 import org.apache.sqoop.connector.hdfs.configuration.FromJobConfiguration;
 import org.apache.sqoop.connector.hdfs.configuration.LinkConfiguration;
 import org.apache.sqoop.connector.hdfs.configuration.ToJobConfiguration;
@@ -89,4 +97,39 @@ public void testTransformRecord() throws Exception {
     assertEquals(toRecord, HdfsUtils.formatRecord(linkConfiguration, fromJobConfiguration, fromRecord));
     assertEquals(fromRecord, HdfsUtils.formatRecord(linkConfiguration, toJobConfiguration, toRecord));
   }
-}
\ No newline at end of file
+  @Test
+  public void testDetectSequenceFile() throws Exception {
+    FileSystem fs = FileSystem.getLocal(new Configuration());
+    File directory = new File(System.getProperty("maven.build.directory", "/tmp"), "TestHdfsUtils");
+    directory.mkdirs();
+    try {
+      // text files that start like a SequenceFile
+      assertEquals(HdfsFileFormat.detect(fs, write(directory, "seq.txt", "SEQUENCE,1\nSEQUENCE,2\n".getBytes("UTF-8"))),
+          HdfsFileFormat.TEXT);
+      assertEquals(HdfsFileFormat.detect(fs, write(directory, "short.txt", "SEQ".getBytes("UTF-8"))),
+          HdfsFileFormat.TEXT);
+      assertEquals(HdfsFileFormat.detect(fs, write(directory, "version.txt", new byte[] {'S', 'E', 'Q', 6, 'a', '\n'})),
+          HdfsFileFormat.TEXT);
+
+      Path sequenceFile = new Path(new File(directory, "file.seq").getAbsolutePath());
+      SequenceFile.Writer writer = SequenceFile.createWriter(fs.getConf(), SequenceFile.Writer.file(sequenceFile),
+          SequenceFile.Writer.keyClass(Text.class), SequenceFile.Writer.valueClass(Text.class));
+      writer.append(new Text("1"), new Text("SEQUENCE,1"));
+      writer.close();
+      assertEquals(HdfsFileFormat.detect(fs, sequenceFile), HdfsFileFormat.SEQUENCE);
+    } finally {
+      fs.delete(new Path(directory.getAbsolutePath()), true);
+    }
+  }
+
+  private static Path write(File directory, String name, byte[] content) throws IOException {
+    File file = new File(directory, name);
+    FileOutputStream out = new FileOutputStream(file);
+    try {
+      out.write(content);
+    } finally {
+      out.close();
+    }
+    return new Path(file.getAbsolutePath());
+  }
+}
@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.hdfs;
+
+import static org.testng.Assert.assertEquals;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocatedFileStatus;
+import org.apache.hadoop.fs.Path;
+import org.apache.sqoop.connector.hdfs.configuration.FromJobConfig;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.google.common.io.Files;
+
+public class TestInputLister {
+
+  private File inputDirectory;
+  private Configuration conf;
+  private FileSystem fs;
+
+  @BeforeMethod(alwaysRun = true)
+  public void setUp() throws Exception {
+    inputDirectory = Files.createTempDir();
+    conf = new Configuration();
+    fs = FileSystem.getLocal(conf);
+
+    for (String name : new String[] {"a.txt", "b.csv", "sub/c.txt", "sub/deeper/d.txt", "other/e.txt", "_temporary/f.txt"}) {
+      File file = new File(inputDirectory, name);
+      Files.createParentDirs(file);
+      Files.write(new byte[] {'x', '\n'}, file);
+    }
+  }
+
+  @AfterMethod(alwaysRun = true)
+  public void tearDown() throws Exception {
+    FileUtils.delete(inputDirectory.getAbsolutePath());
+  }
+
+  @Test
+  public void testFlatListing() throws Exception {
+    FromJobConfig config = new FromJobConfig();
+    assertEquals(list(config), Arrays.asList("a.txt", "b.csv"));
+  }
+
+  @Test
+  public void testRecursiveListing() throws Exception {
+    FromJobConfig config = new FromJobConfig();
+    config.recursive = true;
+    assertEquals(list(config), Arrays.asList("a.txt", "b.csv", "other/e.txt", "sub/c.txt", "sub/deeper/d.txt"));
+
+    // Single thread walks the tree the same way
+    conf.setInt(HdfsInputLister.LIST_STATUS_NUM_THREADS, 1);
+    assertEquals(list(config), Arrays.asList("a.txt", "b.csv", "other/e.txt", "sub/c.txt", "sub/deeper/d.txt"));
+  }
+
+  @Test
+  public void testFileFilter() throws Exception {
+    FromJobConfig config = new FromJobConfig();
+    config.recursive = true;
+    config.fileFilter = "*.txt";
+    assertEquals(list(config), Arrays.asList("a.txt", "other/e.txt", "sub/c.txt", "sub/deeper/d.txt"));
+  }
+
+  @Test
+  public void testBlockLocations() throws Exception {
+    FromJobConfig config = new FromJobConfig();
+    List<LocatedFileStatus> files = HdfsInputLister.create(fs, conf, config).list(new Path(inputDirectory.getAbsolutePath()));
+    for (LocatedFileStatus file : files) {
+      assertEquals(file.getLen(), 2);
+      assertEquals(file.getBlockLocations().length, 1);
+    }
+  }
+
+  private List<String> list(FromJobConfig config) throws Exception {
+    String root = new Path(inputDirectory.getAbsolutePath()).toUri().getPath();
+    List<String> names = new ArrayList<String>();
+    for (LocatedFileStatus status : HdfsInputLister.create(fs, conf, config).list(new Path(root))) {
+      names.add(status.getPath().toUri().getPath().substring(root.length() + 1));
+    }
+    return names;
+  }
+}
@@ -214,6 +214,90 @@ public Object readContent() {
     Assert.assertEquals(5, fs.listStatus(outputPath).length);
   }
 
+  @Test
+  public void testRollingByRows() throws Exception {
+    FileSystem fs = FileSystem.get(new Configuration());
+
+    MutableMapContext mutableContext = new MutableMapContext(new HashMap<String, String>());
+    mutableContext.setString(HdfsConstants.WORK_DIRECTORY, outputDirectory);
+    LoaderContext context = new LoaderContext(mutableContext, new DataReader() {
+      private long index = 0L;
+
+      @Override
+      public Object[] readArrayRecord() {
+        return null;
+      }
+
+      @Override
+      public String readTextRecord() {
+        if (index++ < NUMBER_OF_ROWS_PER_FILE) {
+          return index + "," + (double)index + ",'" + index + "'";
+        } else {
+          return null;
+        }
+      }
+
+      @Override
+      public Object readContent() {
+        return null;
+      }
+    }, null, user);
+    LinkConfiguration linkConf = new LinkConfiguration();
+    ToJobConfiguration jobConf = new ToJobConfiguration();
+    jobConf.toJobConfig.compression = compression;
+    jobConf.toJobConfig.outputFormat = outputFormat;
+    jobConf.toJobConfig.maxFileRows = 300L;
+    Path outputPath = new Path(outputDirectory);
+
+    Loader rollingLoader = new HdfsLoader();
+    rollingLoader.load(context, linkConf, jobConf);
+    Assert.assertEquals(fs.listStatus(outputPath).length, 4);
+    Assert.assertEquals(rollingLoader.getRowsWritten(), NUMBER_OF_ROWS_PER_FILE);
+
+    long rows = 0;
+    for (FileStatus status : fs.listStatus(outputPath)) {
+      rows += countRows(fs, status.getPath());
+    }
+    Assert.assertEquals(rows, NUMBER_OF_ROWS_PER_FILE);
+  }
+
+  @Test
+  public void testDefaultMaxFileSize() throws Exception {
+    FileSystem fs = FileSystem.get(new Configuration());
+    Path outputPath = new Path(outputDirectory);
+    ToJobConfiguration jobConf = new ToJobConfiguration();
+
+    long blockSize = fs.getDefaultBlockSize(outputPath);
+    Assert.assertEquals(HdfsLoader.getMaxFileSize(jobConf, fs, outputPath), blockSize - HdfsLoader.BLOCK_SIZE_MARGIN);
+
+    jobConf.toJobConfig.maxFileSize = 0L;
+    Assert.assertEquals(HdfsLoader.getMaxFileSize(jobConf, fs, outputPath), 0L);
+  }
+
+  private long countRows(FileSystem fs, Path file) throws IOException {
+    Configuration conf = new Configuration();
+    long rows = 0;
+
+    if (outputFormat == SEQUENCE_FILE) {
+      SequenceFile.Reader sequenceReader = new SequenceFile.Reader(fs, file, conf);
+      org.apache.hadoop.io.Text line = new org.apache.hadoop.io.Text();
+      while (sequenceReader.next(line)) {
+        rows++;
+      }
+      sequenceReader.close();
+    } else {
+      CompressionCodec codec = (new CompressionCodecFactory(conf)).getCodec(file);
+      FSDataInputStream fsin = fs.open(file);
+      BufferedReader textReader = new BufferedReader(codec == null ? new InputStreamReader(fsin)
+          : new InputStreamReader(codec.createInputStream(fsin, codec.createDecompressor())));
+      while (textReader.readLine() != null) {
+        rows++;
+      }
+      textReader.close();
+    }
+    return rows;
+  }
+
   private void verifyOutput(FileSystem fs, Path file, String format) throws IOException {
     Configuration conf = new Configuration();
     FSDataInputStream fsin = fs.open(file);
@@ -21,6 +21,10 @@
 import static org.apache.sqoop.connector.hdfs.configuration.ToFormat.TEXT_FILE;
 import static org.testng.Assert.assertEquals;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -108,4 +112,31 @@ public void testPartitioner() {
       assertEquals(3, partitions.size());
     }
   }
+
+  @Test
+  public void testFileFormat() throws Exception {
+    PartitionerContext context = new PartitionerContext(new MapContext(new HashMap<String, String>()), 5, null, "test_user");
+    LinkConfiguration linkConf = new LinkConfiguration();
+    FromJobConfiguration jobConf = new FromJobConfiguration();
+
+    jobConf.fromJobConfig.inputDirectory = inputDirectory;
+
+    HdfsFileFormat expected = outputFileType == SEQUENCE_FILE ? HdfsFileFormat.SEQUENCE : HdfsFileFormat.TEXT;
+    List<Partition> partitions = partitioner.getPartitions(context, linkConf, jobConf);
+    for (Partition partition : partitions) {
+      HdfsPartition hdfsPartition = (HdfsPartition) partition;
+
+      // format has to survive serialization to the extractor
+      ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+      hdfsPartition.write(new DataOutputStream(buffer));
+      HdfsPartition copy = new HdfsPartition();
+      copy.readFields(new DataInputStream(new ByteArrayInputStream(buffer.toByteArray())));
+
+      assertEquals(copy.getNumberOfFiles(), hdfsPartition.getNumberOfFiles());
+      for (int i = 0; i < hdfsPartition.getNumberOfFiles(); i++) {
+        assertEquals(hdfsPartition.getFormat(i), expected);
+        assertEquals(copy.getFormat(i), expected);
+      }
+    }
+  }
 }
@@ -17,7 +17,15 @@
  */
 package org.apache.sqoop.connector.hdfs;
 
+import com.google.common.base.Charsets;
 import com.google.common.io.Files;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.FilterFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.Text;
 import org.apache.sqoop.common.MutableContext;
 import org.apache.sqoop.common.MutableMapContext;
 import org.apache.sqoop.connector.hdfs.configuration.LinkConfiguration;
@@ -27,16 +35,32 @@
 import org.testng.annotations.Test;
 
 import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 /**
  */
 public class TestToDestroyer {
 
+  // Local file system keeps checksums of the files it has written in hidden files
+  private static final FilenameFilter DATA_FILES = new FilenameFilter() {
+    @Override
+    public boolean accept(File dir, String name) {
+      return !name.endsWith(".crc");
+    }
+  };
+
   @Test
   public void testDestroyOnSuccess() throws Exception {
     File workDir = Files.createTempDir();
@@ -111,4 +135,173 @@ public void testDestroyOnFailure() throws Exception {
     assertFalse(workDir.exists());
   }
 
+  @Test
+  public void testCompactTextFiles() throws Exception {
+    File workDir = Files.createTempDir();
+    File targetDir = Files.createTempDir();
+
+    Set<String> expected = new HashSet<String>();
+    for (int i = 0; i < 5; i++) {
+      Files.write("row-" + i + "-a\nrow-" + i + "-b\n", new File(workDir, "part-0" + i + ".txt"), Charsets.UTF_8);
+      expected.add("row-" + i + "-a");
+      expected.add("row-" + i + "-b");
+    }
+    // Files above the threshold are committed as they are
+    Files.write(new byte[2048], new File(workDir, "large.txt"));
+
+    LinkConfiguration linkConfig = new LinkConfiguration();
+    ToJobConfiguration jobConfig = new ToJobConfiguration();
+    jobConfig.toJobConfig.outputDirectory = targetDir.getAbsolutePath();
+    jobConfig.toJobConfig.compactionThreshold = 1024L;
+    jobConfig.toJobConfig.commitThreads = 2;
+
+    MutableContext context = new MutableMapContext();
+    context.setString(HdfsConstants.WORK_DIRECTORY, workDir.getAbsolutePath());
+
+    Destroyer destroyer = new HdfsToDestroyer();
+    destroyer.destroy(new DestroyerContext(context, true, null, "test_user"), linkConfig, jobConfig);
+
+    File[] files = targetDir.listFiles(DATA_FILES);
+    assertNotNull(files);
+    assertEquals(files.length, 2);
+
+    File merged = files[0].getName().equals("large.txt") ? files[1] : files[0];
+    assertTrue(merged.getName().endsWith(".txt"));
+    List<String> lines = Files.readLines(merged, Charsets.UTF_8);
+    assertEquals(lines.size(), expected.size());
+    assertEquals(new HashSet<String>(lines), expected);
+
+    assertFalse(workDir.exists());
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void testCompactSequenceFiles() throws Exception {
+    File workDir = Files.createTempDir();
+    File targetDir = Files.createTempDir();
+    Configuration conf = new Configuration();
+    FileSystem fs = FileSystem.getLocal(conf);
+
+    for (int i = 0; i < 3; i++) {
+      SequenceFile.Writer writer = SequenceFile.createWriter(fs, conf,
+          new Path(workDir.getAbsolutePath(), "part-0" + i + ".seq"), Text.class, NullWritable.class);
+      writer.append(new Text("row-" + i), NullWritable.get());
+      writer.close();
+    }
+
+    LinkConfiguration linkConfig = new LinkConfiguration();
+    ToJobConfiguration jobConfig = new ToJobConfiguration();
+    jobConfig.toJobConfig.outputDirectory = targetDir.getAbsolutePath();
+    jobConfig.toJobConfig.compactionThreshold = 1024L * 1024L;
+
+    MutableContext context = new MutableMapContext();
+    context.setString(HdfsConstants.WORK_DIRECTORY, workDir.getAbsolutePath());
+
+    Destroyer destroyer = new HdfsToDestroyer();
+    destroyer.destroy(new DestroyerContext(context, true, null, "test_user"), linkConfig, jobConfig);
+
+    File[] files = targetDir.listFiles(DATA_FILES);
+    assertNotNull(files);
+    assertEquals(files.length, 1);
+
+    Set<String> rows = new HashSet<String>();
+    SequenceFile.Reader reader = new SequenceFile.Reader(fs, new Path(files[0].getAbsolutePath()), conf);
+    Text line = new Text();
+    while (reader.next(line)) {
+      rows.add(line.toString());
+    }
+    reader.close();
+    assertEquals(rows.size(), 3);
+    assertTrue(rows.contains("row-2"));
+  }
+
+  @Test
+  public void testFailedCommitMovesFilesBack() throws Exception {
+    File workDir = Files.createTempDir();
+    File targetDir = Files.createTempDir();
+    for (int i = 0; i < 4; i++) {
+      Files.write("row-" + i + "\n", new File(workDir, "part-0" + i + ".txt"), Charsets.UTF_8);
+    }
+
+    FileSystem fs = new FilterFileSystem(FileSystem.getLocal(new Configuration())) {
+      @Override
+      public boolean rename(Path src, Path dst) throws IOException {
+        if (src.getName().equals("part-02.txt")) {
+          return false;
+        }
+        return super.rename(src, dst);
+      }
+    };
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      HdfsToDestroyer.commit(fs, fs.listStatus(new Path(workDir.getAbsolutePath())),
+          new Path(targetDir.getAbsolutePath()), executor);
+      fail("Commit should fail");
+    } catch (IOException e) {
+      // Expected
+    } finally {
+      executor.shutdownNow();
+    }
+
+    File[] files = targetDir.listFiles(DATA_FILES);
+    assertNotNull(files);
+    assertEquals(files.length, 0);
+    assertEquals(workDir.listFiles(DATA_FILES).length, 4);
+  }
+
+  @Test
+  public void testHiddenFilesAreNotCommitted() throws Exception {
+    File workDir = Files.createTempDir();
+    File targetDir = Files.createTempDir();
+    Files.write("row-0\n", new File(workDir, "part-00.txt"), Charsets.UTF_8);
+    // Leftover of an interrupted merge and a marker file
+    Files.write("row-0\n", new File(workDir, "_merged.txt"), Charsets.UTF_8);
+    new File(workDir, "_SUCCESS").createNewFile();
+
+    LinkConfiguration linkConfig = new LinkConfiguration();
+    ToJobConfiguration jobConfig = new ToJobConfiguration();
+    jobConfig.toJobConfig.outputDirectory = targetDir.getAbsolutePath();
+
+    MutableContext context = new MutableMapContext();
+    context.setString(HdfsConstants.WORK_DIRECTORY, workDir.getAbsolutePath());
+
+    Destroyer destroyer = new HdfsToDestroyer();
+    destroyer.destroy(new DestroyerContext(context, true, null, "test_user"), linkConfig, jobConfig);
+
+    File[] files = targetDir.listFiles(DATA_FILES);
+    assertNotNull(files);
+    assertEquals(files.length, 1);
+    assertEquals(files[0].getName(), "part-00.txt");
+    assertFalse(workDir.exists());
+  }
+
+  @Test
+  public void testCompactionFailsWhenSourceIsNotDeleted() throws Exception {
+    File workDir = Files.createTempDir();
+    for (int i = 0; i < 3; i++) {
+      Files.write("row-" + i + "\n", new File(workDir, "part-0" + i + ".txt"), Charsets.UTF_8);
+    }
+
+    Configuration conf = new Configuration();
+    FileSystem fs = new FilterFileSystem(FileSystem.getLocal(conf)) {
+      @Override
+      public boolean delete(Path path, boolean recursive) throws IOException {
+        if (path.getName().equals("part-01.txt")) {
+          return false;
+        }
+        return super.delete(path, recursive);
+      }
+    };
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      new HdfsCompactor(fs, conf, 1024L).compact(new Path(workDir.getAbsolutePath()), executor);
+      fail("Compaction should fail");
+    } catch (IOException e) {
+      // Expected, the merged file and the source must not be committed together
+    } finally {
+      executor.shutdownNow();
+    }
+  }
 }
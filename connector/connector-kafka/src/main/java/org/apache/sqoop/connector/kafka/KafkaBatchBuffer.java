@@ -0,0 +1,143 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.kafka;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import kafka.producer.KeyedMessage;
+
+/**
+ * Collects messages into batches that are handed over to KafkaBatchSender.
+ *
+ * Batch is sent once it reaches the configured size or once its first
+ * message is older than the linger time. Age of the batch is checked on
+ * every added message and also from a background timer, so that messages
+ * aren't held back while the source is slow to produce the next record.
+ */
+class KafkaBatchBuffer {
+
+  private static final Logger LOG = Logger.getLogger(KafkaBatchBuffer.class);
+
+  private final KafkaBatchSender sender;
+  private final String topic;
+  private final long batchBytes;
+  private final long lingerMs;
+  private final ScheduledExecutorService timer;
+
+  // Messages without key are partitioned by the batch they belong to
+  private final String batchUUID = UUID.randomUUID().toString();
+  private long batchNumber = 0;
+
+  private List<KeyedMessage<String, byte[]>> batch = new ArrayList<KeyedMessage<String, byte[]>>();
+  private long messageBytes = 0;
+  private long batchStarted = 0;
+
+  /**
+   * @param sender Sender of complete batches
+   * @param topic Topic of all messages
+   * @param batchBytes Size of a batch in bytes
+   * @param lingerMs Maximal age of a batch, Long.MAX_VALUE to send only full batches
+   */
+  KafkaBatchBuffer(KafkaBatchSender sender, String topic, long batchBytes, long lingerMs) {
+    this.sender = sender;
+    this.topic = topic;
+    this.batchBytes = batchBytes;
+    this.lingerMs = lingerMs;
+
+    if (lingerMs > 0 && lingerMs < Long.MAX_VALUE) {
+      timer = Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder().setDaemon(true).setNameFormat("kafka-linger-%d").build());
+      // Batch is sent at most a quarter of linger time late
+      long period = Math.max(1, lingerMs / 4);
+      timer.scheduleWithFixedDelay(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            sendIfLingering();
+          } catch (InterruptedException e) {
+            // Buffer is being closed
+          } catch (Throwable t) {
+            // Batch stays in the buffer, sender rethrows the failure on the next send
+            LOG.debug("Failed to send lingering batch", t);
+          }
+        }
+      }, period, period, TimeUnit.MILLISECONDS);
+    } else {
+      timer = null;
+    }
+  }
+
+  /**
+   * Add message to the current batch, the batch is sent if it's complete.
+   *
+   * @param key Message key or null to partition by batch
+   * @param message Message content
+   */
+  synchronized void add(String key, byte[] message) throws InterruptedException {
+    if (batch.isEmpty()) {
+      batchStarted = System.currentTimeMillis();
+    }
+    String partKey = key != null ? key : batchUUID + "-" + batchNumber;
+    batch.add(new KeyedMessage<String, byte[]>(topic, key, partKey, message));
+    messageBytes += message.length;
+
+    if (messageBytes >= batchBytes || System.currentTimeMillis() - batchStarted >= lingerMs) {
+      send();
+    }
+  }
+
+  /**
+   * Send the current batch even if it's not complete.
+   */
+  synchronized void flush() throws InterruptedException {
+    if (!batch.isEmpty()) {
+      send();
+    }
+  }
+
+  /**
+   * Stop the linger timer, messages that weren't flushed are dropped.
+   */
+  void close() {
+    if (timer != null) {
+      timer.shutdownNow();
+    }
+  }
+
+  private synchronized void sendIfLingering() throws InterruptedException {
+    if (!batch.isEmpty() && System.currentTimeMillis() - batchStarted >= lingerMs) {
+      send();
+    }
+  }
+
+  private void send() throws InterruptedException {
+    sender.send(batch);
+    batch = new ArrayList<KeyedMessage<String, byte[]>>();
+    messageBytes = 0;
+    batchNumber++;
+  }
+}
@@ -0,0 +1,138 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.kafka;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.log4j.Logger;
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.error.code.KafkaConnectorErrors;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import kafka.javaapi.producer.Producer;
+import kafka.producer.KeyedMessage;
+
+/**
+ * Sends batches of messages to Kafka in the background.
+ *
+ * Every producer sends one batch at a time, so the number of producers is
+ * the number of batches in flight. Caller is blocked when all of them are
+ * busy. First failure of a background send is rethrown to the caller on the
+ * next send or flush.
+ */
+class KafkaBatchSender {
+
+  private static final Logger LOG = Logger.getLogger(KafkaBatchSender.class);
+
+  private final List<Producer<String, byte[]>> producers;
+  private final BlockingQueue<Producer<String, byte[]>> idle;
+  private final ExecutorService executor;
+  private final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+  private final long closeTimeoutMs;
+
+  KafkaBatchSender(List<Producer<String, byte[]>> producers) {
+    this(producers, KafkaConstants.CLOSE_TIMEOUT_MS);
+  }
+
+  /**
+   * @param producers Producers, one per batch in flight
+   * @param closeTimeoutMs Time to wait for abandoned sends on close
+   */
+  KafkaBatchSender(List<Producer<String, byte[]>> producers, long closeTimeoutMs) {
+    this.producers = producers;
+    this.closeTimeoutMs = closeTimeoutMs;
+    this.idle = new LinkedBlockingQueue<Producer<String, byte[]>>(producers);
+    this.executor = Executors.newFixedThreadPool(producers.size(),
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("kafka-sender-%d").build());
+  }
+
+  /**
+   * Send given batch once there is a free producer.
+   *
+   * @param batch Messages to send, must not be modified afterwards
+   */
+  void send(final List<KeyedMessage<String, byte[]>> batch) throws InterruptedException {
+    final Producer<String, byte[]> producer = idle.take();
+    if (failure.get() != null) {
+      idle.add(producer);
+      checkFailure();
+    }
+
+    executor.execute(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          producer.send(batch);
+        } catch (Throwable t) {
+          LOG.error("Failed to send batch of " + batch.size() + " messages", t);
+          failure.compareAndSet(null, t);
+        } finally {
+          idle.add(producer);
+        }
+      }
+    });
+  }
+
+  /**
+   * Wait until all batches in flight are sent.
+   */
+  void flush() throws InterruptedException {
+    List<Producer<String, byte[]>> taken = new ArrayList<Producer<String, byte[]>>(producers.size());
+    try {
+      for (int i = 0; i < producers.size(); i++) {
+        taken.add(idle.take());
+      }
+    } finally {
+      idle.addAll(taken);
+    }
+    checkFailure();
+  }
+
+  /**
+   * Stop sending and close all producers, batches in flight are abandoned.
+   * Sends that don't react to the interruption are given a limited time,
+   * producers are closed after that in any case.
+   */
+  void close() throws InterruptedException {
+    executor.shutdownNow();
+    try {
+      if (!executor.awaitTermination(closeTimeoutMs, TimeUnit.MILLISECONDS)) {
+        LOG.warn("Batches in flight weren't abandoned within " + closeTimeoutMs + " ms, closing producers anyway");
+      }
+    } finally {
+      for (Producer<String, byte[]> producer : producers) {
+        producer.close();
+      }
+    }
+  }
+
+  private void checkFailure() {
+    Throwable t = failure.get();
+    if (t != null) {
+      throw new SqoopException(KafkaConnectorErrors.KAFKA_CONNECTOR_0001, t);
+    }
+  }
+}
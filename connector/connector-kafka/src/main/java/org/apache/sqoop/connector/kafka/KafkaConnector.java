@@ -26,6 +26,7 @@
 
 import org.apache.sqoop.common.Direction;
 import org.apache.sqoop.common.VersionInfo;
+import org.apache.sqoop.connector.kafka.configuration.FromJobConfiguration;
 import org.apache.sqoop.connector.kafka.configuration.LinkConfiguration;
 import org.apache.sqoop.connector.kafka.configuration.ToJobConfiguration;
 import org.apache.sqoop.connector.spi.ConnectorConfigurableUpgrader;
@@ -35,6 +36,13 @@
 
 public class KafkaConnector extends SqoopConnector implements Serializable{
 
+  private static final From FROM = new From(
+          KafkaFromInitializer.class,
+          KafkaPartitioner.class,
+          KafkaPartition.class,
+          KafkaExtractor.class,
+          KafkaFromDestroyer.class);
+
   private static final To TO = new To(
           KafkaToInitializer.class,
           KafkaLoader.class,
@@ -74,13 +82,19 @@ public Class getLinkConfigurationClass() {
    */
   @Override
   public Class getJobConfigurationClass(Direction direction) {
-    return ToJobConfiguration.class;
+    switch (direction) {
+      case FROM:
+        return FromJobConfiguration.class;
+      case TO:
+        return ToJobConfiguration.class;
+      default:
+        return null;
+    }
   }
 
   @Override
   public List<Direction> getSupportedDirections() {
-    // TODO: Remove when we add the FROM part of the connector (SQOOP-1583)
-    return Arrays.asList(Direction.TO);
+    return Arrays.asList(Direction.FROM, Direction.TO);
   }
 
   /**
@@ -88,8 +102,7 @@ public List<Direction> getSupportedDirections() {
    */
   @Override
   public From getFrom() {
-    //TODO: SQOOP-1583
-    return null;
+    return FROM;
   }
 
   /**
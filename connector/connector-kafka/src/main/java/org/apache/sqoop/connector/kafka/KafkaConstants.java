@@ -25,20 +25,37 @@ public class KafkaConstants extends Constants implements Serializable{
   // Resource bundle name
   public static final String RESOURCE_BUNDLE_NAME = "kafka-connector-config";
 
+  public static final String PREFIX = "org.apache.sqoop.connector.kafka.";
+
+  // Offsets of the topic partitions found by from initializer
+  public static final String START_OFFSETS = PREFIX + "start_offsets";
+  public static final String END_OFFSETS = PREFIX + "end_offsets";
+
   // Kafka properties keys
   public static final String MESSAGE_SERIALIZER_KEY = "serializer.class";
   public static final String KEY_SERIALIZER_KEY = "key.serializer.class";
   public static final String BROKER_LIST_KEY = "metadata.broker.list";
   public static final String REQUIRED_ACKS_KEY = "request.required.acks";
   public static final String PRODUCER_TYPE = "producer.type";
+  public static final String COMPRESSION_CODEC_KEY = "compression.codec";
 
   // Kafka properties default values
   public static final String DEFAULT_MESSAGE_SERIALIZER =
-          "kafka.serializer.StringEncoder";
+          "kafka.serializer.DefaultEncoder";
   public static final String DEFAULT_KEY_SERIALIZER =
           "kafka.serializer.StringEncoder";
   public static final String DEFAULT_REQUIRED_ACKS = "-1";
   public static final String DEFAULT_PRODUCER_TYPE = "sync";
-  public static final int DEFAULT_BATCH_SIZE = 100;
+  public static final int DEFAULT_BATCH_BYTES = 64 * 1024;
+  public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+  // Time given to batches in flight when the loader is closed
+  public static final long CLOSE_TIMEOUT_MS = 10000;
+
+  // Consumer defaults
+  public static final String CLIENT_ID = "sqoop";
+  public static final int SO_TIMEOUT = 30000;
+  public static final int BUFFER_SIZE = 64 * 1024;
+  public static final int DEFAULT_FETCH_SIZE = 1024 * 1024;
+  public static final int MAX_LEADER_RETRIES = 3;
 
 }
@@ -0,0 +1,191 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.kafka;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+import kafka.api.FetchRequest;
+import kafka.api.FetchRequestBuilder;
+import kafka.cluster.Broker;
+import kafka.common.ErrorMapping;
+import kafka.javaapi.FetchResponse;
+import kafka.javaapi.consumer.SimpleConsumer;
+import kafka.message.MessageAndOffset;
+import org.apache.log4j.Logger;
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.kafka.configuration.FromJobConfiguration;
+import org.apache.sqoop.connector.kafka.configuration.LinkConfiguration;
+import org.apache.sqoop.error.code.KafkaConnectorErrors;
+import org.apache.sqoop.etl.io.DataWriter;
+import org.apache.sqoop.job.etl.Extractor;
+import org.apache.sqoop.job.etl.ExtractorContext;
+import org.apache.sqoop.schema.ByteArraySchema;
+
+/**
+ * Reads offset ranges of its partition with batched fetches from the
+ * partition leaders.
+ */
+public class KafkaExtractor extends Extractor<LinkConfiguration, FromJobConfiguration, KafkaPartition> {
+
+  private static final Logger LOG = Logger.getLogger(KafkaExtractor.class);
+
+  private long rowsRead = 0;
+
+  private String brokerList;
+  private Map<Integer, Broker> leaders;
+  private final Map<Broker, SimpleConsumer> consumers = new HashMap<Broker, SimpleConsumer>();
+
+  @Override
+  public void extract(ExtractorContext context, LinkConfiguration linkConfiguration,
+                      FromJobConfiguration jobConfiguration, KafkaPartition partition) {
+    brokerList = linkConfiguration.linkConfig.brokerList;
+    Integer fetchSize = jobConfiguration.fromJobConfig.fetchSize;
+    boolean byteArray = context.getSchema() instanceof ByteArraySchema;
+    DataWriter dataWriter = context.getDataWriter();
+
+    try {
+      for (int i = 0; i < partition.getNumberOfRanges(); i++) {
+        LOG.info("Reading partition " + partition.getPartitionId(i) + " of topic " + partition.getTopic()
+          + " from offset " + partition.getStartOffset(i) + " to " + partition.getEndOffset(i));
+        extractRange(dataWriter, byteArray, partition.getTopic(), partition.getPartitionId(i),
+          partition.getStartOffset(i), partition.getEndOffset(i),
+          fetchSize == null ? KafkaConstants.DEFAULT_FETCH_SIZE : fetchSize);
+      }
+    } finally {
+      for (SimpleConsumer consumer : consumers.values()) {
+        consumer.close();
+      }
+      consumers.clear();
+    }
+  }
+
+  private void extractRange(DataWriter dataWriter, boolean byteArray, String topic, int partitionId,
+                            long start, long end, int fetchSize) {
+    long offset = start;
+    int retries = 0;
+    while (offset < end) {
+      Broker leader = getLeader(topic, partitionId, retries > 0);
+      FetchRequest request = new FetchRequestBuilder()
+        .clientId(KafkaConstants.CLIENT_ID)
+        .addFetch(topic, partitionId, offset, fetchSize)
+        .build();
+
+      FetchResponse response;
+      try {
+        response = getConsumer(leader).fetch(request);
+      } catch (Exception e) {
+        retries = checkRetry(retries, topic, partitionId, e);
+        SimpleConsumer consumer = consumers.remove(leader);
+        if (consumer != null) {
+          consumer.close();
+        }
+        continue;
+      }
+      if (response.hasError()) {
+        short errorCode = response.errorCode(topic, partitionId);
+        if (errorCode == ErrorMapping.OffsetOutOfRangeCode()) {
+          // Messages were deleted by retention since the job started
+          throw new SqoopException(KafkaConnectorErrors.KAFKA_CONNECTOR_0004,
+            "Offset " + offset + " of partition " + partitionId + " is no longer available",
+            ErrorMapping.exceptionFor(errorCode));
+        }
+        retries = checkRetry(retries, topic, partitionId, ErrorMapping.exceptionFor(errorCode));
+        continue;
+      }
+      retries = 0;
+
+      boolean progress = false;
+      for (MessageAndOffset messageAndOffset : response.messageSet(topic, partitionId)) {
+        if (messageAndOffset.offset() < offset) {
+          // Compressed message sets are returned whole
+          continue;
+        }
+        if (messageAndOffset.offset() >= end) {
+          offset = end;
+          progress = true;
+          break;
+        }
+        ByteBuffer payload = messageAndOffset.message().payload();
+        if (payload != null) {
+          byte[] bytes = new byte[payload.remaining()];
+          payload.get(bytes);
+          if (byteArray) {
+            dataWriter.writeArrayRecord(new Object[] { bytes });
+          } else {
+            dataWriter.writeTextRecord(bytes, 0, bytes.length);
+          }
+          rowsRead++;
+        }
+        offset = messageAndOffset.nextOffset();
+        progress = true;
+      }
+
+      if (!progress) {
+        // Next message doesn't fit into the fetch size
+        if (fetchSize >= Integer.MAX_VALUE / 2) {
+          throw new SqoopException(KafkaConnectorErrors.KAFKA_CONNECTOR_0004,
+            "Message at offset " + offset + " of partition " + partitionId + " is too large");
+        }
+        fetchSize *= 2;
+        LOG.info("Increasing fetch size to " + fetchSize + " bytes");
+      }
+    }
+  }
+
+  private int checkRetry(int retries, String topic, int partitionId, Throwable cause) {
+    if (retries >= KafkaConstants.MAX_LEADER_RETRIES) {
+      throw new SqoopException(KafkaConnectorErrors.KAFKA_CONNECTOR_0004,
+        "Partition " + partitionId + " of topic " + topic, cause);
+    }
+    LOG.warn("Fetch from partition " + partitionId + " of topic " + topic + " failed, looking up its leader", cause);
+    return retries + 1;
+  }
+
+  private Broker getLeader(String topic, int partitionId, boolean refresh) {
+    if (leaders == null || refresh) {
+      leaders = KafkaUtils.getPartitionLeaders(brokerList, topic);
+    }
+    Broker leader = leaders.get(partitionId);
+    if (leader == null) {
+      throw new SqoopException(KafkaConnectorErrors.KAFKA_CONNECTOR_0003,
+        "Partition " + partitionId + " of topic " + topic + " no longer exists");
+    }
+    return leader;
+  }
+
+  private SimpleConsumer getConsumer(Broker leader) {
+    SimpleConsumer consumer = consumers.get(leader);
+    if (consumer == null) {
+      consumer = createConsumer(leader);
+      consumers.put(leader, consumer);
+    }
+    return consumer;
+  }
+
+  // Overridden by tests to simulate unreachable leaders
+  SimpleConsumer createConsumer(Broker leader) {
+    return KafkaUtils.getConsumer(leader);
+  }
+
+  @Override
+  public long getRowsRead() {
+    return rowsRead;
+  }
+}
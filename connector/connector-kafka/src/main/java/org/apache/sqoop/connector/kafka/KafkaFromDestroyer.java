@@ -0,0 +1,51 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.kafka;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.apache.sqoop.connector.kafka.configuration.FromJobConfiguration;
+import org.apache.sqoop.connector.kafka.configuration.LinkConfiguration;
+import org.apache.sqoop.job.etl.Destroyer;
+import org.apache.sqoop.job.etl.DestroyerContext;
+
+public class KafkaFromDestroyer extends Destroyer<LinkConfiguration, FromJobConfiguration> implements Serializable {
+
+  private static final Logger LOG = Logger.getLogger(KafkaFromDestroyer.class);
+
+  @Override
+  public void destroy(DestroyerContext context, LinkConfiguration linkConfiguration, FromJobConfiguration jobConfiguration) {
+    LOG.info("Running Kafka Connector destroyer");
+  }
+
+  @Override
+  public void updateConfiguration(DestroyerContext context, LinkConfiguration linkConfiguration, FromJobConfiguration jobConfiguration) {
+    LOG.info("Updating Kafka connector offsets");
+    Map<String, String> offsets = new HashMap<String, String>();
+    if (jobConfiguration.incremental.offsets != null) {
+      offsets.putAll(jobConfiguration.incremental.offsets);
+    }
+    for (Map.Entry<Integer, Long> entry : KafkaUtils.decodeOffsets(context.getString(KafkaConstants.END_OFFSETS)).entrySet()) {
+      offsets.put(entry.getKey().toString(), entry.getValue().toString());
+    }
+    jobConfiguration.incremental.offsets = offsets;
+  }
+}
@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.kafka;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import kafka.cluster.Broker;
+import org.apache.log4j.Logger;
+import org.apache.sqoop.connector.kafka.configuration.FromJobConfiguration;
+import org.apache.sqoop.connector.kafka.configuration.LinkConfiguration;
+import org.apache.sqoop.job.etl.Initializer;
+import org.apache.sqoop.job.etl.InitializerContext;
+import org.apache.sqoop.utils.ClassUtils;
+
+public class KafkaFromInitializer extends Initializer<LinkConfiguration, FromJobConfiguration> implements Serializable {
+
+  private static final Logger LOG = Logger.getLogger(KafkaFromInitializer.class);
+
+  /**
+   * Fix the offset ranges that this job will read. Every partition is read
+   * from the offset where the last successful run stopped (or the earliest
+   * available one) up to its current end.
+   */
+  @Override
+  public void initialize(InitializerContext context, LinkConfiguration linkConfiguration, FromJobConfiguration jobConfiguration) {
+    String topic = jobConfiguration.fromJobConfig.topic;
+    SortedMap<Integer, Broker> leaders = KafkaUtils.getPartitionLeaders(linkConfiguration.linkConfig.brokerList, topic);
+    SortedMap<Integer, Long> earliest = KafkaUtils.getOffsets(leaders, topic, kafka.api.OffsetRequest.EarliestTime());
+    SortedMap<Integer, Long> latest = KafkaUtils.getOffsets(leaders, topic, kafka.api.OffsetRequest.LatestTime());
+
+    SortedMap<Integer, Long> start = getStartOffsets(earliest, latest, jobConfiguration.incremental.offsets);
+    LOG.info("Reading topic " + topic + " from offsets " + start + " to " + latest);
+    context.getContext().setString(KafkaConstants.START_OFFSETS, KafkaUtils.encodeOffsets(start));
+    context.getContext().setString(KafkaConstants.END_OFFSETS, KafkaUtils.encodeOffsets(latest));
+  }
+
+  /**
+   * Combine offsets committed by previous run with offsets currently
+   * available in Kafka.
+   */
+  static SortedMap<Integer, Long> getStartOffsets(Map<Integer, Long> earliest, Map<Integer, Long> latest,
+                                                  Map<String, String> committed) {
+    SortedMap<Integer, Long> start = new TreeMap<Integer, Long>(earliest);
+    if (committed == null) {
+      return start;
+    }
+    for (Map.Entry<String, String> entry : committed.entrySet()) {
+      int partition = Integer.parseInt(entry.getKey());
+      long offset = Long.parseLong(entry.getValue());
+      if (!start.containsKey(partition)) {
+        LOG.warn("Ignoring offset of partition " + partition + " that no longer exists");
+      } else if (offset < earliest.get(partition)) {
+        LOG.warn("Messages of partition " + partition + " from offset " + offset + " to "
+          + earliest.get(partition) + " were already deleted and won't be read");
+      } else if (offset > latest.get(partition)) {
+        LOG.warn("Offset " + offset + " of partition " + partition + " is beyond its end "
+          + latest.get(partition) + ", reading it from the beginning");
+      } else {
+        start.put(partition, offset);
+      }
+    }
+    return start;
+  }
+
+  @Override
+  public Set<String> getJars(InitializerContext context, LinkConfiguration
+          linkConfiguration, FromJobConfiguration fromJobConfiguration) {
+    Set<String> jars = super.getJars(context, linkConfiguration, fromJobConfiguration);
+    // Jars for Kafka, Scala and Yammer (required by Kafka)
+    jars.add(ClassUtils.jarForClass("kafka.javaapi.consumer.SimpleConsumer"));
+    jars.add(ClassUtils.jarForClass("scala.collection.immutable.StringLike"));
+    jars.add(ClassUtils.jarForClass("com.yammer.metrics.Metrics"));
+    return jars;
+  }
+}
@@ -18,94 +18,167 @@
 package org.apache.sqoop.connector.kafka;
 
 import java.io.Serializable;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
-import java.util.UUID;
 
 import org.apache.log4j.Logger;
 import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.common.SqoopIDFUtils;
+import org.apache.sqoop.connector.idf.CSVIntermediateDataFormat;
 import org.apache.sqoop.connector.kafka.configuration.LinkConfiguration;
+import org.apache.sqoop.connector.kafka.configuration.ToJobConfig;
 import org.apache.sqoop.connector.kafka.configuration.ToJobConfiguration;
 import org.apache.sqoop.error.code.KafkaConnectorErrors;
+import org.apache.sqoop.etl.io.DataReader;
 import org.apache.sqoop.job.etl.Loader;
 import org.apache.sqoop.job.etl.LoaderContext;
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.schema.type.Column;
 
 import kafka.javaapi.producer.Producer;
-import kafka.producer.KeyedMessage;
 import kafka.producer.ProducerConfig;
 
 public class KafkaLoader extends Loader<LinkConfiguration,ToJobConfiguration> implements Serializable{
   private static final Logger LOG = Logger.getLogger(KafkaLoader.class);
 
-  private List<KeyedMessage<String, String>> messageList =
-          new ArrayList<KeyedMessage<String, String>>(KafkaConstants.DEFAULT_BATCH_SIZE);
-  private Producer producer;
+  private static final Charset UTF8 = Charset.forName("UTF-8");
+
   private long rowsWritten = 0;
 
   @Override
   public void load(LoaderContext context,LinkConfiguration linkConfiguration, ToJobConfiguration jobConfiguration) throws
           Exception {
-    producer = getProducer(linkConfiguration);
-    LOG.info("got producer");
-    String topic = jobConfiguration.toJobConfig.topic;
+    ToJobConfig toJobConfig = jobConfiguration.toJobConfig;
+    String topic = toJobConfig.topic;
     LOG.info("topic is:"+topic);
-    String batchUUID = UUID.randomUUID().toString();
-    String record;
-
-    while ((record = context.getDataReader().readTextRecord()) != null) {
-      // create a message and add to buffer
-      KeyedMessage<String, String> data = new KeyedMessage<String, String>
-              (topic, null, batchUUID, record);
-      messageList.add(data);
-      // If we have enough messages, send the batch to Kafka
-      if (messageList.size() >= KafkaConstants.DEFAULT_BATCH_SIZE) {
-        sendToKafka(messageList);
+    int[] keyColumns = getKeyColumns(context.getSchema(), toJobConfig.keyColumns);
+    int batchBytes = toJobConfig.batchBytes != null ? toJobConfig.batchBytes : KafkaConstants.DEFAULT_BATCH_BYTES;
+    long lingerMs = toJobConfig.lingerMs != null ? toJobConfig.lingerMs : Long.MAX_VALUE;
+    int maxInFlight = toJobConfig.maxInFlight != null ? toJobConfig.maxInFlight : KafkaConstants.DEFAULT_MAX_IN_FLIGHT;
+    if (keyColumns != null && maxInFlight > 1) {
+      // Concurrent batches could reorder messages with the same key
+      LOG.info("Key columns are set, sending one batch at a time instead of " + maxInFlight);
+      maxInFlight = 1;
+    }
+
+    List<Producer<String, byte[]>> producers = new ArrayList<Producer<String, byte[]>>(maxInFlight);
+    Properties kafkaProps = getKafkaProps(linkConfiguration, toJobConfig);
+    for (int i = 0; i < maxInFlight; i++) {
+      producers.add(getProducer(kafkaProps));
+    }
+    LOG.info("got " + maxInFlight + " producers");
+    KafkaBatchSender sender = new KafkaBatchSender(producers);
+    KafkaBatchBuffer buffer = new KafkaBatchBuffer(sender, topic, batchBytes, lingerMs);
+
+    try {
+      DataReader reader = context.getDataReader();
+      // Keyed rows are read as objects, message is their CSV form
+      CSVIntermediateDataFormat format = keyColumns == null ? null : new CSVIntermediateDataFormat(context.getSchema());
+
+      while (true) {
+        byte[] message;
+        String key;
+        if (keyColumns == null) {
+          message = reader.readTextRecordBytes();
+          if (message == null) {
+            break;
+          }
+          key = null;
+        } else {
+          Object[] fields = reader.readArrayRecord();
+          if (fields == null) {
+            break;
+          }
+          format.setObjectData(fields);
+          message = format.getCSVTextData().getBytes(UTF8);
+          key = getKey(fields, keyColumns);
+        }
+
+        // Full or lingering batch is sent to Kafka right away
+        buffer.add(key, message);
+        rowsWritten ++;
       }
-      rowsWritten ++;
+
+      buffer.flush();
+      sender.flush();
+    } finally {
+      buffer.close();
+      sender.close();
     }
+  }
 
-    if (messageList.size() > 0) {
-      sendToKafka(messageList);
+  /**
+   * Resolve configured key columns to their positions in the schema.
+   *
+   * @return Column indexes or null if no key columns are configured
+   */
+  static int[] getKeyColumns(Schema schema, String keyColumns) {
+    if (keyColumns == null || keyColumns.trim().isEmpty()) {
+      return null;
     }
 
-    producer.close();
+    String[] names = keyColumns.split(",");
+    Column[] columns = schema == null ? new Column[0] : schema.getColumnsArray();
+    int[] indexes = new int[names.length];
+    for (int i = 0; i < names.length; i++) {
+      String name = names[i].trim();
+      indexes[i] = -1;
+      for (int j = 0; j < columns.length; j++) {
+        if (columns[j].getName().equals(name)) {
+          indexes[i] = j;
+        }
+      }
+      if (indexes[i] < 0) {
+        throw new SqoopException(KafkaConnectorErrors.KAFKA_CONNECTOR_0002, name);
+      }
+    }
+    return indexes;
   }
 
-  private void sendToKafka(List<KeyedMessage<String,String>> messageList) {
-    try {
-      producer.send(messageList);
-      messageList.clear();
-    } catch (Exception ex) {
-      throw new SqoopException(KafkaConnectorErrors.KAFKA_CONNECTOR_0001);
+  /**
+   * Message key made of the values of the key columns.
+   */
+  static String getKey(Object[] fields, int[] keyColumns) {
+    StringBuilder key = new StringBuilder();
+    for (int i = 0; i < keyColumns.length; i++) {
+      if (i > 0) {
+        key.append(SqoopIDFUtils.CSV_SEPARATOR_CHARACTER);
+      }
+      Object value = fields[keyColumns[i]];
+      key.append(value == null ? SqoopIDFUtils.NULL_VALUE : value.toString());
     }
+    return key.toString();
   }
 
   /**
-   * Initialize a Kafka producer using configs in LinkConfiguration
-   * @param linkConfiguration
+   * Initialize a Kafka producer using given properties
+   * @param kafkaProps
    * @return
    */
-  Producer getProducer(LinkConfiguration linkConfiguration) {
-    Properties kafkaProps =  generateDefaultKafkaProps();
-    kafkaProps.put(KafkaConstants.BROKER_LIST_KEY, linkConfiguration.linkConfig.brokerList);
-    ProducerConfig config = new ProducerConfig(kafkaProps);
-    return new Producer<String, String>(config);
+  Producer<String, byte[]> getProducer(Properties kafkaProps) {
+    return new Producer<String, byte[]>(new ProducerConfig(kafkaProps));
   }
 
   /**
-   * Generate producer properties object with some defaults
+   * Generate producer properties object from the link and job configs
    * @return
    */
-  private Properties generateDefaultKafkaProps() {
+  private Properties getKafkaProps(LinkConfiguration linkConfiguration, ToJobConfig toJobConfig) {
     Properties props = new Properties();
+    props.put(KafkaConstants.BROKER_LIST_KEY, linkConfiguration.linkConfig.brokerList);
     props.put(KafkaConstants.MESSAGE_SERIALIZER_KEY,
             KafkaConstants.DEFAULT_MESSAGE_SERIALIZER);
     props.put(KafkaConstants.KEY_SERIALIZER_KEY,
             KafkaConstants.DEFAULT_KEY_SERIALIZER);
-    props.put(KafkaConstants.REQUIRED_ACKS_KEY,
-            KafkaConstants.DEFAULT_REQUIRED_ACKS);
+    props.put(KafkaConstants.REQUIRED_ACKS_KEY, toJobConfig.acks != null
+            ? toJobConfig.acks.toString() : KafkaConstants.DEFAULT_REQUIRED_ACKS);
+    // Producers are synchronous, batches are sent from background threads
     props.put(KafkaConstants.PRODUCER_TYPE,KafkaConstants.DEFAULT_PRODUCER_TYPE);
+    if (toJobConfig.compression != null) {
+      props.put(KafkaConstants.COMPRESSION_CODEC_KEY, toJobConfig.compression.name().toLowerCase());
+    }
     return props;
   }
 
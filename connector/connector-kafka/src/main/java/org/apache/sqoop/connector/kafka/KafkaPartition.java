@@ -0,0 +1,113 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.kafka;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+
+import org.apache.sqoop.job.etl.Partition;
+
+/**
+ * Offset ranges [start, end) of one or more topic partitions that are read by
+ * a single extractor.
+ */
+public class KafkaPartition extends Partition implements Serializable {
+
+  private String topic;
+  private int[] partitionIds;
+  private long[] startOffsets;
+  private long[] endOffsets;
+
+  public KafkaPartition() {}
+
+  public KafkaPartition(String topic, int[] partitionIds, long[] startOffsets, long[] endOffsets) {
+    this.topic = topic;
+    this.partitionIds = partitionIds.clone();
+    this.startOffsets = startOffsets.clone();
+    this.endOffsets = endOffsets.clone();
+  }
+
+  public String getTopic() {
+    return topic;
+  }
+
+  public int getNumberOfRanges() {
+    return partitionIds.length;
+  }
+
+  public int getPartitionId(int i) {
+    return partitionIds[i];
+  }
+
+  public long getStartOffset(int i) {
+    return startOffsets[i];
+  }
+
+  public long getEndOffset(int i) {
+    return endOffsets[i];
+  }
+
+  public long getNumberOfMessages() {
+    long messages = 0;
+    for (int i = 0; i < partitionIds.length; i++) {
+      messages += endOffsets[i] - startOffsets[i];
+    }
+    return messages;
+  }
+
+  @Override
+  public void readFields(DataInput in) throws IOException {
+    topic = in.readUTF();
+    int numRanges = in.readInt();
+    partitionIds = new int[numRanges];
+    startOffsets = new long[numRanges];
+    endOffsets = new long[numRanges];
+    for (int i = 0; i < numRanges; i++) {
+      partitionIds[i] = in.readInt();
+      startOffsets[i] = in.readLong();
+      endOffsets[i] = in.readLong();
+    }
+  }
+
+  @Override
+  public void write(DataOutput out) throws IOException {
+    out.writeUTF(topic);
+    out.writeInt(partitionIds.length);
+    for (int i = 0; i < partitionIds.length; i++) {
+      out.writeInt(partitionIds[i]);
+      out.writeLong(startOffsets[i]);
+      out.writeLong(endOffsets[i]);
+    }
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("{");
+    sb.append(topic);
+    for (int i = 0; i < partitionIds.length; i++) {
+      sb.append(i == 0 ? " " : ", ");
+      sb.append(partitionIds[i]).append(':');
+      sb.append('[').append(startOffsets[i]).append(',').append(endOffsets[i]).append(')');
+    }
+    sb.append("}");
+    return sb.toString();
+  }
+}
@@ -0,0 +1,129 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.kafka;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SortedMap;
+
+import org.apache.log4j.Logger;
+import org.apache.sqoop.connector.kafka.configuration.FromJobConfiguration;
+import org.apache.sqoop.connector.kafka.configuration.LinkConfiguration;
+import org.apache.sqoop.job.etl.Partition;
+import org.apache.sqoop.job.etl.Partitioner;
+import org.apache.sqoop.job.etl.PartitionerContext;
+
+/**
+ * Splits offset ranges found by the initializer into at most max partitions
+ * with similar number of messages.
+ */
+public class KafkaPartitioner extends Partitioner<LinkConfiguration, FromJobConfiguration> {
+
+  private static final Logger LOG = Logger.getLogger(KafkaPartitioner.class);
+
+  @Override
+  public List<Partition> getPartitions(PartitionerContext context, LinkConfiguration linkConfiguration,
+                                       FromJobConfiguration jobConfiguration) {
+    SortedMap<Integer, Long> startOffsets = KafkaUtils.decodeOffsets(context.getString(KafkaConstants.START_OFFSETS));
+    SortedMap<Integer, Long> endOffsets = KafkaUtils.decodeOffsets(context.getString(KafkaConstants.END_OFFSETS));
+    Integer maxRangeSize = jobConfiguration.fromJobConfig.maxRangeSize;
+
+    List<Partition> partitions = getPartitions(jobConfiguration.fromJobConfig.topic, startOffsets, endOffsets,
+      maxRangeSize == null ? Long.MAX_VALUE : maxRangeSize, (int)context.getMaxPartitions());
+    LOG.info("Created " + partitions.size() + " partitions");
+    return partitions;
+  }
+
+  static List<Partition> getPartitions(String topic, Map<Integer, Long> startOffsets, Map<Integer, Long> endOffsets,
+                                       long maxRangeSize, int maxPartitions) {
+    // Offset ranges, largest first
+    List<long[]> ranges = new ArrayList<long[]>();
+    for (Map.Entry<Integer, Long> entry : startOffsets.entrySet()) {
+      long start = entry.getValue();
+      long end = endOffsets.get(entry.getKey());
+      while (start < end) {
+        long rangeEnd = end - start > maxRangeSize ? start + maxRangeSize : end;
+        ranges.add(new long[] { entry.getKey(), start, rangeEnd });
+        start = rangeEnd;
+      }
+    }
+    Collections.sort(ranges, new Comparator<long[]>() {
+      @Override
+      public int compare(long[] a, long[] b) {
+        return Long.compare(b[2] - b[1], a[2] - a[1]);
+      }
+    });
+
+    // Every range goes to the least loaded partition
+    int numPartitions = Math.min(Math.max(maxPartitions, 1), ranges.size());
+    PriorityQueue<Group> groups = new PriorityQueue<Group>(Math.max(numPartitions, 1));
+    for (int i = 0; i < numPartitions; i++) {
+      groups.add(new Group());
+    }
+    for (long[] range : ranges) {
+      Group group = groups.poll();
+      group.add(range);
+      groups.add(group);
+    }
+
+    List<Partition> partitions = new LinkedList<Partition>();
+    for (Group group : groups) {
+      partitions.add(group.toPartition(topic));
+    }
+    return partitions;
+  }
+
+  private static class Group implements Comparable<Group> {
+    private final List<long[]> ranges = new ArrayList<long[]>();
+    private long messages;
+
+    void add(long[] range) {
+      ranges.add(range);
+      messages += range[2] - range[1];
+    }
+
+    KafkaPartition toPartition(String topic) {
+      // Read ranges in the order of offsets
+      Collections.sort(ranges, new Comparator<long[]>() {
+        @Override
+        public int compare(long[] a, long[] b) {
+          return a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]);
+        }
+      });
+      int[] partitionIds = new int[ranges.size()];
+      long[] startOffsets = new long[ranges.size()];
+      long[] endOffsets = new long[ranges.size()];
+      for (int i = 0; i < ranges.size(); i++) {
+        partitionIds[i] = (int)ranges.get(i)[0];
+        startOffsets[i] = ranges.get(i)[1];
+        endOffsets[i] = ranges.get(i)[2];
+      }
+      return new KafkaPartition(topic, partitionIds, startOffsets, endOffsets);
+    }
+
+    @Override
+    public int compareTo(Group other) {
+      return Long.compare(messages, other.messages);
+    }
+  }
+}
@@ -0,0 +1,181 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.kafka;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import kafka.api.PartitionOffsetRequestInfo;
+import kafka.cluster.Broker;
+import kafka.common.ErrorMapping;
+import kafka.common.TopicAndPartition;
+import kafka.javaapi.OffsetRequest;
+import kafka.javaapi.OffsetResponse;
+import kafka.javaapi.PartitionMetadata;
+import kafka.javaapi.TopicMetadata;
+import kafka.javaapi.TopicMetadataRequest;
+import kafka.javaapi.TopicMetadataResponse;
+import kafka.javaapi.consumer.SimpleConsumer;
+import org.apache.log4j.Logger;
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.error.code.KafkaConnectorErrors;
+
+/**
+ * Helper methods to read topic metadata and offsets from Kafka brokers.
+ */
+public class KafkaUtils {
+
+  private static final Logger LOG = Logger.getLogger(KafkaUtils.class);
+
+  /**
+   * Find leader broker of every partition of given topic.
+   *
+   * @param brokerList Comma-separated list of host:port pairs
+   * @param topic Topic name
+   * @return Leaders keyed by partition id
+   */
+  public static SortedMap<Integer, Broker> getPartitionLeaders(String brokerList, String topic) {
+    Exception lastException = null;
+    for (String broker : brokerList.split(",")) {
+      String[] hostPort = broker.trim().split(":");
+      SimpleConsumer consumer = null;
+      try {
+        consumer = new SimpleConsumer(hostPort[0], Integer.parseInt(hostPort[1]),
+          KafkaConstants.SO_TIMEOUT, KafkaConstants.BUFFER_SIZE, KafkaConstants.CLIENT_ID);
+        TopicMetadataResponse response = consumer.send(
+          new TopicMetadataRequest(Collections.singletonList(topic)));
+
+        SortedMap<Integer, Broker> leaders = new TreeMap<Integer, Broker>();
+        for (TopicMetadata topicMetadata : response.topicsMetadata()) {
+          if (topicMetadata.errorCode() != ErrorMapping.NoError()) {
+            throw new IllegalStateException("Metadata error of topic " + topic,
+              ErrorMapping.exceptionFor(topicMetadata.errorCode()));
+          }
+          for (PartitionMetadata partitionMetadata : topicMetadata.partitionsMetadata()) {
+            if (partitionMetadata.leader() == null) {
+              throw new IllegalStateException("Partition " + partitionMetadata.partitionId()
+                + " of topic " + topic + " has no leader");
+            }
+            leaders.put(partitionMetadata.partitionId(), partitionMetadata.leader());
+          }
+        }
+        if (leaders.isEmpty()) {
+          throw new IllegalStateException("Topic " + topic + " has no partitions");
+        }
+        return leaders;
+      } catch (Exception e) {
+        LOG.warn("Unable to get metadata of topic " + topic + " from broker " + broker, e);
+        lastException = e;
+      } finally {
+        if (consumer != null) {
+          consumer.close();
+        }
+      }
+    }
+    throw new SqoopException(KafkaConnectorErrors.KAFKA_CONNECTOR_0003, topic, lastException);
+  }
+
+  /**
+   * Get offsets of all partitions of the topic at given time.
+   *
+   * @param leaders Leaders keyed by partition id
+   * @param topic Topic name
+   * @param time kafka.api.OffsetRequest.EarliestTime() or LatestTime()
+   * @return Offsets keyed by partition id
+   */
+  public static SortedMap<Integer, Long> getOffsets(Map<Integer, Broker> leaders, String topic, long time) {
+    // One request per leader, covering all partitions it leads
+    Map<Broker, Map<TopicAndPartition, PartitionOffsetRequestInfo>> requests =
+      new HashMap<Broker, Map<TopicAndPartition, PartitionOffsetRequestInfo>>();
+    for (Map.Entry<Integer, Broker> entry : leaders.entrySet()) {
+      Map<TopicAndPartition, PartitionOffsetRequestInfo> request = requests.get(entry.getValue());
+      if (request == null) {
+        request = new HashMap<TopicAndPartition, PartitionOffsetRequestInfo>();
+        requests.put(entry.getValue(), request);
+      }
+      request.put(new TopicAndPartition(topic, entry.getKey()), new PartitionOffsetRequestInfo(time, 1));
+    }
+
+    SortedMap<Integer, Long> offsets = new TreeMap<Integer, Long>();
+    for (Map.Entry<Broker, Map<TopicAndPartition, PartitionOffsetRequestInfo>> entry : requests.entrySet()) {
+      SimpleConsumer consumer = getConsumer(entry.getKey());
+      try {
+        OffsetResponse response = consumer.getOffsetsBefore(new OffsetRequest(entry.getValue(),
+          kafka.api.OffsetRequest.CurrentVersion(), KafkaConstants.CLIENT_ID));
+        for (TopicAndPartition topicAndPartition : entry.getValue().keySet()) {
+          int partition = topicAndPartition.partition();
+          if (response.hasError()) {
+            short errorCode = response.errorCode(topic, partition);
+            if (errorCode != ErrorMapping.NoError()) {
+              throw new SqoopException(KafkaConnectorErrors.KAFKA_CONNECTOR_0003,
+                topic + "/" + partition, ErrorMapping.exceptionFor(errorCode));
+            }
+          }
+          offsets.put(partition, response.offsets(topic, partition)[0]);
+        }
+      } catch (SqoopException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new SqoopException(KafkaConnectorErrors.KAFKA_CONNECTOR_0003, topic, e);
+      } finally {
+        consumer.close();
+      }
+    }
+    return offsets;
+  }
+
+  public static SimpleConsumer getConsumer(Broker broker) {
+    return new SimpleConsumer(broker.host(), broker.port(),
+      KafkaConstants.SO_TIMEOUT, KafkaConstants.BUFFER_SIZE, KafkaConstants.CLIENT_ID);
+  }
+
+  /**
+   * Serialize offsets to "partition:offset,..." form, so that they can be
+   * stored in the job context.
+   */
+  public static String encodeOffsets(Map<Integer, Long> offsets) {
+    StringBuilder sb = new StringBuilder();
+    for (Map.Entry<Integer, Long> entry : offsets.entrySet()) {
+      if (sb.length() > 0) {
+        sb.append(',');
+      }
+      sb.append(entry.getKey()).append(':').append(entry.getValue());
+    }
+    return sb.toString();
+  }
+
+  public static SortedMap<Integer, Long> decodeOffsets(String encoded) {
+    SortedMap<Integer, Long> offsets = new TreeMap<Integer, Long>();
+    if (encoded == null || encoded.isEmpty()) {
+      return offsets;
+    }
+    for (String entry : encoded.split(",")) {
+      int separator = entry.indexOf(':');
+      offsets.put(Integer.parseInt(entry.substring(0, separator)),
+        Long.parseLong(entry.substring(separator + 1)));
+    }
+    return offsets;
+  }
+
+  private KafkaUtils() {
+    // Disable explicit object creation
+  }
+}
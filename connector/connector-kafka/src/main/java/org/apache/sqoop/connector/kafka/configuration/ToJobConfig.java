@@ -22,9 +22,22 @@
 import org.apache.sqoop.model.ConfigClass;
 import org.apache.sqoop.model.Input;
 import org.apache.sqoop.model.Validator;
+import org.apache.sqoop.validation.validators.InRange;
 import org.apache.sqoop.validation.validators.NotEmpty;
 
 @ConfigClass
 public class ToJobConfig implements Serializable{
   @Input(size=255, validators = { @Validator(NotEmpty.class) }) public String topic;
+
+  @Input(size=1024) public String keyColumns;
+
+  @Input public ToCompression compression;
+
+  @Input(validators = { @Validator(value = InRange.class, strArg = "-1," + Short.MAX_VALUE) }) public Integer acks;
+
+  @Input(validators = { @Validator(value = InRange.class, strArg = "1," + Integer.MAX_VALUE) }) public Integer batchBytes;
+
+  @Input(validators = { @Validator(value = InRange.class, strArg = "0," + Integer.MAX_VALUE) }) public Integer lingerMs;
+
+  @Input(validators = { @Validator(value = InRange.class, strArg = "1," + Integer.MAX_VALUE) }) public Integer maxInFlight;
 }
@@ -0,0 +1,339 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.kafka;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import kafka.cluster.Broker;
+import kafka.javaapi.consumer.SimpleConsumer;
+import kafka.javaapi.producer.Producer;
+import kafka.producer.KeyedMessage;
+import kafka.producer.ProducerConfig;
+
+import org.apache.sqoop.common.MutableMapContext;
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.common.test.kafka.TestUtil;
+import org.apache.sqoop.connector.kafka.configuration.FromJobConfiguration;
+import org.apache.sqoop.connector.kafka.configuration.LinkConfiguration;
+import org.apache.sqoop.error.code.KafkaConnectorErrors;
+import org.apache.sqoop.etl.io.DataWriter;
+import org.apache.sqoop.job.etl.DestroyerContext;
+import org.apache.sqoop.job.etl.ExtractorContext;
+import org.apache.sqoop.job.etl.InitializerContext;
+import org.apache.sqoop.job.etl.Partition;
+import org.apache.sqoop.job.etl.PartitionerContext;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Extractor and KafkaUtils against an embedded broker.
+ */
+public class TestKafkaExtractor {
+
+  private static final TestUtil testUtil = TestUtil.getInstance();
+  private static final String USER = "test_user";
+
+  private static int topicCounter = 0;
+  private LinkConfiguration linkConfig;
+
+  @BeforeClass
+  public void setUp() throws Exception {
+    testUtil.prepare();
+    linkConfig = new LinkConfiguration();
+    linkConfig.linkConfig.brokerList = testUtil.getKafkaServerUrl();
+    linkConfig.linkConfig.zookeeperConnect = testUtil.getZkUrl();
+  }
+
+  @AfterClass(alwaysRun = true)
+  public void tearDown() throws IOException {
+    testUtil.tearDown();
+  }
+
+  @Test
+  public void testExtract() throws Exception {
+    String topic = createTopic(100, null);
+
+    List<String> records = extract(topic, 0, 100, null, new KafkaExtractor());
+    assertEquals(records, messages(0, 100));
+  }
+
+  @Test
+  public void testExtractSubrange() throws Exception {
+    String topic = createTopic(100, null);
+
+    KafkaExtractor extractor = new KafkaExtractor();
+    List<String> records = extract(topic, 10, 20, null, extractor);
+    assertEquals(records, messages(10, 20));
+    assertEquals(extractor.getRowsRead(), 10);
+  }
+
+  @Test
+  public void testFetchSizeGrowsForLargeMessages() throws Exception {
+    String topic = createTopic(20, null);
+
+    // Not even a single message fits, the fetch size has to be doubled
+    List<String> records = extract(topic, 0, 20, 8, new KafkaExtractor());
+    assertEquals(records, messages(0, 20));
+  }
+
+  @Test
+  public void testCompressedMessageSetIsSkippedToStartOffset() throws Exception {
+    // A single send is stored as one compressed message set, which brokers
+    // return whole even if the fetch starts in its middle
+    String topic = createTopic(10, "gzip");
+
+    List<String> records = extract(topic, 3, 7, null, new KafkaExtractor());
+    assertEquals(records, messages(3, 7));
+  }
+
+  @Test
+  public void testOffsetOutOfRange() throws Exception {
+    String topic = createTopic(10, null);
+
+    try {
+      extract(topic, 15, 20, null, new KafkaExtractor());
+      fail("Offsets beyond the end of the partition can't be read");
+    } catch (SqoopException e) {
+      assertEquals(e.getErrorCode(), KafkaConnectorErrors.KAFKA_CONNECTOR_0004);
+    }
+  }
+
+  @Test
+  public void testFailedFetchRefreshesLeader() throws Exception {
+    String topic = createTopic(10, null);
+
+    // First consumer can't connect, the fetch is retried with a new one
+    final AtomicInteger consumers = new AtomicInteger();
+    KafkaExtractor extractor = new KafkaExtractor() {
+      @Override
+      SimpleConsumer createConsumer(Broker leader) {
+        if (consumers.incrementAndGet() == 1) {
+          return deadConsumer();
+        }
+        return super.createConsumer(leader);
+      }
+    };
+
+    List<String> records = extract(topic, 0, 10, null, extractor);
+    assertEquals(records, messages(0, 10));
+    assertEquals(consumers.get(), 2);
+  }
+
+  @Test
+  public void testFailedFetchRetriesAreLimited() throws Exception {
+    String topic = createTopic(10, null);
+
+    final AtomicInteger consumers = new AtomicInteger();
+    KafkaExtractor extractor = new KafkaExtractor() {
+      @Override
+      SimpleConsumer createConsumer(Broker leader) {
+        consumers.incrementAndGet();
+        return deadConsumer();
+      }
+    };
+
+    try {
+      extract(topic, 0, 10, null, extractor);
+      fail("Unreachable leader should fail the extraction");
+    } catch (SqoopException e) {
+      assertEquals(e.getErrorCode(), KafkaConnectorErrors.KAFKA_CONNECTOR_0004);
+    }
+    assertEquals(consumers.get(), KafkaConstants.MAX_LEADER_RETRIES + 1);
+  }
+
+  @Test
+  public void testResumeFromCommittedOffsets() throws Exception {
+    String topic = createTopic(30, null);
+    FromJobConfiguration jobConfig = jobConfig(topic, null);
+
+    assertEquals(runJob(jobConfig), messages(0, 30));
+
+    // Second run reads only messages produced since the first one
+    produce(topic, 30, 45, null);
+    assertEquals(runJob(jobConfig), messages(30, 45));
+    assertEquals(jobConfig.incremental.offsets.get("0"), "45");
+
+    // Nothing new, nothing read
+    assertEquals(runJob(jobConfig), messages(0, 0));
+  }
+
+  @Test
+  public void testGetPartitionLeadersSkipsUnreachableBroker() throws Exception {
+    String topic = createTopic(1, null);
+
+    SortedMap<Integer, Broker> leaders = KafkaUtils.getPartitionLeaders(
+      "localhost:" + deadPort() + "," + testUtil.getKafkaServerUrl(), topic);
+    assertEquals(leaders.keySet().size(), 1);
+    assertEquals(leaders.get(0).port(), Integer.parseInt(testUtil.getKafkaServerUrl().split(":")[1]));
+  }
+
+  @Test
+  public void testGetPartitionLeadersFailure() throws Exception {
+    try {
+      KafkaUtils.getPartitionLeaders("localhost:" + deadPort(), "topic");
+      fail("No broker is reachable");
+    } catch (SqoopException e) {
+      assertEquals(e.getErrorCode(), KafkaConnectorErrors.KAFKA_CONNECTOR_0003);
+    }
+  }
+
+  @Test
+  public void testGetOffsets() throws Exception {
+    String topic = createTopic(25, null);
+
+    SortedMap<Integer, Broker> leaders = KafkaUtils.getPartitionLeaders(testUtil.getKafkaServerUrl(), topic);
+    assertEquals(KafkaUtils.getOffsets(leaders, topic, kafka.api.OffsetRequest.EarliestTime()).get(0).longValue(), 0);
+    assertEquals(KafkaUtils.getOffsets(leaders, topic, kafka.api.OffsetRequest.LatestTime()).get(0).longValue(), 25);
+  }
+
+  @Test
+  public void testEncodeOffsets() {
+    SortedMap<Integer, Long> offsets = new TreeMap<Integer, Long>();
+    offsets.put(0, 10L);
+    offsets.put(3, 7L);
+    assertEquals(KafkaUtils.encodeOffsets(offsets), "0:10,3:7");
+    assertEquals(KafkaUtils.decodeOffsets("0:10,3:7"), offsets);
+    assertTrue(KafkaUtils.decodeOffsets("").isEmpty());
+    assertTrue(KafkaUtils.decodeOffsets(null).isEmpty());
+  }
+
+  /**
+   * Initializer, partitioner, extractor and destroyer the way a job runs them.
+   */
+  private List<String> runJob(FromJobConfiguration jobConfig) {
+    MutableMapContext context = new MutableMapContext();
+    new KafkaFromInitializer().initialize(new InitializerContext(context, USER), linkConfig, jobConfig);
+
+    List<String> records = new ArrayList<String>();
+    for (Partition partition : new KafkaPartitioner().getPartitions(
+        new PartitionerContext(context, 4, null, USER), linkConfig, jobConfig)) {
+      new KafkaExtractor().extract(new ExtractorContext(context, writer(records), null, USER),
+        linkConfig, jobConfig, (KafkaPartition) partition);
+    }
+
+    new KafkaFromDestroyer().updateConfiguration(new DestroyerContext(context, true, null, USER), linkConfig, jobConfig);
+    return records;
+  }
+
+  private List<String> extract(String topic, long start, long end, Integer fetchSize, KafkaExtractor extractor) {
+    List<String> records = new ArrayList<String>();
+    KafkaPartition partition = new KafkaPartition(topic, new int[] {0}, new long[] {start}, new long[] {end});
+    extractor.extract(new ExtractorContext(new MutableMapContext(), writer(records), null, USER),
+      linkConfig, jobConfig(topic, fetchSize), partition);
+    return records;
+  }
+
+  private static FromJobConfiguration jobConfig(String topic, Integer fetchSize) {
+    FromJobConfiguration jobConfig = new FromJobConfiguration();
+    jobConfig.fromJobConfig.topic = topic;
+    jobConfig.fromJobConfig.fetchSize = fetchSize;
+    return jobConfig;
+  }
+
+  /**
+   * New single partition topic with given number of messages.
+   */
+  private static String createTopic(int messages, String compression) {
+    String topic = "extractor-" + (++topicCounter);
+    produce(topic, 0, messages, compression);
+    return topic;
+  }
+
+  private static void produce(String topic, int from, int to, String compression) {
+    Properties props = new Properties();
+    props.put(KafkaConstants.BROKER_LIST_KEY, testUtil.getKafkaServerUrl());
+    props.put(KafkaConstants.MESSAGE_SERIALIZER_KEY, KafkaConstants.DEFAULT_MESSAGE_SERIALIZER);
+    props.put(KafkaConstants.KEY_SERIALIZER_KEY, KafkaConstants.DEFAULT_KEY_SERIALIZER);
+    props.put(KafkaConstants.REQUIRED_ACKS_KEY, "1");
+    // Topic is created by the first send, its leader takes a while to be elected
+    props.put("message.send.max.retries", "10");
+    props.put("retry.backoff.ms", "500");
+    if (compression != null) {
+      props.put(KafkaConstants.COMPRESSION_CODEC_KEY, compression);
+    }
+
+    List<KeyedMessage<String, byte[]>> batch = new ArrayList<KeyedMessage<String, byte[]>>();
+    for (String message : messages(from, to)) {
+      batch.add(new KeyedMessage<String, byte[]>(topic, message.getBytes()));
+    }
+    Producer<String, byte[]> producer = new Producer<String, byte[]>(new ProducerConfig(props));
+    try {
+      producer.send(batch);
+    } finally {
+      producer.close();
+    }
+  }
+
+  private static List<String> messages(int from, int to) {
+    List<String> messages = new ArrayList<String>();
+    for (int i = from; i < to; i++) {
+      messages.add(i + ",'message number " + i + "'");
+    }
+    return messages;
+  }
+
+  private static DataWriter writer(final List<String> records) {
+    return new DataWriter() {
+      @Override
+      public void writeArrayRecord(Object[] array) {
+        throw new AssertionError("Text records are expected");
+      }
+
+      @Override
+      public void writeStringRecord(String text) {
+        records.add(text);
+      }
+
+      @Override
+      public void writeRecord(Object obj) {
+        throw new AssertionError("Text records are expected");
+      }
+    };
+  }
+
+  private static SimpleConsumer deadConsumer() {
+    return new SimpleConsumer("localhost", deadPort(), 1000, KafkaConstants.BUFFER_SIZE, KafkaConstants.CLIENT_ID);
+  }
+
+  /**
+   * Port nobody listens on.
+   */
+  private static int deadPort() {
+    try {
+      ServerSocket socket = new ServerSocket(0);
+      int port = socket.getLocalPort();
+      socket.close();
+      return port;
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
@@ -0,0 +1,308 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.kafka;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.kafka.configuration.LinkConfiguration;
+import org.apache.sqoop.connector.kafka.configuration.ToJobConfiguration;
+import org.apache.sqoop.error.code.KafkaConnectorErrors;
+import org.apache.sqoop.etl.io.DataReader;
+import org.apache.sqoop.job.etl.LoaderContext;
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.schema.type.FixedPoint;
+import org.apache.sqoop.schema.type.Text;
+import org.testng.annotations.Test;
+
+import kafka.javaapi.producer.Producer;
+import kafka.producer.KeyedMessage;
+import kafka.producer.ProducerConfig;
+
+/**
+ * Batching and error handling of KafkaLoader, Kafka itself is replaced by
+ * producers that only record what they were asked to send.
+ */
+public class TestKafkaLoaderBatching {
+
+  private static final int NUMBER_OF_ROWS = 1000;
+  private static final String TOPIC = "mytopic";
+
+  private final Schema schema = new Schema("test")
+      .addColumn(new FixedPoint("id", 4L, true))
+      .addColumn(new Text("name"))
+      .addColumn(new Text("country"));
+
+  @Test
+  public void testKeyColumns() {
+    assertNull(KafkaLoader.getKeyColumns(schema, null));
+    assertNull(KafkaLoader.getKeyColumns(schema, " "));
+
+    int[] keyColumns = KafkaLoader.getKeyColumns(schema, "country, id");
+    assertEquals(keyColumns, new int[] {2, 0});
+    assertEquals(KafkaLoader.getKey(new Object[] {1, "a,b", "CZ"}, keyColumns), "CZ,1");
+    assertEquals(KafkaLoader.getKey(new Object[] {1, "a,b", null}, keyColumns), "NULL,1");
+
+    try {
+      KafkaLoader.getKeyColumns(schema, "id,missing");
+      fail("Unknown key column has to be rejected");
+    } catch (SqoopException e) {
+      assertEquals(e.getErrorCode(), KafkaConnectorErrors.KAFKA_CONNECTOR_0002);
+    }
+  }
+
+  @Test
+  public void testBatchesInFlight() throws Exception {
+    RecordingLoader loader = new RecordingLoader(false);
+    ToJobConfiguration jobConf = getJobConfiguration();
+    jobConf.toJobConfig.batchBytes = 1000;
+    jobConf.toJobConfig.maxInFlight = 3;
+
+    loader.load(getContext(), getLinkConfiguration(), jobConf);
+
+    assertEquals(loader.getRowsWritten(), NUMBER_OF_ROWS);
+    assertEquals(loader.producers.get(), 3);
+    assertTrue(loader.maxConcurrentSends.get() <= 3);
+    assertEquals(loader.closed.get(), 3);
+
+    // every batch is routed by its own partition key
+    Set<Object> partitionKeys = new HashSet<Object>();
+    Set<String> messages = new HashSet<String>();
+    for (KeyedMessage<String, byte[]> message : loader.sent) {
+      assertNull(message.key());
+      partitionKeys.add(message.partKey());
+      messages.add(new String(message.message(), "UTF-8"));
+    }
+    assertEquals(messages.size(), NUMBER_OF_ROWS);
+    assertTrue(partitionKeys.size() > 1);
+  }
+
+  @Test
+  public void testKeyedMessages() throws Exception {
+    RecordingLoader loader = new RecordingLoader(false);
+    ToJobConfiguration jobConf = getJobConfiguration();
+    jobConf.toJobConfig.keyColumns = "country";
+    jobConf.toJobConfig.batchBytes = 1000;
+    jobConf.toJobConfig.maxInFlight = 3;
+
+    loader.load(getContext(), getLinkConfiguration(), jobConf);
+
+    // Batches are not sent concurrently, so that messages of a key stay in order
+    assertEquals(loader.producers.get(), 1);
+    assertEquals(loader.sent.size(), NUMBER_OF_ROWS);
+    long lastId = 0;
+    for (KeyedMessage<String, byte[]> message : loader.sent) {
+      String record = new String(message.message(), "UTF-8");
+      assertTrue(record.endsWith("'" + message.key() + "'"), record);
+      long id = Long.parseLong(record.substring(0, record.indexOf(',')));
+      assertTrue(id > lastId, record);
+      lastId = id;
+    }
+  }
+
+  @Test(timeOut = 10000)
+  public void testLingeringBatchIsSentWhileSourceIsSlow() throws Exception {
+    final RecordingLoader loader = new RecordingLoader(false);
+    final AtomicInteger sentBeforeNextRecord = new AtomicInteger(-1);
+    ToJobConfiguration jobConf = getJobConfiguration();
+    jobConf.toJobConfig.lingerMs = 50;
+
+    LoaderContext context = new LoaderContext(null, new DataReader() {
+      private int index = 0;
+
+      @Override
+      public Object[] readArrayRecord() {
+        return null;
+      }
+
+      @Override
+      public String readTextRecord() {
+        switch (index++) {
+          case 0:
+            return "1,'first','1'";
+          case 1:
+            // Source is stalled, the first row must not wait for the next one
+            while (loader.sent.isEmpty()) {
+              try {
+                Thread.sleep(10);
+              } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+              }
+            }
+            sentBeforeNextRecord.set(loader.sent.size());
+            return "2,'second','2'";
+          default:
+            return null;
+        }
+      }
+
+      @Override
+      public Object readContent() {
+        return null;
+      }
+    }, schema, "test_user");
+
+    loader.load(context, getLinkConfiguration(), jobConf);
+
+    assertEquals(sentBeforeNextRecord.get(), 1);
+    assertEquals(loader.sent.size(), 2);
+  }
+
+  @Test(timeOut = 10000)
+  public void testCloseWithStuckSend() throws Exception {
+    final CountDownLatch sending = new CountDownLatch(1);
+    final AtomicInteger closed = new AtomicInteger();
+    Properties props = new Properties();
+    props.put(KafkaConstants.BROKER_LIST_KEY, "localhost:9092");
+    Producer<String, byte[]> producer = new Producer<String, byte[]>(new ProducerConfig(props)) {
+      @Override
+      public void send(List<KeyedMessage<String, byte[]>> messages) {
+        sending.countDown();
+        // Ignores interruption, like a send blocked in socket I/O
+        long until = System.currentTimeMillis() + 60000;
+        while (System.currentTimeMillis() < until) {
+          try {
+            Thread.sleep(100);
+          } catch (InterruptedException e) {
+            // keep on "sending"
+          }
+        }
+      }
+
+      @Override
+      public void close() {
+        closed.incrementAndGet();
+      }
+    };
+
+    KafkaBatchSender sender = new KafkaBatchSender(Collections.singletonList(producer), 200);
+    sender.send(new ArrayList<KeyedMessage<String, byte[]>>());
+    sending.await();
+    sender.close();
+    assertEquals(closed.get(), 1);
+  }
+
+  @Test
+  public void testSendFailure() throws Exception {
+    RecordingLoader loader = new RecordingLoader(true);
+    ToJobConfiguration jobConf = getJobConfiguration();
+    jobConf.toJobConfig.batchBytes = 1000;
+
+    try {
+      loader.load(getContext(), getLinkConfiguration(), jobConf);
+      fail("Failure of background send has to be propagated");
+    } catch (SqoopException e) {
+      assertEquals(e.getErrorCode(), KafkaConnectorErrors.KAFKA_CONNECTOR_0001);
+    }
+    assertEquals(loader.closed.get(), loader.producers.get());
+  }
+
+  private LoaderContext getContext() {
+    return new LoaderContext(null, new DataReader() {
+      private long index = 0L;
+
+      @Override
+      public Object[] readArrayRecord() {
+        if (index++ < NUMBER_OF_ROWS) {
+          return new Object[] {index, "name " + index, String.valueOf(index % 7)};
+        } else {
+          return null;
+        }
+      }
+
+      @Override
+      public String readTextRecord() {
+        if (index++ < NUMBER_OF_ROWS) {
+          return index + ",'name " + index + "','" + (index % 7) + "'";
+        } else {
+          return null;
+        }
+      }
+
+      @Override
+      public Object readContent() {
+        return null;
+      }
+    }, schema, "test_user");
+  }
+
+  private LinkConfiguration getLinkConfiguration() {
+    LinkConfiguration linkConf = new LinkConfiguration();
+    linkConf.linkConfig.brokerList = "localhost:9092";
+    return linkConf;
+  }
+
+  private ToJobConfiguration getJobConfiguration() {
+    ToJobConfiguration jobConf = new ToJobConfiguration();
+    jobConf.toJobConfig.topic = TOPIC;
+    return jobConf;
+  }
+
+  private static class RecordingLoader extends KafkaLoader {
+    final boolean fail;
+    final List<KeyedMessage<String, byte[]>> sent =
+        Collections.synchronizedList(new ArrayList<KeyedMessage<String, byte[]>>());
+    final AtomicInteger producers = new AtomicInteger();
+    final AtomicInteger closed = new AtomicInteger();
+    final AtomicInteger concurrentSends = new AtomicInteger();
+    final AtomicInteger maxConcurrentSends = new AtomicInteger();
+
+    RecordingLoader(boolean fail) {
+      this.fail = fail;
+    }
+
+    @Override
+    Producer<String, byte[]> getProducer(Properties kafkaProps) {
+      producers.incrementAndGet();
+      return new Producer<String, byte[]>(new ProducerConfig(kafkaProps)) {
+        @Override
+        public void send(List<KeyedMessage<String, byte[]>> messages) {
+          int running = concurrentSends.incrementAndGet();
+          try {
+            synchronized (maxConcurrentSends) {
+              maxConcurrentSends.set(Math.max(maxConcurrentSends.get(), running));
+            }
+            if (fail) {
+              throw new RuntimeException("Broker is not available");
+            }
+            sent.addAll(messages);
+          } finally {
+            concurrentSends.decrementAndGet();
+          }
+        }
+
+        @Override
+        public void close() {
+          closed.incrementAndGet();
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,120 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.kafka;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.apache.sqoop.job.etl.Partition;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+
+public class TestKafkaPartitioner {
+
+  private static SortedMap<Integer, Long> offsets(long... values) {
+    SortedMap<Integer, Long> offsets = new TreeMap<Integer, Long>();
+    for (int i = 0; i < values.length; i++) {
+      offsets.put(i, values[i]);
+    }
+    return offsets;
+  }
+
+  private static long[] messagesPerPartition(List<Partition> partitions, int numTopicPartitions) {
+    long[] messages = new long[numTopicPartitions];
+    for (Partition partition : partitions) {
+      KafkaPartition kafkaPartition = (KafkaPartition) partition;
+      for (int i = 0; i < kafkaPartition.getNumberOfRanges(); i++) {
+        messages[kafkaPartition.getPartitionId(i)] +=
+          kafkaPartition.getEndOffset(i) - kafkaPartition.getStartOffset(i);
+      }
+    }
+    return messages;
+  }
+
+  @Test
+  public void testOnePartitionPerRange() {
+    List<Partition> partitions = KafkaPartitioner.getPartitions("t",
+      offsets(0, 10, 20), offsets(100, 110, 20), Long.MAX_VALUE, 10);
+
+    // Empty range of third partition is skipped
+    assertEquals(partitions.size(), 2);
+    long[] messages = messagesPerPartition(partitions, 3);
+    assertEquals(messages[0], 100);
+    assertEquals(messages[1], 100);
+    assertEquals(messages[2], 0);
+  }
+
+  @Test
+  public void testRangesAreGroupedAndSplit() {
+    List<Partition> partitions = KafkaPartitioner.getPartitions("t",
+      offsets(0, 0, 0, 0), offsets(1000, 100, 100, 100), 250, 3);
+
+    assertEquals(partitions.size(), 3);
+    for (Partition partition : partitions) {
+      KafkaPartition kafkaPartition = (KafkaPartition) partition;
+      assertEquals(kafkaPartition.getTopic(), "t");
+      assertEquals(kafkaPartition.getNumberOfMessages() <= 500, true, kafkaPartition.toString());
+    }
+    long[] messages = messagesPerPartition(partitions, 4);
+    assertEquals(messages[0], 1000);
+    assertEquals(messages[1], 100);
+  }
+
+  @Test
+  public void testSerialization() throws Exception {
+    KafkaPartition partition = new KafkaPartition("topic",
+      new int[] { 1, 3 }, new long[] { 5, 0 }, new long[] { 10, 7 });
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    partition.write(new DataOutputStream(bytes));
+    KafkaPartition read = new KafkaPartition();
+    read.readFields(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+    assertEquals(read.toString(), partition.toString());
+    assertEquals(read.getNumberOfMessages(), 12);
+  }
+
+  @Test
+  public void testStartOffsets() {
+    Map<String, String> committed = new HashMap<String, String>();
+    committed.put("0", "50");   // Within available range
+    committed.put("1", "5");    // Already deleted
+    committed.put("2", "500");  // Beyond the end
+    committed.put("7", "10");   // No longer exists
+
+    SortedMap<Integer, Long> start = KafkaFromInitializer.getStartOffsets(
+      offsets(0, 10, 0, 3), offsets(100, 100, 100, 100), committed);
+    assertEquals(start, offsets(50, 10, 0, 3));
+  }
+
+  @Test
+  public void testEncodeOffsets() {
+    SortedMap<Integer, Long> offsets = offsets(3, 0, Long.MAX_VALUE);
+    assertEquals(KafkaUtils.encodeOffsets(offsets), "0:3,1:0,2:" + Long.MAX_VALUE);
+    assertEquals(KafkaUtils.decodeOffsets(KafkaUtils.encodeOffsets(offsets)), offsets);
+    assertEquals(KafkaUtils.decodeOffsets("").size(), 0);
+  }
+}
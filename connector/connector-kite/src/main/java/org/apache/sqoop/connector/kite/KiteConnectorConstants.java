@@ -27,6 +27,15 @@ public final class KiteConnectorConstants extends Constants implements Serializa
   // Resource bundle name
   public static final String RESOURCE_BUNDLE_NAME = "kite-connector-config";
 
+  // Number of data files that an extractor reads concurrently
+  public static final int READER_THREADS = 4;
+
+  // Number of records read ahead by the reader threads
+  public static final int READ_AHEAD_RECORDS = 1024;
+
+  // Number of temporary datasets that are merged concurrently
+  public static final int MERGE_THREADS = 8;
+
   private KiteConnectorConstants() {
     // Disable explicit object creation
   }
@@ -20,8 +20,14 @@
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.io.Closeables;
 import org.apache.avro.Schema;
+import org.apache.avro.file.DataFileStream;
+import org.apache.avro.generic.GenericDatumReader;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.commons.lang.StringUtils;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
 import org.apache.sqoop.common.SqoopException;
 import org.apache.sqoop.connector.common.FileFormat;
 import org.apache.sqoop.connector.common.AvroDataTypeUtil;
@@ -35,12 +41,24 @@
 import org.kitesdk.data.DatasetWriter;
 import org.kitesdk.data.Datasets;
 import org.kitesdk.data.Format;
+import org.kitesdk.data.Formats;
 import org.kitesdk.data.URIBuilder;
+import org.kitesdk.data.spi.AbstractDatasetReader;
+import org.kitesdk.data.spi.DataModelUtil;
+import org.kitesdk.data.spi.DefaultConfiguration;
+import org.kitesdk.data.spi.filesystem.CSVFileReader;
 import org.kitesdk.data.spi.filesystem.FileSystemDataset;
+import org.kitesdk.data.spi.filesystem.PathFilters;
+import parquet.avro.AvroParquetReader;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.UUID;
 
@@ -137,6 +155,55 @@ public void closeReader() {
     }
   }
 
+  /**
+   * Lists data files of all partitions of the dataset.
+   *
+   * @return Data files or null if the dataset is not stored in files
+   */
+  public List<FileStatus> listDataFiles() throws IOException {
+    if (!(dataset instanceof FileSystemDataset)) {
+      return null;
+    }
+
+    // Leaf partition directories are listed once each, keeping the file
+    // status that the partitioner needs for sizing splits
+    List<FileStatus> files = new ArrayList<FileStatus>();
+    Iterator<Path> directories = ((FileSystemDataset<GenericRecord>) dataset).dirIterator();
+    while (directories.hasNext()) {
+      Path directory = directories.next();
+      FileSystem fs = directory.getFileSystem(DefaultConfiguration.get());
+      for (FileStatus status : fs.listStatus(directory, PathFilters.notHidden())) {
+        if (!status.isDirectory()) {
+          files.add(status);
+        }
+      }
+    }
+    return files;
+  }
+
+  /**
+   * Opens a reader of a single data file of the dataset. Readers of
+   * different files can be used from different threads.
+   */
+  public DatasetReader<GenericRecord> newFileReader(String file) throws IOException {
+    Configuration conf = DefaultConfiguration.get();
+    Path path = new Path(file);
+    FileSystem fs = path.getFileSystem(conf);
+    DatasetDescriptor descriptor = dataset.getDescriptor();
+
+    AbstractDatasetReader<GenericRecord> fileReader;
+    if (Formats.PARQUET.equals(descriptor.getFormat())) {
+      fileReader = new ParquetFileReader(conf, path);
+    } else if (Formats.CSV.equals(descriptor.getFormat())) {
+      fileReader = new CSVFileReader<GenericRecord>(fs, path, descriptor,
+          DataModelUtil.accessor(GenericRecord.class, descriptor.getSchema()));
+    } else {
+      fileReader = new AvroFileReader(fs, path, descriptor.getSchema());
+    }
+    fileReader.initialize();
+    return fileReader;
+  }
+
   /**
    * Deletes current dataset physically.
    */
@@ -145,12 +212,19 @@ public void deleteDataset() {
   }
 
   /**
-   * Merges a dataset into this.
+   * Merges a dataset into this and drops it.
+   *
+   * Data files are moved as they are when both datasets have the same format
+   * and partition strategy. Otherwise records are copied.
    */
   public void mergeDataset(String uri) {
-    FileSystemDataset<GenericRecord> update = Datasets.load(uri);
+    Dataset<GenericRecord> update = Datasets.load(uri);
     if (dataset instanceof FileSystemDataset) {
-      ((FileSystemDataset<GenericRecord>) dataset).merge(update);
+      if (canMoveFiles(dataset.getDescriptor(), update.getDescriptor())) {
+        ((FileSystemDataset<GenericRecord>) dataset).merge((FileSystemDataset<GenericRecord>) update);
+      } else {
+        copyRecords(update);
+      }
       // And let's completely drop the temporary dataset
       Datasets.delete(uri);
     } else {
@@ -159,6 +233,36 @@ public void mergeDataset(String uri) {
     }
   }
 
+  @VisibleForTesting
+  static boolean canMoveFiles(DatasetDescriptor target, DatasetDescriptor update) {
+    if (!target.getFormat().equals(update.getFormat())) {
+      return false;
+    }
+    if (target.isPartitioned() != update.isPartitioned()) {
+      return false;
+    }
+    return !target.isPartitioned() ||
+        target.getPartitionStrategy().equals(update.getPartitionStrategy());
+  }
+
+  @VisibleForTesting
+  void copyRecords(Dataset<GenericRecord> update) {
+    // Own reader and writer, so that several datasets can be merged at once
+    DatasetReader<GenericRecord> updateReader = update.newReader();
+    DatasetWriter<GenericRecord> datasetWriter = dataset.newWriter();
+    try {
+      for (GenericRecord record : updateReader) {
+        datasetWriter.write(record);
+      }
+      datasetWriter.close();
+    } finally {
+      Closeables.closeQuietly(updateReader);
+      if (datasetWriter.isOpen()) {
+        Closeables.closeQuietly(datasetWriter);
+      }
+    }
+  }
+
   private static final String TEMPORARY_DATASET_PREFIX = "temp_";
 
   /**
@@ -219,4 +323,112 @@ public static String[] listTemporaryDatasetUris(String uri) {
     return result.toArray(new String[result.size()]);
   }
 
-}
\ No newline at end of file
+  /**
+   * Reader of a single Avro data file.
+   */
+  private static class AvroFileReader extends AbstractDatasetReader<GenericRecord> {
+
+    private final FileSystem fs;
+    private final Path path;
+    private final Schema schema;
+    private DataFileStream<GenericRecord> stream;
+
+    AvroFileReader(FileSystem fs, Path path, Schema schema) {
+      this.fs = fs;
+      this.path = path;
+      this.schema = schema;
+    }
+
+    @Override
+    public void initialize() {
+      try {
+        stream = new DataFileStream<GenericRecord>(fs.open(path),
+            new GenericDatumReader<GenericRecord>(schema));
+      } catch (IOException e) {
+        throw new SqoopException(KiteConnectorError.GENERIC_KITE_CONNECTOR_0004, path.toString(), e);
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return stream.hasNext();
+    }
+
+    @Override
+    public GenericRecord next() {
+      return stream.next();
+    }
+
+    @Override
+    public void close() {
+      if (stream != null) {
+        Closeables.closeQuietly(stream);
+        stream = null;
+      }
+    }
+
+    @Override
+    public boolean isOpen() {
+      return stream != null;
+    }
+  }
+
+  /**
+   * Reader of a single Parquet data file.
+   */
+  private static class ParquetFileReader extends AbstractDatasetReader<GenericRecord> {
+
+    private final Configuration conf;
+    private final Path path;
+    private AvroParquetReader<GenericRecord> reader;
+    private GenericRecord next;
+
+    ParquetFileReader(Configuration conf, Path path) {
+      this.conf = conf;
+      this.path = path;
+    }
+
+    @Override
+    public void initialize() {
+      try {
+        reader = new AvroParquetReader<GenericRecord>(conf, path);
+        next = reader.read();
+      } catch (IOException e) {
+        throw new SqoopException(KiteConnectorError.GENERIC_KITE_CONNECTOR_0004, path.toString(), e);
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public GenericRecord next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      GenericRecord current = next;
+      try {
+        next = reader.read();
+      } catch (IOException e) {
+        throw new SqoopException(KiteConnectorError.GENERIC_KITE_CONNECTOR_0004, path.toString(), e);
+      }
+      return current;
+    }
+
+    @Override
+    public void close() {
+      if (reader != null) {
+        Closeables.closeQuietly(reader);
+        reader = null;
+      }
+    }
+
+    @Override
+    public boolean isOpen() {
+      return reader != null;
+    }
+  }
+
+}
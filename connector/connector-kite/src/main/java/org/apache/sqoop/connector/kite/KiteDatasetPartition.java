@@ -33,6 +33,12 @@ public class KiteDatasetPartition extends Partition implements Serializable {
   /** The uri to the dataset */
   private String uri;
 
+  /** Data files of the dataset to read, all of them if empty */
+  private String[] files = new String[0];
+
+  /** Total size of the files in bytes */
+  private long size;
+
   public KiteDatasetPartition() {
   }
 
@@ -44,19 +50,45 @@ public void setUri(String uri) {
     this.uri = uri;
   }
 
+  public String[] getFiles() {
+    return files;
+  }
+
+  public long getSize() {
+    return size;
+  }
+
+  public void setFiles(String[] files, long size) {
+    this.files = files.clone();
+    this.size = size;
+  }
+
   @Override
   public void readFields(DataInput in) throws IOException {
     uri = in.readUTF();
+    size = in.readLong();
+    files = new String[in.readInt()];
+    for (int i = 0; i < files.length; i++) {
+      files[i] = in.readUTF();
+    }
   }
 
   @Override
   public void write(DataOutput out) throws IOException {
     out.writeUTF(uri);
+    out.writeLong(size);
+    out.writeInt(files.length);
+    for (String file : files) {
+      out.writeUTF(file);
+    }
   }
 
   @Override
   public String toString() {
-    return String.format("{uri=%s}", uri);
+    if (files.length == 0) {
+      return String.format("{uri=%s}", uri);
+    }
+    return String.format("{uri=%s, files=%d, size=%d}", uri, files.length, size);
   }
 
 }
\ No newline at end of file
@@ -18,38 +18,130 @@
 
 package org.apache.sqoop.connector.kite;
 
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.log4j.Logger;
+import org.apache.sqoop.common.SqoopException;
 import org.apache.sqoop.connector.kite.configuration.ConfigUtil;
 import org.apache.sqoop.connector.kite.configuration.FromJobConfiguration;
 import org.apache.sqoop.connector.kite.configuration.LinkConfiguration;
+import org.apache.sqoop.error.code.KiteConnectorError;
 import org.apache.sqoop.job.etl.Partition;
 import org.apache.sqoop.job.etl.Partitioner;
 import org.apache.sqoop.job.etl.PartitionerContext;
+import org.kitesdk.data.Dataset;
+import org.kitesdk.data.Datasets;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.PriorityQueue;
 
 /**
  * This allows connector to define how input data from the FROM source can be
  * partitioned. The number of data partitions also determines the degree of
  * parallelism.
+ *
+ * Data files of all dataset partitions are grouped into at most max
+ * partitions with similar total size. Datasets that are not stored in files
+ * are read by a single partition.
  */
 public class KiteDatasetPartitioner extends Partitioner<LinkConfiguration,
     FromJobConfiguration> implements Serializable {
 
+  private static final Logger LOG = Logger.getLogger(KiteDatasetPartitioner.class);
+
+  @VisibleForTesting
+  KiteDatasetExecutor getExecutor(String uri) {
+    Dataset<GenericRecord> dataset = Datasets.load(uri);
+    return new KiteDatasetExecutor(dataset);
+  }
+
   @Override
   public List<Partition> getPartitions(PartitionerContext context,
       LinkConfiguration linkConfiguration, FromJobConfiguration fromJobConfig) {
-    // There is no way to create partitions of an un-partitioned dataset.
-    // TODO: SQOOP-1942 will create partitions, if dataset is partitioned.
-    KiteDatasetPartition partition = new KiteDatasetPartition();
     String uri = ConfigUtil.buildDatasetUri(
         linkConfiguration.linkConfig, fromJobConfig.fromJobConfig.uri);
-    partition.setUri(uri);
+
+    List<FileStatus> files;
+    try {
+      files = getExecutor(uri).listDataFiles();
+    } catch (IOException e) {
+      throw new SqoopException(KiteConnectorError.GENERIC_KITE_CONNECTOR_0003, uri, e);
+    }
 
     List<Partition> partitions = new LinkedList<Partition>();
-    partitions.add(partition);
+    if (files == null || files.isEmpty()) {
+      // There is no way to create partitions of a dataset without files.
+      KiteDatasetPartition partition = new KiteDatasetPartition();
+      partition.setUri(uri);
+      partitions.add(partition);
+      return partitions;
+    }
+
+    partitions.addAll(getPartitions(uri, files,
+        (int) Math.min(context.getMaxPartitions(), files.size())));
+    LOG.info("Created " + partitions.size() + " partitions from " + files.size() + " files");
     return partitions;
   }
 
-}
\ No newline at end of file
+  /**
+   * Assigns files, largest first, to the partition with the smallest total
+   * size so far.
+   */
+  @VisibleForTesting
+  static List<KiteDatasetPartition> getPartitions(String uri, List<FileStatus> files, int numPartitions) {
+    List<FileStatus> sorted = new ArrayList<FileStatus>(files);
+    Collections.sort(sorted, new Comparator<FileStatus>() {
+      @Override
+      public int compare(FileStatus a, FileStatus b) {
+        return Long.compare(b.getLen(), a.getLen());
+      }
+    });
+
+    PriorityQueue<FileGroup> groups = new PriorityQueue<FileGroup>(Math.max(numPartitions, 1));
+    for (int i = 0; i < Math.max(numPartitions, 1); i++) {
+      groups.add(new FileGroup());
+    }
+    for (FileStatus file : sorted) {
+      FileGroup group = groups.poll();
+      group.add(file);
+      groups.add(group);
+    }
+
+    List<KiteDatasetPartition> partitions = new ArrayList<KiteDatasetPartition>();
+    for (FileGroup group : groups) {
+      if (group.files.isEmpty()) {
+        continue;
+      }
+      // Files of one dataset partition are next to each other
+      Collections.sort(group.files);
+      KiteDatasetPartition partition = new KiteDatasetPartition();
+      partition.setUri(uri);
+      partition.setFiles(group.files.toArray(new String[group.files.size()]), group.size);
+      partitions.add(partition);
+    }
+    return partitions;
+  }
+
+  private static class FileGroup implements Comparable<FileGroup> {
+    private final List<String> files = new ArrayList<String>();
+    private long size;
+
+    void add(FileStatus file) {
+      files.add(file.getPath().toString());
+      size += file.getLen();
+    }
+
+    @Override
+    public int compareTo(FileGroup other) {
+      return Long.compare(size, other.size);
+    }
+  }
+
+}
@@ -18,17 +18,27 @@
 package org.apache.sqoop.connector.kite;
 
 import java.io.Serializable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.log4j.Logger;
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.common.AvroDataTypeUtil;
 import org.apache.sqoop.connector.kite.configuration.ConfigUtil;
 import org.apache.sqoop.connector.kite.configuration.FromJobConfiguration;
 import org.apache.sqoop.connector.kite.configuration.LinkConfiguration;
+import org.apache.sqoop.error.code.KiteConnectorError;
 import org.apache.sqoop.etl.io.DataWriter;
 import org.apache.sqoop.job.etl.Extractor;
 import org.apache.sqoop.job.etl.ExtractorContext;
 import org.kitesdk.data.Dataset;
+import org.kitesdk.data.DatasetReader;
 import org.kitesdk.data.Datasets;
 
 /**
@@ -40,6 +50,9 @@ public class KiteExtractor extends Extractor<LinkConfiguration,
 
   private static final Logger LOG = Logger.getLogger(KiteExtractor.class);
 
+  /** Marks that a reader thread has finished its file */
+  private static final Object[] END_OF_FILE = new Object[0];
+
   private long rowsRead = 0L;
 
   @VisibleForTesting
@@ -57,9 +70,17 @@ public void extract(ExtractorContext context, LinkConfiguration linkConfig,
 
     KiteDatasetExecutor executor = getExecutor(uri);
     DataWriter writer = context.getDataWriter();
-    Object[] array;
     rowsRead = 0L;
 
+    if (partition.getFiles().length == 0) {
+      extractDataset(executor, writer);
+    } else {
+      extractFiles(executor, writer, partition.getFiles());
+    }
+  }
+
+  private void extractDataset(KiteDatasetExecutor executor, DataWriter writer) {
+    Object[] array;
     try {
       while ((array = executor.readRecord()) != null) {
         // TODO: SQOOP-1616 will cover more column data types. Use schema and do data type conversion (e.g. datatime).
@@ -71,9 +92,78 @@ public void extract(ExtractorContext context, LinkConfiguration linkConfig,
     }
   }
 
+  /**
+   * Reads the files concurrently. Records are decoded by the reader threads
+   * and handed over to this thread, which is the only one using the writer.
+   */
+  private void extractFiles(final KiteDatasetExecutor executor, DataWriter writer, String[] files) {
+    int numThreads = Math.min(files.length, KiteConnectorConstants.READER_THREADS);
+    LOG.info("Reading " + files.length + " files with " + numThreads + " threads");
+
+    final BlockingQueue<Object[]> records =
+        new ArrayBlockingQueue<Object[]>(KiteConnectorConstants.READ_AHEAD_RECORDS);
+    final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+    ExecutorService readers = Executors.newFixedThreadPool(numThreads,
+        new ThreadFactoryBuilder().setNameFormat("kite-reader-%d").setDaemon(true).build());
+
+    try {
+      for (final String file : files) {
+        readers.execute(new Runnable() {
+          @Override
+          public void run() {
+            try {
+              readFile(executor, file, records);
+            } catch (InterruptedException e) {
+              // Extraction has been aborted
+              return;
+            } catch (Throwable t) {
+              LOG.error("Error while reading " + file, t);
+              failure.compareAndSet(null, t);
+            }
+            try {
+              records.put(END_OF_FILE);
+            } catch (InterruptedException e) {
+              // Extraction has been aborted
+            }
+          }
+        });
+      }
+
+      int finishedFiles = 0;
+      while (finishedFiles < files.length) {
+        Object[] array = records.take();
+        if (array == END_OF_FILE) {
+          finishedFiles++;
+          if (failure.get() != null) {
+            throw new SqoopException(KiteConnectorError.GENERIC_KITE_CONNECTOR_0004, failure.get());
+          }
+        } else {
+          writer.writeArrayRecord(array);
+          rowsRead++;
+        }
+      }
+    } catch (InterruptedException e) {
+      throw new SqoopException(KiteConnectorError.GENERIC_KITE_CONNECTOR_0004, e);
+    } finally {
+      readers.shutdownNow();
+    }
+  }
+
+  private static void readFile(KiteDatasetExecutor executor, String file,
+      BlockingQueue<Object[]> records) throws Exception {
+    DatasetReader<GenericRecord> reader = executor.newFileReader(file);
+    try {
+      while (reader.hasNext()) {
+        records.put(AvroDataTypeUtil.extractGenericRecord(reader.next()));
+      }
+    } finally {
+      reader.close();
+    }
+  }
+
   @Override
   public long getRowsRead() {
     return rowsRead;
   }
 
-}
\ No newline at end of file
+}
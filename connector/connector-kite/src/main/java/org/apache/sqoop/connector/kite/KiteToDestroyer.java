@@ -18,14 +18,25 @@
 package org.apache.sqoop.connector.kite;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.log4j.Logger;
+import org.apache.sqoop.common.SqoopException;
 import org.apache.sqoop.connector.common.FileFormat;
 import org.apache.sqoop.connector.kite.configuration.ConfigUtil;
 import org.apache.sqoop.connector.kite.configuration.LinkConfiguration;
 import org.apache.sqoop.connector.kite.configuration.ToJobConfiguration;
+import org.apache.sqoop.error.code.KiteConnectorError;
 import org.apache.sqoop.job.etl.Destroyer;
 import org.apache.sqoop.job.etl.DestroyerContext;
 import org.apache.sqoop.schema.Schema;
@@ -36,7 +47,9 @@
  * This classes allows connector to define work to complete execution.
  *
  * When import is done successfully, temporary created datasets will be merged.
- * In case of errors, they will be removed physically.
+ * Several of them are merged at once and the progress of the merge is
+ * reported through the destroyer context. In case of errors, they will be
+ * removed physically.
  */
 public class KiteToDestroyer extends Destroyer<LinkConfiguration,
     ToJobConfiguration> implements Serializable {
@@ -68,10 +81,10 @@ private void destroyHdfsJob(DestroyerContext context, String uri,
     if (context.isSuccess()) {
       KiteDatasetExecutor executor = getExecutor(
           uri, context.getSchema(), toJobConfig.toJobConfig.fileFormat);
-      for (String tempUri : tempUris) {
-        executor.mergeDataset(tempUri);
-        LOG.info(String.format("Temporary dataset %s has been merged", tempUri));
-      }
+      // Kite registers partitions of Hive datasets through a metastore client
+      // that is not thread safe, merge them one by one
+      int maxThreads = uri.startsWith("dataset:hive:") ? 1 : KiteConnectorConstants.MERGE_THREADS;
+      mergeDatasets(context, executor, tempUris, maxThreads);
     } else {
       for (String tempUri : tempUris) {
         Datasets.delete(tempUri);
@@ -81,6 +94,63 @@ private void destroyHdfsJob(DestroyerContext context, String uri,
     }
   }
 
+  private void mergeDatasets(DestroyerContext context,
+      final KiteDatasetExecutor executor, String[] tempUris, int maxThreads) {
+    context.setProgress(0);
+    if (tempUris.length == 0) {
+      context.setProgress(1);
+      return;
+    }
+
+    int numThreads = Math.min(tempUris.length, maxThreads);
+    ExecutorService mergers = Executors.newFixedThreadPool(numThreads,
+        new ThreadFactoryBuilder().setNameFormat("kite-merger-%d").setDaemon(true).build());
+    ExecutorCompletionService<String> completion = new ExecutorCompletionService<String>(mergers);
+    List<Future<String>> futures = new ArrayList<Future<String>>();
+    try {
+      for (final String tempUri : tempUris) {
+        futures.add(completion.submit(new Runnable() {
+          @Override
+          public void run() {
+            executor.mergeDataset(tempUri);
+          }
+        }, tempUri));
+      }
+
+      for (int merged = 1; merged <= tempUris.length; merged++) {
+        String tempUri = completion.take().get();
+        context.setProgress((double) merged / tempUris.length);
+        LOG.info(String.format("Temporary dataset %s has been merged (%d of %d)",
+            tempUri, merged, tempUris.length));
+      }
+    } catch (ExecutionException e) {
+      throw new SqoopException(KiteConnectorError.GENERIC_KITE_CONNECTOR_0005, e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SqoopException(KiteConnectorError.GENERIC_KITE_CONNECTOR_0005, e);
+    } finally {
+      for (Future<String> future : futures) {
+        future.cancel(false);
+      }
+      mergers.shutdown();
+      awaitTermination(mergers);
+    }
+  }
+
+  /**
+   * Waits for merges that are already running, so that nobody touches the
+   * datasets while their files are being moved.
+   */
+  private void awaitTermination(ExecutorService mergers) {
+    try {
+      while (!mergers.awaitTermination(1, TimeUnit.MINUTES)) {
+        LOG.info("Waiting for running merges to finish");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
   @VisibleForTesting
   KiteDatasetExecutor getExecutor(String uri, Schema schema,
       FileFormat format) {
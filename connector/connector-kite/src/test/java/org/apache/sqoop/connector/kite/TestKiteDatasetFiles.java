@@ -0,0 +1,228 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.kite;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.google.common.io.Files;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileUtil;
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.common.FileFormat;
+import org.apache.sqoop.connector.kite.util.KiteDataTypeUtil;
+import org.apache.sqoop.error.code.KiteConnectorError;
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.schema.type.FixedPoint;
+import org.apache.sqoop.schema.type.Text;
+import org.kitesdk.data.Dataset;
+import org.kitesdk.data.DatasetDescriptor;
+import org.kitesdk.data.DatasetReader;
+import org.kitesdk.data.Datasets;
+import org.kitesdk.data.Formats;
+import org.kitesdk.data.PartitionStrategy;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+/**
+ * Reads data files of small datasets stored on the local file system.
+ */
+public class TestKiteDatasetFiles {
+
+  private static final int NUMBER_OF_ROWS = 10;
+
+  private File workDir;
+
+  private Schema schema;
+
+  @BeforeMethod(alwaysRun = true)
+  public void setUp() {
+    workDir = Files.createTempDir();
+    schema = new Schema("TestKiteDatasetFiles")
+        .addColumn(new FixedPoint("id", 8L, true))
+        .addColumn(new Text("name").setNullable(false));
+  }
+
+  @AfterMethod(alwaysRun = true)
+  public void tearDown() {
+    FileUtil.fullyDelete(workDir);
+  }
+
+  @DataProvider(name = "formats")
+  public static Object[][] formats() {
+    return new Object[][] {
+        {FileFormat.AVRO},
+        {FileFormat.PARQUET},
+        {FileFormat.CSV}
+    };
+  }
+
+  @Test(dataProvider = "formats")
+  public void testReadDataFiles(FileFormat format) throws Exception {
+    Dataset<GenericRecord> dataset = KiteDatasetExecutor.createDataset(
+        datasetUri("dataset"), schema, format);
+    KiteDatasetExecutor executor = new KiteDatasetExecutor(dataset);
+    writeRows(executor, 0, NUMBER_OF_ROWS);
+
+    List<FileStatus> files = executor.listDataFiles();
+    assertEquals(files.size(), 1);
+    assertEquals(readIds(executor, files), ids(0, NUMBER_OF_ROWS));
+  }
+
+  @Test
+  public void testListDataFilesOfPartitionedDataset() throws Exception {
+    DatasetDescriptor descriptor = new DatasetDescriptor.Builder()
+        .schema(KiteDataTypeUtil.createAvroSchema(schema))
+        .format(Formats.AVRO)
+        .partitionStrategy(new PartitionStrategy.Builder().identity("name").build())
+        .build();
+    Dataset<GenericRecord> dataset = Datasets.create(datasetUri("partitioned"), descriptor);
+    KiteDatasetExecutor executor = new KiteDatasetExecutor(dataset);
+    writeRows(executor, 0, NUMBER_OF_ROWS);
+
+    List<FileStatus> files = executor.listDataFiles();
+    assertEquals(files.size(), NUMBER_OF_ROWS);
+
+    // Hidden files are not data files
+    File partition = new File(files.get(0).getPath().getParent().toUri().getPath());
+    assertEquals(new File(partition, "_SUCCESS").createNewFile(), true);
+
+    files = executor.listDataFiles();
+    assertEquals(files.size(), NUMBER_OF_ROWS);
+    assertEquals(readIds(executor, files), ids(0, NUMBER_OF_ROWS));
+  }
+
+  @Test
+  public void testCorruptAvroFile() throws Exception {
+    Dataset<GenericRecord> dataset = KiteDatasetExecutor.createDataset(
+        datasetUri("dataset"), schema, FileFormat.AVRO);
+    KiteDatasetExecutor executor = new KiteDatasetExecutor(dataset);
+    File file = new File(dataset.getDescriptor().getLocation().getPath(), "corrupt.avro");
+    write(file, "Not an Avro data file".getBytes("UTF-8"));
+
+    try {
+      executor.newFileReader(file.toURI().toString());
+      fail("Opening a corrupt file should fail");
+    } catch (SqoopException e) {
+      assertEquals(e.getErrorCode(), KiteConnectorError.GENERIC_KITE_CONNECTOR_0004);
+    }
+  }
+
+  @Test
+  public void testCorruptParquetFile() throws Exception {
+    Dataset<GenericRecord> dataset = KiteDatasetExecutor.createDataset(
+        datasetUri("dataset"), schema, FileFormat.PARQUET);
+    KiteDatasetExecutor executor = new KiteDatasetExecutor(dataset);
+    File file = new File(dataset.getDescriptor().getLocation().getPath(), "corrupt.parquet");
+    write(file, "Not a Parquet data file".getBytes("UTF-8"));
+
+    try {
+      executor.newFileReader(file.toURI().toString());
+      fail("Opening a corrupt file should fail");
+    } catch (SqoopException e) {
+      assertEquals(e.getErrorCode(), KiteConnectorError.GENERIC_KITE_CONNECTOR_0004);
+    }
+  }
+
+  @Test
+  public void testCorruptAvroBlock() throws Exception {
+    Dataset<GenericRecord> dataset = KiteDatasetExecutor.createDataset(
+        datasetUri("dataset"), schema, FileFormat.AVRO);
+    KiteDatasetExecutor executor = new KiteDatasetExecutor(dataset);
+    writeRows(executor, 0, NUMBER_OF_ROWS);
+    FileStatus status = executor.listDataFiles().get(0);
+
+    // The only block ends with the checksum of its snappy data and a 16 byte
+    // sync marker. Damage the data, the header stays readable.
+    File file = new File(status.getPath().toUri().getPath());
+    byte[] content = Files.toByteArray(file);
+    content[content.length - 16 - 4 - 3] ^= 0xff;
+    write(file, content);
+    assertEquals(new File(file.getParent(), "." + file.getName() + ".crc").delete(), true);
+
+    DatasetReader<GenericRecord> reader = executor.newFileReader(status.getPath().toString());
+    try {
+      while (reader.hasNext()) {
+        reader.next();
+      }
+      fail("Reading a corrupt block should fail");
+    } catch (RuntimeException e) {
+      // expected
+    } finally {
+      reader.close();
+    }
+  }
+
+  private String datasetUri(String name) {
+    // Kite takes the parent directory as the namespace of the dataset
+    return "dataset:" + new File(workDir, "sqoop/" + name).toURI();
+  }
+
+  private static void writeRows(KiteDatasetExecutor executor, int from, int to) {
+    for (int i = from; i < to; i++) {
+      executor.writeRecord(new Object[] {(long) i, "row" + i});
+    }
+    executor.closeWriter();
+  }
+
+  private static List<Long> readIds(KiteDatasetExecutor executor, List<FileStatus> files)
+      throws IOException {
+    List<Long> ids = new ArrayList<Long>();
+    for (FileStatus file : files) {
+      DatasetReader<GenericRecord> reader = executor.newFileReader(file.getPath().toString());
+      try {
+        while (reader.hasNext()) {
+          ids.add((Long) reader.next().get("id"));
+        }
+      } finally {
+        reader.close();
+      }
+    }
+    Collections.sort(ids);
+    return ids;
+  }
+
+  private static List<Long> ids(int from, int to) {
+    List<Long> ids = new ArrayList<Long>();
+    for (long i = from; i < to; i++) {
+      ids.add(i);
+    }
+    return ids;
+  }
+
+  private static void write(File file, byte[] content) throws IOException {
+    OutputStream out = new FileOutputStream(file);
+    try {
+      out.write(content);
+    } finally {
+      out.close();
+    }
+  }
+
+}
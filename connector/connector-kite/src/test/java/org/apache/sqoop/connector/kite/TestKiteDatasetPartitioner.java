@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.kite;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.Path;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class TestKiteDatasetPartitioner {
+
+  private static final String URI = "dataset:hdfs:/path/to/dataset";
+
+  private static List<FileStatus> files(long... sizes) {
+    List<FileStatus> files = new ArrayList<FileStatus>();
+    for (int i = 0; i < sizes.length; i++) {
+      files.add(new FileStatus(sizes[i], false, 1, 128, 0,
+          new Path("/path/to/dataset/year=" + (2000 + i % 3) + "/file" + i + ".avro")));
+    }
+    return files;
+  }
+
+  @Test
+  public void testFilesAreBalanced() {
+    List<FileStatus> files = files(100, 60, 50, 40, 30, 20, 10, 10);
+    List<KiteDatasetPartition> partitions = KiteDatasetPartitioner.getPartitions(URI, files, 3);
+
+    assertEquals(partitions.size(), 3);
+    Set<String> assigned = new HashSet<String>();
+    long total = 0;
+    for (KiteDatasetPartition partition : partitions) {
+      assertEquals(partition.getUri(), URI);
+      assertTrue(partition.getSize() >= 100 && partition.getSize() <= 110, partition.toString());
+      assigned.addAll(Arrays.asList(partition.getFiles()));
+      total += partition.getSize();
+    }
+    assertEquals(assigned.size(), files.size());
+    assertEquals(total, 320);
+  }
+
+  @Test
+  public void testMorePartitionsThanFiles() {
+    List<KiteDatasetPartition> partitions =
+        KiteDatasetPartitioner.getPartitions(URI, files(10, 20), 5);
+
+    assertEquals(partitions.size(), 2);
+    for (KiteDatasetPartition partition : partitions) {
+      assertEquals(partition.getFiles().length, 1);
+    }
+  }
+
+  @Test
+  public void testPartitionSerialization() throws Exception {
+    KiteDatasetPartition partition = KiteDatasetPartitioner.getPartitions(URI, files(10, 20, 30), 1).get(0);
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    partition.write(new DataOutputStream(bytes));
+    KiteDatasetPartition read = new KiteDatasetPartition();
+    read.readFields(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+    assertEquals(read.getUri(), URI);
+    assertEquals(read.getSize(), 60);
+    assertEquals(read.getFiles(), partition.getFiles());
+    assertEquals(read.toString(), partition.toString());
+  }
+
+}
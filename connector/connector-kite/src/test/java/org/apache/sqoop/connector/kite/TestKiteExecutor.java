@@ -17,14 +17,21 @@
  */
 package org.apache.sqoop.connector.kite;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.generic.GenericRecordBuilder;
 import org.apache.sqoop.connector.kite.configuration.LinkConfig;
 import org.kitesdk.data.Dataset;
 import org.kitesdk.data.DatasetDescriptor;
+import org.kitesdk.data.DatasetIOException;
 import org.kitesdk.data.DatasetReader;
 import org.kitesdk.data.DatasetWriter;
+import org.kitesdk.data.Formats;
+import org.kitesdk.data.PartitionStrategy;
 import org.testng.Assert;
 import org.testng.IObjectFactory;
 import org.testng.annotations.AfterMethod;
@@ -207,4 +214,79 @@ private void createDatasetWithRecords(int numberOfRecords) {
     }
   }
 
-}
\ No newline at end of file
+  @Test
+  public void testCanMoveFiles() {
+    DatasetDescriptor update = org.mockito.Mockito.mock(DatasetDescriptor.class);
+    PartitionStrategy strategy = org.mockito.Mockito.mock(PartitionStrategy.class);
+    when(descriptorMock.getFormat()).thenReturn(Formats.AVRO);
+    when(update.getFormat()).thenReturn(Formats.AVRO);
+    assertTrue(KiteDatasetExecutor.canMoveFiles(descriptorMock, update));
+
+    when(update.getFormat()).thenReturn(Formats.PARQUET);
+    assertFalse(KiteDatasetExecutor.canMoveFiles(descriptorMock, update));
+
+    when(update.getFormat()).thenReturn(Formats.AVRO);
+    when(update.isPartitioned()).thenReturn(true);
+    when(update.getPartitionStrategy()).thenReturn(strategy);
+    assertFalse(KiteDatasetExecutor.canMoveFiles(descriptorMock, update));
+
+    when(descriptorMock.isPartitioned()).thenReturn(true);
+    when(descriptorMock.getPartitionStrategy()).thenReturn(strategy);
+    assertTrue(KiteDatasetExecutor.canMoveFiles(descriptorMock, update));
+  }
+
+  @Test
+  public void testCopyRecords() {
+    // setup
+    Dataset<GenericRecord> update = createDatasetMock(createRecords(3));
+    when(writerMock.isOpen()).thenReturn(false);
+
+    // exercise
+    executor.copyRecords(update);
+
+    // verify
+    verify(writerMock, times(3)).write(any(GenericRecord.class));
+    verify(writerMock, times(1)).close();
+    verify(update.newReader(), times(1)).close();
+  }
+
+  @Test
+  public void testCopyRecordsFailure() {
+    // setup
+    Dataset<GenericRecord> update = createDatasetMock(createRecords(3));
+    when(writerMock.isOpen()).thenReturn(true);
+    org.mockito.Mockito.doThrow(new DatasetIOException("Write failed", new IOException()))
+        .when(writerMock).write(any(GenericRecord.class));
+
+    // exercise
+    try {
+      executor.copyRecords(update);
+      Assert.fail("Failed write should fail the copy");
+    } catch (DatasetIOException e) {
+      // verify, both reader and writer are closed
+      verify(update.newReader(), times(1)).close();
+      verify(writerMock, times(1)).close();
+    }
+  }
+
+  private static List<GenericRecord> createRecords(int numberOfRecords) {
+    List<GenericRecord> records = new ArrayList<GenericRecord>();
+    for (int i = 0; i < numberOfRecords; i++) {
+      records.add(new GenericRecordBuilder(createTwoFieldSchema())
+          .set("f1", i)
+          .set("f2", "foo" + i)
+          .build());
+    }
+    return records;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Dataset<GenericRecord> createDatasetMock(List<GenericRecord> records) {
+    Dataset<GenericRecord> dataset = org.mockito.Mockito.mock(Dataset.class);
+    DatasetReader<GenericRecord> reader = org.mockito.Mockito.mock(DatasetReader.class);
+    when(dataset.newReader()).thenReturn(reader);
+    when(reader.iterator()).thenReturn(records.iterator());
+    return dataset;
+  }
+
+}
@@ -18,21 +18,36 @@
 
 package org.apache.sqoop.connector.kite;
 
+import java.io.IOException;
+import java.util.Iterator;
+
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.sqoop.common.SqoopException;
 import org.apache.sqoop.connector.kite.configuration.FromJobConfiguration;
 import org.apache.sqoop.connector.kite.configuration.LinkConfiguration;
+import org.apache.sqoop.connector.kite.util.KiteDataTypeUtil;
+import org.apache.sqoop.error.code.KiteConnectorError;
 import org.apache.sqoop.etl.io.DataWriter;
 import org.apache.sqoop.job.etl.ExtractorContext;
 import org.apache.sqoop.schema.Schema;
 import org.apache.sqoop.schema.type.Text;
+import org.kitesdk.data.DatasetIOException;
+import org.kitesdk.data.DatasetReader;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.mockito.stubbing.OngoingStubbing;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
 
 public class TestKiteExtractor {
 
@@ -94,4 +109,120 @@ public void testExtractor() throws Exception {
         any(Object[].class));
   }
 
-}
\ No newline at end of file
+  @Test
+  public void testExtractorFiles() throws Exception {
+    // setup
+    Schema schema = new Schema("testExtractorFiles");
+    schema.addColumn(new Text("TextCol"));
+    ExtractorContext context = new ExtractorContext(null, writerMock, schema, "test_user");
+    LinkConfiguration linkConfig = new LinkConfiguration();
+    FromJobConfiguration jobConfig = new FromJobConfiguration();
+    KiteDatasetPartition partition = new KiteDatasetPartition();
+    partition.setUri("dataset:hdfs:/path/to/dataset");
+    final int NUMBER_OF_FILES = 10;
+    final int NUMBER_OF_ROWS = 100;
+    String[] files = new String[NUMBER_OF_FILES];
+    for (int i = 0; i < NUMBER_OF_FILES; i++) {
+      files[i] = "/path/to/dataset/file" + i + ".avro";
+    }
+    partition.setFiles(files, NUMBER_OF_FILES);
+    final org.apache.avro.Schema avroSchema = KiteDataTypeUtil.createAvroSchema(schema);
+    when(executorMock.newFileReader(anyString())).thenAnswer(new Answer<DatasetReader<GenericRecord>>() {
+      @Override
+      public DatasetReader<GenericRecord> answer(InvocationOnMock invocation) {
+        return new RecordsReader(avroSchema, NUMBER_OF_ROWS);
+      }
+    });
+
+    // exercise
+    extractor.extract(context, linkConfig, jobConfig, partition);
+
+    // verify
+    verify(executorMock, times(NUMBER_OF_FILES)).newFileReader(anyString());
+    verify(writerMock, times(NUMBER_OF_FILES * NUMBER_OF_ROWS)).writeArrayRecord(
+        any(Object[].class));
+    assertEquals(extractor.getRowsRead(), NUMBER_OF_FILES * NUMBER_OF_ROWS);
+  }
+
+  @Test
+  public void testExtractorFilesReaderFailure() throws Exception {
+    // setup
+    Schema schema = new Schema("testExtractorFilesReaderFailure");
+    schema.addColumn(new Text("TextCol"));
+    ExtractorContext context = new ExtractorContext(null, writerMock, schema, "test_user");
+    LinkConfiguration linkConfig = new LinkConfiguration();
+    FromJobConfiguration jobConfig = new FromJobConfiguration();
+    KiteDatasetPartition partition = new KiteDatasetPartition();
+    partition.setUri("dataset:hdfs:/path/to/dataset");
+    partition.setFiles(new String[] {"/path/to/dataset/good.avro", "/path/to/dataset/bad.avro"}, 2);
+    final org.apache.avro.Schema avroSchema = KiteDataTypeUtil.createAvroSchema(schema);
+    when(executorMock.newFileReader("/path/to/dataset/good.avro"))
+        .thenReturn(new RecordsReader(avroSchema, 100));
+    when(executorMock.newFileReader("/path/to/dataset/bad.avro"))
+        .thenReturn(new RecordsReader(avroSchema, 100, 10));
+
+    // exercise
+    try {
+      extractor.extract(context, linkConfig, jobConfig, partition);
+      fail("Extraction should fail when a file can't be read");
+    } catch (SqoopException e) {
+      // verify
+      assertEquals(e.getErrorCode(), KiteConnectorError.GENERIC_KITE_CONNECTOR_0004);
+    }
+  }
+
+  private static class RecordsReader implements DatasetReader<GenericRecord> {
+    private final org.apache.avro.Schema schema;
+    private int remaining;
+    private final int failAt;
+
+    RecordsReader(org.apache.avro.Schema schema, int records) {
+      this(schema, records, -1);
+    }
+
+    /**
+     * Creates a reader that fails when only the given number of records
+     * remains.
+     */
+    RecordsReader(org.apache.avro.Schema schema, int records, int failAt) {
+      this.schema = schema;
+      this.remaining = records;
+      this.failAt = failAt;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return remaining > 0;
+    }
+
+    @Override
+    public GenericRecord next() {
+      if (remaining == failAt) {
+        throw new DatasetIOException("Cannot read record", new IOException("Corrupt block"));
+      }
+      GenericRecord record = new GenericData.Record(schema);
+      record.put(0, "row" + remaining--);
+      return record;
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public Iterator<GenericRecord> iterator() {
+      return this;
+    }
+  }
+
+}
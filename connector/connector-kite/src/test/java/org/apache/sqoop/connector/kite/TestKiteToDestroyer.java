@@ -18,24 +18,36 @@
 
 package org.apache.sqoop.connector.kite;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.sqoop.common.SqoopException;
 import org.apache.sqoop.connector.common.FileFormat;
 import org.apache.sqoop.connector.kite.configuration.LinkConfiguration;
 import org.apache.sqoop.connector.kite.configuration.ToJobConfiguration;
 import org.apache.sqoop.job.etl.DestroyerContext;
 import org.apache.sqoop.schema.Schema;
 import org.kitesdk.data.Datasets;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.modules.testng.PowerMockTestCase;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
 import static org.powermock.api.mockito.PowerMockito.verifyStatic;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 @PrepareForTest({KiteDatasetExecutor.class, Datasets.class})
 @PowerMockIgnore("org.apache.sqoop.common.ErrorCode")
@@ -89,6 +101,90 @@ public void testDestroyForSuccessfulJob() {
     for (String uri : expectedUris) {
       verify(executorMock, times(1)).mergeDataset(uri);
     }
+    assertEquals(context.getProgress(), 1.0);
+  }
+
+  @Test(expectedExceptions = SqoopException.class)
+  public void testDestroyForFailedMerge() {
+    // setup
+    DestroyerContext context = new DestroyerContext(null, true, null, user);
+    when(KiteDatasetExecutor.listTemporaryDatasetUris(toJobConfig.toJobConfig.uri))
+        .thenReturn(expectedUris);
+    doThrow(new RuntimeException("Merge failed")).when(executorMock).mergeDataset("b");
+
+    // exercise
+    destroyer.destroy(context, linkConfig, toJobConfig);
+  }
+
+  @Test
+  public void testDestroyForFailedMergeWaitsForRunningMerges() throws Exception {
+    // setup
+    DestroyerContext context = new DestroyerContext(null, true, null, user);
+    when(KiteDatasetExecutor.listTemporaryDatasetUris(toJobConfig.toJobConfig.uri))
+        .thenReturn(expectedUris);
+    final CountDownLatch started = new CountDownLatch(1);
+    final AtomicBoolean finished = new AtomicBoolean();
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) throws Throwable {
+        started.countDown();
+        Thread.sleep(500);
+        finished.set(true);
+        return null;
+      }
+    }).when(executorMock).mergeDataset("a");
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) throws Throwable {
+        started.await();
+        throw new RuntimeException("Merge failed");
+      }
+    }).when(executorMock).mergeDataset("b");
+
+    // exercise
+    try {
+      destroyer.destroy(context, linkConfig, toJobConfig);
+      fail("Failed merge should fail the destroyer");
+    } catch (SqoopException e) {
+      // verify
+      assertTrue(finished.get());
+    }
+  }
+
+  @Test
+  public void testDestroyForHiveJobMergesSerially() {
+    // setup
+    toJobConfig.toJobConfig.uri = "dataset:hive:foo/bar";
+    DestroyerContext context = new DestroyerContext(null, true, null, user);
+    String[] tempUris = new String[]{"a", "b", "c", "d"};
+    when(KiteDatasetExecutor.listTemporaryDatasetUris(toJobConfig.toJobConfig.uri))
+        .thenReturn(tempUris);
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger maxRunning = new AtomicInteger();
+    Answer<Void> merge = new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) throws Throwable {
+        int current = running.incrementAndGet();
+        synchronized (maxRunning) {
+          maxRunning.set(Math.max(maxRunning.get(), current));
+        }
+        Thread.sleep(50);
+        running.decrementAndGet();
+        return null;
+      }
+    };
+    for (String uri : tempUris) {
+      doAnswer(merge).when(executorMock).mergeDataset(uri);
+    }
+
+    // exercise
+    destroyer.destroy(context, linkConfig, toJobConfig);
+
+    // verify
+    for (String uri : tempUris) {
+      verify(executorMock, times(1)).mergeDataset(uri);
+    }
+    assertEquals(maxRunning.get(), 1);
   }
 
   @Test
@@ -78,6 +78,11 @@ public class SqoopIDFUtils implements Serializable {
 
   private static final Map<Character, Character> REPLACEMENTS = new TreeMap<Character, Character>();
 
+  // Same mappings as ORIGINALS and REPLACEMENTS indexed by ASCII code, all of
+  // them are ASCII so that they can be applied to UTF-8 encoded text directly
+  private static final byte[] ASCII_ORIGINALS = new byte[128];
+  private static final byte[] ASCII_REPLACEMENTS = new byte[128];
+
   static {
     ORIGINALS.put(Character.valueOf((char)0x00), new String(new char[] { ESCAPE_CHARACTER, '0' }));
     ORIGINALS.put(Character.valueOf((char)0x0A), new String(new char[] { ESCAPE_CHARACTER, 'n' }));
@@ -92,6 +97,17 @@ public class SqoopIDFUtils implements Serializable {
     REPLACEMENTS.put('Z', Character.valueOf((char)0x1A));
     REPLACEMENTS.put('"', Character.valueOf((char)0x22));
     REPLACEMENTS.put('\'', Character.valueOf((char)0x27));
+
+    ASCII_ORIGINALS[ESCAPE_CHARACTER] = ESCAPE_CHARACTER;
+    for (Map.Entry<Character, String> entry : ORIGINALS.entrySet()) {
+      ASCII_ORIGINALS[entry.getKey()] = (byte) entry.getValue().charAt(1);
+    }
+    for (int i = 0; i < ASCII_REPLACEMENTS.length; i++) {
+      ASCII_REPLACEMENTS[i] = (byte) i;
+    }
+    for (Map.Entry<Character, Character> entry : REPLACEMENTS.entrySet()) {
+      ASCII_REPLACEMENTS[entry.getKey()] = (byte) entry.getValue().charValue();
+    }
   }
 
   // http://www.joda.org/joda-time/key_format.html provides details on the
@@ -520,6 +536,67 @@ public static String toText(String string) {
     return sb.toString();
   }
 
+  /**
+   * Encode UTF-8 encoded text the same way as toCSVString(String) does,
+   * without decoding it into a String. Escaped characters are all ASCII and
+   * thus never part of a multi-byte sequence.
+   *
+   * @param bytes Buffer with the UTF-8 encoded text
+   * @param offset Offset of the text in the buffer
+   * @param length Length of the text in bytes
+   * @param out Output buffer, must have room for 2 * length + 2 bytes
+   * @return Number of bytes written to the output buffer
+   */
+  public static int toCSVString(byte[] bytes, int offset, int length, byte[] out) {
+    int pos = 0;
+    out[pos++] = QUOTE_CHARACTER;
+    for (int i = offset; i < offset + length; i++) {
+      byte b = bytes[i];
+      if (b >= 0 && ASCII_ORIGINALS[b] != 0) {
+        out[pos++] = ESCAPE_CHARACTER;
+        out[pos++] = ASCII_ORIGINALS[b];
+      } else {
+        out[pos++] = b;
+      }
+    }
+    out[pos++] = QUOTE_CHARACTER;
+    return pos;
+  }
+
+  /**
+   * Decode UTF-8 encoded CSV text the same way as toText(String) does,
+   * without decoding it into a String.
+   *
+   * @param csv Buffer with the UTF-8 encoded CSV text
+   * @param offset Offset of the text in the buffer
+   * @param length Length of the text in bytes
+   * @param out Output buffer, must have room for length bytes
+   * @return Number of bytes written to the output buffer
+   */
+  public static int toText(byte[] csv, int offset, int length, byte[] out) {
+    int end = offset + length;
+    // Remove the trailing and starting quotes.
+    if (length >= 2 && csv[offset] == QUOTE_CHARACTER && csv[end - 1] == QUOTE_CHARACTER) {
+      offset++;
+      end--;
+    }
+
+    int pos = 0;
+    boolean escaped = false;
+    for (int i = offset; i < end; i++) {
+      byte b = csv[i];
+      if (escaped) {
+        escaped = false;
+        out[pos++] = b >= 0 ? ASCII_REPLACEMENTS[b] : b;
+      } else if (b == ESCAPE_CHARACTER) {
+        escaped = true;
+      } else {
+        out[pos++] = b;
+      }
+    }
+    return pos;
+  }
+
   // ************ BINARY Column type utils*********
 
   public static String toCSVByteArray(Object obj) {
@@ -582,6 +659,7 @@ public static boolean isColumnStringType(Column stringType) {
   @SuppressWarnings("unchecked")
   public static String toCSV(Object[] objectArray, Schema schema) {
     Column[] columns = schema.getColumnsArray();
+    ColumnType[] types = schema.getColumnTypes();
 
     StringBuilder csvString = new StringBuilder();
     for (int i = 0; i < columns.length; i++) {
@@ -592,7 +670,7 @@ public static String toCSV(Object[] objectArray, Schema schema) {
       if (objectArray[i] == null) {
         csvString.append(NULL_VALUE);
       } else {
-        switch (columns[i].getType()) {
+        switch (types[i]) {
           case ARRAY:
           case SET:
             csvString.append(toCSVList((Object[]) objectArray[i], (AbstractComplexListType) columns[i]));
@@ -26,13 +26,12 @@
 import org.apache.avro.generic.GenericDatumReader;
 import org.apache.avro.generic.GenericDatumWriter;
 import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
 import org.apache.avro.io.BinaryEncoder;
 import org.apache.avro.io.DatumReader;
 import org.apache.avro.io.DatumWriter;
-import org.apache.avro.io.Decoder;
 import org.apache.avro.io.DecoderFactory;
 import org.apache.avro.io.EncoderFactory;
-import org.apache.avro.util.Utf8;
 import org.apache.sqoop.classification.InterfaceAudience;
 import org.apache.sqoop.classification.InterfaceStability;
 import org.apache.sqoop.common.SqoopException;
@@ -63,7 +62,14 @@
 @edu.umd.cs.findbugs.annotations.SuppressWarnings("PZLA_PREFER_ZERO_LENGTH_ARRAYS")
 public class AVROIntermediateDataFormat extends IntermediateDataFormat<GenericRecord> implements Serializable {
 
-  private Schema avroSchema;
+  // Avro objects are not serializable, they are derived from the sqoop schema
+  // lazily and reused for all records
+  private transient Schema avroSchema;
+  private transient Schema[] enumSchemas;
+  private transient DatumWriter<GenericRecord> datumWriter;
+  private transient DatumReader<GenericRecord> datumReader;
+  private transient BinaryEncoder encoder;
+  private transient BinaryDecoder decoder;
 
   // need this default constructor for reflection magic used in execution engine
   public AVROIntermediateDataFormat() {
@@ -72,7 +78,35 @@ public AVROIntermediateDataFormat() {
   // We need schema at all times
   public AVROIntermediateDataFormat(org.apache.sqoop.schema.Schema schema) {
     setSchema(schema);
-    avroSchema = createAvroSchema(schema);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void setSchema(org.apache.sqoop.schema.Schema schema) {
+    super.setSchema(schema);
+    avroSchema = null;
+    enumSchemas = null;
+    datumWriter = null;
+    datumReader = null;
+  }
+
+  private Schema getAvroSchema() {
+    if (avroSchema == null) {
+      avroSchema = createAvroSchema(schema);
+    }
+    return avroSchema;
+  }
+
+  private Schema getEnumSchema(int index, Column column) {
+    if (enumSchemas == null) {
+      enumSchemas = new Schema[schema.getColumnsCount()];
+    }
+    if (enumSchemas[index] == null) {
+      enumSchemas[index] = createEnumSchema(column);
+    }
+    return enumSchemas[index];
   }
 
   /**
@@ -121,10 +155,12 @@ public Object[] getObjectData() {
   @Override
   public void write(DataOutput out) throws IOException {
     // do we need to write the schema?
-    DatumWriter<GenericRecord> writer = new GenericDatumWriter<GenericRecord>(avroSchema);
+    if (datumWriter == null) {
+      datumWriter = new GenericDatumWriter<GenericRecord>(getAvroSchema());
+    }
     assert out instanceof DataOutputStream;
-    BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder((DataOutputStream) out, null);
-    writer.write(data, encoder);
+    encoder = EncoderFactory.get().directBinaryEncoder((DataOutputStream) out, encoder);
+    datumWriter.write(data, encoder);
   }
 
   /**
@@ -132,10 +168,15 @@ public void write(DataOutput out) throws IOException {
    */
   @Override
   public void read(DataInput in) throws IOException {
-    DatumReader<GenericRecord> reader = new GenericDatumReader<GenericRecord>(avroSchema);
+    if (datumReader == null) {
+      datumReader = new GenericDatumReader<GenericRecord>(getAvroSchema());
+    }
     assert in instanceof InputStream;
-    Decoder decoder = DecoderFactory.get().binaryDecoder((InputStream) in, null);
-    data = reader.read(null, decoder);
+    // Direct decoder doesn't read ahead, so the rest of the stream stays intact
+    decoder = DecoderFactory.get().directBinaryDecoder((InputStream) in, decoder);
+    // Every read creates a new record, so that callers may keep what
+    // getData() returned after the next read
+    data = datumReader.read(null, decoder);
   }
 
   /**
@@ -161,22 +202,22 @@ private GenericRecord toAVRO(String csv) {
       throw new SqoopException(IntermediateDataFormatError.INTERMEDIATE_DATA_FORMAT_0001,
           "The data " + csv + " has the wrong number of fields.");
     }
-    GenericRecord avroObject = new GenericData.Record(avroSchema);
+    GenericRecord avroObject = new GenericData.Record(getAvroSchema());
     for (int i = 0; i < csvStringArray.length; i++) {
       if (csvStringArray[i].equals(NULL_VALUE) && !columns[i].isNullable()) {
         throw new SqoopException(IntermediateDataFormatError.INTERMEDIATE_DATA_FORMAT_0005,
             columns[i].getName() + " does not support null values");
       }
       if (csvStringArray[i].equals(NULL_VALUE)) {
-        avroObject.put(columns[i].getName(), null);
+        avroObject.put(i, null);
         continue;
       }
-      avroObject.put(columns[i].getName(), toAVRO(csvStringArray[i], columns[i]));
+      avroObject.put(i, toAVRO(csvStringArray[i], i, columns[i]));
     }
     return avroObject;
   }
 
-  private Object toAVRO(String csvString, Column column) {
+  private Object toAVRO(String csvString, int index, Column column) {
     Object returnValue = null;
 
     switch (column.getType()) {
@@ -191,10 +232,10 @@ private Object toAVRO(String csvString, Column column) {
       returnValue = toMap(csvString);
       break;
     case ENUM:
-      returnValue = new GenericData.EnumSymbol(createEnumSchema(column), (removeQuotes(csvString)));
+      returnValue = new GenericData.EnumSymbol(getEnumSchema(index, column), (removeQuotes(csvString)));
       break;
     case TEXT:
-      returnValue = new Utf8(removeQuotes(csvString));
+      returnValue = removeQuotes(csvString);
       break;
     case BINARY:
     case UNKNOWN:
@@ -245,62 +286,63 @@ private GenericRecord toAVRO(Object[] objectArray) {
           "The data " + Arrays.toString(objectArray) + " has the wrong number of fields.");
     }
     // get avro schema from sqoop schema
-    GenericRecord avroObject = new GenericData.Record(avroSchema);
+    GenericRecord avroObject = new GenericData.Record(getAvroSchema());
     for (int i = 0; i < objectArray.length; i++) {
       if (objectArray[i] == null && !columns[i].isNullable()) {
         throw new SqoopException(IntermediateDataFormatError.INTERMEDIATE_DATA_FORMAT_0005,
             columns[i].getName() + " does not support null values");
       }
       if (objectArray[i] == null) {
-        avroObject.put(columns[i].getName(), null);
+        avroObject.put(i, null);
         continue;
       }
 
       switch (columns[i].getType()) {
       case ARRAY:
       case SET:
-        avroObject.put(columns[i].getName(), toList((Object[]) objectArray[i]));
+        avroObject.put(i, toList((Object[]) objectArray[i]));
         break;
       case ENUM:
-        GenericData.EnumSymbol enumValue = new GenericData.EnumSymbol(createEnumSchema(columns[i]),
+        GenericData.EnumSymbol enumValue = new GenericData.EnumSymbol(getEnumSchema(i, columns[i]),
             (String) objectArray[i]);
-        avroObject.put(columns[i].getName(), enumValue);
+        avroObject.put(i, enumValue);
         break;
       case TEXT:
-        avroObject.put(columns[i].getName(), new Utf8((String) objectArray[i]));
+        // Avro writes any CharSequence, no need to copy the string into Utf8
+        avroObject.put(i, objectArray[i]);
         break;
       case BINARY:
       case UNKNOWN:
-        avroObject.put(columns[i].getName(), ByteBuffer.wrap((byte[]) objectArray[i]));
+        avroObject.put(i, ByteBuffer.wrap((byte[]) objectArray[i]));
         break;
       case MAP:
       case FIXED_POINT:
       case FLOATING_POINT:
-        avroObject.put(columns[i].getName(), objectArray[i]);
+        avroObject.put(i, objectArray[i]);
         break;
       case DECIMAL:
         // TODO: store as FIXED in SQOOP-16161
-        avroObject.put(columns[i].getName(), ((BigDecimal) objectArray[i]).toPlainString());
+        avroObject.put(i, ((BigDecimal) objectArray[i]).toPlainString());
         break;
       case DATE_TIME:
         if (objectArray[i] instanceof org.joda.time.DateTime) {
-          avroObject.put(columns[i].getName(), ((org.joda.time.DateTime) objectArray[i]).toDate()
+          avroObject.put(i, ((org.joda.time.DateTime) objectArray[i]).toDate()
               .getTime());
         } else if (objectArray[i] instanceof org.joda.time.LocalDateTime) {
-          avroObject.put(columns[i].getName(), ((org.joda.time.LocalDateTime) objectArray[i])
+          avroObject.put(i, ((org.joda.time.LocalDateTime) objectArray[i])
               .toDate().getTime());
         }
         break;
       case TIME:
-        avroObject.put(columns[i].getName(), ((org.joda.time.LocalTime) objectArray[i])
+        avroObject.put(i, ((org.joda.time.LocalTime) objectArray[i])
             .toDateTimeToday().getMillis());
         break;
       case DATE:
-        avroObject.put(columns[i].getName(), ((org.joda.time.LocalDate) objectArray[i]).toDate()
+        avroObject.put(i, ((org.joda.time.LocalDate) objectArray[i]).toDate()
             .getTime());
         break;
       case BIT:
-        avroObject.put(columns[i].getName(), Boolean.valueOf(objectArray[i].toString()));
+        avroObject.put(i, Boolean.valueOf(objectArray[i].toString()));
         break;
       default:
         throw new SqoopException(IntermediateDataFormatError.INTERMEDIATE_DATA_FORMAT_0001,
@@ -28,6 +28,8 @@
 import java.io.DataOutput;
 import java.io.IOException;
 import java.io.Serializable;
+import java.nio.charset.Charset;
+import java.util.Arrays;
 import java.util.Set;
 
 /**
@@ -45,6 +47,12 @@ public class CSVIntermediateDataFormat extends IntermediateDataFormat<String> im
 
   public static final Logger LOG = Logger.getLogger(CSVIntermediateDataFormat.class);
 
+  private static final Charset UTF8 = Charset.forName("UTF-8");
+
+  // UTF-8 encoded form of the row, rows set as bytes are decoded only when
+  // the String is asked for
+  private byte[] bytes;
+
   // need this default constructor for reflection magic used in execution engine
   public CSVIntermediateDataFormat() {
   }
@@ -57,16 +65,63 @@ public CSVIntermediateDataFormat(Schema schema) {
    * {@inheritDoc}
    */
   @Override
-  public String getCSVTextData() {
+  public String getData() {
+    decode();
     return super.getData();
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void setData(String obj) {
+    super.setData(obj);
+    bytes = null;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String getCSVTextData() {
+    return getData();
+  }
+
   /**
    * {@inheritDoc}
    */
   @Override
   public void setCSVTextData(String csvText) {
-    super.setData(csvText);
+    setData(csvText);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public byte[] getCSVTextBytes() {
+    if (bytes == null && data != null) {
+      bytes = data.getBytes(UTF8);
+    }
+    return bytes;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void setCSVTextBytes(byte[] bytes, int offset, int length) {
+    super.validateSchema(schema);
+    this.bytes = Arrays.copyOfRange(bytes, offset, offset + length);
+    this.data = null;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean hasCSVTextBytes() {
+    return bytes != null;
   }
 
   /**
@@ -75,7 +130,7 @@ public void setCSVTextData(String csvText) {
   @Override
   public Object[] getObjectData() {
     super.validateSchema(schema);
-    return SqoopIDFUtils.fromCSV(data, schema);
+    return SqoopIDFUtils.fromCSV(getData(), schema);
   }
 
   /**
@@ -86,15 +141,21 @@ public void setObjectData(Object[] data) {
     super.validateSchema(schema);
     // convert object array to csv text
     this.data = toCSV(data);
+    this.bytes = null;
 
   }
 
   /**
    * {@inheritDoc}
+   *
+   * Row is written as length prefixed UTF-8 text, so it is never decoded when
+   * it was set as bytes.
    */
   @Override
   public void write(DataOutput out) throws IOException {
-    out.writeUTF(this.data);
+    byte[] text = getCSVTextBytes();
+    out.writeInt(text.length);
+    out.write(text);
   }
 
   /**
@@ -103,7 +164,9 @@ public void write(DataOutput out) throws IOException {
    */
   @Override
   public void read(DataInput in) throws IOException {
-    data = in.readUTF();
+    bytes = new byte[in.readInt()];
+    in.readFully(bytes);
+    data = null;
   }
 
   /**
@@ -124,4 +187,31 @@ private String toCSV(Object[] objectArray) {
   public Set<String> getJars() {
     return super.getJars();
   }
+
+  @Override
+  public int hashCode() {
+    decode();
+    return super.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    decode();
+    if (obj instanceof CSVIntermediateDataFormat) {
+      ((CSVIntermediateDataFormat) obj).decode();
+    }
+    return super.equals(obj);
+  }
+
+  @Override
+  public String toString() {
+    decode();
+    return super.toString();
+  }
+
+  private void decode() {
+    if (data == null && bytes != null) {
+      data = new String(bytes, UTF8);
+    }
+  }
 }
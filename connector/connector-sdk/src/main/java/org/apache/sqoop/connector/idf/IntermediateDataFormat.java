@@ -34,6 +34,7 @@
 import java.io.DataOutput;
 import java.io.IOException;
 import java.io.Serializable;
+import java.nio.charset.Charset;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -59,6 +60,8 @@
 @SuppressWarnings("rawtypes")
 public abstract class IntermediateDataFormat<T> implements Comparable,Serializable {
 
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
     protected volatile T data;
 
     protected Schema schema;
@@ -110,6 +113,40 @@ public void setData(T obj) {
      */
     public abstract void setCSVTextData(String csvText);
 
+    /**
+     * Get one row of data as UTF-8 encoded CSV text. The returned array must
+     * not be modified. Default implementation encodes getCSVTextData().
+     *
+     * @return - UTF-8 encoded CSV text
+     */
+    public byte[] getCSVTextBytes() {
+        String csvText = getCSVTextData();
+        return csvText == null ? null : csvText.getBytes(UTF8);
+    }
+
+    /**
+     * Set one row of data as UTF-8 encoded CSV text. The bytes are copied, the
+     * caller can reuse the buffer. Default implementation decodes the text
+     * and calls setCSVTextData().
+     *
+     * @param bytes - buffer containing the row
+     * @param offset - offset of the row in the buffer
+     * @param length - length of the row in bytes
+     */
+    public void setCSVTextBytes(byte[] bytes, int offset, int length) {
+        setCSVTextData(new String(bytes, offset, length, UTF8));
+    }
+
+    /**
+     * Whether the current row is held as UTF-8 encoded CSV text, i.e.
+     * getCSVTextBytes() is cheaper than any other representation.
+     *
+     * @return - true if the row is held as bytes
+     */
+    public boolean hasCSVTextBytes() {
+        return false;
+    }
+
     /**
      * Get one row of data as an Object array.
      * Sqoop uses defined object representation
@@ -0,0 +1,144 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.matcher;
+
+import java.math.BigInteger;
+
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.common.SqoopIDFUtils;
+import org.apache.sqoop.error.code.MatcherError;
+import org.apache.sqoop.schema.type.Column;
+import org.apache.sqoop.schema.type.ColumnType;
+import org.apache.sqoop.schema.type.FixedPoint;
+import org.apache.sqoop.schema.type.FloatingPoint;
+
+/**
+ * Conversion of a single value between java types of matched FROM and TO
+ * columns. Values that are already of the expected type (and nulls) are
+ * returned unchanged. Widening conversions always succeed, narrowing ones
+ * fail with an exception rather than wrap around or round the value.
+ */
+enum Coercion {
+
+  TO_INTEGER {
+    @Override
+    Object coerce(Object value, Column to) {
+      if (!(value instanceof Number) || value instanceof Integer) {
+        return value;
+      }
+      Number number = (Number) value;
+      if (value instanceof BigInteger ? ((BigInteger) value).bitLength() >= Integer.SIZE
+          : number.longValue() != number.intValue()) {
+        throw lossOfInformation(value, to);
+      }
+      return number.intValue();
+    }
+  },
+
+  TO_LONG {
+    @Override
+    Object coerce(Object value, Column to) {
+      if (!(value instanceof Number) || value instanceof Long) {
+        return value;
+      }
+      if (value instanceof BigInteger && ((BigInteger) value).bitLength() >= Long.SIZE) {
+        throw lossOfInformation(value, to);
+      }
+      return ((Number) value).longValue();
+    }
+  },
+
+  TO_FLOAT {
+    @Override
+    Object coerce(Object value, Column to) {
+      if (!(value instanceof Number) || value instanceof Float) {
+        return value;
+      }
+      double number = ((Number) value).doubleValue();
+      float narrowed = (float) number;
+      if (narrowed != number && !Double.isNaN(number)) {
+        throw lossOfInformation(value, to);
+      }
+      return narrowed;
+    }
+  },
+
+  TO_DOUBLE {
+    @Override
+    Object coerce(Object value, Column to) {
+      return value instanceof Number && !(value instanceof Double) ? ((Number) value).doubleValue() : value;
+    }
+  },
+
+  TO_STRING {
+    @Override
+    Object coerce(Object value, Column to) {
+      return value == null || value instanceof String ? value : value.toString();
+    }
+  };
+
+  /**
+   * @param value Value of the FROM column
+   * @param to TO column, used for error reporting
+   * @return Value of the java type expected by the TO column
+   * @throws SqoopException If the value doesn't fit into the TO column
+   */
+  abstract Object coerce(Object value, Column to);
+
+  private static SqoopException lossOfInformation(Object value, Column to) {
+    return new SqoopException(MatcherError.MATCHER_0001, "Value " + value + " of column " + to);
+  }
+
+  /**
+   * Return coercion needed to pass value of given FROM column into given TO
+   * column or null if the value can be passed as it is.
+   */
+  static Coercion forColumns(Column from, Column to) {
+    ColumnType fromType = from.getType();
+    switch (to.getType()) {
+      case FIXED_POINT:
+        if (fromType == ColumnType.FIXED_POINT
+          && SqoopIDFUtils.isInteger(from) != SqoopIDFUtils.isInteger(to)) {
+          return SqoopIDFUtils.isInteger(to) ? TO_INTEGER : TO_LONG;
+        }
+        return null;
+      case FLOATING_POINT:
+        if (fromType == ColumnType.FLOATING_POINT && isFloat(from) != isFloat(to)) {
+          return isFloat(to) ? TO_FLOAT : TO_DOUBLE;
+        }
+        return null;
+      case TEXT:
+        switch (fromType) {
+          case FIXED_POINT:
+          case FLOATING_POINT:
+          case DECIMAL:
+          case BIT:
+            return TO_STRING;
+          default:
+            return null;
+        }
+      default:
+        return null;
+    }
+  }
+
+  private static boolean isFloat(Column column) {
+    Long byteSize = ((FloatingPoint) column).getByteSize();
+    return byteSize != null && byteSize <= (Float.SIZE / Byte.SIZE);
+  }
+}
@@ -35,31 +35,34 @@
 @InterfaceStability.Unstable
 public class LocationMatcher extends Matcher implements Serializable {
 
+  // Null when there is no destination schema and nothing needs to be converted
+  private final MatchingPlan plan;
+
   public LocationMatcher(Schema from, Schema to) {
     super(from, to);
+
+    if (getToSchema().isEmpty()) {
+      plan = null;
+      return;
+    }
+
+    Column[] fromColumns = getFromSchema().getColumnsArray();
+    Column[] toColumns = getToSchema().getColumnsArray();
+    // Records shorter than the TO schema are handled by the plan
+    int[] projection = new int[toColumns.length];
+    for (int i = 0; i < toColumns.length; i++) {
+      projection[i] = i;
+    }
+    plan = new MatchingPlan(projection, fromColumns, toColumns);
   }
 
   @Override
   public Object[] getMatchingData(Object[] fields) {
-    if (getToSchema().isEmpty()) {
+    if (plan == null) {
       // No destination schema found. No need to convert anything.
       return fields;
     }
-
-    Object[] out = new Object[getToSchema().getColumnsCount()];
-    int i = 0;
-
-    for (Column col : getToSchema().getColumnsList()) {
-      if (i < fields.length) {
-        out[i] = fields[i];
-      }
-      // We ran out of fields before we ran out of schema
-      else {
-        tryFillNullInArrayForUnexpectedColumn(col, out, i);
-      }
-      i++;
-    }
-    return out;
+    return plan.apply(fields);
   }
 
 }
\ No newline at end of file
@@ -36,7 +36,15 @@ public abstract class Matcher implements Serializable {
   private final Schema fromSchema;
   private final Schema toSchema;
 
+  /**
+   * Matcher works with frozen copies of the given schemas, they must not
+   * change while data are being matched. The caller's schemas are left
+   * untouched.
+   */
   public Matcher(Schema fromSchema, Schema toSchema) {
+    fromSchema = frozen(fromSchema);
+    toSchema = frozen(toSchema);
+
     if (fromSchema.isEmpty() && toSchema.isEmpty()) {
       this.fromSchema = ByteArraySchema.getInstance();
       this.toSchema = ByteArraySchema.getInstance();
@@ -52,6 +60,10 @@ public Matcher(Schema fromSchema, Schema toSchema) {
     }
   }
 
+  private static Schema frozen(Schema schema) {
+    return schema.isFrozen() ? schema : schema.copy().freeze();
+  }
+
   /**
    *
    * @param fields
@@ -0,0 +1,113 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.matcher;
+
+import java.io.Serializable;
+
+import org.apache.log4j.Logger;
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.schema.SchemaError;
+import org.apache.sqoop.schema.type.Column;
+
+/**
+ * Matching of FROM columns to TO columns compiled once per job, so that
+ * converting a record is a single pass over an int array.
+ */
+final class MatchingPlan implements Serializable {
+
+  private static final Logger LOG = Logger.getLogger(MatchingPlan.class);
+
+  /**
+   * Index of the FROM column for each TO column, -1 if there is none.
+   */
+  private final int[] projection;
+
+  private final Column[] toColumns;
+
+  /**
+   * Coercion for each TO column, null when the whole plan needs none.
+   */
+  private final Coercion[] coercions;
+
+  /**
+   * Records of this length can be passed through without any copying.
+   */
+  private final int identityLength;
+
+  private transient boolean warnedShortRecord;
+
+  /**
+   * @param projection Index of the FROM column for each TO column, -1 if none
+   * @param fromColumns FROM columns
+   * @param toColumns TO columns
+   */
+  MatchingPlan(int[] projection, Column[] fromColumns, Column[] toColumns) {
+    this.projection = projection;
+    this.toColumns = toColumns;
+
+    Coercion[] compiled = new Coercion[toColumns.length];
+    boolean coercing = false;
+    boolean identity = fromColumns.length == toColumns.length;
+    for (int i = 0; i < toColumns.length; i++) {
+      int fromIndex = projection[i];
+      if (fromIndex < 0) {
+        identity = false;
+        if (toColumns[i].isNullable()) {
+          LOG.warn("Column " + toColumns[i] + " has no matching source column. Will be ignored.");
+        }
+        continue;
+      }
+      identity &= fromIndex == i;
+      if (fromIndex < fromColumns.length) {
+        compiled[i] = Coercion.forColumns(fromColumns[fromIndex], toColumns[i]);
+      }
+      coercing |= compiled[i] != null;
+    }
+    this.coercions = coercing ? compiled : null;
+    this.identityLength = identity && !coercing ? toColumns.length : -1;
+  }
+
+  Object[] apply(Object[] fields) {
+    if (fields.length == identityLength) {
+      return fields;
+    }
+
+    Object[] out = new Object[toColumns.length];
+    for (int i = 0; i < out.length; i++) {
+      int fromIndex = projection[i];
+      if (fromIndex >= 0 && fromIndex < fields.length) {
+        out[i] = coercions == null || coercions[i] == null ? fields[fromIndex] : coercions[i].coerce(fields[fromIndex], toColumns[i]);
+      } else {
+        fillNull(i, fromIndex >= 0);
+      }
+    }
+    return out;
+  }
+
+  private void fillNull(int index, boolean shortRecord) {
+    Column column = toColumns[index];
+    if (!column.isNullable()) {
+      throw new SqoopException(SchemaError.SCHEMA_0004, "Target column " +
+          column + " didn't match with any source column and cannot be null.");
+    }
+    if (shortRecord && !warnedShortRecord) {
+      warnedShortRecord = true;
+      LOG.warn("Record is shorter than the source schema, column " + column + " will be set to null.");
+    }
+  }
+}
@@ -35,40 +35,39 @@
 @InterfaceStability.Unstable
 public class NameMatcher extends Matcher implements Serializable {
 
-  private HashMap<String, Integer> fromColNameIndexMap;
+  // Null when there is no destination schema and nothing needs to be converted
+  private final MatchingPlan plan;
 
   public NameMatcher(Schema from, Schema to) {
     super(from, to);
 
-    fromColNameIndexMap = new HashMap<String, Integer>();
-    int fromIndex = 0;
+    if (getToSchema().isEmpty()) {
+      plan = null;
+      return;
+    }
+
+    Column[] fromColumns = getFromSchema().getColumnsArray();
+    Column[] toColumns = getToSchema().getColumnsArray();
+    HashMap<String, Integer> fromColNameIndexMap = new HashMap<String, Integer>();
+    for (int i = 0; i < fromColumns.length; i++) {
+      fromColNameIndexMap.put(fromColumns[i].getName(), i);
+    }
 
-    for (Column fromCol : getFromSchema().getColumnsList()) {
-      fromColNameIndexMap.put(fromCol.getName(), fromIndex);
-      fromIndex++;
+    int[] projection = new int[toColumns.length];
+    for (int i = 0; i < toColumns.length; i++) {
+      Integer fromIndex = fromColNameIndexMap.get(toColumns[i].getName());
+      projection[i] = fromIndex == null ? -1 : fromIndex;
     }
+    plan = new MatchingPlan(projection, fromColumns, toColumns);
   }
 
   @Override
   public Object[] getMatchingData(Object[] fields) {
-    if (getToSchema().isEmpty()) {
+    if (plan == null) {
       // No destination schema found. No need to convert anything.
       return fields;
     }
-
-    Object[] out = new Object[getToSchema().getColumnsCount()];
-    int i = 0;
-
-    for (Column toCol : getToSchema().getColumnsList()) {
-      Integer fromIndex = fromColNameIndexMap.get(toCol.getName());
-      if (fromIndex != null && fromIndex < fields.length) {
-          out[i] = fields[fromIndex];
-      } else {
-        tryFillNullInArrayForUnexpectedColumn(toCol, out, i);
-      }
-      i++;
-    }
-    return out;
+    return plan.apply(fields);
   }
 
 }
\ No newline at end of file
@@ -144,6 +144,24 @@ public void testExample6EncodeToCSVString() {
     assertEquals(encodedText, "'\\r'");
   }
 
+  @Test
+  public void testEncodeBytesToCSVString() throws Exception {
+    String test = "a'b\"c\\d\n\r" + (char) 0x00 + (char) 0x1A + "\u00e9\u20ac,";
+    byte[] bytes = ("xx" + test).getBytes("UTF-8");
+    byte[] out = new byte[2 * bytes.length + 2];
+    int length = toCSVString(bytes, 2, bytes.length - 2, out);
+    assertEquals(new String(out, 0, length, "UTF-8"), toCSVString(test));
+  }
+
+  @Test
+  public void testDecodeBytesToText() throws Exception {
+    String test = "a'b\"c\\d\n\r" + (char) 0x00 + (char) 0x1A + "\u00e9\u20ac,";
+    byte[] csv = toCSVString(test).getBytes("UTF-8");
+    byte[] out = new byte[csv.length];
+    int length = toText(csv, 0, csv.length, out);
+    assertEquals(new String(out, 0, length, "UTF-8"), test);
+  }
+
   @Test
   public void testToCSVFixedPointWithIntSignedAsInteger() {
     Column col = new FixedPoint("ft", 2L, true);
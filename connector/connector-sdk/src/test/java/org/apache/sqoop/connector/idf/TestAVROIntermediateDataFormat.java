@@ -41,6 +41,10 @@
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -99,6 +103,69 @@ private void createAvroIDF() {
     avroSchema = SqoopAvroUtils.createAvroSchema(sqoopSchema);
   }
 
+  /**
+   * Serialized records are read back correctly although writers and readers
+   * are reused.
+   */
+  @Test
+  public void testWriteAndReadMultipleRecords() throws Exception {
+    Schema sqoopSchema = new Schema("test")
+        .addColumn(new FixedPoint("id", 8L, true))
+        .addColumn(new Text("name"))
+        .addColumn(enumCol);
+    // Execution engines are creating IDFs through the default constructor
+    AVROIntermediateDataFormat writeFormat = new AVROIntermediateDataFormat();
+    writeFormat.setSchema(sqoopSchema);
+    AVROIntermediateDataFormat readFormat = new AVROIntermediateDataFormat();
+    readFormat.setSchema(sqoopSchema);
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    for (int i = 0; i < 3; i++) {
+      writeFormat.setObjectData(new Object[] {(long) i, "name" + i, i % 2 == 0 ? "ENUM" : "NUME"});
+      writeFormat.write(out);
+    }
+    out.flush();
+
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    for (int i = 0; i < 3; i++) {
+      readFormat.read(in);
+      assertEquals(readFormat.getObjectData(), new Object[] {(long) i, "name" + i, i % 2 == 0 ? "ENUM" : "NUME"});
+    }
+    assertEquals(in.available(), 0);
+  }
+
+  /**
+   * Records and values handed out by a read are not changed by the next one.
+   */
+  @Test
+  public void testReadRecordsCanBeRetained() throws Exception {
+    Schema sqoopSchema = new Schema("test")
+        .addColumn(new Text("name"))
+        .addColumn(new Binary("bytes"));
+    AVROIntermediateDataFormat writeFormat = new AVROIntermediateDataFormat(sqoopSchema);
+    AVROIntermediateDataFormat readFormat = new AVROIntermediateDataFormat(sqoopSchema);
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    for (int i = 0; i < 2; i++) {
+      writeFormat.setObjectData(new Object[] {"name" + i, new byte[] {(byte) i, (byte) i}});
+      writeFormat.write(out);
+    }
+    out.flush();
+
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    readFormat.read(in);
+    GenericRecord first = readFormat.getData();
+    readFormat.read(in);
+    GenericRecord second = readFormat.getData();
+
+    assertEquals(first.get("name").toString(), "name0");
+    assertEquals(SqoopAvroUtils.getBytesFromByteBuffer(first.get("bytes")), new byte[] {0, 0});
+    assertEquals(second.get("name").toString(), "name1");
+    assertEquals(SqoopAvroUtils.getBytesFromByteBuffer(second.get("bytes")), new byte[] {1, 1});
+  }
+
   /**
    * setCSVGetData setCSVGetObjectArray setCSVGetCSV
    */
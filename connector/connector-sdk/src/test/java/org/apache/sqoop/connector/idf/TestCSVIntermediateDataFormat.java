@@ -25,6 +25,10 @@
 import static org.apache.sqoop.connector.common.SqoopIDFUtils.*;
 import static org.apache.sqoop.connector.common.TestSqoopIDFUtils.getByteFieldString;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -59,6 +63,37 @@ public void setUp() {
   }
 
 
+  @Test
+  public void testCSVTextBytes() throws Exception {
+    Schema schema = new Schema("test");
+    schema.addColumn(new FixedPoint("1", 8L, true)).addColumn(new Text("2"));
+    dataFormat = new CSVIntermediateDataFormat(schema);
+    byte[] csv = "10,'\u00e9t\u00e9'".getBytes("UTF-8");
+    byte[] buffer = new byte[csv.length + 4];
+    System.arraycopy(csv, 0, buffer, 2, csv.length);
+
+    dataFormat.setCSVTextBytes(buffer, 2, csv.length);
+    assertTrue(dataFormat.hasCSVTextBytes());
+    // buffer can be reused by the caller
+    Arrays.fill(buffer, (byte) 0);
+    assertEquals(dataFormat.getCSVTextBytes(), csv);
+    assertEquals(dataFormat.getCSVTextData(), "10,'\u00e9t\u00e9'");
+    assertEquals(dataFormat.getObjectData(), new Object[] {10L, "\u00e9t\u00e9"});
+
+    // serialized form is UTF-8 text that is read back as bytes
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    dataFormat.write(new DataOutputStream(out));
+    CSVIntermediateDataFormat copy = new CSVIntermediateDataFormat(schema);
+    copy.read(new DataInputStream(new ByteArrayInputStream(out.toByteArray())));
+    assertTrue(copy.hasCSVTextBytes());
+    assertEquals(copy.getCSVTextBytes(), csv);
+    assertEquals(copy, dataFormat);
+
+    dataFormat.setObjectData(new Object[] {11L, "x"});
+    assertFalse(dataFormat.hasCSVTextBytes());
+    assertEquals(new String(dataFormat.getCSVTextBytes(), "UTF-8"), "11,'x'");
+  }
+
   //**************test cases for null input*******************
 
   @Test
@@ -24,6 +24,8 @@
 import org.testng.annotations.Test;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 public class TestLocationMatcher {
 
@@ -48,6 +50,23 @@ public void testPerfectMatch() {
     assertEquals(fields, actual);
   }
 
+  /**
+   * Matcher must not freeze schemas owned by the caller.
+   */
+  @Test
+  public void testCallerSchemasStayMutable() {
+    Schema from = SchemaFixture.createSchema1("from");
+    Schema to = SchemaFixture.createSchema1("to");
+    matcher = new LocationMatcher(from, to);
+
+    assertFalse(from.isFrozen());
+    assertFalse(to.isFrozen());
+    assertTrue(matcher.getFromSchema().isFrozen());
+    assertTrue(matcher.getToSchema().isFrozen());
+    assertEquals(matcher.getFromSchema(), from);
+    assertEquals(matcher.getToSchema(), to);
+  }
+
   /**
    * When no FROM schema is specified, fields should be copied directly.
    */
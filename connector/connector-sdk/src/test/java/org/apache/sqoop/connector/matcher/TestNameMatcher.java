@@ -20,10 +20,14 @@
 import org.apache.sqoop.common.SqoopException;
 import org.apache.sqoop.schema.NullSchema;
 import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.schema.type.FixedPoint;
+import org.apache.sqoop.schema.type.FloatingPoint;
+import org.apache.sqoop.schema.type.Text;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 
 public class TestNameMatcher {
 
@@ -46,6 +50,85 @@ public void testPerfectMatch() {
 
     Object[] actual = matcher.getMatchingData(fields);
     assertEquals(fields, actual);
+    assertSame(actual, fields);
+  }
+
+  /**
+   * Columns in different order are reordered according to the TO schema.
+   */
+  @Test
+  public void testReorder() {
+    matcher = new NameMatcher(
+        SchemaFixture.createSchema("from",
+            new String[]{"text1", "text2", "text3"}),
+        SchemaFixture.createSchema("to",
+            new String[]{"text3", "text1"}));
+
+    assertEquals(matcher.getMatchingData(new Object[] {"t1", "t2", "t3"}), new Object[] {"t3", "t1"});
+    assertEquals(matcher.getMatchingData(new Object[] {"u1", "u2", "u3"}), new Object[] {"u3", "u1"});
+  }
+
+  /**
+   * Values are converted to the java type expected by the TO column.
+   */
+  @Test
+  public void testCoercion() {
+    Schema from = new Schema("from")
+        .addColumn(new FixedPoint("id", 4L, true))
+        .addColumn(new FloatingPoint("value", 8L))
+        .addColumn(new FixedPoint("count", 8L, true));
+    Schema to = new Schema("to")
+        .addColumn(new FixedPoint("id", 8L, true))
+        .addColumn(new Text("value"))
+        .addColumn(new FixedPoint("count", 8L, true));
+    matcher = new NameMatcher(from, to);
+
+    Object[] actual = matcher.getMatchingData(new Object[] {1, 2.5d, 3L});
+    assertEquals(actual, new Object[] {1L, "2.5", 3L});
+    assertEquals(actual[0].getClass(), Long.class);
+  }
+
+  /**
+   * Narrowing conversions are fine as long as the value fits.
+   */
+  @Test
+  public void testNarrowingCoercion() {
+    matcher = new NameMatcher(narrowingFrom(), narrowingTo());
+
+    Object[] actual = matcher.getMatchingData(new Object[] {(long) Integer.MIN_VALUE, 0.5d});
+    assertEquals(actual, new Object[] {Integer.MIN_VALUE, 0.5f});
+    assertEquals(actual[0].getClass(), Integer.class);
+    assertEquals(actual[1].getClass(), Float.class);
+  }
+
+  /**
+   * Integer that doesn't fit into the TO column must not wrap around.
+   */
+  @Test (expectedExceptions = SqoopException.class)
+  public void testNarrowingCoercionOverflow() {
+    matcher = new NameMatcher(narrowingFrom(), narrowingTo());
+    matcher.getMatchingData(new Object[] {Integer.MAX_VALUE + 1L, 0.5d});
+  }
+
+  /**
+   * Double that can't be represented as float must not be rounded.
+   */
+  @Test (expectedExceptions = SqoopException.class)
+  public void testNarrowingCoercionPrecision() {
+    matcher = new NameMatcher(narrowingFrom(), narrowingTo());
+    matcher.getMatchingData(new Object[] {1L, 0.1d});
+  }
+
+  private static Schema narrowingFrom() {
+    return new Schema("from")
+        .addColumn(new FixedPoint("id", 8L, true))
+        .addColumn(new FloatingPoint("value", 8L));
+  }
+
+  private static Schema narrowingTo() {
+    return new Schema("to")
+        .addColumn(new FixedPoint("id", 4L, true))
+        .addColumn(new FloatingPoint("value", 4L));
   }
 
   /**
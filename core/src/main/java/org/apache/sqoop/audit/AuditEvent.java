@@ -0,0 +1,58 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.audit;
+
+/**
+ * Single audit event waiting in the audit queue.
+ */
+public class AuditEvent {
+
+  private final String username;
+  private final String ip;
+  private final String operation;
+  private final String objectType;
+  private final String objectId;
+
+  public AuditEvent(String username, String ip, String operation, String objectType, String objectId) {
+    this.username = username;
+    this.ip = ip;
+    this.operation = operation;
+    this.objectType = objectType;
+    this.objectId = objectId;
+  }
+
+  public String getUsername() {
+    return username;
+  }
+
+  public String getIp() {
+    return ip;
+  }
+
+  public String getOperation() {
+    return operation;
+  }
+
+  public String getObjectType() {
+    return objectType;
+  }
+
+  public String getObjectId() {
+    return objectId;
+  }
+}
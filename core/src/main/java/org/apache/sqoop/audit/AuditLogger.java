@@ -17,6 +17,7 @@
  */
 package org.apache.sqoop.audit;
 
+import java.util.List;
 import java.util.Map;
 
 import org.apache.sqoop.core.SqoopConfiguration;
@@ -48,6 +49,21 @@ public abstract class AuditLogger {
   abstract void logAuditEvent(String username, String ip,
       String operation, String objectType, String objectId);
 
+  /**
+   * Called to log a batch of audit events drained from the audit queue.
+   *
+   * Default implementation logs the events one by one, loggers that can
+   * write a batch more efficiently should override it.
+   *
+   * @param events Events in the order in which they were reported
+   */
+  void logAuditEvents(List<AuditEvent> events) {
+    for (AuditEvent event : events) {
+      logAuditEvent(event.getUsername(), event.getIp(), event.getOperation(),
+          event.getObjectType(), event.getObjectId());
+    }
+  }
+
   public String getLoggerName() {
     return loggerName;
   }
@@ -34,4 +34,46 @@ public class AuditLoggerConstants {
    */
   public static final String SUFFIX_AUDITLOGGER_CLASS =
       ".class";
+
+  /**
+   * Configuration of the audit pipeline shared by all loggers is prefixed
+   * with this: <tt>org.apache.sqoop.audit.</tt>
+   */
+  public static final String PREFIX_AUDIT_CONFIG =
+      ConfigurationConstants.PREFIX_GLOBAL_CONFIG + "audit.";
+
+  /**
+   * Whether audit events are handed over to loggers by a background thread:
+   * <tt>org.apache.sqoop.audit.async</tt>
+   */
+  public static final String SYSCFG_AUDIT_ASYNC =
+      PREFIX_AUDIT_CONFIG + "async";
+
+  /**
+   * Maximal number of audit events waiting for the background thread:
+   * <tt>org.apache.sqoop.audit.queue.capacity</tt>
+   */
+  public static final String SYSCFG_AUDIT_QUEUE_CAPACITY =
+      PREFIX_AUDIT_CONFIG + "queue.capacity";
+
+  /**
+   * Maximal number of audit events handed over to loggers at once:
+   * <tt>org.apache.sqoop.audit.batch.size</tt>
+   */
+  public static final String SYSCFG_AUDIT_BATCH_SIZE =
+      PREFIX_AUDIT_CONFIG + "batch.size";
+
+  /**
+   * What to do with events when the queue is full, one of BLOCK, DROP or
+   * SAMPLE: <tt>org.apache.sqoop.audit.overflow.policy</tt>
+   */
+  public static final String SYSCFG_AUDIT_OVERFLOW_POLICY =
+      PREFIX_AUDIT_CONFIG + "overflow.policy";
+
+  /**
+   * With SAMPLE policy only every n-th event is accepted once the queue is
+   * half full: <tt>org.apache.sqoop.audit.sample.rate</tt>
+   */
+  public static final String SYSCFG_AUDIT_SAMPLE_RATE =
+      PREFIX_AUDIT_CONFIG + "sample.rate";
 }
@@ -24,23 +24,97 @@
 import org.apache.sqoop.core.SqoopConfiguration;
 import org.apache.sqoop.core.SqoopConfiguration.CoreConfigurationListener;
 import org.apache.sqoop.error.code.AuditLoggerError;
+import org.apache.sqoop.metrics.Counter;
+import org.apache.sqoop.metrics.Gauge;
+import org.apache.sqoop.metrics.MetricsManager;
 import org.apache.sqoop.utils.ClassUtils;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
+/**
+ * Dispatches audit events to all configured audit loggers.
+ *
+ * By default events are put into a bounded lock free queue and handed over
+ * to the loggers in batches by a background thread, so that request threads
+ * do not wait on the loggers. What happens when the queue is full is given by
+ * the overflow policy. Remaining events are flushed on destroy.
+ */
 public class AuditLoggerManager implements Reconfigurable {
 
+  /**
+   * What to do with an audit event that does not fit into the queue.
+   */
+  public enum OverflowPolicy {
+    /** Wait on the request thread until there is space in the queue */
+    BLOCK,
+
+    /** Drop the event */
+    DROP,
+
+    /** Accept only every n-th event once the queue is half full, drop the rest */
+    SAMPLE,
+  }
+
   /**
    * Logger object for this class
    */
   private static final Logger LOG = Logger.getLogger(AuditLoggerManager.class);
 
+  private static final boolean DEFAULT_ASYNC = true;
+  private static final int DEFAULT_QUEUE_CAPACITY = 10000;
+  private static final int DEFAULT_BATCH_SIZE = 256;
+  private static final OverflowPolicy DEFAULT_OVERFLOW_POLICY = OverflowPolicy.BLOCK;
+  private static final int DEFAULT_SAMPLE_RATE = 10;
+
+  /**
+   * How long is a blocked request thread parked before checking the queue again
+   */
+  private static final long BLOCK_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
   /**
-   * All audit loggers
+   * How long is the idle drainer thread parked before checking the queue again
    */
-  private List<AuditLogger> loggers;
+  private static final long DRAIN_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private static final String METRIC_QUEUE_DEPTH = "audit.queue.depth";
+
+  /**
+   * All audit loggers, replaced as a whole on reconfiguration
+   */
+  private volatile List<AuditLogger> loggers;
+
+  /**
+   * Events waiting for the drainer thread
+   */
+  private final Queue<AuditEvent> queue = new ConcurrentLinkedQueue<AuditEvent>();
+
+  /**
+   * Number of events in the queue including slots reserved by producers
+   */
+  private final AtomicInteger depth = new AtomicInteger();
+
+  private final AtomicLong sampleSequence = new AtomicLong();
+
+  private volatile int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+  private volatile int batchSize = DEFAULT_BATCH_SIZE;
+  private volatile OverflowPolicy overflowPolicy = DEFAULT_OVERFLOW_POLICY;
+  private volatile int sampleRate = DEFAULT_SAMPLE_RATE;
+
+  /**
+   * Background thread draining the queue, null in synchronous mode
+   */
+  private volatile DrainerThread drainer;
+
+  private final Counter droppedEvents = MetricsManager.getInstance().counter("audit.events.dropped");
+  private final Counter loggedEvents = MetricsManager.getInstance().counter("audit.events.logged");
 
   /**
    * Private instance to singleton of this class
@@ -68,10 +142,15 @@ private AuditLoggerManager() {
 
   public synchronized void initialize() {
     LOG.info("Begin audit logger manager initialization");
-    if (loggers == null) {
-      loggers = new ArrayList<AuditLogger>();
-    }
     initializeLoggers();
+    initializePipeline();
+
+    MetricsManager.getInstance().registerGauge(METRIC_QUEUE_DEPTH, new Gauge() {
+      @Override
+      public long getValue() {
+        return depth.get();
+      }
+    });
 
     SqoopConfiguration.getInstance().getProvider()
         .registerListener(new CoreConfigurationListener(this));
@@ -80,7 +159,7 @@ public synchronized void initialize() {
   }
 
   private void initializeLoggers() {
-    loggers.clear();
+    List<AuditLogger> newLoggers = new ArrayList<AuditLogger>();
 
     MapContext context = SqoopConfiguration.getInstance().getContext();
 
@@ -117,29 +196,239 @@ private void initializeLoggers() {
 
         newLogger.setLoggerName(loggerName);
         newLogger.initialize();
-        loggers.add(newLogger);
+        newLoggers.add(newLogger);
         LOG.info("Audit Logger has been initialized: " + loggerName);
       }
     }
+
+    loggers = newLoggers;
+  }
+
+  private void initializePipeline() {
+    MapContext context = SqoopConfiguration.getInstance().getContext();
+
+    String policy = context.getString(AuditLoggerConstants.SYSCFG_AUDIT_OVERFLOW_POLICY,
+        DEFAULT_OVERFLOW_POLICY.name());
+    try {
+      overflowPolicy = OverflowPolicy.valueOf(policy.trim().toUpperCase());
+    } catch (IllegalArgumentException ex) {
+      throw new SqoopException(AuditLoggerError.AUDIT_0003, policy, ex);
+    }
+    queueCapacity = Math.max(1, context.getInt(AuditLoggerConstants.SYSCFG_AUDIT_QUEUE_CAPACITY,
+        DEFAULT_QUEUE_CAPACITY));
+    batchSize = Math.max(1, context.getInt(AuditLoggerConstants.SYSCFG_AUDIT_BATCH_SIZE,
+        DEFAULT_BATCH_SIZE));
+    sampleRate = Math.max(1, context.getInt(AuditLoggerConstants.SYSCFG_AUDIT_SAMPLE_RATE,
+        DEFAULT_SAMPLE_RATE));
+
+    boolean async = context.getBoolean(AuditLoggerConstants.SYSCFG_AUDIT_ASYNC, DEFAULT_ASYNC);
+    if (async && drainer == null) {
+      drainer = new DrainerThread();
+      drainer.start();
+    } else if (!async && drainer != null) {
+      stopDrainer();
+    }
+    LOG.info("Audit events are logged " + (async ? "asynchronously, queue capacity "
+        + queueCapacity + ", overflow policy " + overflowPolicy : "synchronously"));
   }
 
   public synchronized void destroy() {
-    loggers = null;
     LOG.trace("Begin audit logger manager destroy");
+    stopDrainer();
+    MetricsManager.getInstance().unregisterGauge(METRIC_QUEUE_DEPTH);
+    loggers = null;
+  }
+
+  /**
+   * Stop the drainer thread and flush all remaining events. Producers that
+   * reserved a slot but enqueue their event only after this flush log the
+   * queue themselves, see logAuditEvent.
+   */
+  private void stopDrainer() {
+    DrainerThread current = drainer;
+    if (current != null) {
+      current.running = false;
+      LockSupport.unpark(current);
+      try {
+        current.join();
+      } catch (InterruptedException e) {
+        LOG.warn("Interrupted while waiting for audit drainer thread", e);
+      }
+      drainer = null;
+    }
+
+    // Events enqueued while the drainer was finishing
+    flushQueue();
+  }
+
+  /**
+   * Hand over all events in the queue to the loggers on the calling thread.
+   */
+  private void flushQueue() {
+    List<AuditEvent> batch = new ArrayList<AuditEvent>();
+    while (drainBatch(batch) > 0) {
+      // Keep flushing
+    }
+  }
+
+  public void logAuditEvent(String username,
+      String ip, String operation, String objectType, String objectId) {
+    DrainerThread current = drainer;
+    if (current == null && logSynchronously(username, ip, operation, objectType, objectId)) {
+      return;
+    }
+
+    AuditEvent event = new AuditEvent(username, ip, operation, objectType, objectId);
+    int previousDepth;
+    switch (overflowPolicy) {
+      case SAMPLE:
+        if (depth.get() >= queueCapacity / 2 && sampleSequence.incrementAndGet() % sampleRate != 0) {
+          droppedEvents.increment();
+          return;
+        }
+        // Sampled event is dropped if the queue is full
+      case DROP:
+        previousDepth = reserve();
+        if (previousDepth < 0) {
+          droppedEvents.increment();
+          return;
+        }
+        break;
+      case BLOCK:
+      default:
+        while ((previousDepth = reserve()) < 0) {
+          if (drainer == null && logSynchronously(username, ip, operation, objectType, objectId)) {
+            // Switched to synchronous mode while waiting
+            return;
+          }
+          if (Thread.currentThread().isInterrupted()) {
+            droppedEvents.increment();
+            return;
+          }
+          LockSupport.parkNanos(this, BLOCK_WAIT_NANOS);
+        }
+        break;
+    }
+
+    queue.offer(event);
+    if (drainer == null) {
+      // Drainer was stopped after the slot was reserved and its final flush
+      // might have missed the event
+      synchronized (this) {
+        if (drainer == null) {
+          flushQueue();
+        }
+      }
+    } else if (previousDepth == 0) {
+      // Drainer might be waiting on an empty queue
+      LockSupport.unpark(current);
+    }
   }
 
-  public synchronized void logAuditEvent(String username,
+  /**
+   * Log the event on the calling thread if there is no drainer.
+   *
+   * Loggers aren't required to be thread safe, synchronous calls are
+   * serialized. The drainer is started and stopped under the same lock,
+   * so loggers are never called by both paths at once.
+   *
+   * @return False if the event has to be enqueued for the drainer instead
+   */
+  private synchronized boolean logSynchronously(String username,
       String ip, String operation, String objectType, String objectId) {
+    if (drainer != null) {
+      return false;
+    }
+    // Events of producers that raced with stopping of the drainer go first
+    flushQueue();
     for (AuditLogger logger : loggers) {
       logger.logAuditEvent(username, ip, operation, objectType, objectId);
     }
+    loggedEvents.increment();
+    return true;
+  }
+
+  /**
+   * Reserve one slot in the queue.
+   *
+   * @return Queue depth before the reservation or -1 if the queue is full
+   */
+  private int reserve() {
+    while (true) {
+      int current = depth.get();
+      if (current >= queueCapacity) {
+        return -1;
+      }
+      if (depth.compareAndSet(current, current + 1)) {
+        return current;
+      }
+    }
+  }
+
+  /**
+   * Hand over up to batch size events from the queue to all loggers.
+   *
+   * @param batch Reusable list for the events
+   * @return Number of drained events
+   */
+  private int drainBatch(List<AuditEvent> batch) {
+    batch.clear();
+    int limit = batchSize;
+    AuditEvent event;
+    while (batch.size() < limit && (event = queue.poll()) != null) {
+      batch.add(event);
+    }
+    if (batch.isEmpty()) {
+      return 0;
+    }
+    depth.addAndGet(-batch.size());
+
+    List<AuditLogger> currentLoggers = loggers;
+    if (currentLoggers != null) {
+      for (AuditLogger logger : currentLoggers) {
+        try {
+          logger.logAuditEvents(batch);
+        } catch (RuntimeException ex) {
+          LOG.error("Audit logger " + logger.getLoggerName() + " failed to log "
+              + batch.size() + " events", ex);
+        }
+      }
+    }
+    loggedEvents.add(batch.size());
+    return batch.size();
   }
 
   @Override
   public synchronized void configurationChanged() {
     LOG.info("Begin audit logger manager reconfiguring");
     initializeLoggers();
+    initializePipeline();
     LOG.info("Audit logger manager reconfigured");
   }
 
+  private class DrainerThread extends Thread {
+    private volatile boolean running = true;
+
+    public DrainerThread() {
+      super("AuditDrainerThread");
+      setDaemon(true);
+    }
+
+    public void run() {
+      LOG.info("Starting audit drainer thread");
+      List<AuditEvent> batch = new ArrayList<AuditEvent>();
+
+      while (running) {
+        if (drainBatch(batch) == 0) {
+          LockSupport.parkNanos(this, DRAIN_WAIT_NANOS);
+        }
+      }
+
+      // Flush whatever is left
+      while (drainBatch(batch) > 0) {
+        // Keep flushing
+      }
+      LOG.info("Ending audit drainer thread");
+    }
+  }
 }
@@ -17,6 +17,7 @@
  */
 package org.apache.sqoop.audit;
 
+import java.util.List;
 import java.util.Map;
 
 import org.apache.log4j.Logger;
@@ -52,12 +53,30 @@ public void initialize() {
   }
 
   public void logAuditEvent(String username, String ip, String operation, String objectType, String objectId) {
+    logger.info(format(new StringBuilder(), username, ip, operation, objectType, objectId));
+  }
+
+  @Override
+  void logAuditEvents(List<AuditEvent> events) {
+    if (!logger.isInfoEnabled()) {
+      return;
+    }
+    // Reuse one buffer for the whole batch
     StringBuilder sentence = new StringBuilder();
+    for (AuditEvent event : events) {
+      sentence.setLength(0);
+      logger.info(format(sentence, event.getUsername(), event.getIp(), event.getOperation(),
+          event.getObjectType(), event.getObjectId()));
+    }
+  }
+
+  private static String format(StringBuilder sentence, String username, String ip, String operation,
+      String objectType, String objectId) {
     sentence.append("user=").append(username).append("\t");
     sentence.append("ip=").append(ip).append("\t");
     sentence.append("op=").append(operation).append("\t");
     sentence.append("obj=").append(objectType).append("\t");
     sentence.append("objId=").append(objectId);
-    logger.info(sentence.toString());
+    return sentence.toString();
   }
 }
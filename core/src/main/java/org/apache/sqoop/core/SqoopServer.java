@@ -22,6 +22,7 @@
 import org.apache.sqoop.connector.ConnectorManager;
 import org.apache.sqoop.driver.Driver;
 import org.apache.sqoop.driver.JobManager;
+import org.apache.sqoop.metrics.MetricsManager;
 import org.apache.sqoop.repository.RepositoryManager;
 import org.apache.sqoop.security.AuthenticationManager;
 import org.apache.sqoop.security.AuthorizationManager;
@@ -43,6 +44,7 @@ public static void destroy() {
     AuditLoggerManager.getInstance().destroy();
     AuthorizationManager.getInstance().destroy();
     AuthenticationManager.getInstance().destroy();
+    MetricsManager.getInstance().destroy();
     SqoopConfiguration.getInstance().destroy();
     ClassUtils.clearCache();
     LOG.info("Sqoop server has been correctly terminated");
@@ -52,6 +54,7 @@ public static void initialize() {
     try {
       LOG.info("Initializing Sqoop server.");
       SqoopConfiguration.getInstance().initialize();
+      MetricsManager.getInstance().initialize();
       AuthenticationManager.getInstance().initialize();
       AuthorizationManager.getInstance().initialize();
       AuditLoggerManager.getInstance().initialize();
@@ -53,6 +53,18 @@ public final class DriverConstants {
   public static final String SYSCFG_SUBMISSION_UPDATE_SLEEP =
     PREFIX_SUBMISSION_UPDATE_CONFIG + "sleep";
 
+  public static final String PREFIX_SUBMISSION_STATUS_WAIT_CONFIG =
+    PREFIX_SUBMISSION_CONFIG + "status.wait.";
+
+  public static final String SYSCFG_SUBMISSION_STATUS_WAIT_MAX =
+    PREFIX_SUBMISSION_STATUS_WAIT_CONFIG + "max";
+
+  public static final String SYSCFG_SUBMISSION_STATUS_WAIT_INTERVAL =
+    PREFIX_SUBMISSION_STATUS_WAIT_CONFIG + "interval";
+
+  public static final String SYSCFG_SUBMISSION_STATUS_WAIT_WATCHERS =
+    PREFIX_SUBMISSION_STATUS_WAIT_CONFIG + "watchers";
+
   public static final String SYSCFG_EXECUTION_ENGINE =
     PREFIX_EXECUTION_CONFIG + "engine";
 
@@ -18,10 +18,14 @@
 package org.apache.sqoop.driver;
 
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
 
 import org.apache.log4j.Logger;
 import org.apache.sqoop.common.Direction;
@@ -41,6 +45,9 @@
 import org.apache.sqoop.job.etl.Initializer;
 import org.apache.sqoop.job.etl.InitializerContext;
 import org.apache.sqoop.job.etl.Transferable;
+import org.apache.sqoop.metrics.Counter;
+import org.apache.sqoop.metrics.Histogram;
+import org.apache.sqoop.metrics.MetricsManager;
 import org.apache.sqoop.model.ConfigUtils;
 import org.apache.sqoop.model.MConfig;
 import org.apache.sqoop.model.MConfigList;
@@ -53,6 +60,7 @@
 import org.apache.sqoop.request.HttpEventContext;
 import org.apache.sqoop.schema.Schema;
 import org.apache.sqoop.submission.SubmissionStatus;
+import org.apache.sqoop.submission.SubmissionUtils;
 import org.apache.sqoop.utils.ClassUtils;
 import org.apache.sqoop.utils.UrlSafeUtils;
 
@@ -119,6 +127,21 @@ public static void setInstance(JobManager newInstance) {
    */
   private static final long DEFAULT_UPDATE_SLEEP = 60 * 5 * 1000;
 
+  /**
+   * Default maximal time for which a status watch request is held.
+   */
+  private static final long DEFAULT_STATUS_WAIT_MAX = 60 * 1000;
+
+  /**
+   * Default interval for refreshing watched submissions.
+   */
+  private static final long DEFAULT_STATUS_WAIT_INTERVAL = 5 * 1000;
+
+  /**
+   * Default maximal number of status watch requests held at the same time.
+   */
+  private static final int DEFAULT_STATUS_WAIT_WATCHERS = 100;
+
   /**
    * Configured submission engine instance
    */
@@ -149,6 +172,25 @@ public static void setInstance(JobManager newInstance) {
    */
   private Object updateThreadLock = new Object();
 
+  /**
+   * Lock that status watchers are waiting on for submission changes.
+   */
+  private final Object statusChangeLock = new Object();
+
+  /**
+   * Incremented on every submission change, guarded by statusChangeLock.
+   */
+  private long statusChangeVersion;
+
+  /**
+   * Submissions recently fetched by status watchers, keyed by job name.
+   *
+   * Shared among all watchers so that each job is refreshed from the
+   * submission engine at most once per statusWaitInterval.
+   */
+  private final Map<String, WatchedSubmission> watchedSubmissions =
+    new ConcurrentHashMap<String, WatchedSubmission>();
+
   /**
    * Synchronization variable between threads.
    */
@@ -169,6 +211,23 @@ public static void setInstance(JobManager newInstance) {
    */
   private long updateSleep;
 
+  /**
+   * Maximal number of milliseconds for which a status watch request is held.
+   */
+  private long statusWaitMax;
+
+  /**
+   * Number of milliseconds after which watched submissions are refreshed.
+   */
+  private long statusWaitInterval;
+
+  /**
+   * Permits for status watch requests that are held. Every held request
+   * occupies a server worker thread, so the rest of the requests have to be
+   * answered right away.
+   */
+  private Semaphore statusWatchers = new Semaphore(DEFAULT_STATUS_WAIT_WATCHERS);
+
   /**
    * Base notification URL.
    *
@@ -299,6 +358,19 @@ public synchronized void initialize() {
     updateThread = new UpdateThread();
     updateThread.start();
 
+    statusWaitMax = context.getLong(
+      DriverConstants.SYSCFG_SUBMISSION_STATUS_WAIT_MAX,
+      DEFAULT_STATUS_WAIT_MAX
+      );
+    statusWaitInterval = context.getLong(
+      DriverConstants.SYSCFG_SUBMISSION_STATUS_WAIT_INTERVAL,
+      DEFAULT_STATUS_WAIT_INTERVAL
+      );
+    statusWatchers = new Semaphore(context.getInt(
+      DriverConstants.SYSCFG_SUBMISSION_STATUS_WAIT_WATCHERS,
+      DEFAULT_STATUS_WAIT_WATCHERS
+      ));
+
     SqoopConfiguration.getInstance().getProvider()
       .registerListener(new CoreConfigurationListener(this));
 
@@ -336,6 +408,8 @@ public MSubmission start(String jobName, HttpEventContext ctx) {
       RepositoryManager.getInstance().getRepository().createSubmission(mSubmission);
 
     }
+    watchedSubmissions.remove(jobName);
+    notifyStatusChange();
     return mSubmission;
   }
 
@@ -682,6 +756,7 @@ public MSubmission stop(String jobName, HttpEventContext ctx) {
           + " is not running hence cannot stop");
     }
     submissionEngine.stop(mSubmission.getExternalJobId());
+    watchedSubmissions.remove(jobName);
 
     mSubmission.setLastUpdateUser(ctx.getUsername());
 
@@ -707,6 +782,138 @@ public MSubmission status(String jobName) {
     return mSubmission;
   }
 
+  /**
+   * Return status of the last submission of every given job.
+   *
+   * Jobs that were never executed are represented by a submission in
+   * NEVER_EXECUTED state, the order of given job names is preserved.
+   *
+   * @param jobNames Job names
+   * @return Submissions in the same order as given job names
+   */
+  public List<MSubmission> status(List<String> jobNames) {
+    List<MSubmission> submissions = new ArrayList<MSubmission>(jobNames.size());
+    for (String jobName : jobNames) {
+      submissions.add(fetchStatus(jobName));
+    }
+    return submissions;
+  }
+
+  /**
+   * Block until status or progress of any of given jobs differs from the state
+   * described by given token or until the timeout expires.
+   *
+   * Watched submissions are refreshed from the submission engine at most once
+   * per configured interval regardless of number of concurrent watchers. The
+   * timeout is capped by the configured maximal wait time. When the configured
+   * number of requests is already waiting, current status is returned
+   * immediately and the caller simply asks again.
+   *
+   * @param jobNames Job names to watch
+   * @param stateToken Token computed by SubmissionUtils from the last state
+   *                   observed by the caller, null to return immediately
+   * @param timeout Maximal number of milliseconds to wait
+   * @return Submissions in the same order as given job names
+   * @throws InterruptedException
+   */
+  public List<MSubmission> waitForStatusChange(List<String> jobNames, String stateToken, long timeout)
+      throws InterruptedException {
+    long deadline = System.currentTimeMillis() + Math.min(Math.max(timeout, 0), statusWaitMax);
+    long version;
+    synchronized (statusChangeLock) {
+      version = statusChangeVersion;
+    }
+    List<MSubmission> submissions = watchStatus(jobNames);
+    if (stateToken == null || !stateToken.equals(SubmissionUtils.getStateToken(submissions))) {
+      return submissions;
+    }
+
+    // Permit is released to the semaphore it came from, reconfiguration
+    // may replace it meanwhile
+    Semaphore watchers = statusWatchers;
+    if (!watchers.tryAcquire()) {
+      LOG.debug("Too many status watchers, returning status immediately");
+      return submissions;
+    }
+    try {
+      while (stateToken.equals(SubmissionUtils.getStateToken(submissions))) {
+        long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0) {
+          break;
+        }
+        synchronized (statusChangeLock) {
+          if (version == statusChangeVersion) {
+            statusChangeLock.wait(Math.min(remaining, statusWaitInterval));
+          }
+          version = statusChangeVersion;
+        }
+        submissions = watchStatus(jobNames);
+      }
+    } finally {
+      watchers.release();
+    }
+
+    return submissions;
+  }
+
+  /**
+   * Status of given jobs served from the watched submissions whenever they
+   * were refreshed recently enough.
+   */
+  private List<MSubmission> watchStatus(List<String> jobNames) {
+    long now = System.currentTimeMillis();
+    List<MSubmission> submissions = new ArrayList<MSubmission>(jobNames.size());
+    for (String jobName : jobNames) {
+      WatchedSubmission watched = watchedSubmissions.get(jobName);
+      if (watched == null || now - watched.refreshed >= statusWaitInterval) {
+        watched = new WatchedSubmission(fetchStatus(jobName), now);
+        watchedSubmissions.put(jobName, watched);
+      }
+      submissions.add(watched.submission);
+    }
+    return submissions;
+  }
+
+  private MSubmission fetchStatus(String jobName) {
+    MSubmission submission = status(jobName);
+    if (submission == null) {
+      MJob job = RepositoryManager.getInstance().getRepository().findJob(jobName);
+      if (job == null) {
+        throw new SqoopException(DriverError.DRIVER_0004, "Unknown job name: " + jobName);
+      }
+      submission = new MSubmission(job.getPersistenceId(), new Date(), SubmissionStatus.NEVER_EXECUTED);
+    }
+    return submission;
+  }
+
+  private void notifyStatusChange() {
+    synchronized (statusChangeLock) {
+      statusChangeVersion++;
+      statusChangeLock.notifyAll();
+    }
+  }
+
+  // Test hooks, initialize() sets these from the configuration
+
+  void setSubmissionEngine(SubmissionEngine submissionEngine) {
+    this.submissionEngine = submissionEngine;
+  }
+
+  void setStatusWait(long statusWaitMax, long statusWaitInterval) {
+    this.statusWaitMax = statusWaitMax;
+    this.statusWaitInterval = statusWaitInterval;
+  }
+
+  void setStatusWatchers(int statusWatchers) {
+    this.statusWatchers = new Semaphore(statusWatchers);
+  }
+
+  long getStatusChangeVersion() {
+    synchronized (statusChangeLock) {
+      return statusChangeVersion;
+    }
+  }
+
   /**
    * Get latest status of the submission from execution engine and
    * persist that in the repository.
@@ -717,6 +924,8 @@ private void updateSubmission(MSubmission submission) {
     // We're expecting that this method will be called only if we think that the submission is still running
     assert submission.getStatus().isRunning();
 
+    SubmissionStatus previousStatus = submission.getStatus();
+    double previousProgress = submission.getProgress();
     submissionEngine.update(submission);
 
     if (!submission.getStatus().isRunning() && !submission.getStatus().isFailure()) {
@@ -724,6 +933,12 @@ private void updateSubmission(MSubmission submission) {
     }
 
     RepositoryManager.getInstance().getRepository().updateSubmission(submission);
+
+    // Periodic updates mostly find nothing new, watchers are woken up only on a change
+    if (submission.getStatus() != previousStatus
+        || Double.compare(submission.getProgress(), previousProgress) != 0) {
+      notifyStatusChange();
+    }
   }
 
   @Override
@@ -781,10 +996,35 @@ public synchronized void configurationChanged() {
       );
     updateThread.interrupt();
 
+    statusWaitMax = newContext.getLong(
+      DriverConstants.SYSCFG_SUBMISSION_STATUS_WAIT_MAX,
+      DEFAULT_STATUS_WAIT_MAX
+      );
+    statusWaitInterval = newContext.getLong(
+      DriverConstants.SYSCFG_SUBMISSION_STATUS_WAIT_INTERVAL,
+      DEFAULT_STATUS_WAIT_INTERVAL
+      );
+    statusWatchers = new Semaphore(newContext.getInt(
+      DriverConstants.SYSCFG_SUBMISSION_STATUS_WAIT_WATCHERS,
+      DEFAULT_STATUS_WAIT_WATCHERS
+      ));
+
     LOG.info("Submission engine manager reconfigured.");
   }
 
+  private static class WatchedSubmission {
+    final MSubmission submission;
+    final long refreshed;
+
+    WatchedSubmission(MSubmission submission, long refreshed) {
+      this.submission = submission;
+      this.refreshed = refreshed;
+    }
+  }
+
   private class PurgeThread extends Thread {
+    private final Histogram purgeLatency = MetricsManager.getInstance().histogram("jobmanager.purge.latency_us");
+
     public PurgeThread() {
       super("PurgeThread");
     }
@@ -797,8 +1037,10 @@ public void run() {
           LOG.info("Purging old submissions");
           Date threshold = new Date((new Date()).getTime() - purgeThreshold);
           synchronized(purgeThreadLock) {
+            long start = System.nanoTime();
             RepositoryManager.getInstance().getRepository()
               .purgeSubmissions(threshold);
+            purgeLatency.updateSince(start);
           }
           Thread.sleep(purgeSleep);
         } catch (InterruptedException e) {
@@ -813,6 +1055,9 @@ public void run() {
   }
 
   private class UpdateThread extends Thread {
+    private final Histogram updateLatency = MetricsManager.getInstance().histogram("jobmanager.update.latency_us");
+    private final Counter updatedSubmissions = MetricsManager.getInstance().counter("jobmanager.update.submissions");
+
     public UpdateThread() {
       super("UpdateThread");
     }
@@ -825,6 +1070,7 @@ public void run() {
           LOG.debug("Updating running submissions");
 
           synchronized(updateThreadLock) {
+            long start = System.nanoTime();
             // Let's get all running submissions from repository to check them out
             List<MSubmission> unfinishedSubmissions =
               RepositoryManager.getInstance().getRepository()
@@ -833,6 +1079,8 @@ public void run() {
             for (MSubmission submission : unfinishedSubmissions) {
               updateSubmission(submission);
             }
+            updateLatency.updateSince(start);
+            updatedSubmissions.add(unfinishedSubmissions.size());
           }
           Thread.sleep(updateSleep);
         } catch (InterruptedException e) {
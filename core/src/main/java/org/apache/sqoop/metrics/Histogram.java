@@ -0,0 +1,115 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock free histogram of non negative values.
+ *
+ * Values are counted in power of two buckets, so recording a value is a couple
+ * of atomic increments and reported percentiles are upper bounds with at most
+ * 2x error. That is precise enough for latencies and cheap enough to be left
+ * enabled on every request.
+ */
+public class Histogram {
+
+  private static final int BUCKETS = 64;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+  private final AtomicLong count = new AtomicLong();
+  private final AtomicLong sum = new AtomicLong();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Record a value, negative values are recorded as zero.
+   *
+   * @param value Value to record
+   */
+  public void update(long value) {
+    if (value < 0) {
+      value = 0;
+    }
+    // Bucket i holds values from [2^(i-1), 2^i), bucket 0 holds zero
+    buckets.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(value)));
+    count.incrementAndGet();
+    sum.addAndGet(value);
+
+    long current = max.get();
+    while (value > current && !max.compareAndSet(current, value)) {
+      current = max.get();
+    }
+  }
+
+  /**
+   * Record number of microseconds elapsed since given point in time.
+   *
+   * @param startNanos Value of System.nanoTime() at the start of the measured operation
+   */
+  public void updateSince(long startNanos) {
+    update(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+  }
+
+  public long getCount() {
+    return count.get();
+  }
+
+  public long getSum() {
+    return sum.get();
+  }
+
+  public long getMax() {
+    return max.get();
+  }
+
+  public long getMean() {
+    long n = count.get();
+    return n == 0 ? 0 : sum.get() / n;
+  }
+
+  /**
+   * Estimate given percentile.
+   *
+   * @param quantile Requested quantile between 0 and 1
+   * @return Upper bound of the bucket containing the quantile
+   */
+  public long getPercentile(double quantile) {
+    long[] snapshot = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = buckets.get(i);
+      total += snapshot[i];
+    }
+    if (total == 0) {
+      return 0;
+    }
+
+    long rank = (long) Math.ceil(quantile * total);
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += snapshot[i];
+      if (seen >= rank && snapshot[i] > 0) {
+        long upperBound = i == 0 ? 0 : (1L << i) - 1;
+        return Math.min(upperBound, max.get());
+      }
+    }
+    return max.get();
+  }
+}
@@ -0,0 +1,46 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.metrics;
+
+import org.apache.sqoop.core.ConfigurationConstants;
+
+public class MetricsConstants {
+
+  /**
+   * All metrics related configuration is prefixed with this:
+   * <tt>org.apache.sqoop.metrics.</tt>
+   */
+  public static final String PREFIX_METRICS_CONFIG =
+      ConfigurationConstants.PREFIX_GLOBAL_CONFIG + "metrics.";
+
+  /**
+   * Whether metrics should be exposed over JMX:
+   * <tt>org.apache.sqoop.metrics.jmx.enabled</tt>
+   */
+  public static final String SYSCFG_JMX_ENABLED =
+      PREFIX_METRICS_CONFIG + "jmx.enabled";
+
+  /**
+   * Name under which the metrics are registered in the platform MBean server.
+   */
+  public static final String JMX_OBJECT_NAME = "org.apache.sqoop:type=Metrics";
+
+  private MetricsConstants() {
+    // Instantiation is prohibited
+  }
+}
@@ -0,0 +1,224 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.log4j.Logger;
+import org.apache.sqoop.common.MapContext;
+import org.apache.sqoop.core.SqoopConfiguration;
+
+/**
+ * Registry of all server side metrics.
+ *
+ * Metrics are created lazily by name and live for the whole life of the JVM,
+ * so components are free to look them up once and keep the reference in a
+ * field. Reading metrics takes a snapshot that is exposed over REST and
+ * optionally over JMX.
+ *
+ * Histograms are flattened into several values suffixed with .count, .mean,
+ * .max, .p50, .p95 and .p99.
+ */
+public class MetricsManager {
+
+  /**
+   * Logger object for this class
+   */
+  private static final Logger LOG = Logger.getLogger(MetricsManager.class);
+
+  /**
+   * Default value of the JMX switch
+   */
+  private static final boolean DEFAULT_JMX_ENABLED = true;
+
+  /**
+   * Private instance to singleton of this class
+   */
+  private static MetricsManager instance;
+
+  /**
+   * Create default object
+   */
+  static {
+    instance = new MetricsManager();
+  }
+
+  /**
+   * Return current instance
+   *
+   * @return Current instance
+   */
+  public static MetricsManager getInstance() {
+    return instance;
+  }
+
+  /**
+   * Allows to set instance in case that it's needed.
+   *
+   * This method is kept for testing purpose only.
+   *
+   * @param newInstance New instance
+   */
+  public static void setInstance(MetricsManager newInstance) {
+    instance = newInstance;
+  }
+
+  private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<String, Counter>();
+  private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<String, Histogram>();
+  private final ConcurrentMap<String, Gauge> gauges = new ConcurrentHashMap<String, Gauge>();
+
+  /**
+   * Name of the registered MBean or null if metrics are not exposed over JMX
+   */
+  private ObjectName mbeanName;
+
+  public synchronized void initialize() {
+    LOG.trace("Begin metrics manager initialization");
+    MapContext context = SqoopConfiguration.getInstance().getContext();
+
+    if (context.getBoolean(MetricsConstants.SYSCFG_JMX_ENABLED, DEFAULT_JMX_ENABLED)) {
+      registerMBean();
+    }
+
+    LOG.info("Metrics manager initialized: OK");
+  }
+
+  public synchronized void destroy() {
+    LOG.trace("Begin metrics manager destroy");
+    unregisterMBean();
+    gauges.clear();
+  }
+
+  /**
+   * Return counter of given name, creating it if needed.
+   *
+   * @param name Metric name
+   * @return Counter
+   */
+  public Counter counter(String name) {
+    Counter counter = counters.get(name);
+    if (counter == null) {
+      counters.putIfAbsent(name, new Counter());
+      counter = counters.get(name);
+    }
+    return counter;
+  }
+
+  /**
+   * Return histogram of given name, creating it if needed.
+   *
+   * @param name Metric name
+   * @return Histogram
+   */
+  public Histogram histogram(String name) {
+    Histogram histogram = histograms.get(name);
+    if (histogram == null) {
+      histograms.putIfAbsent(name, new Histogram());
+      histogram = histograms.get(name);
+    }
+    return histogram;
+  }
+
+  /**
+   * Register gauge under given name, replacing previous gauge if any.
+   *
+   * @param name Metric name
+   * @param gauge Gauge
+   */
+  public void registerGauge(String name, Gauge gauge) {
+    gauges.put(name, gauge);
+  }
+
+  /**
+   * Remove gauge of given name.
+   *
+   * @param name Metric name
+   */
+  public void unregisterGauge(String name) {
+    gauges.remove(name);
+  }
+
+  /**
+   * Take snapshot of all metrics.
+   *
+   * @return Values of all metrics sorted by name
+   */
+  public SortedMap<String, Long> getSnapshot() {
+    SortedMap<String, Long> snapshot = new TreeMap<String, Long>();
+    for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+      snapshot.put(entry.getKey(), entry.getValue().getCount());
+    }
+    for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+      String name = entry.getKey();
+      Histogram histogram = entry.getValue();
+      snapshot.put(name + ".count", histogram.getCount());
+      snapshot.put(name + ".mean", histogram.getMean());
+      snapshot.put(name + ".max", histogram.getMax());
+      snapshot.put(name + ".p50", histogram.getPercentile(0.50));
+      snapshot.put(name + ".p95", histogram.getPercentile(0.95));
+      snapshot.put(name + ".p99", histogram.getPercentile(0.99));
+    }
+    for (Map.Entry<String, Gauge> entry : gauges.entrySet()) {
+      try {
+        snapshot.put(entry.getKey(), entry.getValue().getValue());
+      } catch (RuntimeException ex) {
+        // Gauge of a component that is being shut down, skip it
+        LOG.debug("Can't read gauge " + entry.getKey(), ex);
+      }
+    }
+    return snapshot;
+  }
+
+  private void registerMBean() {
+    if (mbeanName != null) {
+      return;
+    }
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name = new ObjectName(MetricsConstants.JMX_OBJECT_NAME);
+      if (server.isRegistered(name)) {
+        server.unregisterMBean(name);
+      }
+      server.registerMBean(new MetricsDynamicMBean(this), name);
+      mbeanName = name;
+    } catch (Exception ex) {
+      // Metrics are not essential for the server, don't fail the start
+      LOG.warn("Can't register metrics MBean", ex);
+    }
+  }
+
+  private void unregisterMBean() {
+    if (mbeanName == null) {
+      return;
+    }
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(mbeanName);
+    } catch (Exception ex) {
+      LOG.warn("Can't unregister metrics MBean", ex);
+    }
+    mbeanName = null;
+  }
+}
@@ -23,6 +23,9 @@
 
 import org.apache.log4j.Logger;
 import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.metrics.Counter;
+import org.apache.sqoop.metrics.Histogram;
+import org.apache.sqoop.metrics.MetricsManager;
 import org.apache.sqoop.model.MConnector;
 import org.apache.sqoop.model.MDriver;
 import org.apache.sqoop.model.MJob;
@@ -36,6 +39,9 @@ public class JdbcRepository extends Repository {
   private final JdbcRepositoryHandler handler;
   private final JdbcRepositoryContext repoContext;
 
+  private final Histogram callLatency = MetricsManager.getInstance().histogram("repository.call.latency_us");
+  private final Counter callFailures = MetricsManager.getInstance().counter("repository.call.failures");
+
   protected JdbcRepository(JdbcRepositoryHandler handler,
       JdbcRepositoryContext repoContext) {
     this.handler = handler;
@@ -75,6 +81,7 @@ private Object doWithConnection(DoWithConnection delegator) {
   private Object doWithConnection(DoWithConnection delegator,
     JdbcRepositoryTransaction tx) {
     boolean shouldCloseTxn = false;
+    long start = System.nanoTime();
 
     try {
       // Get transaction and link
@@ -98,8 +105,10 @@ private Object doWithConnection(DoWithConnection delegator,
       return returnValue;
 
     } catch (SqoopException ex) {
+      callFailures.increment();
       throw  ex;
     } catch (Exception ex) {
+      callFailures.increment();
       if (tx != null && shouldCloseTxn) {
         tx.rollback();
       }
@@ -108,6 +117,7 @@ private Object doWithConnection(DoWithConnection delegator,
       if (tx != null && shouldCloseTxn) {
         tx.close();
       }
+      callLatency.updateSince(start);
     }
   }
 
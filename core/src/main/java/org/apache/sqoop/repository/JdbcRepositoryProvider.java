@@ -35,6 +35,8 @@
 import org.apache.sqoop.common.SqoopException;
 import org.apache.sqoop.common.MapContext;
 import org.apache.sqoop.core.SqoopConfiguration;
+import org.apache.sqoop.metrics.Gauge;
+import org.apache.sqoop.metrics.MetricsManager;
 import org.apache.sqoop.utils.ClassUtils;
 
 @edu.umd.cs.findbugs.annotations.SuppressWarnings("IS2_INCONSISTENT_SYNC")
@@ -42,6 +44,10 @@ public class JdbcRepositoryProvider implements RepositoryProvider {
 
   private static final Logger LOG = Logger.getLogger(JdbcRepositoryProvider.class);
 
+  private static final String METRIC_POOL_ACTIVE = "repository.pool.active";
+  private static final String METRIC_POOL_IDLE = "repository.pool.idle";
+  private static final String METRIC_POOL_MAX = "repository.pool.max";
+
   private JdbcRepositoryContext repoContext;
 
   private Driver driver;
@@ -69,6 +75,10 @@ public synchronized void initialize(MapContext context) {
 
   @Override
   public synchronized void destroy() {
+    MetricsManager.getInstance().unregisterGauge(METRIC_POOL_ACTIVE);
+    MetricsManager.getInstance().unregisterGauge(METRIC_POOL_IDLE);
+    MetricsManager.getInstance().unregisterGauge(METRIC_POOL_MAX);
+
     try {
       connectionPool.close();
     } catch (Exception ex) {
@@ -149,6 +159,7 @@ private void initializeRepositoryHandler() {
         repoContext.getTransactionIsolation().getCode());
 
     dataSource = new PoolingDataSource(connectionPool);
+    registerPoolGauges();
     txFactory = new JdbcRepositoryTransactionFactory(dataSource);
 
     repoContext.initialize(dataSource, txFactory);
@@ -160,6 +171,28 @@ private void initializeRepositoryHandler() {
     LOG.info("JdbcRepositoryProvider initialized");
   }
 
+  private void registerPoolGauges() {
+    final GenericObjectPool pool = connectionPool;
+    MetricsManager.getInstance().registerGauge(METRIC_POOL_ACTIVE, new Gauge() {
+      @Override
+      public long getValue() {
+        return pool.getNumActive();
+      }
+    });
+    MetricsManager.getInstance().registerGauge(METRIC_POOL_IDLE, new Gauge() {
+      @Override
+      public long getValue() {
+        return pool.getNumIdle();
+      }
+    });
+    MetricsManager.getInstance().registerGauge(METRIC_POOL_MAX, new Gauge() {
+      @Override
+      public long getValue() {
+        return pool.getMaxActive();
+      }
+    });
+  }
+
   @Override
   public synchronized Repository getRepository() {
     return repository;
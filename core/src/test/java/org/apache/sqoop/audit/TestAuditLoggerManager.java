@@ -0,0 +1,200 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.audit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.sqoop.core.ConfigurationConstants;
+import org.apache.sqoop.core.PropertiesConfigurationProvider;
+import org.apache.sqoop.core.SqoopConfiguration;
+import org.apache.sqoop.core.TestUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class TestAuditLoggerManager {
+
+  /**
+   * Audit logger remembering all batches it was given
+   */
+  public static class RecordingAuditLogger extends AuditLogger {
+    static final List<AuditEvent> EVENTS = new CopyOnWriteArrayList<AuditEvent>();
+    static final List<Integer> BATCHES = new CopyOnWriteArrayList<Integer>();
+    static final AtomicInteger ACTIVE = new AtomicInteger();
+    static final AtomicInteger MAX_ACTIVE = new AtomicInteger();
+
+    @Override
+    void initialize() {
+    }
+
+    @Override
+    void logAuditEvent(String username, String ip, String operation, String objectType, String objectId) {
+      int active = ACTIVE.incrementAndGet();
+      if (active > MAX_ACTIVE.get()) {
+        MAX_ACTIVE.set(active);
+      }
+      Thread.yield();
+      EVENTS.add(new AuditEvent(username, ip, operation, objectType, objectId));
+      ACTIVE.decrementAndGet();
+    }
+
+    @Override
+    void logAuditEvents(List<AuditEvent> events) {
+      BATCHES.add(events.size());
+      super.logAuditEvents(events);
+    }
+  }
+
+  @BeforeMethod(alwaysRun = true)
+  public void setUp() {
+    RecordingAuditLogger.EVENTS.clear();
+    RecordingAuditLogger.BATCHES.clear();
+    RecordingAuditLogger.MAX_ACTIVE.set(0);
+  }
+
+  @AfterMethod(alwaysRun = true)
+  public void tearDown() {
+    AuditLoggerManager.getInstance().destroy();
+    SqoopConfiguration.getInstance().destroy();
+  }
+
+  @Test
+  public void testAsyncFlushOnDestroy() throws Exception {
+    initialize("true", "BLOCK");
+
+    for (int i = 0; i < 1000; i++) {
+      AuditLoggerManager.getInstance().logAuditEvent("user", "ip", "op", "job", String.valueOf(i));
+    }
+    AuditLoggerManager.getInstance().destroy();
+
+    assertEquals(RecordingAuditLogger.EVENTS.size(), 1000);
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(RecordingAuditLogger.EVENTS.get(i).getObjectId(), String.valueOf(i));
+    }
+    for (int batch : RecordingAuditLogger.BATCHES) {
+      assertTrue(batch <= 16);
+    }
+  }
+
+  @Test
+  public void testSynchronous() throws Exception {
+    initialize("false", "DROP");
+
+    AuditLoggerManager.getInstance().logAuditEvent("user", "ip", "op", "job", "1");
+
+    assertEquals(RecordingAuditLogger.EVENTS.size(), 1);
+    assertEquals(RecordingAuditLogger.BATCHES.size(), 0);
+  }
+
+  @Test
+  public void testSynchronousCallsAreSerialized() throws Exception {
+    initialize("false", "DROP");
+
+    Thread[] threads = new Thread[4];
+    for (int t = 0; t < threads.length; t++) {
+      threads[t] = new Thread() {
+        @Override
+        public void run() {
+          for (int i = 0; i < 250; i++) {
+            AuditLoggerManager.getInstance().logAuditEvent("user", "ip", "op", "job", String.valueOf(i));
+          }
+        }
+      };
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertEquals(RecordingAuditLogger.EVENTS.size(), 1000);
+    assertEquals(RecordingAuditLogger.MAX_ACTIVE.get(), 1);
+  }
+
+  @Test
+  public void testSwitchToSynchronousUnderLoad() throws Exception {
+    initialize("true", "BLOCK");
+
+    final int eventsPerThread = 5000;
+    final CountDownLatch started = new CountDownLatch(4);
+    Thread[] threads = new Thread[4];
+    for (int t = 0; t < threads.length; t++) {
+      final int thread = t;
+      threads[t] = new Thread() {
+        @Override
+        public void run() {
+          started.countDown();
+          for (int i = 0; i < eventsPerThread; i++) {
+            AuditLoggerManager.getInstance().logAuditEvent("user", "ip", "op", "job", thread + "-" + i);
+          }
+        }
+      };
+      threads[t].start();
+    }
+
+    // Producers are blocked on the small queue while the drainer is stopped
+    started.await();
+    while (RecordingAuditLogger.EVENTS.isEmpty()) {
+      Thread.sleep(1);
+    }
+    SqoopConfiguration.getInstance().destroy();
+    setUpConfiguration("false", "BLOCK");
+    SqoopConfiguration.getInstance().initialize();
+    AuditLoggerManager.getInstance().configurationChanged();
+
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertEquals(RecordingAuditLogger.EVENTS.size(), threads.length * eventsPerThread);
+    Set<String> ids = new HashSet<String>();
+    for (AuditEvent event : RecordingAuditLogger.EVENTS) {
+      ids.add(event.getObjectId());
+    }
+    assertEquals(ids.size(), threads.length * eventsPerThread);
+  }
+
+  private void initialize(String async, String policy) throws Exception {
+    setUpConfiguration(async, policy);
+    SqoopConfiguration.getInstance().initialize();
+    AuditLoggerManager.getInstance().initialize();
+  }
+
+  private void setUpConfiguration(String async, String policy) throws Exception {
+    System.getProperties().remove(ConfigurationConstants.SYSPROP_CONFIG_DIR);
+    Properties bootProps = new Properties();
+    bootProps.setProperty(ConfigurationConstants.BOOTCFG_CONFIG_PROVIDER,
+        PropertiesConfigurationProvider.class.getCanonicalName());
+    Properties configProps = new Properties();
+    configProps.setProperty(AuditLoggerConstants.PREFIX_AUDITLOGGER_CONFIG + "test"
+        + AuditLoggerConstants.SUFFIX_AUDITLOGGER_CLASS, RecordingAuditLogger.class.getName());
+    configProps.setProperty(AuditLoggerConstants.SYSCFG_AUDIT_ASYNC, async);
+    configProps.setProperty(AuditLoggerConstants.SYSCFG_AUDIT_OVERFLOW_POLICY, policy);
+    configProps.setProperty(AuditLoggerConstants.SYSCFG_AUDIT_QUEUE_CAPACITY, "64");
+    configProps.setProperty(AuditLoggerConstants.SYSCFG_AUDIT_BATCH_SIZE, "16");
+    TestUtils.setupTestConfigurationUsingProperties(bootProps, configProps);
+  }
+}
@@ -19,10 +19,15 @@
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -43,6 +48,10 @@
 import org.apache.sqoop.repository.Repository;
 import org.apache.sqoop.repository.RepositoryManager;
 import org.apache.sqoop.request.HttpEventContext;
+import org.apache.sqoop.submission.SubmissionStatus;
+import org.apache.sqoop.submission.SubmissionUtils;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -187,6 +196,145 @@ public void testUnknownJob() {
     }
   }
 
+  @Test
+  public void testWaitForStatusChangeWithoutToken() throws Exception {
+    MSubmission submission = new MSubmission(1, new Date(), SubmissionStatus.SUCCEEDED);
+    when(repositoryManagerMock.getRepository()).thenReturn(jdbcRepoMock);
+    when(jdbcRepoMock.findLastSubmissionForJob("noTokenJob")).thenReturn(submission);
+    jobManager.setStatusWait(10000, 50);
+
+    long start = System.currentTimeMillis();
+    List<MSubmission> submissions = jobManager.waitForStatusChange(Arrays.asList("noTokenJob"), null, 10000);
+    assertTrue(System.currentTimeMillis() - start < 5000);
+    assertEquals(submissions, Arrays.asList(submission));
+  }
+
+  @Test
+  public void testWaitForStatusChangeTimeout() throws Exception {
+    MSubmission submission = new MSubmission(1, new Date(), SubmissionStatus.SUCCEEDED);
+    when(repositoryManagerMock.getRepository()).thenReturn(jdbcRepoMock);
+    when(jdbcRepoMock.findLastSubmissionForJob("timeoutJob")).thenReturn(submission);
+    // Requested timeout is capped by the configured maximum
+    jobManager.setStatusWait(200, 50);
+
+    String token = SubmissionUtils.getStateToken(Arrays.asList(submission));
+    long start = System.currentTimeMillis();
+    List<MSubmission> submissions = jobManager.waitForStatusChange(Arrays.asList("timeoutJob"), token, 60000);
+    long elapsed = System.currentTimeMillis() - start;
+    assertTrue(elapsed >= 200 && elapsed < 5000, "Waited " + elapsed + " ms");
+    assertEquals(SubmissionUtils.getStateToken(submissions), token);
+  }
+
+  @Test
+  public void testWaitForStatusChange() throws Exception {
+    MSubmission succeeded = new MSubmission(1, new Date(), SubmissionStatus.SUCCEEDED);
+    final AtomicReference<MSubmission> last = new AtomicReference<MSubmission>(succeeded);
+    when(repositoryManagerMock.getRepository()).thenReturn(jdbcRepoMock);
+    when(jdbcRepoMock.findLastSubmissionForJob("changingJob")).thenAnswer(new Answer<MSubmission>() {
+      @Override
+      public MSubmission answer(InvocationOnMock invocation) {
+        return last.get();
+      }
+    });
+    jobManager.setStatusWait(10000, 50);
+
+    Thread changer = new Thread() {
+      @Override
+      public void run() {
+        try {
+          Thread.sleep(200);
+        } catch (InterruptedException e) {
+          return;
+        }
+        last.set(new MSubmission(1, new Date(), SubmissionStatus.FAILED));
+      }
+    };
+    changer.start();
+
+    String token = SubmissionUtils.getStateToken(Arrays.asList(succeeded));
+    long start = System.currentTimeMillis();
+    List<MSubmission> submissions = jobManager.waitForStatusChange(Arrays.asList("changingJob"), token, 10000);
+    changer.join();
+    assertTrue(System.currentTimeMillis() - start < 5000);
+    assertEquals(submissions.get(0).getStatus(), SubmissionStatus.FAILED);
+  }
+
+  @Test
+  public void testStatusWatchersAreCapped() throws Exception {
+    MSubmission submission = new MSubmission(1, new Date(), SubmissionStatus.RUNNING);
+    when(repositoryManagerMock.getRepository()).thenReturn(jdbcRepoMock);
+    when(jdbcRepoMock.findLastSubmissionForJob("watchedJob")).thenReturn(submission);
+    jobManager.setStatusWait(10000, 50);
+    jobManager.setStatusWatchers(1);
+    final String token = SubmissionUtils.getStateToken(Arrays.asList(submission));
+
+    // First watcher takes the only permit and is held until the timeout
+    final CountDownLatch held = new CountDownLatch(1);
+    Thread watcher = new Thread() {
+      @Override
+      public void run() {
+        try {
+          held.countDown();
+          jobManager.waitForStatusChange(Arrays.asList("watchedJob"), token, 1000);
+        } catch (InterruptedException e) {
+          // Test is over
+        }
+      }
+    };
+    watcher.start();
+    held.await();
+    Thread.sleep(200);
+
+    long start = System.currentTimeMillis();
+    List<MSubmission> submissions = jobManager.waitForStatusChange(Arrays.asList("watchedJob"), token, 10000);
+    long elapsed = System.currentTimeMillis() - start;
+    assertTrue(elapsed < 500, "Waited " + elapsed + " ms");
+    assertEquals(SubmissionUtils.getStateToken(submissions), token);
+
+    // Permit is returned once the first watcher is done
+    watcher.join();
+    start = System.currentTimeMillis();
+    jobManager.waitForStatusChange(Arrays.asList("watchedJob"), token, 300);
+    elapsed = System.currentTimeMillis() - start;
+    assertTrue(elapsed >= 300, "Waited " + elapsed + " ms");
+  }
+
+  @Test
+  public void testWaitForStatusChangeOfUnknownJob() throws Exception {
+    when(repositoryManagerMock.getRepository()).thenReturn(jdbcRepoMock);
+    jobManager.setStatusWait(10000, 50);
+    try {
+      jobManager.waitForStatusChange(Arrays.asList("unknownJob"), null, 0);
+      fail("Unknown job should be rejected");
+    } catch (SqoopException ex) {
+      assertEquals(ex.getErrorCode(), DriverError.DRIVER_0004);
+    }
+  }
+
+  @Test
+  public void testStatusChangeNotifiedOnlyOnChange() {
+    MSubmission submission = new MSubmission(1, new Date(), SubmissionStatus.RUNNING);
+    submission.setProgress(0.25);
+    when(repositoryManagerMock.getRepository()).thenReturn(jdbcRepoMock);
+    when(jdbcRepoMock.findLastSubmissionForJob("runningJob")).thenReturn(submission);
+    SubmissionEngine engine = mock(SubmissionEngine.class);
+    jobManager.setSubmissionEngine(engine);
+
+    long version = jobManager.getStatusChangeVersion();
+    jobManager.status("runningJob");
+    assertEquals(jobManager.getStatusChangeVersion(), version);
+
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) {
+        ((MSubmission) invocation.getArguments()[0]).setProgress(0.5);
+        return null;
+      }
+    }).when(engine).update(submission);
+    jobManager.status("runningJob");
+    assertEquals(jobManager.getStatusChangeVersion(), version + 1);
+  }
+
   private MJob job(String jobName, String fromConnectorName, String toConnectorName) {
     MJob job = new MJob(fromConnectorName, toConnectorName, "fromLinkName", "toLinkName", null, null, null);
     job.setName(jobName);
@@ -0,0 +1,96 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.metrics;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.Map;
+
+import javax.management.ReflectionException;
+
+import org.testng.annotations.Test;
+
+public class TestMetricsManager {
+
+  @Test
+  public void testHistogram() {
+    Histogram histogram = new Histogram();
+    assertEquals(histogram.getPercentile(0.99), 0);
+
+    for (int i = 1; i <= 100; i++) {
+      histogram.update(i);
+    }
+
+    assertEquals(histogram.getCount(), 100);
+    assertEquals(histogram.getSum(), 5050);
+    assertEquals(histogram.getMean(), 50);
+    assertEquals(histogram.getMax(), 100);
+    // Percentiles are upper bounds of power of two buckets
+    assertEquals(histogram.getPercentile(0.50), 63);
+    assertEquals(histogram.getPercentile(0.99), 100);
+    assertEquals(histogram.getPercentile(0.01), 1);
+  }
+
+  @Test
+  public void testSnapshot() throws Exception {
+    MetricsManager manager = new MetricsManager();
+    manager.counter("requests").increment();
+    manager.counter("requests").add(2);
+    manager.histogram("latency").update(10);
+    manager.registerGauge("pool", new Gauge() {
+      @Override
+      public long getValue() {
+        return 7;
+      }
+    });
+    manager.registerGauge("broken", new Gauge() {
+      @Override
+      public long getValue() {
+        throw new IllegalStateException();
+      }
+    });
+
+    Map<String, Long> snapshot = manager.getSnapshot();
+    assertEquals(snapshot.get("requests").longValue(), 3);
+    assertEquals(snapshot.get("latency.count").longValue(), 1);
+    assertEquals(snapshot.get("latency.max").longValue(), 10);
+    assertEquals(snapshot.get("pool").longValue(), 7);
+    assertFalse(snapshot.containsKey("broken"));
+
+    MetricsDynamicMBean mbean = new MetricsDynamicMBean(manager);
+    assertEquals(mbean.getAttribute("requests"), 3L);
+    assertEquals(mbean.getMBeanInfo().getAttributes().length, snapshot.size());
+
+    manager.unregisterGauge("pool");
+    assertFalse(manager.getSnapshot().containsKey("pool"));
+  }
+
+  @Test
+  public void testMBeanHasNoOperations() throws Exception {
+    MetricsDynamicMBean mbean = new MetricsDynamicMBean(new MetricsManager());
+    try {
+      mbean.invoke("reset", new Object[0], new String[0]);
+      fail();
+    } catch (ReflectionException e) {
+      assertTrue(e.getTargetException() instanceof NoSuchMethodException);
+    }
+  }
+}
@@ -0,0 +1,104 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.execution.local;
+
+import org.apache.log4j.Logger;
+import org.apache.sqoop.common.ImmutableContext;
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.driver.ExecutionEngine;
+import org.apache.sqoop.driver.JobRequest;
+import org.apache.sqoop.error.code.DriverError;
+import org.apache.sqoop.utils.ClassUtils;
+
+/**
+ * Execution engine for jobs running inside the Sqoop server on a thread
+ * pool.
+ *
+ * Local jobs need nothing but the generic JobRequest, so there is nothing to
+ * prepare. Optionally another execution engine can be configured as a
+ * delegate, in which case requests are created and prepared by the delegate
+ * and the local submission engine decides per job whether it will run the
+ * job itself or hand it over to the delegate's submission engine.
+ */
+public class LocalExecutionEngine extends ExecutionEngine {
+
+  private static final Logger LOG = Logger.getLogger(LocalExecutionEngine.class);
+
+  /**
+   * Execution engine used for jobs that are not executed locally, relative
+   * to the execution engine prefix.
+   */
+  public static final String DELEGATE = "local.delegate";
+
+  private ExecutionEngine delegate;
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void initialize(ImmutableContext context, String prefix) {
+    super.initialize(context, prefix);
+
+    String delegateClassName = context.getString(prefix + DELEGATE);
+    if (delegateClassName != null && !delegateClassName.trim().isEmpty()) {
+      delegate = (ExecutionEngine) ClassUtils.instantiate(delegateClassName.trim());
+      if (delegate == null) {
+        throw new SqoopException(DriverError.DRIVER_0007, delegateClassName);
+      }
+      LOG.info("Using delegate execution engine " + delegateClassName);
+      delegate.initialize(context, prefix);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void destroy() {
+    if (delegate != null) {
+      delegate.destroy();
+    }
+    super.destroy();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public JobRequest createJobRequest() {
+    if (delegate != null) {
+      return delegate.createJobRequest();
+    }
+    return super.createJobRequest();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void prepareJob(JobRequest request) {
+    // Request has to be usable by the delegate's submission engine as well
+    if (delegate != null) {
+      delegate.prepareJob(request);
+    }
+  }
+
+  public ExecutionEngine getDelegate() {
+    return delegate;
+  }
+}
@@ -56,6 +56,15 @@ public final class MRJobConstants extends Constants {
   public static final String JOB_ETL_EXTRACTOR_NUM = PREFIX_JOB_CONFIG
     + "etl.extractor.count";
 
+  /**
+   * Maximal number of rows handed over from the mapper to the loader thread
+   * at once.
+   */
+  public static final String JOB_ETL_HANDOFF_BLOCK_SIZE = PREFIX_JOB_CONFIG
+    + "etl.handoff.block.size";
+
+  public static final int DEFAULT_JOB_ETL_HANDOFF_BLOCK_SIZE = 256;
+
   public static final String SUBMITTING_USER = PREFIX_JOB_CONFIG
     + "submission.user";
 
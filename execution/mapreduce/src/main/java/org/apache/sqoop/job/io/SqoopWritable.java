@@ -54,6 +54,16 @@ void setString(String data) {
     this.toIDF.setCSVTextData(data);
   }
 
+  /**
+   * Return current row as UTF-8 encoded CSV text if the intermediate data
+   * format holds it in that form, so that it doesn't have to be converted.
+   *
+   * @return UTF-8 encoded CSV text or null
+   */
+  public byte[] getCSVTextBytes() {
+    return toIDF.hasCSVTextBytes() ? toIDF.getCSVTextBytes() : null;
+  }
+
   @Override
   public void write(DataOutput out) throws IOException {
     //delegate
@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.job.mr;
+
+import org.apache.hadoop.mapreduce.Counter;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.sqoop.submission.counter.DataPathCounters;
+import org.apache.sqoop.submission.counter.SqoopCounters;
+
+/**
+ * Publishes data path counters of one side of the task into mapreduce counters
+ * so that they are visible while the task is still running.
+ */
+class SqoopCountersPublisher {
+
+  /**
+   * Number of rows between two publications.
+   */
+  static final int PUBLISH_INTERVAL = 1024;
+
+  private static final SqoopCounters[] COUNTERS = SqoopCounters.values();
+
+  private final TaskAttemptContext context;
+
+  private final DataPathCounters counters;
+
+  private final Counter[] hadoopCounters = new Counter[COUNTERS.length];
+
+  private long lastPublished = 0;
+
+  SqoopCountersPublisher(TaskAttemptContext context, DataPathCounters counters) {
+    this.context = context;
+    this.counters = counters;
+  }
+
+  /**
+   * Publish counters every PUBLISH_INTERVAL rows. Rows might be counted in
+   * blocks, so the interval is measured from the last publication.
+   *
+   * @param rows Number of rows processed so far
+   */
+  void maybePublish(long rows) {
+    if (rows - lastPublished >= PUBLISH_INTERVAL) {
+      lastPublished = rows;
+      publish();
+    }
+  }
+
+  void publish() {
+    for (SqoopCounters counter : COUNTERS) {
+      if (!counters.isUsed(counter)) {
+        continue;
+      }
+      Counter hadoopCounter = hadoopCounters[counter.ordinal()];
+      if (hadoopCounter == null) {
+        hadoopCounter = context.getCounter(counter);
+        hadoopCounters[counter.ordinal()] = hadoopCounter;
+      }
+      hadoopCounter.setValue(counters.getValue(counter));
+    }
+  }
+}
@@ -40,6 +40,7 @@
 import org.apache.sqoop.etl.io.DataWriter;
 import org.apache.sqoop.job.io.SqoopWritable;
 import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.submission.counter.DataPathCounters;
 import org.apache.sqoop.submission.counter.SqoopCounters;
 import org.apache.sqoop.utils.ClassUtils;
 
@@ -60,6 +61,8 @@ public class SqoopMapper extends Mapper<SqoopSplit, NullWritable, SqoopWritable,
   private IntermediateDataFormat<Object> fromIDF = null;
   private IntermediateDataFormat<Object> toIDF = null;
   private Matcher matcher;
+  private final DataPathCounters counters = new DataPathCounters();
+  private SqoopCountersPublisher countersPublisher;
 
   @SuppressWarnings({ "unchecked", "rawtypes" })
   @Override
@@ -87,15 +90,20 @@ public void run(Context context) throws IOException, InterruptedException {
 
     SqoopSplit split = context.getCurrentKey();
     ExtractorContext extractorContext = new ExtractorContext(subContext, new SqoopMapDataWriter(context), matcher.getFromSchema(), conf.get(MRJobConstants.SUBMITTING_USER));
+    countersPublisher = new SqoopCountersPublisher(context, counters);
 
     try {
       LOG.info("Starting progress service");
       progressService.scheduleAtFixedRate(new SqoopProgressRunnable(context), 0, 2, TimeUnit.MINUTES);
 
       LOG.info("Running extractor class " + extractorName);
+      counters.mark();
       extractor.extract(extractorContext, fromConfig, fromJob, split.getPartition());
+      counters.addElapsed(SqoopCounters.EXTRACTOR_TIME);
       LOG.info("Extractor has finished");
-      context.getCounter(SqoopCounters.ROWS_READ).increment(extractor.getRowsRead());
+      // Extractor's own number of rows is authoritative once it has finished
+      counters.set(SqoopCounters.ROWS_READ, extractor.getRowsRead());
+      countersPublisher.publish();
     } catch (Exception e) {
       throw new SqoopException(MRExecutionError.MAPRED_EXEC_0017, e);
     } finally {
@@ -123,23 +131,57 @@ public SqoopMapDataWriter(Context context) {
 
     @Override
     public void writeArrayRecord(Object[] array) {
+      counters.addElapsed(SqoopCounters.EXTRACTOR_TIME);
       fromIDF.setObjectData(array);
       writeContent();
     }
 
+    @Override
+    public void writeArrayRecords(Object[][] rows, int count) {
+      counters.addElapsed(SqoopCounters.EXTRACTOR_TIME);
+      for (int i = 0; i < count; i++) {
+        fromIDF.setObjectData(rows[i]);
+        convertAndWrite();
+      }
+      countRows(count);
+    }
+
     @Override
     public void writeStringRecord(String text) {
+      counters.addElapsed(SqoopCounters.EXTRACTOR_TIME);
       fromIDF.setCSVTextData(text);
       writeContent();
     }
 
+    @Override
+    public void writeTextRecord(byte[] bytes, int offset, int length) {
+      counters.addElapsed(SqoopCounters.EXTRACTOR_TIME);
+      if (matcher.getFromSchema() == matcher.getToSchema()) {
+        // Both sides use the same schema, so the text is valid for the TO side
+        // as it is and doesn't have to be parsed and matched
+        toIDF.setCSVTextBytes(bytes, offset, length);
+        counters.addElapsed(SqoopCounters.EXTRACT_CONVERSION_TIME);
+        write();
+        countRows(1);
+      } else {
+        fromIDF.setCSVTextBytes(bytes, offset, length);
+        writeContent();
+      }
+    }
+
     @Override
     public void writeRecord(Object obj) {
+      counters.addElapsed(SqoopCounters.EXTRACTOR_TIME);
       fromIDF.setData(obj);
       writeContent();
     }
 
     private void writeContent() {
+      convertAndWrite();
+      countRows(1);
+    }
+
+    private void convertAndWrite() {
       try {
         if (LOG.isDebugEnabled()) {
           LOG.debug("Extracted data: " + fromIDF.getCSVTextData());
@@ -148,11 +190,27 @@ private void writeContent() {
         // The output of the mappers is finally written to the toIDF object after the matching process
         // since the writable encapsulates the toIDF ==> new SqoopWritable(toIDF)
         toIDF.setObjectData(matcher.getMatchingData(fromIDF.getObjectData()));
+        counters.addElapsed(SqoopCounters.EXTRACT_CONVERSION_TIME);
+      } catch (RuntimeException e) {
+        throw new SqoopException(MRExecutionError.MAPRED_EXEC_0013, e);
+      }
+      write();
+    }
+
+    private void write() {
+      try {
         // NOTE: We do not use the reducer to do the writing (a.k.a LOAD in ETL). Hence the mapper sets up the writable
         context.write(writable, NullWritable.get());
+        // Hand-off to the loader is accounted for by the output format
+        counters.mark();
       } catch (RuntimeException | IOException | InterruptedException e) {
         throw new SqoopException(MRExecutionError.MAPRED_EXEC_0013, e);
       }
     }
+
+    private void countRows(int rows) {
+      counters.increment(SqoopCounters.ROWS_READ, rows);
+      countersPublisher.maybePublish(counters.getValue(SqoopCounters.ROWS_READ));
+    }
   }
 }
@@ -21,6 +21,7 @@
 import com.google.common.base.Throwables;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.concurrent.*;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
@@ -42,6 +43,7 @@
 import org.apache.sqoop.job.etl.Loader;
 import org.apache.sqoop.job.etl.LoaderContext;
 import org.apache.sqoop.etl.io.DataReader;
+import org.apache.sqoop.submission.counter.DataPathCounters;
 import org.apache.sqoop.submission.counter.SqoopCounters;
 import org.apache.sqoop.job.io.SqoopWritable;
 import org.apache.sqoop.utils.ClassUtils;
@@ -52,6 +54,8 @@ public class SqoopOutputFormatLoadExecutor {
   public static final Logger LOG =
     Logger.getLogger(SqoopOutputFormatLoadExecutor.class);
 
+  private static final Charset UTF8 = Charset.forName("UTF-8");
+
   private volatile boolean readerFinished = false;
   private volatile boolean writerFinished = false;
   private volatile IntermediateDataFormat<? extends Object> toDataFormat;
@@ -62,19 +66,40 @@ public class SqoopOutputFormatLoadExecutor {
   private Semaphore filled = new Semaphore(0, true);
   private Semaphore free = new Semaphore(1, true);
   private String loaderName;
+  // Producer and consumer side are running in different threads, each has its own counters
+  private final DataPathCounters writerCounters = new DataPathCounters();
+  private final DataPathCounters readerCounters = new DataPathCounters();
+
+  // Rows are handed over in blocks, block being handed over is guarded by
+  // the semaphores. Writer and reader are swapping their own buffer with it,
+  // so that no rows are copied. Each row is CSV text, either String or UTF-8
+  // encoded byte[] depending on how the mapper has set it.
+  private final int blockSize;
+  private Object[] block;
+  private int blockCount;
 
   // NOTE: This method is only exposed for test cases
   SqoopOutputFormatLoadExecutor(JobContext jobctx, String loaderName, IntermediateDataFormat<?> toDataFormat, Matcher matcher) {
+    this(jobctx, loaderName, toDataFormat, matcher, 1);
+  }
+
+  // NOTE: This method is only exposed for test cases
+  SqoopOutputFormatLoadExecutor(JobContext jobctx, String loaderName, IntermediateDataFormat<?> toDataFormat, Matcher matcher, int blockSize) {
     context = jobctx;
     this.loaderName = loaderName;
     this.matcher = matcher;
     this.toDataFormat = toDataFormat;
+    this.blockSize = blockSize;
+    block = new Object[blockSize];
     writer = new SqoopRecordWriter();
   }
 
   public SqoopOutputFormatLoadExecutor(JobContext jobctx) {
     context = jobctx;
     loaderName = context.getConfiguration().get(MRJobConstants.JOB_ETL_LOADER);
+    blockSize = Math.max(1, context.getConfiguration().getInt(MRJobConstants.JOB_ETL_HANDOFF_BLOCK_SIZE,
+        MRJobConstants.DEFAULT_JOB_ETL_HANDOFF_BLOCK_SIZE));
+    block = new Object[blockSize];
     writer = new SqoopRecordWriter();
     matcher = MatcherFactory.getMatcher(
         MRConfigurationUtils.getConnectorSchema(Direction.FROM, context.getConfiguration()),
@@ -98,25 +123,70 @@ public RecordWriter<SqoopWritable, NullWritable> getRecordWriter() {
    */
   private class SqoopRecordWriter extends RecordWriter<SqoopWritable, NullWritable> {
 
+    private long rows = 0;
+
+    private SqoopCountersPublisher countersPublisher;
+
+    private Object[] pending = new Object[blockSize];
+
+    private int pendingCount = 0;
+
     @Override
     public void write(SqoopWritable key, NullWritable value) throws InterruptedException {
-      free.acquire();
+      writerCounters.mark();
       checkIfConsumerThrew();
       // NOTE: this is the place where data written from SqoopMapper writable is available to the SqoopOutputFormat
-      toDataFormat.setCSVTextData(key.toString());
-      filled.release();
+      byte[] bytes = key.getCSVTextBytes();
+      long size;
+      if (bytes != null) {
+        pending[pendingCount++] = bytes;
+        size = bytes.length;
+      } else {
+        String text = key.toString();
+        pending[pendingCount++] = text;
+        size = DataPathCounters.utf8Length(text);
+      }
+      // Partial block is handed over as soon as the loader is waiting for data
+      if (pendingCount == blockSize || filled.hasQueuedThreads()) {
+        handOff();
+      }
+      writerCounters.increment(SqoopCounters.BYTES_TRANSFERRED, size);
+      getCountersPublisher().maybePublish(++rows);
     }
 
     @Override
     public void close(TaskAttemptContext context)
             throws InterruptedException, IOException {
       LOG.info("SqoopOutputFormatLoadExecutor::SqoopRecordWriter is about to be closed");
+      if (pendingCount > 0) {
+        handOff();
+      }
       free.acquire();
       writerFinished = true;
       filled.release();
       waitForConsumer();
+      getCountersPublisher().publish();
       LOG.info("SqoopOutputFormatLoadExecutor::SqoopRecordWriter is closed");
     }
+
+    private void handOff() throws InterruptedException {
+      free.acquire();
+      writerCounters.addElapsed(SqoopCounters.PRODUCER_STALL_TIME);
+      checkIfConsumerThrew();
+      Object[] swap = block;
+      block = pending;
+      blockCount = pendingCount;
+      pending = swap;
+      pendingCount = 0;
+      filled.release();
+    }
+
+    private SqoopCountersPublisher getCountersPublisher() {
+      if (countersPublisher == null) {
+        countersPublisher = new SqoopCountersPublisher((TaskAttemptContext) context, writerCounters);
+      }
+      return countersPublisher;
+    }
   }
 
   private void checkIfConsumerThrew() {
@@ -167,52 +237,119 @@ private void waitForConsumer() {
 
   private class SqoopOutputFormatDataReader extends DataReader {
 
+    private final SqoopCountersPublisher countersPublisher;
+
+    private Object[] current = new Object[blockSize];
+
+    private int currentCount = 0;
+
+    private int currentIndex = 0;
+
+    private boolean endOfData = false;
+
+    public SqoopOutputFormatDataReader(SqoopCountersPublisher countersPublisher) {
+      this.countersPublisher = countersPublisher;
+    }
+
     @Override
     public Object[] readArrayRecord() throws InterruptedException {
-      acquireSema();
-      // If the writer has finished, there is definitely no data remaining
-      if (writerFinished) {
+      if (!ensureData()) {
         return null;
       }
-      try {
-        return toDataFormat.getObjectData();
-      } finally {
-        releaseSema();
+      setNext();
+      Object[] record = toDataFormat.getObjectData();
+      countRows(1);
+      return record;
+    }
+
+    @Override
+    public Object[][] readArrayRecords(int max) throws InterruptedException {
+      if (!ensureData()) {
+        return null;
+      }
+      // Only rows that are already available are returned, loader shouldn't wait for a full block
+      Object[][] records = new Object[Math.min(max, currentCount - currentIndex)][];
+      for (int i = 0; i < records.length; i++) {
+        setNext();
+        records[i] = toDataFormat.getObjectData();
       }
+      countRows(records.length);
+      return records;
     }
 
     @Override
     public String readTextRecord() throws InterruptedException {
-      acquireSema();
-      // If the writer has finished, there is definitely no data remaining
-      if (writerFinished) {
+      if (!ensureData()) {
         return null;
       }
-      try {
-        return toDataFormat.getCSVTextData();
-      } finally {
-        releaseSema();
+      Object text = nextText();
+      String record = text instanceof byte[] ? new String((byte[]) text, UTF8) : (String) text;
+      countRows(1);
+      return record;
+    }
+
+    @Override
+    public byte[] readTextRecordBytes() throws InterruptedException {
+      if (!ensureData()) {
+        return null;
       }
+      Object text = nextText();
+      byte[] record = text instanceof String ? ((String) text).getBytes(UTF8) : (byte[]) text;
+      countRows(1);
+      return record;
     }
 
     @Override
     public Object readContent() throws InterruptedException {
-      acquireSema();
-      if (writerFinished) {
+      if (!ensureData()) {
         return null;
       }
       try {
-        return toDataFormat.getData();
+        setNext();
+        Object record = toDataFormat.getData();
+        countRows(1);
+        return record;
       } catch (Throwable t) {
         readerFinished = true;
         LOG.error("Caught exception e while getting content ", t);
         throw new SqoopException(MRExecutionError.MAPRED_EXEC_0018, t);
-      } finally {
-        releaseSema();
       }
     }
 
-    private void acquireSema() throws InterruptedException {
+    private Object nextText() {
+      Object text = current[currentIndex];
+      // Do not keep consumed rows reachable until the buffer is refilled
+      current[currentIndex++] = null;
+      return text;
+    }
+
+    /**
+     * Set next row to the TO intermediate data format.
+     */
+    private void setNext() {
+      Object text = nextText();
+      if (text instanceof byte[]) {
+        byte[] bytes = (byte[]) text;
+        toDataFormat.setCSVTextBytes(bytes, 0, bytes.length);
+      } else {
+        toDataFormat.setCSVTextData((String) text);
+      }
+    }
+
+    /**
+     * Make sure that there is at least one row available in the current
+     * block, waiting for the writer if needed.
+     *
+     * @return False if the writer has finished and all rows were consumed
+     */
+    private boolean ensureData() throws InterruptedException {
+      readerCounters.addElapsed(SqoopCounters.LOADER_TIME);
+      if (currentIndex < currentCount) {
+        return true;
+      }
+      if (endOfData) {
+        return false;
+      }
       // Has any more data been produced after I last consumed.
       // If no, wait for the producer to produce.
       try {
@@ -223,10 +360,25 @@ private void acquireSema() throws InterruptedException {
           "mapper", ex);
         throw ex;
       }
+      readerCounters.addElapsed(SqoopCounters.CONSUMER_STALL_TIME);
+      // If the writer has finished, there is definitely no data remaining
+      if (writerFinished) {
+        endOfData = true;
+        return false;
+      }
+      Object[] swap = current;
+      current = block;
+      currentCount = blockCount;
+      currentIndex = 0;
+      block = swap;
+      free.release();
+      return true;
     }
 
-    private void releaseSema(){
-      free.release();
+    private void countRows(int rows) {
+      readerCounters.addElapsed(SqoopCounters.LOAD_CONVERSION_TIME);
+      readerCounters.increment(SqoopCounters.ROWS_WRITTEN, rows);
+      countersPublisher.maybePublish(readerCounters.getValue(SqoopCounters.ROWS_WRITTEN));
     }
   }
 
@@ -246,7 +398,8 @@ public ConsumerThread(final JobContext context) {
     public void run() {
       LOG.info("SqoopOutputFormatLoadExecutor consumer thread is starting");
       try {
-        DataReader reader = new SqoopOutputFormatDataReader();
+        SqoopCountersPublisher countersPublisher = new SqoopCountersPublisher((TaskAttemptContext) jobctx, readerCounters);
+        DataReader reader = new SqoopOutputFormatDataReader(countersPublisher);
         Configuration conf = context.getConfiguration();
         Loader loader = (Loader) ClassUtils.instantiate(loaderName);
 
@@ -264,10 +417,13 @@ public void run() {
         LoaderContext loaderContext = new LoaderContext(subContext, reader, matcher.getToSchema(), context.getConfiguration().get(MRJobConstants.SUBMITTING_USER));
 
         LOG.info("Running loader class " + loaderName);
+        readerCounters.mark();
         loader.load(loaderContext, connectorLinkConfig, connectorToJobConfig);
+        readerCounters.addElapsed(SqoopCounters.LOADER_TIME);
         LOG.info("Loader has finished");
-        ((TaskAttemptContext) jobctx).getCounter(SqoopCounters.ROWS_WRITTEN).increment(
-            loader.getRowsWritten());
+        // Loader's own number of rows is authoritative once it has finished
+        readerCounters.set(SqoopCounters.ROWS_WRITTEN, loader.getRowsWritten());
+        countersPublisher.publish();
 
       } catch (Throwable t) {
         readerFinished = true;
@@ -18,6 +18,7 @@
  */
 package org.apache.sqoop.job.mr;
 
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -140,6 +141,61 @@ public long getRowsWritten() {
     }
   }
 
+  public static class GoodBlockLoader extends Loader<Object, Object> {
+
+    private long rowsWritten = 0;
+
+    @Override
+    public void load(LoaderContext context, Object cc, Object jc) throws Exception {
+      Object[][] rows;
+      while ((rows = context.getDataReader().readArrayRecords(3)) != null) {
+        Assert.assertTrue(rows.length > 0 && rows.length <= 3);
+        for (Object[] row : rows) {
+          Assert.assertEquals(row[0], String.valueOf(rowsWritten));
+          rowsWritten++;
+        }
+      }
+      Assert.assertEquals(rowsWritten, 10);
+    }
+
+    @Override
+    public long getRowsWritten() {
+      return rowsWritten;
+    }
+  }
+
+  public static class GoodTextBytesLoader extends Loader<Object, Object> {
+
+    private long rowsWritten = 0;
+
+    @Override
+    public void load(LoaderContext context, Object cc, Object jc) throws Exception {
+      while (true) {
+        // Rows written either as String or as bytes can be read in any form
+        if (rowsWritten % 2 == 0) {
+          byte[] text = context.getDataReader().readTextRecordBytes();
+          if (text == null) {
+            break;
+          }
+          Assert.assertEquals(new String(text, "UTF-8"), "'\u00e9" + rowsWritten + "'");
+        } else {
+          Object[] row = context.getDataReader().readArrayRecord();
+          if (row == null) {
+            break;
+          }
+          Assert.assertEquals(row[0], "\u00e9" + rowsWritten);
+        }
+        rowsWritten++;
+      }
+      Assert.assertEquals(rowsWritten, 10);
+    }
+
+    @Override
+    public long getRowsWritten() {
+      return rowsWritten;
+    }
+  }
+
   // TODO:SQOOP-1873: Mock objects instead
   private Matcher getMatcher(){
     return MatcherFactory.getMatcher(NullSchema.getInstance(),
@@ -161,6 +217,7 @@ public void setUp() {
     conf.setIfUnset(MRJobConstants.TO_INTERMEDIATE_DATA_FORMAT,
         CSVIntermediateDataFormat.class.getName());
     jobContextMock = mock(TaskAttemptContext.class);
+    when(((TaskAttemptContext) jobContextMock).getCounter(any(Enum.class))).thenReturn(new GenericCounter("test", "data-path"));
     GenericCounter counter = new GenericCounter("test", "test-me");
     when(((TaskAttemptContext) jobContextMock).getCounter(SqoopCounters.ROWS_WRITTEN)).thenReturn(counter);
     org.apache.hadoop.mapred.JobConf testConf = new org.apache.hadoop.mapred.JobConf();
@@ -220,6 +277,42 @@ public void testSuccessfulContinuousLoader() throws Throwable {
     Assert.assertFalse(exceptionThrown, "Exception Thrown during writing");
   }
 
+  @Test
+  public void testSuccessfulBlockLoader() throws Throwable {
+    SqoopOutputFormatLoadExecutor executor = new SqoopOutputFormatLoadExecutor(jobContextMock,
+        GoodBlockLoader.class.getName(), getIDF(), getMatcher(), 4);
+    RecordWriter<SqoopWritable, NullWritable> writer = executor.getRecordWriter();
+
+    IntermediateDataFormat<?> dataFormat = getIDF();
+    SqoopWritable writable = new SqoopWritable(dataFormat);
+    for (int i = 0; i < 10; i++) {
+      dataFormat.setCSVTextData("'" + i + "'");
+      writer.write(writable, null);
+    }
+    writer.close(null);
+  }
+
+  @Test
+  public void testTextBytesLoader() throws Throwable {
+    SqoopOutputFormatLoadExecutor executor = new SqoopOutputFormatLoadExecutor(jobContextMock,
+        GoodTextBytesLoader.class.getName(), getIDF(), getMatcher(), 4);
+    RecordWriter<SqoopWritable, NullWritable> writer = executor.getRecordWriter();
+
+    IntermediateDataFormat<?> dataFormat = getIDF();
+    SqoopWritable writable = new SqoopWritable(dataFormat);
+    for (int i = 0; i < 10; i++) {
+      String text = "'\u00e9" + i + "'";
+      if (i % 3 == 0) {
+        dataFormat.setCSVTextData(text);
+      } else {
+        byte[] bytes = text.getBytes("UTF-8");
+        dataFormat.setCSVTextBytes(bytes, 0, bytes.length);
+      }
+      writer.write(writable, null);
+    }
+    writer.close(null);
+  }
+
   @Test(expectedExceptions = SqoopException.class)
   public void testSuccessfulLoader() throws Throwable {
     SqoopOutputFormatLoadExecutor executor = new SqoopOutputFormatLoadExecutor(jobContextMock,
@@ -21,11 +21,13 @@
 import com.google.common.base.Predicate;
 import com.google.common.collect.Collections2;
 import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.core.SqoopConfiguration;
 import org.apache.sqoop.model.*;
 import org.apache.sqoop.repository.Repository;
 import org.apache.sqoop.repository.RepositoryManager;
 import org.apache.sqoop.security.AuthorizationHandler;
 import org.apache.sqoop.security.AuthorizationManager;
+import org.apache.sqoop.security.SecurityConstants;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -141,6 +143,15 @@ public static void statusJob(String doUserName, String jobName) throws SqoopExce
     checkPrivilege(doUserName, getPrivilege(MResource.TYPE.JOB, jobName, MPrivilege.ACTION.READ));
   }
 
+  /**
+   * Server related admin functions
+   */
+  public static void readServer(String doUserName) throws SqoopException {
+    String serverName = SqoopConfiguration.getInstance().getContext().getString(
+        SecurityConstants.SERVER_NAME, AuthorizationManager.DEFAULT_SERVER_NAME).trim();
+    checkPrivilege(doUserName, getPrivilege(MResource.TYPE.SERVER, serverName, MPrivilege.ACTION.READ));
+  }
+
   /**
    * Filter resources, get all valid resources from all resources
    */
@@ -18,11 +18,13 @@
 package org.apache.sqoop.handler;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 
+import org.apache.commons.lang.StringUtils;
 import org.apache.log4j.Logger;
 import org.apache.sqoop.audit.AuditLoggerManager;
 import org.apache.sqoop.common.Direction;
@@ -36,6 +38,7 @@
 import org.apache.sqoop.json.JobsBean;
 import org.apache.sqoop.json.JsonBean;
 import org.apache.sqoop.json.SubmissionBean;
+import org.apache.sqoop.json.SubmissionsBean;
 import org.apache.sqoop.json.ValidationResultBean;
 import org.apache.sqoop.model.*;
 import org.apache.sqoop.repository.Repository;
@@ -47,6 +50,7 @@
 import org.apache.sqoop.server.RequestHandler;
 import org.apache.sqoop.server.common.ServerError;
 import org.apache.sqoop.submission.SubmissionStatus;
+import org.apache.sqoop.utils.UrlSafeUtils;
 import org.apache.sqoop.validation.ConfigValidationResult;
 import org.apache.sqoop.validation.Status;
 import org.json.simple.JSONObject;
@@ -85,6 +89,10 @@ public static JobAction fromString(String name) {
   static final String JOB_PATH = "job";
   static final String STATUS = "status";
 
+  static final String JOB_NAMES_QUERY_PARAM = "names";
+  static final String STATE_TOKEN_QUERY_PARAM = "token";
+  static final String TIMEOUT_QUERY_PARAM = "timeout";
+
   public JobRequestHandler() {
     LOG.info("JobRequestHandler initialized");
   }
@@ -95,6 +103,9 @@ public JsonBean handleEvent(RequestContext ctx) {
     switch (ctx.getMethod()) {
     case GET:
       if (STATUS.equals(ctx.getLastURLElement())) {
+        if (ctx.getParameterValue(JOB_NAMES_QUERY_PARAM) != null) {
+          return getJobsStatus(ctx);
+        }
         return getJobStatus(ctx);
       }
       return getJobs(ctx);
@@ -122,6 +133,16 @@ public JsonBean handleEvent(RequestContext ctx) {
     return null;
   }
 
+  /**
+   * Whether the request waits for status change of a set of jobs.
+   */
+  public static boolean isLongPoll(RequestContext ctx) {
+    return ctx.getMethod() == RequestContext.Method.GET
+        && STATUS.equals(ctx.getLastURLElement())
+        && ctx.getParameterValue(JOB_NAMES_QUERY_PARAM) != null
+        && ctx.getParameterValue(STATE_TOKEN_QUERY_PARAM) != null;
+  }
+
   /**
    * Delete job from repository.
    *
@@ -413,6 +434,48 @@ private JsonBean getJobStatus(RequestContext ctx) {
     return new SubmissionBean(submission);
   }
 
+  /**
+   * Status of multiple jobs in one request.
+   *
+   * Job names are given as comma separated list of individually URL encoded
+   * names. If the client also sends the state token it has last seen, the
+   * request is held until status of any of the jobs changes or the timeout
+   * expires.
+   */
+  private JsonBean getJobsStatus(RequestContext ctx) {
+    List<String> jobNames = new ArrayList<String>();
+    for (String jobIdentifier : ctx.getParameterValue(JOB_NAMES_QUERY_PARAM).split(",")) {
+      MJob job = HandlerUtils.getJobFromIdentifier(UrlSafeUtils.urlDecode(jobIdentifier));
+
+      // Authorization check
+      AuthorizationEngine.statusJob(ctx.getUserName(), job.getName());
+
+      jobNames.add(job.getName());
+    }
+
+    AuditLoggerManager.getInstance().logAuditEvent(ctx.getUserName(),
+        ctx.getRequest().getRemoteAddr(), "status", "jobs", StringUtils.join(jobNames, ","));
+
+    String stateToken = ctx.getParameterValue(STATE_TOKEN_QUERY_PARAM);
+    long timeout = 0;
+    String timeoutValue = ctx.getParameterValue(TIMEOUT_QUERY_PARAM);
+    if (timeoutValue != null) {
+      try {
+        timeout = Long.parseLong(timeoutValue);
+      } catch (NumberFormatException e) {
+        throw new SqoopException(ServerError.SERVER_0004, "Invalid timeout: " + timeoutValue, e);
+      }
+    }
+
+    try {
+      return new SubmissionsBean(JobManager.getInstance()
+          .waitForStatusChange(jobNames, stateToken, timeout));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SqoopException(ServerError.SERVER_0001, "Interrupted while waiting for job status", e);
+    }
+  }
+
   private HttpEventContext prepareRequestEventContext(RequestContext ctx) {
     HttpEventContext httpEventContext = new HttpEventContext();
     httpEventContext.setUsername(ctx.getUserName());
@@ -0,0 +1,55 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.handler;
+
+import org.apache.log4j.Logger;
+import org.apache.sqoop.audit.AuditLoggerManager;
+import org.apache.sqoop.json.JsonBean;
+import org.apache.sqoop.json.MetricsBean;
+import org.apache.sqoop.metrics.MetricsManager;
+import org.apache.sqoop.security.authorization.AuthorizationEngine;
+import org.apache.sqoop.server.RequestContext;
+import org.apache.sqoop.server.RequestHandler;
+
+/**
+ * Metrics request handler is supporting following resources:
+ *
+ * GET /v1/metrics
+ * Get snapshot of all server metrics.
+ */
+public class MetricsRequestHandler implements RequestHandler {
+  private static final long serialVersionUID = 1L;
+
+  private static final Logger LOG =
+      Logger.getLogger(MetricsRequestHandler.class);
+
+  public MetricsRequestHandler() {
+    LOG.info("MetricsRequestHandler initialized");
+  }
+
+  @Override
+  public JsonBean handleEvent(RequestContext ctx) {
+    // Authorization check
+    AuthorizationEngine.readServer(ctx.getUserName());
+
+    AuditLoggerManager.getInstance()
+        .logAuditEvent(ctx.getUserName(), ctx.getRequest().getRemoteAddr(),
+        "show", "metrics", "");
+    return new MetricsBean(MetricsManager.getInstance().getSnapshot());
+  }
+}
@@ -22,6 +22,9 @@
 import org.apache.sqoop.core.SqoopConfiguration;
 import org.apache.sqoop.core.SqoopServer;
 import org.apache.sqoop.filter.SqoopAuthenticationFilter;
+import org.apache.sqoop.metrics.Counter;
+import org.apache.sqoop.metrics.Gauge;
+import org.apache.sqoop.metrics.MetricsManager;
 import org.apache.sqoop.server.v1.*;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.servlet.ServletContextHandler;
@@ -30,7 +33,6 @@
 
 import javax.servlet.DispatcherType;
 import java.util.EnumSet;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -51,9 +53,11 @@ public SqoopJettyServer() {
     SqoopJettyContext sqoopJettyContext = new SqoopJettyContext(SqoopConfiguration.getInstance().getContext());
     // Server thread pool
     // Start with minWorkerThreads, expand till maxWorkerThreads and reject subsequent requests
-    ExecutorService executorService = new ThreadPoolExecutor(sqoopJettyContext.getMinWorkerThreads(),
+    ThreadPoolExecutor executorService = new ThreadPoolExecutor(sqoopJettyContext.getMinWorkerThreads(),
             sqoopJettyContext.getMaxWorkerThreads(),
-            sqoopJettyContext.getWorkerKeepAliveTime(), TimeUnit.SECONDS, new SynchronousQueue<Runnable>());
+            sqoopJettyContext.getWorkerKeepAliveTime(), TimeUnit.SECONDS, new SynchronousQueue<Runnable>(),
+            new CountingAbortPolicy(MetricsManager.getInstance().counter("server.threads.rejected")));
+    registerThreadPoolGauges(executorService);
     ExecutorThreadPool threadPool = new ExecutorThreadPool(executorService);
     webServer = new Server(threadPool);
 
@@ -100,6 +104,45 @@ public String getServerUrl() {
     return webServer.getURI().toString() + "/";
   }
 
+  private static void registerThreadPoolGauges(final ThreadPoolExecutor executor) {
+    MetricsManager.getInstance().registerGauge("server.threads.active", new Gauge() {
+      @Override
+      public long getValue() {
+        return executor.getActiveCount();
+      }
+    });
+    MetricsManager.getInstance().registerGauge("server.threads.pool", new Gauge() {
+      @Override
+      public long getValue() {
+        return executor.getPoolSize();
+      }
+    });
+    MetricsManager.getInstance().registerGauge("server.threads.max", new Gauge() {
+      @Override
+      public long getValue() {
+        return executor.getMaximumPoolSize();
+      }
+    });
+  }
+
+  /**
+   * Rejects tasks same as the default policy while counting the rejections,
+   * so that saturation of the worker pool is visible in the metrics.
+   */
+  private static class CountingAbortPolicy extends ThreadPoolExecutor.AbortPolicy {
+    private final Counter rejected;
+
+    CountingAbortPolicy(Counter rejected) {
+      this.rejected = rejected;
+    }
+
+    @Override
+    public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+      rejected.increment();
+      super.rejectedExecution(r, executor);
+    }
+  }
+
   private static ServletContextHandler createServletContextHandler() {
     ServletContextHandler context = new ServletContextHandler();
     context.setContextPath("/sqoop");
@@ -109,6 +152,7 @@ private static ServletContextHandler createServletContextHandler() {
     context.addServlet(DriverServlet.class, "/v1/driver/*");
     context.addServlet(JobServlet.class, "/v1/job/*");
     context.addServlet(LinkServlet.class, "/v1/link/*");
+    context.addServlet(MetricsServlet.class, "/v1/metrics/*");
     context.addServlet(SubmissionsServlet.class, "/v1/submissions/*");
     context.addServlet(VersionServlet.class, "/version");
     context.addFilter(SqoopAuthenticationFilter.class, "/*", EnumSet.allOf(DispatcherType.class));
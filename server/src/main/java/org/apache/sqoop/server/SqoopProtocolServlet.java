@@ -32,6 +32,9 @@
 import org.apache.sqoop.common.SqoopResponseCode;
 import org.apache.sqoop.error.code.CoreError;
 import org.apache.sqoop.json.JsonBean;
+import org.apache.sqoop.metrics.Counter;
+import org.apache.sqoop.metrics.Histogram;
+import org.apache.sqoop.metrics.MetricsManager;
 import org.apache.sqoop.server.common.ServerError;
 
 @SuppressWarnings("serial")
@@ -41,19 +44,43 @@ public class SqoopProtocolServlet extends HttpServlet {
   private static final Logger LOG =
       Logger.getLogger(SqoopProtocolServlet.class);
 
+  private final Histogram getLatency;
+  private final Histogram postLatency;
+  private final Histogram putLatency;
+  private final Histogram deleteLatency;
+  private final Counter requestFailures;
+
+  public SqoopProtocolServlet() {
+    // Metric names are derived from the servlet, e.g. server.rest.job.get.latency_us
+    String prefix = "server.rest." + getClass().getSimpleName().replace("Servlet", "").toLowerCase() + ".";
+    MetricsManager metrics = MetricsManager.getInstance();
+    getLatency = metrics.histogram(prefix + "get.latency_us");
+    postLatency = metrics.histogram(prefix + "post.latency_us");
+    putLatency = metrics.histogram(prefix + "put.latency_us");
+    deleteLatency = metrics.histogram(prefix + "delete.latency_us");
+    requestFailures = metrics.counter(prefix + "failures");
+  }
+
   @Override
   protected final void doGet(HttpServletRequest req, HttpServletResponse resp)
       throws ServletException, IOException {
     RequestContext rctx = new RequestContext(req, resp);
 
+    long start = System.nanoTime();
     try {
       JsonBean bean = handleGetRequest(rctx);
       if (bean != null) {
         sendSuccessResponse(rctx, bean);
       }
     } catch (Exception ex) {
+      requestFailures.increment();
       LOG.error("Exception in GET " + rctx.getPath(), ex);
       sendErrorResponse(rctx, ex);
+    } finally {
+      // Long polls last as long as the client asks, they would skew the latency
+      if (!isLongPoll(rctx)) {
+        getLatency.updateSince(start);
+      }
     }
   }
 
@@ -61,14 +88,18 @@ protected final void doGet(HttpServletRequest req, HttpServletResponse resp)
   protected final void doPost(HttpServletRequest req, HttpServletResponse resp)
       throws ServletException, IOException {
     RequestContext rctx = new RequestContext(req, resp);
+    long start = System.nanoTime();
     try {
       JsonBean bean = handlePostRequest(rctx);
       if (bean != null) {
         sendSuccessResponse(rctx, bean);
       }
     } catch (Exception ex) {
+      requestFailures.increment();
       LOG.error("Exception in POST " + rctx.getPath(), ex);
       sendErrorResponse(rctx, ex);
+    } finally {
+      postLatency.updateSince(start);
     }
   }
 
@@ -77,14 +108,18 @@ protected final void doPut(HttpServletRequest req, HttpServletResponse resp)
       throws ServletException, IOException {
     RequestContext rctx = new RequestContext(req, resp);
 
+    long start = System.nanoTime();
     try {
       JsonBean bean = handlePutRequest(rctx);
       if (bean != null) {
         sendSuccessResponse(rctx, bean);
       }
     } catch (Exception ex) {
+      requestFailures.increment();
       LOG.error("Exception in PUT " + rctx.getPath(), ex);
       sendErrorResponse(rctx, ex);
+    } finally {
+      putLatency.updateSince(start);
     }
   }
 
@@ -93,14 +128,18 @@ protected final void doDelete(HttpServletRequest req, HttpServletResponse resp)
       throws ServletException, IOException {
     RequestContext rctx = new RequestContext(req, resp);
 
+    long start = System.nanoTime();
     try {
       JsonBean bean = handleDeleteRequest(rctx);
       if (bean != null) {
         sendSuccessResponse(rctx, bean);
       }
     } catch (Exception ex) {
+      requestFailures.increment();
       LOG.error("Exception in DELETE " + rctx.getPath(), ex);
       sendErrorResponse(rctx, ex);
+    } finally {
+      deleteLatency.updateSince(start);
     }
   }
 
@@ -160,6 +199,13 @@ private void setHeaders(HttpServletResponse response, SqoopResponseCode code)
         code.getMessage());
   }
 
+  /**
+   * Whether given GET request is held until something changes on the server.
+   */
+  protected boolean isLongPoll(RequestContext ctx) {
+    return false;
+  }
+
   protected JsonBean handleGetRequest(RequestContext ctx) throws Exception {
     throw new SqoopException(ServerError.SERVER_0002, ctx.getMethod() + " for " + ctx.getPath());
   }
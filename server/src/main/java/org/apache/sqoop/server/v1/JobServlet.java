@@ -71,6 +71,12 @@
  * GET /v1/job/{jname}/status
  *  get status of running job with job name jname
  *
+ * GET /v1/job/status?names={jname},{jname}
+ *  get status of all given jobs, names are individually URL encoded
+ * GET /v1/job/status?names={jname},{jname}&token={token}&timeout={ms}
+ *  wait until status of any given job differs from state described by token
+ *  or until timeout expires and return status of all given jobs
+ *
  */
 @SuppressWarnings("serial")
 public class JobServlet extends SqoopProtocolServlet {
@@ -82,6 +88,11 @@ public JobServlet() {
     jobRequestHandler = new JobRequestHandler();
   }
 
+  @Override
+  protected boolean isLongPoll(RequestContext ctx) {
+    return JobRequestHandler.isLongPoll(ctx);
+  }
+
   @Override
   protected JsonBean handleGetRequest(RequestContext ctx) throws Exception {
     return jobRequestHandler.handleEvent(ctx);
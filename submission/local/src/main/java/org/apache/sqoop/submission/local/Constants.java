@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.submission.local;
+
+/**
+ * Configuration constants for Local submission engine
+ */
+public class Constants {
+
+  public static final String PREFIX_LOCAL = "local.";
+
+  /**
+   * Submission engine used for jobs that are not executed locally.
+   */
+  public static final String CONF_DELEGATE =
+    PREFIX_LOCAL + "delegate";
+
+  /**
+   * Size of the thread pool shared by all local jobs.
+   */
+  public static final String CONF_THREADS =
+    PREFIX_LOCAL + "threads";
+
+  public static final int DEFAULT_THREADS = 10;
+
+  /**
+   * Maximal number of threads (extractors and loaders) of a single job.
+   */
+  public static final String CONF_JOB_THREADS =
+    PREFIX_LOCAL + "job.threads";
+
+  public static final int DEFAULT_JOB_THREADS = 4;
+
+  /**
+   * Comma separated names of jobs that should always run locally.
+   */
+  public static final String CONF_JOBS =
+    PREFIX_LOCAL + "jobs";
+
+  /**
+   * Jobs whose last successful run has read less rows than this are
+   * executed locally, zero disables the check.
+   */
+  public static final String CONF_ROW_THRESHOLD =
+    PREFIX_LOCAL + "row.threshold";
+
+  public static final long DEFAULT_ROW_THRESHOLD = 0;
+
+  /**
+   * Number of rows handed over from extractors to loaders at once.
+   */
+  public static final String CONF_BLOCK_SIZE =
+    PREFIX_LOCAL + "block.size";
+
+  public static final int DEFAULT_BLOCK_SIZE = 256;
+
+  /**
+   * Number of partitions requested from the partitioner when the job does
+   * not specify number of extractors.
+   */
+  public static final int DEFAULT_EXTRACTORS = 10;
+
+  /**
+   * Prefix of external ids of locally executed jobs.
+   */
+  public static final String JOB_ID_PREFIX = "local_";
+
+  private Constants() {
+    // Instantiation is prohibited
+  }
+}
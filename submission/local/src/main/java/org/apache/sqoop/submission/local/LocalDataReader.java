@@ -0,0 +1,173 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.submission.local;
+
+import java.util.concurrent.BlockingQueue;
+
+import org.apache.sqoop.connector.idf.IntermediateDataFormat;
+import org.apache.sqoop.etl.io.DataReader;
+import org.apache.sqoop.submission.counter.DataPathCounters;
+import org.apache.sqoop.submission.counter.SqoopCounters;
+
+/**
+ * Reader given to loaders of a local job.
+ *
+ * Rows are taken from the blocks written by LocalDataWriter, text and
+ * native representations are produced through the TO intermediate data
+ * format only when the loader asks for them.
+ */
+class LocalDataReader extends DataReader {
+
+  /**
+   * Block marking end of data, every loader receives one.
+   */
+  static final Object[][] END = new Object[0][];
+
+  private final IntermediateDataFormat<?> toIDF;
+  private final BlockingQueue<Object[][]> queue;
+  private final DataPathCounters counters;
+  private final LocalJob.CountersPublisher publisher;
+
+  private Object[][] current;
+  private int currentIndex;
+  private boolean endOfData;
+
+  LocalDataReader(IntermediateDataFormat<?> toIDF, BlockingQueue<Object[][]> queue,
+      DataPathCounters counters, LocalJob.CountersPublisher publisher) {
+    this.toIDF = toIDF;
+    this.queue = queue;
+    this.counters = counters;
+    this.publisher = publisher;
+  }
+
+  @Override
+  public Object[] readArrayRecord() throws InterruptedException {
+    if (!ensureData(true)) {
+      return null;
+    }
+    Object[] record = nextRecord();
+    countRows(1);
+    return record;
+  }
+
+  @Override
+  public Object[][] readArrayRecords(int max) throws InterruptedException {
+    if (!ensureData(true)) {
+      return null;
+    }
+    // Wait only for the first row, the rest is what is already available
+    Object[][] records = new Object[max][];
+    int count = 0;
+    while (count < max && ensureData(false)) {
+      int length = Math.min(max - count, current.length - currentIndex);
+      System.arraycopy(current, currentIndex, records, count, length);
+      currentIndex += length;
+      count += length;
+    }
+    if (count < max) {
+      Object[][] trimmed = new Object[count][];
+      System.arraycopy(records, 0, trimmed, 0, count);
+      records = trimmed;
+    }
+    countRows(count);
+    return records;
+  }
+
+  @Override
+  public String readTextRecord() throws InterruptedException {
+    if (!ensureData(true)) {
+      return null;
+    }
+    toIDF.setObjectData(nextRecord());
+    String record = toIDF.getCSVTextData();
+    countRows(1);
+    return record;
+  }
+
+  @Override
+  public Object readContent() throws InterruptedException {
+    if (!ensureData(true)) {
+      return null;
+    }
+    toIDF.setObjectData(nextRecord());
+    Object record = toIDF.getData();
+    countRows(1);
+    return record;
+  }
+
+  /**
+   * Check whether there are rows left that the loader has not read, waiting
+   * for the extractors if needed.
+   *
+   * @return True if at least one more row is available
+   */
+  boolean hasMoreData() throws InterruptedException {
+    return ensureData(true);
+  }
+
+  private Object[] nextRecord() {
+    Object[] record = current[currentIndex];
+    // Do not keep consumed rows reachable until the block is released
+    current[currentIndex++] = null;
+    return record;
+  }
+
+  /**
+   * Make sure that there is at least one row available in the current
+   * block.
+   *
+   * @param wait Whether to wait for the extractors when no block is ready
+   * @return False if there are no more rows (or no rows ready when not
+   *         waiting)
+   */
+  private boolean ensureData(boolean wait) throws InterruptedException {
+    if (wait) {
+      counters.addElapsed(SqoopCounters.LOADER_TIME);
+    }
+    if (current != null && currentIndex < current.length) {
+      return true;
+    }
+    if (endOfData) {
+      return false;
+    }
+    Object[][] next;
+    if (wait) {
+      next = queue.take();
+      counters.addElapsed(SqoopCounters.CONSUMER_STALL_TIME);
+      publisher.publish();
+    } else {
+      next = queue.poll();
+      if (next == null) {
+        return false;
+      }
+    }
+    if (next == END) {
+      endOfData = true;
+      current = null;
+      return false;
+    }
+    current = next;
+    currentIndex = 0;
+    return true;
+  }
+
+  private void countRows(int rows) {
+    counters.addElapsed(SqoopCounters.LOAD_CONVERSION_TIME);
+    counters.increment(SqoopCounters.ROWS_WRITTEN, rows);
+  }
+}
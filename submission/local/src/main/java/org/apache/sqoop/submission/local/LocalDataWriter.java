@@ -0,0 +1,125 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.submission.local;
+
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.idf.IntermediateDataFormat;
+import org.apache.sqoop.connector.matcher.Matcher;
+import org.apache.sqoop.error.code.LocalSubmissionError;
+import org.apache.sqoop.etl.io.DataWriter;
+import org.apache.sqoop.submission.counter.DataPathCounters;
+import org.apache.sqoop.submission.counter.SqoopCounters;
+
+/**
+ * Writer given to extractors of a local job.
+ *
+ * Rows are converted through the FROM intermediate data format, matched to
+ * the TO schema and handed over to the loaders in blocks of object arrays,
+ * so there is no text serialization between extractor and loader threads.
+ */
+class LocalDataWriter extends DataWriter {
+
+  private final IntermediateDataFormat<Object> fromIDF;
+  private final Matcher matcher;
+  private final BlockingQueue<Object[][]> queue;
+  private final DataPathCounters counters;
+  private final LocalJob.CountersPublisher publisher;
+  private final int blockSize;
+
+  private Object[][] block;
+  private int blockCount;
+
+  LocalDataWriter(IntermediateDataFormat<Object> fromIDF, Matcher matcher, BlockingQueue<Object[][]> queue,
+      int blockSize, DataPathCounters counters, LocalJob.CountersPublisher publisher) {
+    this.fromIDF = fromIDF;
+    this.matcher = matcher;
+    this.queue = queue;
+    this.blockSize = blockSize;
+    this.counters = counters;
+    this.publisher = publisher;
+    this.block = new Object[blockSize][];
+  }
+
+  @Override
+  public void writeArrayRecord(Object[] array) {
+    counters.addElapsed(SqoopCounters.EXTRACTOR_TIME);
+    fromIDF.setObjectData(array);
+    convertAndWrite();
+    counters.increment(SqoopCounters.ROWS_READ, 1);
+  }
+
+  @Override
+  public void writeArrayRecords(Object[][] rows, int count) {
+    counters.addElapsed(SqoopCounters.EXTRACTOR_TIME);
+    for (int i = 0; i < count; i++) {
+      fromIDF.setObjectData(rows[i]);
+      convertAndWrite();
+    }
+    counters.increment(SqoopCounters.ROWS_READ, count);
+  }
+
+  @Override
+  public void writeStringRecord(String text) {
+    counters.addElapsed(SqoopCounters.EXTRACTOR_TIME);
+    fromIDF.setCSVTextData(text);
+    convertAndWrite();
+    counters.increment(SqoopCounters.ROWS_READ, 1);
+  }
+
+  @Override
+  public void writeRecord(Object obj) {
+    counters.addElapsed(SqoopCounters.EXTRACTOR_TIME);
+    fromIDF.setData(obj);
+    convertAndWrite();
+    counters.increment(SqoopCounters.ROWS_READ, 1);
+  }
+
+  private void convertAndWrite() {
+    // getObjectData() returns new array for every row, so it can be handed
+    // over to the loader without copying
+    block[blockCount++] = matcher.getMatchingData(fromIDF.getObjectData());
+    counters.addElapsed(SqoopCounters.EXTRACT_CONVERSION_TIME);
+    if (blockCount == blockSize) {
+      flush();
+    }
+  }
+
+  /**
+   * Hand over the rows written so far to the loaders, waiting while the
+   * loaders are behind.
+   */
+  void flush() {
+    if (blockCount == 0) {
+      return;
+    }
+    Object[][] full = blockCount == blockSize ? block : Arrays.copyOf(block, blockCount);
+    try {
+      queue.put(full);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SqoopException(LocalSubmissionError.LOCAL_0007, e);
+    }
+    counters.addElapsed(SqoopCounters.PRODUCER_STALL_TIME);
+    block = new Object[blockSize][];
+    blockCount = 0;
+    publisher.publish();
+  }
+}
@@ -0,0 +1,541 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.submission.local;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.Logger;
+import org.apache.sqoop.common.Direction;
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.idf.IntermediateDataFormat;
+import org.apache.sqoop.connector.matcher.Matcher;
+import org.apache.sqoop.connector.matcher.MatcherFactory;
+import org.apache.sqoop.driver.JobRequest;
+import org.apache.sqoop.error.code.LocalSubmissionError;
+import org.apache.sqoop.job.etl.Destroyer;
+import org.apache.sqoop.job.etl.DestroyerContext;
+import org.apache.sqoop.job.etl.Extractor;
+import org.apache.sqoop.job.etl.ExtractorContext;
+import org.apache.sqoop.job.etl.From;
+import org.apache.sqoop.job.etl.Loader;
+import org.apache.sqoop.job.etl.LoaderContext;
+import org.apache.sqoop.job.etl.Partition;
+import org.apache.sqoop.job.etl.Partitioner;
+import org.apache.sqoop.job.etl.PartitionerContext;
+import org.apache.sqoop.job.etl.To;
+import org.apache.sqoop.model.MSubmission;
+import org.apache.sqoop.model.SubmissionError;
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.submission.SubmissionStatus;
+import org.apache.sqoop.submission.counter.Counter;
+import org.apache.sqoop.submission.counter.CounterGroup;
+import org.apache.sqoop.submission.counter.Counters;
+import org.apache.sqoop.submission.counter.DataPathCounters;
+import org.apache.sqoop.submission.counter.SqoopCounters;
+import org.apache.sqoop.utils.ClassUtils;
+import org.apache.sqoop.utils.ConnectorClassLoader;
+
+/**
+ * Single job executed by the local submission engine.
+ *
+ * The job itself runs the partitioner and destroyers and coordinates
+ * extractor and loader tasks that are executed on the thread pool shared by
+ * all local jobs. Before submitting any task the job acquires a permit for
+ * each of its threads, so concurrent jobs never use more threads than the
+ * pool has. Extractors take partitions one by one from a shared queue and
+ * hand rows over to the loaders through a bounded queue of row blocks.
+ *
+ * Connector code runs with a ConnectorClassLoader built from the jars of the
+ * job request as the thread context class loader.
+ */
+class LocalJob implements Runnable {
+
+  private static final Logger LOG = Logger.getLogger(LocalJob.class);
+
+  private static final SqoopCounters[] COUNTERS = SqoopCounters.values();
+
+  private final String id;
+  private final JobRequest request;
+  private final ExecutorService taskPool;
+  private final Semaphore threads;
+  private final int jobThreads;
+  private final int blockSize;
+  private final ClassLoader parentClassLoader;
+
+  /**
+   * Counters of all tasks in their reporting units, guarded by this.
+   */
+  private final long[] totals = new long[COUNTERS.length];
+  private final boolean[] used = new boolean[COUNTERS.length];
+
+  /**
+   * Threads currently executing tasks of this job.
+   */
+  private final Set<Thread> workers = new CopyOnWriteArraySet<Thread>();
+
+  private final AtomicInteger partitionsDone = new AtomicInteger();
+  private volatile int partitionsTotal;
+  private volatile DestroyerContext destroyerContext;
+
+  private volatile SubmissionStatus status = SubmissionStatus.RUNNING;
+  private volatile Throwable failure;
+  private volatile Thread runner;
+  private volatile ClassLoader classLoader;
+
+  LocalJob(String id, JobRequest request, ExecutorService taskPool, Semaphore threads,
+      int jobThreads, int blockSize) {
+    this.id = id;
+    this.request = request;
+    this.taskPool = taskPool;
+    this.threads = threads;
+    this.jobThreads = jobThreads;
+    this.blockSize = blockSize;
+    this.parentClassLoader = Thread.currentThread().getContextClassLoader();
+  }
+
+  String getId() {
+    return id;
+  }
+
+  @Override
+  public void run() {
+    Thread thread = Thread.currentThread();
+    ClassLoader previous = thread.getContextClassLoader();
+    ConnectorClassLoader loader = null;
+    boolean success = false;
+    runner = thread;
+    try {
+      if (failure != null) {
+        // Stopped before it has been started
+        return;
+      }
+      loader = createClassLoader();
+      classLoader = loader;
+      thread.setContextClassLoader(loader);
+
+      List<Partition> partitions = partition();
+      transfer(partitions);
+      success = true;
+    } catch (Throwable t) {
+      fail(t);
+    } finally {
+      // Destroyers must not be interrupted by stop()
+      runner = null;
+      Thread.interrupted();
+      destroy(success && failure == null);
+
+      status = failure == null ? SubmissionStatus.SUCCEEDED : SubmissionStatus.FAILED;
+      LOG.info("Local job " + id + " has finished with status " + status);
+      thread.setContextClassLoader(previous);
+      if (loader != null) {
+        try {
+          loader.close();
+        } catch (IOException e) {
+          LOG.warn("Can't close class loader of local job " + id, e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Stop the job, running tasks are interrupted and the job will finish as
+   * failed.
+   */
+  void stop() {
+    LOG.info("Stopping local job " + id);
+    fail(new SqoopException(LocalSubmissionError.LOCAL_0007, id));
+    Thread thread = runner;
+    if (thread != null) {
+      thread.interrupt();
+    }
+  }
+
+  /**
+   * Copy current state of the job into given submission.
+   */
+  void update(MSubmission submission) {
+    SubmissionStatus current = status;
+    submission.setStatus(current);
+    submission.setProgress(current.isRunning() ? progress() : -1);
+    submission.setError(current == SubmissionStatus.FAILED ? error(failure) : null);
+    Counters counters = counters();
+    DataPathCounters.addThroughput(counters, submission.getCreationDate());
+    submission.setCounters(counters);
+    submission.setLastUpdateDate(new Date());
+  }
+
+  private ConnectorClassLoader createClassLoader() throws MalformedURLException {
+    List<URL> urls = new ArrayList<URL>();
+    for (String jar : request.getJars()) {
+      // Jars are usually local paths, but they might be URLs as well
+      urls.add(jar.contains(":/") ? new URL(jar) : new File(jar).toURI().toURL());
+    }
+    return new ConnectorClassLoader(urls.toArray(new URL[urls.size()]), parentClassLoader, null, false);
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<Partition> partition() {
+    Partitioner partitioner = (Partitioner) ClassUtils.instantiate(((From) request.getFrom()).getPartitioner());
+    long maxPartitions = request.getExtractors() != null ? request.getExtractors() : Constants.DEFAULT_EXTRACTORS;
+    PartitionerContext context = new PartitionerContext(request.getConnectorContext(Direction.FROM),
+        maxPartitions, request.getJobSubmission().getFromSchema(), getUser());
+
+    List<Partition> partitions;
+    try {
+      partitions = partitioner.getPartitions(context,
+          request.getConnectorLinkConfig(Direction.FROM), request.getJobConfig(Direction.FROM));
+    } catch (Exception e) {
+      throw new SqoopException(LocalSubmissionError.LOCAL_0004, e);
+    }
+    if (partitions.size() > maxPartitions) {
+      throw new SqoopException(LocalSubmissionError.LOCAL_0004,
+          "Partitioner returned " + partitions.size() + " partitions, more than " + maxPartitions);
+    }
+    partitionsTotal = partitions.size();
+    return partitions;
+  }
+
+  private void transfer(List<Partition> partitions) throws Exception {
+    int loaders = Math.max(1, Math.min(request.getLoaders() != null ? request.getLoaders() : 1, jobThreads - 1));
+    int extractors = Math.min(partitions.size(), jobThreads - loaders);
+    int permits = loaders + extractors;
+    LOG.info("Local job " + id + " is waiting for " + extractors + " extractor and " + loaders + " loader threads");
+    threads.acquire(permits);
+
+    List<Future<Void>> tasks = new ArrayList<Future<Void>>();
+    try {
+      BlockingQueue<Object[][]> queue = new ArrayBlockingQueue<Object[][]>(2 * permits);
+      Queue<Partition> pending = new ConcurrentLinkedQueue<Partition>(partitions);
+      CompletionService<Void> completion = new ExecutorCompletionService<Void>(taskPool);
+      Set<Future<Void>> extractorTasks = new HashSet<Future<Void>>();
+
+      for (int i = 0; i < loaders; i++) {
+        tasks.add(completion.submit(new LoaderTask(queue)));
+      }
+      for (int i = 0; i < extractors; i++) {
+        Future<Void> task = completion.submit(new ExtractorTask(pending, queue));
+        tasks.add(task);
+        extractorTasks.add(task);
+      }
+
+      int runningExtractors = extractors;
+      if (runningExtractors == 0) {
+        endOfData(queue, loaders);
+      }
+      for (int i = 0; i < permits; i++) {
+        Future<Void> task = completion.take();
+        try {
+          task.get();
+        } catch (ExecutionException e) {
+          if (e.getCause() instanceof Error) {
+            throw (Error) e.getCause();
+          }
+          throw (Exception) e.getCause();
+        }
+        if (extractorTasks.contains(task) && --runningExtractors == 0) {
+          endOfData(queue, loaders);
+        }
+      }
+    } catch (Exception | Error e) {
+      fail(e);
+      throw e;
+    } finally {
+      awaitTermination(tasks);
+      threads.release(permits);
+    }
+  }
+
+  private void endOfData(BlockingQueue<Object[][]> queue, int loaders) throws InterruptedException {
+    for (int i = 0; i < loaders; i++) {
+      queue.put(LocalDataReader.END);
+    }
+  }
+
+  /**
+   * Wait until all tasks have finished, so that destroyers never run
+   * concurrently with an extractor or loader.
+   */
+  private void awaitTermination(List<Future<Void>> tasks) {
+    boolean interrupted = false;
+    for (Future<Void> task : tasks) {
+      while (true) {
+        try {
+          task.get();
+          break;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        } catch (ExecutionException e) {
+          break;
+        }
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void destroy(boolean success) {
+    runDestroyer(Direction.FROM, success);
+    runDestroyer(Direction.TO, success);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void runDestroyer(Direction direction, boolean success) {
+    Class<? extends Destroyer> destroyerClass = direction == Direction.FROM ?
+        request.getFrom().getDestroyer() : request.getTo().getDestroyer();
+    Destroyer destroyer = (Destroyer) ClassUtils.instantiate(destroyerClass);
+    if (destroyer == null) {
+      LOG.info("Skipping running " + direction + " destroyer as non was defined.");
+      return;
+    }
+
+    Matcher matcher = getMatcher();
+    Schema schema = direction == Direction.FROM ? matcher.getFromSchema() : matcher.getToSchema();
+    DestroyerContext context = new DestroyerContext(request.getConnectorContext(direction), success, schema, getUser());
+    destroyerContext = context;
+    try {
+      LOG.info("Executing destroyer class " + destroyer.getClass());
+      destroyer.destroy(context, request.getConnectorLinkConfig(direction), request.getJobConfig(direction));
+    } catch (Throwable t) {
+      LOG.error("Destroyer of local job " + id + " has failed", t);
+      fail(t);
+    }
+  }
+
+  /**
+   * Record the first failure and interrupt all running tasks.
+   */
+  private void fail(Throwable t) {
+    synchronized (this) {
+      if (failure != null) {
+        LOG.debug("Ignoring subsequent failure of local job " + id, t);
+        return;
+      }
+      LOG.error("Local job " + id + " has failed", t);
+      failure = t;
+    }
+    for (Thread worker : workers) {
+      worker.interrupt();
+    }
+  }
+
+  /**
+   * Destroyers count as one more partition, so that long running ones (e.g.
+   * merging of temporary data) are visible in the progress.
+   */
+  private double progress() {
+    DestroyerContext destroying = destroyerContext;
+    double destroyed = destroying == null ? 0 : Math.max(destroying.getProgress(), 0);
+    return (partitionsDone.get() + destroyed) / (partitionsTotal + 1);
+  }
+
+  private synchronized Counters counters() {
+    CounterGroup group = new CounterGroup(SqoopCounters.class.getName());
+    for (SqoopCounters counter : COUNTERS) {
+      if (used[counter.ordinal()]) {
+        group.addCounter(new Counter(counter.name(), totals[counter.ordinal()]));
+      }
+    }
+    Counters counters = new Counters();
+    counters.addCounterGroup(group);
+    return counters;
+  }
+
+  private static SubmissionError error(Throwable t) {
+    if (t == null) {
+      return null;
+    }
+    SubmissionError error = new SubmissionError();
+    error.setErrorSummary(t.toString());
+    StringWriter writer = new StringWriter();
+    t.printStackTrace(new PrintWriter(writer));
+    writer.flush();
+    error.setErrorDetails(writer.toString());
+    return error;
+  }
+
+  private Matcher getMatcher() {
+    return MatcherFactory.getMatcher(request.getJobSubmission().getFromSchema(),
+        request.getJobSubmission().getToSchema());
+  }
+
+  @SuppressWarnings("unchecked")
+  private IntermediateDataFormat<Object> createDataFormat(Direction direction, Schema schema) {
+    IntermediateDataFormat<Object> dataFormat =
+        (IntermediateDataFormat<Object>) ClassUtils.instantiate(request.getIntermediateDataFormat(direction));
+    dataFormat.setSchema(schema);
+    return dataFormat;
+  }
+
+  private String getUser() {
+    return request.getJobSubmission().getCreationUser();
+  }
+
+  /**
+   * Adds counters of a single task to the job totals. Every publisher is
+   * used by one thread only, totals are updated under the job lock.
+   */
+  class CountersPublisher {
+
+    private final DataPathCounters counters;
+    private final long[] published = new long[COUNTERS.length];
+
+    CountersPublisher(DataPathCounters counters) {
+      this.counters = counters;
+    }
+
+    void publish() {
+      synchronized (LocalJob.this) {
+        for (SqoopCounters counter : COUNTERS) {
+          if (counters.isUsed(counter)) {
+            int index = counter.ordinal();
+            long value = counters.getValue(counter);
+            totals[index] += value - published[index];
+            published[index] = value;
+            used[index] = true;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Common part of extractor and loader tasks.
+   */
+  private abstract class Task implements Callable<Void> {
+
+    @Override
+    public Void call() throws Exception {
+      Thread thread = Thread.currentThread();
+      ClassLoader previous = thread.getContextClassLoader();
+      workers.add(thread);
+      thread.setContextClassLoader(classLoader);
+      try {
+        // Job might have failed before this task got a thread
+        if (failure != null) {
+          return null;
+        }
+        DataPathCounters counters = new DataPathCounters();
+        CountersPublisher publisher = new CountersPublisher(counters);
+        try {
+          execute(counters, publisher);
+        } finally {
+          publisher.publish();
+        }
+        return null;
+      } finally {
+        thread.setContextClassLoader(previous);
+        workers.remove(thread);
+      }
+    }
+
+    abstract void execute(DataPathCounters counters, CountersPublisher publisher) throws Exception;
+  }
+
+  private class ExtractorTask extends Task {
+
+    private final Queue<Partition> pending;
+    private final BlockingQueue<Object[][]> queue;
+
+    ExtractorTask(Queue<Partition> pending, BlockingQueue<Object[][]> queue) {
+      this.pending = pending;
+      this.queue = queue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    void execute(DataPathCounters counters, CountersPublisher publisher) {
+      Matcher matcher = getMatcher();
+      LocalDataWriter writer = new LocalDataWriter(createDataFormat(Direction.FROM, matcher.getFromSchema()),
+          matcher, queue, blockSize, counters, publisher);
+      ExtractorContext context = new ExtractorContext(request.getConnectorContext(Direction.FROM),
+          writer, matcher.getFromSchema(), getUser());
+      Object linkConfig = request.getConnectorLinkConfig(Direction.FROM);
+      Object jobConfig = request.getJobConfig(Direction.FROM);
+
+      Partition partition;
+      while (failure == null && (partition = pending.poll()) != null) {
+        Extractor extractor = (Extractor) ClassUtils.instantiate(((From) request.getFrom()).getExtractor());
+        counters.mark();
+        try {
+          extractor.extract(context, linkConfig, jobConfig, partition);
+        } catch (Exception e) {
+          throw new SqoopException(LocalSubmissionError.LOCAL_0005, partition.toString(), e);
+        }
+        counters.addElapsed(SqoopCounters.EXTRACTOR_TIME);
+        writer.flush();
+        partitionsDone.incrementAndGet();
+      }
+    }
+  }
+
+  private class LoaderTask extends Task {
+
+    private final BlockingQueue<Object[][]> queue;
+
+    LoaderTask(BlockingQueue<Object[][]> queue) {
+      this.queue = queue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    void execute(DataPathCounters counters, CountersPublisher publisher) throws InterruptedException {
+      Matcher matcher = getMatcher();
+      LocalDataReader reader = new LocalDataReader(createDataFormat(Direction.TO, matcher.getToSchema()),
+          queue, counters, publisher);
+      LoaderContext context = new LoaderContext(request.getConnectorContext(Direction.TO),
+          reader, matcher.getToSchema(), getUser());
+      Loader loader = (Loader) ClassUtils.instantiate(((To) request.getTo()).getLoader());
+
+      counters.mark();
+      try {
+        loader.load(context, request.getConnectorLinkConfig(Direction.TO), request.getJobConfig(Direction.TO));
+      } catch (Exception e) {
+        throw new SqoopException(LocalSubmissionError.LOCAL_0006, e);
+      }
+      counters.addElapsed(SqoopCounters.LOADER_TIME);
+      // Rows left behind would be silently lost and extractors could block
+      if (reader.hasMoreData()) {
+        throw new SqoopException(LocalSubmissionError.LOCAL_0006, "Loader has finished before reading all rows");
+      }
+    }
+  }
+}
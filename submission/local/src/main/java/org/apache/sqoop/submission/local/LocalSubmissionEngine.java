@@ -0,0 +1,285 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.submission.local;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.log4j.Logger;
+import org.apache.sqoop.common.MapContext;
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.driver.DriverConstants;
+import org.apache.sqoop.driver.JobRequest;
+import org.apache.sqoop.driver.SubmissionEngine;
+import org.apache.sqoop.error.code.DriverError;
+import org.apache.sqoop.error.code.LocalSubmissionError;
+import org.apache.sqoop.execution.local.LocalExecutionEngine;
+import org.apache.sqoop.model.MSubmission;
+import org.apache.sqoop.model.SubmissionError;
+import org.apache.sqoop.repository.RepositoryManager;
+import org.apache.sqoop.submission.SubmissionStatus;
+import org.apache.sqoop.submission.counter.Counter;
+import org.apache.sqoop.submission.counter.CounterGroup;
+import org.apache.sqoop.submission.counter.SqoopCounters;
+import org.apache.sqoop.utils.ClassUtils;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Submission engine that executes jobs inside the Sqoop server on a bounded
+ * thread pool, avoiding the scheduling overhead of a cluster for small
+ * transfers.
+ *
+ * Another submission engine (with matching execution engine configured for
+ * LocalExecutionEngine) can be configured as a delegate. Jobs are then
+ * executed locally only if they are listed by name or if their last
+ * successful run has read less rows than configured threshold, everything
+ * else is handed over to the delegate. Local jobs are recognized by the
+ * prefix of their external id.
+ */
+public class LocalSubmissionEngine extends SubmissionEngine {
+
+  private static final Logger LOG = Logger.getLogger(LocalSubmissionEngine.class);
+
+  private final ConcurrentMap<String, LocalJob> jobs = new ConcurrentHashMap<String, LocalJob>();
+
+  private final AtomicLong sequence = new AtomicLong();
+
+  private SubmissionEngine delegate;
+
+  /**
+   * Threads coordinating local jobs, they do not count against the limit.
+   */
+  private ExecutorService jobPool;
+
+  /**
+   * Threads executing extractors and loaders of all local jobs.
+   */
+  private ExecutorService taskPool;
+
+  private Semaphore threads;
+
+  private int jobThreads;
+
+  private int blockSize;
+
+  private long rowThreshold;
+
+  private Set<String> localJobs;
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void initialize(MapContext context, String prefix) {
+    super.initialize(context, prefix);
+    LOG.info("Initializing Local Submission Engine");
+
+    int poolSize = context.getInt(prefix + Constants.CONF_THREADS, Constants.DEFAULT_THREADS);
+    if (poolSize < 2) {
+      throw new SqoopException(LocalSubmissionError.LOCAL_0002,
+        "At least two threads are required, configured " + poolSize);
+    }
+    // Every job needs at least one extractor and one loader thread
+    jobThreads = Math.max(2, Math.min(poolSize,
+      context.getInt(prefix + Constants.CONF_JOB_THREADS, Constants.DEFAULT_JOB_THREADS)));
+    blockSize = Math.max(1, context.getInt(prefix + Constants.CONF_BLOCK_SIZE, Constants.DEFAULT_BLOCK_SIZE));
+    rowThreshold = context.getLong(prefix + Constants.CONF_ROW_THRESHOLD, Constants.DEFAULT_ROW_THRESHOLD);
+
+    localJobs = new HashSet<String>();
+    String jobNames = context.getString(prefix + Constants.CONF_JOBS, "");
+    for (String jobName : jobNames.split(",")) {
+      if (!jobName.trim().isEmpty()) {
+        localJobs.add(jobName.trim());
+      }
+    }
+
+    threads = new Semaphore(poolSize, true);
+    taskPool = Executors.newFixedThreadPool(poolSize,
+      new ThreadFactoryBuilder().setNameFormat("LocalSubmissionEngine-task-%d").setDaemon(true).build());
+    jobPool = Executors.newCachedThreadPool(
+      new ThreadFactoryBuilder().setNameFormat("LocalSubmissionEngine-job-%d").setDaemon(true).build());
+
+    String delegateClassName = context.getString(prefix + Constants.CONF_DELEGATE);
+    if (delegateClassName != null && !delegateClassName.trim().isEmpty()) {
+      delegate = (SubmissionEngine) ClassUtils.instantiate(delegateClassName.trim());
+      if (delegate == null) {
+        throw new SqoopException(DriverError.DRIVER_0001, delegateClassName);
+      }
+      LOG.info("Using delegate submission engine " + delegateClassName);
+      delegate.initialize(context, prefix);
+
+      String executionClassName = context.getString(
+        DriverConstants.PREFIX_EXECUTION_ENGINE_CONFIG + LocalExecutionEngine.DELEGATE);
+      Class<?> executionClass = executionClassName == null ? null : ClassUtils.loadClass(executionClassName.trim());
+      if (executionClass == null || !delegate.isExecutionEngineSupported(executionClass)) {
+        throw new SqoopException(DriverError.DRIVER_0008,
+          "Delegate submission engine requires matching delegate execution engine");
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void destroy() {
+    super.destroy();
+    LOG.info("Destroying Local Submission Engine");
+
+    for (LocalJob job : jobs.values()) {
+      job.stop();
+    }
+    jobPool.shutdownNow();
+    taskPool.shutdownNow();
+
+    if (delegate != null) {
+      delegate.destroy();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isExecutionEngineSupported(Class<?> executionEngineClass) {
+    return executionEngineClass == LocalExecutionEngine.class;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean submit(JobRequest request) {
+    if (delegate != null && !isLocalJob(request)) {
+      return delegate.submit(request);
+    }
+
+    MSubmission submission = request.getJobSubmission();
+    String externalJobId = Constants.JOB_ID_PREFIX + request.getJobId() + "_" + sequence.incrementAndGet();
+    LocalJob job = new LocalJob(externalJobId, request, taskPool, threads, jobThreads, blockSize);
+    jobs.put(externalJobId, job);
+    try {
+      jobPool.execute(job);
+    } catch (RuntimeException e) {
+      jobs.remove(externalJobId);
+      SubmissionError error = new SubmissionError();
+      error.setErrorSummary(e.toString());
+      submission.setError(error);
+      LOG.error("Error in submitting job", e);
+      return false;
+    }
+    LOG.debug("Executed new local job with id " + externalJobId);
+
+    submission.setExternalJobId(externalJobId);
+    submission.setStatus(SubmissionStatus.RUNNING);
+    submission.setLastUpdateDate(new Date());
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void stop(String externalJobId) {
+    if (!isLocalJobId(externalJobId)) {
+      delegate.stop(externalJobId);
+      return;
+    }
+
+    LocalJob job = jobs.get(externalJobId);
+    if (job != null) {
+      job.stop();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void update(MSubmission submission) {
+    String externalJobId = submission.getExternalJobId();
+    if (!isLocalJobId(externalJobId)) {
+      delegate.update(submission);
+      return;
+    }
+
+    LocalJob job = jobs.get(externalJobId);
+    if (job == null) {
+      // Local jobs do not survive server restart
+      SubmissionError error = new SubmissionError();
+      error.setErrorSummary(new SqoopException(LocalSubmissionError.LOCAL_0008, externalJobId).toString());
+      submission.setStatus(SubmissionStatus.FAILED);
+      submission.setError(error);
+      submission.setProgress(-1);
+      submission.setLastUpdateDate(new Date());
+      return;
+    }
+
+    job.update(submission);
+    if (!submission.getStatus().isRunning()) {
+      // Final state has been reported, nobody will ask again
+      jobs.remove(externalJobId);
+    }
+  }
+
+  private boolean isLocalJobId(String externalJobId) {
+    return delegate == null || (externalJobId != null && externalJobId.startsWith(Constants.JOB_ID_PREFIX));
+  }
+
+  /**
+   * Decide whether given job should run locally rather than on the delegate.
+   *
+   * Size of the transfer is not known before the job runs, number of rows
+   * read by the last successful run is used as an estimate.
+   */
+  private boolean isLocalJob(JobRequest request) {
+    if (localJobs.contains(request.getJobName())) {
+      return true;
+    }
+    if (rowThreshold <= 0) {
+      return false;
+    }
+
+    long rows = -1;
+    List<MSubmission> submissions = RepositoryManager.getInstance().getRepository()
+      .findSubmissionsForJob(request.getJobName());
+    // Submissions are sorted from the most recent one
+    for (MSubmission previous : submissions) {
+      if (previous.getStatus() != SubmissionStatus.SUCCEEDED || previous.getCounters() == null) {
+        continue;
+      }
+      CounterGroup group = previous.getCounters().getCounterGroup(SqoopCounters.class.getName());
+      Counter counter = group == null ? null : group.getCounter(SqoopCounters.ROWS_READ.name());
+      if (counter != null) {
+        rows = counter.getValue();
+      }
+      break;
+    }
+    LOG.debug("Job " + request.getJobName() + " has read " + rows + " rows during last successful run");
+    return rows >= 0 && rows < rowThreshold;
+  }
+}
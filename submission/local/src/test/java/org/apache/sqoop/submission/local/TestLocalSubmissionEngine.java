@@ -0,0 +1,311 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.submission.local;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.sqoop.common.Direction;
+import org.apache.sqoop.common.MapContext;
+import org.apache.sqoop.connector.idf.CSVIntermediateDataFormat;
+import org.apache.sqoop.driver.DriverConstants;
+import org.apache.sqoop.driver.JobRequest;
+import org.apache.sqoop.execution.local.LocalExecutionEngine;
+import org.apache.sqoop.job.etl.Destroyer;
+import org.apache.sqoop.job.etl.DestroyerContext;
+import org.apache.sqoop.job.etl.Extractor;
+import org.apache.sqoop.job.etl.ExtractorContext;
+import org.apache.sqoop.job.etl.From;
+import org.apache.sqoop.job.etl.Loader;
+import org.apache.sqoop.job.etl.LoaderContext;
+import org.apache.sqoop.job.etl.Partition;
+import org.apache.sqoop.job.etl.Partitioner;
+import org.apache.sqoop.job.etl.PartitionerContext;
+import org.apache.sqoop.job.etl.To;
+import org.apache.sqoop.model.MSubmission;
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.schema.type.FixedPoint;
+import org.apache.sqoop.schema.type.Text;
+import org.apache.sqoop.submission.SubmissionStatus;
+import org.apache.sqoop.submission.counter.CounterGroup;
+import org.apache.sqoop.submission.counter.SqoopCounters;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class TestLocalSubmissionEngine {
+
+  private static final String PREFIX = DriverConstants.PREFIX_SUBMISSION_ENGINE_CONFIG;
+  private static final int NUMBER_OF_PARTITIONS = 9;
+  private static final int NUMBER_OF_ROWS_PER_PARTITION = 1000;
+
+  private static final AtomicLong rowsLoaded = new AtomicLong();
+  private static final AtomicLong sumLoaded = new AtomicLong();
+  private static volatile Boolean fromDestroyerSuccess;
+  private static volatile Boolean toDestroyerSuccess;
+
+  private LocalSubmissionEngine engine;
+
+  @BeforeMethod(alwaysRun = true)
+  public void setUp() {
+    rowsLoaded.set(0);
+    sumLoaded.set(0);
+    fromDestroyerSuccess = null;
+    toDestroyerSuccess = null;
+
+    Map<String, String> configuration = new HashMap<String, String>();
+    configuration.put(PREFIX + Constants.CONF_THREADS, "6");
+    configuration.put(PREFIX + Constants.CONF_JOB_THREADS, "4");
+    configuration.put(PREFIX + Constants.CONF_BLOCK_SIZE, "64");
+    engine = new LocalSubmissionEngine();
+    engine.initialize(new MapContext(configuration), PREFIX);
+  }
+
+  @AfterMethod(alwaysRun = true)
+  public void tearDown() {
+    engine.destroy();
+  }
+
+  @Test
+  public void testExecutionEngineSupported() {
+    assertTrue(engine.isExecutionEngineSupported(LocalExecutionEngine.class));
+    assertFalse(engine.isExecutionEngineSupported(Object.class));
+  }
+
+  @Test
+  public void testTransfer() throws Exception {
+    JobRequest request = createRequest(DummyExtractor.class, DummyLoader.class);
+    assertTrue(engine.submit(request));
+    MSubmission submission = request.getJobSubmission();
+    assertTrue(submission.getExternalJobId().startsWith(Constants.JOB_ID_PREFIX));
+
+    waitForCompletion(submission);
+    assertEquals(submission.getStatus(), SubmissionStatus.SUCCEEDED);
+    assertNull(submission.getError().getErrorSummary());
+
+    long rows = NUMBER_OF_PARTITIONS * NUMBER_OF_ROWS_PER_PARTITION;
+    assertEquals(rowsLoaded.get(), rows);
+    assertEquals(sumLoaded.get(), rows * (rows - 1) / 2);
+
+    CounterGroup group = submission.getCounters().getCounterGroup(SqoopCounters.class.getName());
+    assertEquals(group.getCounter(SqoopCounters.ROWS_READ.name()).getValue(), rows);
+    assertEquals(group.getCounter(SqoopCounters.ROWS_WRITTEN.name()).getValue(), rows);
+
+    assertEquals(fromDestroyerSuccess, Boolean.TRUE);
+    assertEquals(toDestroyerSuccess, Boolean.TRUE);
+  }
+
+  @Test
+  public void testFailingLoader() throws Exception {
+    JobRequest request = createRequest(DummyExtractor.class, FailingLoader.class);
+    assertTrue(engine.submit(request));
+    MSubmission submission = request.getJobSubmission();
+
+    waitForCompletion(submission);
+    assertEquals(submission.getStatus(), SubmissionStatus.FAILED);
+    assertTrue(submission.getError().getErrorSummary().contains("LOCAL_0006"));
+
+    assertEquals(fromDestroyerSuccess, Boolean.FALSE);
+    assertEquals(toDestroyerSuccess, Boolean.FALSE);
+  }
+
+  @Test
+  public void testStop() throws Exception {
+    JobRequest request = createRequest(BlockingExtractor.class, DummyLoader.class);
+    assertTrue(engine.submit(request));
+    MSubmission submission = request.getJobSubmission();
+
+    engine.stop(submission.getExternalJobId());
+    waitForCompletion(submission);
+    assertEquals(submission.getStatus(), SubmissionStatus.FAILED);
+    assertTrue(submission.getError().getErrorSummary().contains("LOCAL_0007"));
+    assertEquals(fromDestroyerSuccess, Boolean.FALSE);
+  }
+
+  @Test
+  public void testUnknownJob() {
+    MSubmission submission = new MSubmission(1L);
+    submission.setExternalJobId(Constants.JOB_ID_PREFIX + "1_1");
+    engine.update(submission);
+    assertEquals(submission.getStatus(), SubmissionStatus.FAILED);
+    assertTrue(submission.getError().getErrorSummary().contains("LOCAL_0008"));
+  }
+
+  private void waitForCompletion(MSubmission submission) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 60000;
+    do {
+      Thread.sleep(50);
+      engine.update(submission);
+    } while (submission.getStatus().isRunning() && System.currentTimeMillis() < deadline);
+    assertNotNull(submission.getCounters());
+  }
+
+  private JobRequest createRequest(Class<? extends Extractor> extractor, Class<? extends Loader> loader) {
+    Schema schema = new Schema("Test");
+    schema.addColumn(new FixedPoint("1", 8L, true)).addColumn(new Text("2"));
+
+    MSubmission submission = new MSubmission(1L);
+    submission.setFromSchema(schema);
+    submission.setToSchema(schema);
+
+    JobRequest request = new JobRequest();
+    request.setJobId(1L);
+    request.setJobName("local");
+    request.setJobSubmission(submission);
+    request.setFrom(new From(null, DummyPartitioner.class, DummyPartition.class, extractor, FromDestroyer.class));
+    request.setTo(new To(null, loader, ToDestroyer.class));
+    request.setIntermediateDataFormat(CSVIntermediateDataFormat.class, Direction.FROM);
+    request.setIntermediateDataFormat(CSVIntermediateDataFormat.class, Direction.TO);
+    request.setExtractors(NUMBER_OF_PARTITIONS);
+    request.setLoaders(2);
+    return request;
+  }
+
+  public static class DummyPartition extends Partition {
+    private int id;
+
+    public void setId(int id) {
+      this.id = id;
+    }
+
+    public int getId() {
+      return id;
+    }
+
+    @Override
+    public void readFields(DataInput in) throws IOException {
+      id = in.readInt();
+    }
+
+    @Override
+    public void write(DataOutput out) throws IOException {
+      out.writeInt(id);
+    }
+
+    @Override
+    public String toString() {
+      return Integer.toString(id);
+    }
+  }
+
+  public static class DummyPartitioner extends Partitioner<Object, Object> {
+    @Override
+    public List<Partition> getPartitions(PartitionerContext context, Object linkConfiguration, Object jobConfiguration) {
+      List<Partition> partitions = new ArrayList<Partition>();
+      for (int id = 0; id < context.getMaxPartitions(); id++) {
+        DummyPartition partition = new DummyPartition();
+        partition.setId(id);
+        partitions.add(partition);
+      }
+      return partitions;
+    }
+  }
+
+  public static class DummyExtractor extends Extractor<Object, Object, DummyPartition> {
+    private long rowsRead;
+
+    @Override
+    public void extract(ExtractorContext context, Object linkConfiguration, Object jobConfiguration, DummyPartition partition) {
+      int first = partition.getId() * NUMBER_OF_ROWS_PER_PARTITION;
+      for (int id = first; id < first + NUMBER_OF_ROWS_PER_PARTITION; id++) {
+        context.getDataWriter().writeArrayRecord(new Object[] {(long) id, "row " + id});
+        rowsRead++;
+      }
+    }
+
+    @Override
+    public long getRowsRead() {
+      return rowsRead;
+    }
+  }
+
+  public static class BlockingExtractor extends Extractor<Object, Object, DummyPartition> {
+    @Override
+    public void extract(ExtractorContext context, Object linkConfiguration, Object jobConfiguration, DummyPartition partition) {
+      try {
+        Thread.sleep(60000);
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    @Override
+    public long getRowsRead() {
+      return 0;
+    }
+  }
+
+  public static class DummyLoader extends Loader<Object, Object> {
+    private long rowsWritten;
+
+    @Override
+    public void load(LoaderContext context, Object linkConfiguration, Object jobConfiguration) throws Exception {
+      Object[] record;
+      while ((record = context.getDataReader().readArrayRecord()) != null) {
+        assertEquals(record[1], "row " + record[0]);
+        sumLoaded.addAndGet((Long) record[0]);
+        rowsLoaded.incrementAndGet();
+        rowsWritten++;
+      }
+    }
+
+    @Override
+    public long getRowsWritten() {
+      return rowsWritten;
+    }
+  }
+
+  public static class FailingLoader extends Loader<Object, Object> {
+    @Override
+    public void load(LoaderContext context, Object linkConfiguration, Object jobConfiguration) throws Exception {
+      context.getDataReader().readArrayRecord();
+      throw new IllegalStateException("Loader failure");
+    }
+
+    @Override
+    public long getRowsWritten() {
+      return 0;
+    }
+  }
+
+  public static class FromDestroyer extends Destroyer<Object, Object> {
+    @Override
+    public void destroy(DestroyerContext context, Object linkConfiguration, Object jobConfiguration) {
+      fromDestroyerSuccess = context.isSuccess();
+    }
+  }
+
+  public static class ToDestroyer extends Destroyer<Object, Object> {
+    @Override
+    public void destroy(DestroyerContext context, Object linkConfiguration, Object jobConfiguration) {
+      toDestroyerSuccess = context.isSuccess();
+    }
+  }
+}
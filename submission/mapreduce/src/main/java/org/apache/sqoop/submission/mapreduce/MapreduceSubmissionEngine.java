@@ -52,6 +52,7 @@
 import org.apache.sqoop.submission.counter.Counter;
 import org.apache.sqoop.submission.counter.CounterGroup;
 import org.apache.sqoop.submission.counter.Counters;
+import org.apache.sqoop.submission.counter.DataPathCounters;
 
 
 /**
@@ -288,7 +289,9 @@ private void submitToLocalRunner(MRJobRequest request, Job job) throws IOExcepti
     // there is no failure info in this job api, unlike the running job
     request.getJobSubmission().setError(null);
     request.getJobSubmission().setProgress((job.mapProgress() + job.reduceProgress()) / 2);
-    request.getJobSubmission().setCounters(convertHadoop2MapreduceCounters(job.getCounters()));
+    Counters counters = convertHadoop2MapreduceCounters(job.getCounters());
+    DataPathCounters.addThroughput(counters, request.getJobSubmission().getCreationDate());
+    request.getJobSubmission().setCounters(counters);
     request.getJobSubmission().setLastUpdateDate(new Date());
   }
 
@@ -461,9 +464,11 @@ public void update(MSubmission submission) {
 
       if (newStatus.isRunning()) {
         progress = progress(runningJob);
-      } else {
-        counters = counters(runningJob);
       }
+      // Data path counters are published by running tasks, report them while
+      // the job is still running as well
+      counters = counters(runningJob);
+      DataPathCounters.addThroughput(counters, submission.getCreationDate());
       // these properties change as the job runs, rest of the submission attributes
       // do not change as job runs
       submission.setStatus(newStatus);
@@ -10,6 +10,8 @@ public class Constants {
     public static final String SPARK_MASTER = "spark.master";
     public static final String SPARK_APP_NAME = "spark.app.name";
     public static final String SPARK_SERIALIZER = "spark.serializer";
+    public static final String SPARK_KRYO_REGISTRATOR = "spark.kryo.registrator";
+    public static final String SPARK_KRYO_REFERENCE_TRACKING = "spark.kryo.referenceTracking";
     public static final String SPARK_UI_ENABLED =    "spark.ui.enabled";
     public static final String SPARK_DRIVER_ALLOWMULTIPLECONTEXTS = "spark.driver.allowMultipleContexts";
 
@@ -0,0 +1,89 @@
+package org.apache.sqoop.submission.spark;
+
+import java.io.Serializable;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.apache.spark.Accumulator;
+import org.apache.spark.AccumulatorParam;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.sqoop.submission.counter.Counter;
+import org.apache.sqoop.submission.counter.CounterGroup;
+import org.apache.sqoop.submission.counter.Counters;
+import org.apache.sqoop.submission.counter.DataPathCounters;
+import org.apache.sqoop.submission.counter.SqoopCounters;
+
+/**
+ * Collects data path counters from Spark tasks back to the driver.
+ *
+ * Every SqoopCounters value is backed by a Spark accumulator, tasks add the
+ * values they have measured once they have finished.
+ *
+ * The values are added from the extract map and the load mapPartitions
+ * functions, which are transformations. Spark applies accumulator updates
+ * exactly once only inside actions. A transformation task that is retried,
+ * speculatively executed or recomputed after a lost shuffle output adds its
+ * values again. The counters are therefore exact for jobs without task
+ * failures and can over-count otherwise.
+ */
+@SuppressWarnings("serial")
+public class SparkCounters implements Serializable {
+
+    private final Map<SqoopCounters, Accumulator<Long>> accumulators =
+            new EnumMap<SqoopCounters, Accumulator<Long>>(SqoopCounters.class);
+
+    public SparkCounters(JavaSparkContext sc) {
+        for (SqoopCounters counter : SqoopCounters.values()) {
+            accumulators.put(counter, sc.accumulator(0L, counter.name(), LongAccumulatorParam.INSTANCE));
+        }
+    }
+
+    /**
+     * Add values measured by a task, can be called on executors only.
+     *
+     * @param counters Counters measured by the task
+     */
+    public void add(DataPathCounters counters) {
+        for (SqoopCounters counter : SqoopCounters.values()) {
+            if (counters.isUsed(counter)) {
+                accumulators.get(counter).add(counters.getValue(counter));
+            }
+        }
+    }
+
+    /**
+     * Convert accumulated values to Sqoop counters, can be called on driver
+     * only.
+     *
+     * @return Sqoop counters
+     */
+    public Counters toCounters() {
+        CounterGroup group = new CounterGroup(SqoopCounters.class.getName());
+        for (SqoopCounters counter : SqoopCounters.values()) {
+            group.addCounter(new Counter(counter.name(), accumulators.get(counter).value()));
+        }
+        Counters counters = new Counters();
+        counters.addCounterGroup(group);
+        return counters;
+    }
+
+    private static class LongAccumulatorParam implements AccumulatorParam<Long> {
+
+        static final LongAccumulatorParam INSTANCE = new LongAccumulatorParam();
+
+        @Override
+        public Long addAccumulator(Long t1, Long t2) {
+            return t1 + t2;
+        }
+
+        @Override
+        public Long addInPlace(Long r1, Long r2) {
+            return r1 + r2;
+        }
+
+        @Override
+        public Long zero(Long initialValue) {
+            return 0L;
+        }
+    }
+}
@@ -1,43 +1,117 @@
 package org.apache.sqoop.submission.spark;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
 import org.apache.sqoop.connector.idf.IntermediateDataFormat;
 import org.apache.sqoop.etl.io.DataReader;
+import org.apache.sqoop.submission.counter.DataPathCounters;
+import org.apache.sqoop.submission.counter.SqoopCounters;
 
+/**
+ * Reads records of all chunks (outputs of the extract function) that ended up
+ * in a single spark partition, so that one loader can consume all of them.
+ */
 public class SparkDataReader extends DataReader {
 
-    private Iterator<IntermediateDataFormat<?>> dataIterator = null;
+    private Iterator<List<IntermediateDataFormat<?>>> chunkIterator;
 
-    public SparkDataReader(List<IntermediateDataFormat<?>> data) {
-        this.dataIterator = (data).iterator();
+    private Iterator<IntermediateDataFormat<?>> dataIterator = Collections.<IntermediateDataFormat<?>>emptyList().iterator();
+
+    private DataPathCounters counters;
+
+    public SparkDataReader(List<IntermediateDataFormat<?>> data, DataPathCounters counters) {
+        this(Collections.singletonList(data).iterator(), counters);
+    }
+
+    public SparkDataReader(Iterator<List<IntermediateDataFormat<?>>> chunks, DataPathCounters counters) {
+        this.chunkIterator = chunks;
+        this.counters = counters;
+    }
+
+    /**
+     * Move to the next non empty chunk if the current one is exhausted.
+     *
+     * @return True if there is another record to read
+     */
+    private boolean hasNext() {
+        while (!dataIterator.hasNext() && chunkIterator.hasNext()) {
+            dataIterator = chunkIterator.next().iterator();
+        }
+        return dataIterator.hasNext();
     }
 
     @Override
     public Object[] readArrayRecord() throws InterruptedException {
-        if (dataIterator.hasNext()) {
+        counters.addElapsed(SqoopCounters.LOADER_TIME);
+        if (hasNext()) {
             IntermediateDataFormat<?> element = dataIterator.next();
-            return element.getObjectData();
+            Object[] record = element.getObjectData();
+            countRecord();
+            return record;
         }
         return null;
     }
 
+    @Override
+    public Object[][] readArrayRecords(int max) throws InterruptedException {
+        counters.addElapsed(SqoopCounters.LOADER_TIME);
+        Object[][] records = new Object[max][];
+        int count = 0;
+        while (count < max && hasNext()) {
+            records[count++] = dataIterator.next().getObjectData();
+        }
+        if (count == 0) {
+            return null;
+        }
+        countRecords(count);
+        return count == max ? records : Arrays.copyOf(records, count);
+    }
+
     @Override
     public String readTextRecord() throws InterruptedException {
-        if (dataIterator.hasNext()) {
+        counters.addElapsed(SqoopCounters.LOADER_TIME);
+        if (hasNext()) {
             IntermediateDataFormat<?> element = dataIterator.next();
-            return element.getCSVTextData();
+            String record = element.getCSVTextData();
+            countRecord();
+            return record;
+        }
+        return null;
+    }
+
+    @Override
+    public byte[] readTextRecordBytes() throws InterruptedException {
+        counters.addElapsed(SqoopCounters.LOADER_TIME);
+        if (hasNext()) {
+            IntermediateDataFormat<?> element = dataIterator.next();
+            byte[] record = element.getCSVTextBytes();
+            countRecord();
+            return record;
         }
         return null;
     }
 
     @Override
     public Object readContent() throws InterruptedException {
-        if (dataIterator.hasNext()) {
+        counters.addElapsed(SqoopCounters.LOADER_TIME);
+        if (hasNext()) {
             IntermediateDataFormat<?> element = dataIterator.next();
-            return element.getData();
+            Object record = element.getData();
+            countRecord();
+            return record;
         }
         return null;
     }
 
+    private void countRecord() {
+        countRecords(1);
+    }
+
+    private void countRecords(int records) {
+        counters.addElapsed(SqoopCounters.LOAD_CONVERSION_TIME);
+        counters.increment(SqoopCounters.ROWS_WRITTEN, records);
+    }
+
 }
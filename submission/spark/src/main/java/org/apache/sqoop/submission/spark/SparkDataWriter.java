@@ -1,5 +1,8 @@
 package org.apache.sqoop.submission.spark;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.apache.log4j.Logger;
 import org.apache.sqoop.common.SqoopException;
 import org.apache.sqoop.connector.idf.IntermediateDataFormat;
@@ -9,48 +12,108 @@
 import org.apache.sqoop.etl.io.DataWriter;
 import org.apache.sqoop.execution.spark.SparkJobRequest;
 import org.apache.sqoop.job.SparkJobConstants;
+import org.apache.sqoop.submission.counter.DataPathCounters;
+import org.apache.sqoop.submission.counter.SqoopCounters;
 import org.apache.sqoop.utils.ClassUtils;
 
 public class SparkDataWriter extends DataWriter {
 
     public static final Logger LOG = Logger.getLogger(SparkDataWriter.class);
 
-    private SparkJobRequest request;
-
     private IntermediateDataFormat<Object> fromIDF;
     private IntermediateDataFormat<Object> toIDF;
     private Matcher matcher;
+    private DataPathCounters counters;
+    private String toIDFClass;
+    // Converted records of the task, kept out of the shared job request
+    private final List<IntermediateDataFormat<?>> data = new ArrayList<IntermediateDataFormat<?>>();
 
     public SparkDataWriter(JobRequest request, IntermediateDataFormat<Object> f,
-            IntermediateDataFormat<Object> t, Matcher m) {
+            IntermediateDataFormat<Object> t, Matcher m, DataPathCounters c) {
         assert request instanceof SparkJobRequest;
 
-        this.request = (SparkJobRequest) request;
         fromIDF = f;
         toIDF = t;
         matcher = m;
+        counters = c;
+        toIDFClass = request.getDriverContext().getString(
+                SparkJobConstants.TO_INTERMEDIATE_DATA_FORMAT);
+    }
 
+    /**
+     * Records converted to the TO intermediate data format.
+     *
+     * @return Records written so far
+     */
+    public List<IntermediateDataFormat<?>> getData() {
+        return data;
     }
 
     @Override
     public void writeArrayRecord(Object[] array) {
+        counters.addElapsed(SqoopCounters.EXTRACTOR_TIME);
         fromIDF.setObjectData(array);
         writeContent();
     }
 
+    @Override
+    public void writeArrayRecords(Object[][] rows, int count) {
+        counters.addElapsed(SqoopCounters.EXTRACTOR_TIME);
+        long bytes = 0;
+        for (int i = 0; i < count; i++) {
+            fromIDF.setObjectData(rows[i]);
+            bytes += convertAndAdd();
+        }
+        counters.addElapsed(SqoopCounters.EXTRACT_CONVERSION_TIME);
+        counters.increment(SqoopCounters.ROWS_READ, count);
+        counters.increment(SqoopCounters.BYTES_TRANSFERRED, bytes);
+    }
+
     @Override
     public void writeStringRecord(String text) {
+        counters.addElapsed(SqoopCounters.EXTRACTOR_TIME);
         fromIDF.setCSVTextData(text);
         writeContent();
     }
 
+    @Override
+    public void writeTextRecord(byte[] bytes, int offset, int length) {
+        counters.addElapsed(SqoopCounters.EXTRACTOR_TIME);
+        if (matcher.getFromSchema() == matcher.getToSchema()) {
+            // Both sides use the same schema, so the text is valid for the TO
+            // side as it is and doesn't have to be parsed and matched
+            IntermediateDataFormat<Object> newIDF = newToIDF();
+            newIDF.setCSVTextBytes(bytes, offset, length);
+            data.add(newIDF);
+            counters.addElapsed(SqoopCounters.EXTRACT_CONVERSION_TIME);
+            counters.increment(SqoopCounters.ROWS_READ, 1);
+            counters.increment(SqoopCounters.BYTES_TRANSFERRED, length);
+        } else {
+            fromIDF.setCSVTextBytes(bytes, offset, length);
+            writeContent();
+        }
+    }
+
     @Override
     public void writeRecord(Object obj) {
+        counters.addElapsed(SqoopCounters.EXTRACTOR_TIME);
         fromIDF.setData(obj);
         writeContent();
     }
 
     private void writeContent() {
+        long bytes = convertAndAdd();
+        counters.addElapsed(SqoopCounters.EXTRACT_CONVERSION_TIME);
+        counters.increment(SqoopCounters.ROWS_READ, 1);
+        counters.increment(SqoopCounters.BYTES_TRANSFERRED, bytes);
+    }
+
+    /**
+     * Convert current record of fromIDF and add it to the request.
+     *
+     * @return Size of the record in bytes
+     */
+    private long convertAndAdd() {
         try {
             if (LOG.isDebugEnabled()) {
                 //LOG.debug("Extracted data: " + fromIDF.getCSVTextData());
@@ -65,22 +128,24 @@ private void writeContent() {
             // NOTE: We do not use the reducer to do the writing (a.k.a LOAD in
             // ETL).
             // Hence the mapper sets up the writable
-            String toIDFClass = request.getDriverContext().getString(
-                    SparkJobConstants.TO_INTERMEDIATE_DATA_FORMAT);
-            IntermediateDataFormat<Object> newIDF = (IntermediateDataFormat<Object>) ClassUtils
-                    .instantiate(toIDFClass);
-            newIDF.setSchema(toIDF.getSchema());
+            IntermediateDataFormat<Object> newIDF = newToIDF();
 
-
-            newIDF.setCSVTextData(toIDF.getCSVTextData());
+            String csv = toIDF.getCSVTextData();
+            newIDF.setCSVTextData(csv);
             newIDF.setData(toIDF.getData());
             newIDF.setObjectData(toIDF.getObjectData());
-            request.addData(newIDF);
-
-
+            data.add(newIDF);
+            return DataPathCounters.utf8Length(csv);
         } catch (Exception e) {
             throw new SqoopException(MRExecutionError.MAPRED_EXEC_0013, e);
         }
     }
-}
 
+    @SuppressWarnings("unchecked")
+    private IntermediateDataFormat<Object> newToIDF() {
+        IntermediateDataFormat<Object> newIDF = (IntermediateDataFormat<Object>) ClassUtils
+                .instantiate(toIDFClass);
+        newIDF.setSchema(toIDF.getSchema());
+        return newIDF;
+    }
+}
@@ -5,6 +5,7 @@
 
 import org.apache.log4j.Logger;
 import org.apache.spark.api.java.function.Function;
+import org.apache.spark.broadcast.Broadcast;
 import org.apache.sqoop.common.Direction;
 import org.apache.sqoop.common.SqoopException;
 import org.apache.sqoop.connector.idf.IntermediateDataFormat;
@@ -18,21 +19,27 @@
 import org.apache.sqoop.job.etl.ExtractorContext;
 import org.apache.sqoop.job.etl.Partition;
 import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.submission.counter.DataPathCounters;
+import org.apache.sqoop.submission.counter.SqoopCounters;
 import org.apache.sqoop.utils.ClassUtils;
 
 public class SqoopExtractFunction implements Function<Partition, List<IntermediateDataFormat<?>>>,
         Serializable {
-    private SparkJobRequest req;
+    // Job request is broadcast once per job rather than shipped with every task
+    private Broadcast<SparkJobRequest> request;
+    private SparkCounters sparkCounters;
     public static final Logger LOG = Logger.getLogger(SqoopExtractFunction.class);
 
-    public SqoopExtractFunction(SparkJobRequest request) {
-        req = request;
+    public SqoopExtractFunction(Broadcast<SparkJobRequest> request, SparkCounters counters) {
+        this.request = request;
+        sparkCounters = counters;
     }
 
     @Override
     public List<IntermediateDataFormat<?>> call(Partition p) throws Exception {
 
         long mapTime = System.currentTimeMillis();
+        SparkJobRequest req = request.value();
         String extractorName = req.getDriverContext().getString(SparkJobConstants.JOB_ETL_EXTRACTOR);
 
         Extractor extractor = (Extractor) ClassUtils.instantiate(extractorName);
@@ -62,23 +69,27 @@ public List<IntermediateDataFormat<?>> call(Partition p) throws Exception {
         Object fromLinkConfig = req.getConnectorLinkConfig(Direction.FROM);
         Object fromJobConfig = req.getJobConfig(Direction.FROM);
 
-        ExtractorContext extractorContext = new ExtractorContext(subContext, new SparkDataWriter(
-                req, fromIDF, toIDF, matcher), fromSchema, SparkJobConstants.SUBMITTING_USER);
+        DataPathCounters counters = new DataPathCounters();
+        SparkDataWriter writer = new SparkDataWriter(req, fromIDF, toIDF, matcher, counters);
+        ExtractorContext extractorContext = new ExtractorContext(subContext, writer, fromSchema,
+                SparkJobConstants.SUBMITTING_USER);
 
         try {
             LOG.info("Starting extractor... ");
+            counters.mark();
             extractor.extract(extractorContext, fromLinkConfig, fromJobConfig, p);
+            counters.addElapsed(SqoopCounters.EXTRACTOR_TIME);
         } catch (Exception e) {
             throw new SqoopException(SparkExecutionError.SPARK_EXEC_0000, e);
         } finally {
             LOG.info("Stopping extractor service");
         }
+        sparkCounters.add(counters);
 
         LOG.info("Extractor has finished");
         LOG.info(">>> MAP time ms:" + (System.currentTimeMillis() - mapTime));
-        req.getConf().put("mapTime",""+(System.currentTimeMillis() - mapTime));
 
-        return req.getData();
+        return writer.getData();
     }
 
 }
@@ -0,0 +1,155 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.submission.spark;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+
+import org.apache.spark.serializer.KryoRegistrator;
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.idf.AVROIntermediateDataFormat;
+import org.apache.sqoop.connector.idf.CSVIntermediateDataFormat;
+import org.apache.sqoop.connector.idf.IntermediateDataFormat;
+import org.apache.sqoop.connector.idf.JSONIntermediateDataFormat;
+import org.apache.sqoop.error.code.SparkExecutionError;
+import org.apache.sqoop.execution.spark.SparkJobRequest;
+import org.apache.sqoop.job.etl.Partition;
+import org.apache.sqoop.json.JSONUtils;
+import org.apache.sqoop.json.util.SchemaSerialization;
+import org.apache.sqoop.schema.ByteArraySchema;
+import org.apache.sqoop.schema.NullSchema;
+import org.apache.sqoop.schema.Schema;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.serializers.JavaSerializer;
+
+/**
+ * Registers Sqoop classes that travel between spark stages with Kryo.
+ *
+ * Rows are shuffled in the compact, schema-less form produced by
+ * IntermediateDataFormat.write(). The schema of a row is written as a
+ * reference, so with Kryo reference tracking (spark default) it is serialized
+ * only once for all rows extracted from a single partition. Partitions are
+ * serialized through their Writable like methods, the same way map reduce
+ * execution engine does it.
+ */
+public class SqoopKryoRegistrator implements KryoRegistrator {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    @Override
+    public void registerClasses(Kryo kryo) {
+        // Subclasses that are not known here (connector specific ones) still
+        // use the right serializer, only their class name is written.
+        kryo.addDefaultSerializer(Schema.class, new SchemaSerializer());
+        kryo.addDefaultSerializer(IntermediateDataFormat.class, new IntermediateDataFormatSerializer());
+        kryo.addDefaultSerializer(Partition.class, new PartitionSerializer());
+
+        kryo.register(ArrayList.class);
+        kryo.register(Schema.class);
+        kryo.register(ByteArraySchema.class);
+        kryo.register(NullSchema.class);
+        kryo.register(CSVIntermediateDataFormat.class);
+        kryo.register(JSONIntermediateDataFormat.class);
+        kryo.register(AVROIntermediateDataFormat.class);
+        // Broadcast job request holds arbitrary connector configuration
+        // objects, keep the Java serialization they were designed for
+        kryo.register(SparkJobRequest.class, new JavaSerializer());
+    }
+
+    /**
+     * Schema is stored in its JSON form that is used everywhere else in Sqoop.
+     */
+    static class SchemaSerializer extends Serializer<Schema> {
+
+        @Override
+        public void write(Kryo kryo, Output output, Schema schema) {
+            byte[] json = SchemaSerialization.extractSchema(schema).toJSONString().getBytes(UTF8);
+            output.writeInt(json.length, true);
+            output.writeBytes(json);
+        }
+
+        @Override
+        public Schema read(Kryo kryo, Input input, Class<Schema> type) {
+            byte[] json = input.readBytes(input.readInt(true));
+            return SchemaSerialization.restoreSchema(JSONUtils.parse(new String(json, UTF8)));
+        }
+    }
+
+    /**
+     * Row data are written without the schema, schema itself is written as
+     * a (usually back) reference.
+     */
+    @SuppressWarnings("rawtypes")
+    static class IntermediateDataFormatSerializer extends Serializer<IntermediateDataFormat> {
+
+        @Override
+        public void write(Kryo kryo, Output output, IntermediateDataFormat idf) {
+            kryo.writeObjectOrNull(output, idf.getSchema(), Schema.class);
+            try {
+                idf.write(new DataOutputStream(output));
+            } catch (IOException e) {
+                throw new SqoopException(SparkExecutionError.SPARK_EXEC_0000, e);
+            }
+        }
+
+        @Override
+        public IntermediateDataFormat read(Kryo kryo, Input input, Class<IntermediateDataFormat> type) {
+            IntermediateDataFormat idf = kryo.newInstance(type);
+            Schema schema = kryo.readObjectOrNull(input, Schema.class);
+            if (schema != null) {
+                idf.setSchema(schema);
+            }
+            try {
+                idf.read(new DataInputStream(input));
+            } catch (IOException e) {
+                throw new SqoopException(SparkExecutionError.SPARK_EXEC_0000, e);
+            }
+            return idf;
+        }
+    }
+
+    static class PartitionSerializer extends Serializer<Partition> {
+
+        @Override
+        public void write(Kryo kryo, Output output, Partition partition) {
+            try {
+                partition.write(new DataOutputStream(output));
+            } catch (IOException e) {
+                throw new SqoopException(SparkExecutionError.SPARK_EXEC_0000, e);
+            }
+        }
+
+        @Override
+        public Partition read(Kryo kryo, Input input, Class<Partition> type) {
+            Partition partition = kryo.newInstance(type);
+            try {
+                partition.readFields(new DataInputStream(input));
+            } catch (IOException e) {
+                throw new SqoopException(SparkExecutionError.SPARK_EXEC_0000, e);
+            }
+            return partition;
+        }
+    }
+}
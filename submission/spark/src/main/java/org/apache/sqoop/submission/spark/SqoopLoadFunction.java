@@ -7,6 +7,7 @@
 
 import org.apache.log4j.Logger;
 import org.apache.spark.api.java.function.FlatMapFunction;
+import org.apache.spark.broadcast.Broadcast;
 import org.apache.sqoop.common.Direction;
 import org.apache.sqoop.common.SqoopException;
 import org.apache.sqoop.connector.idf.IntermediateDataFormat;
@@ -20,57 +21,70 @@
 import org.apache.sqoop.job.etl.Loader;
 import org.apache.sqoop.job.etl.LoaderContext;
 import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.submission.counter.DataPathCounters;
+import org.apache.sqoop.submission.counter.SqoopCounters;
 import org.apache.sqoop.utils.ClassUtils;
 
 @SuppressWarnings("serial")
 public class SqoopLoadFunction implements
         FlatMapFunction<Iterator<List<IntermediateDataFormat<?>>>, Void>, Serializable {
 
-    private SparkJobRequest reqLoad;
+    // Job request is broadcast once per job rather than shipped with every task
+    private Broadcast<SparkJobRequest> request;
+
+    private SparkCounters sparkCounters;
 
     public static final Logger LOG = Logger.getLogger(SqoopLoadFunction.class);
 
-    public SqoopLoadFunction(SparkJobRequest request) {
-        reqLoad =  request;
+    public SqoopLoadFunction(Broadcast<SparkJobRequest> request, SparkCounters counters) {
+        this.request = request;
+        sparkCounters = counters;
     }
 
     @Override
     public Iterable<Void> call(Iterator<List<IntermediateDataFormat<?>>> data) throws Exception {
 
         long reduceTime = System.currentTimeMillis();
+        SparkJobRequest reqLoad = request.value();
 
         String loaderName = reqLoad.getDriverContext().getString(SparkJobConstants.JOB_ETL_LOADER);
         Schema fromSchema = reqLoad.getJobSubmission().getFromSchema();
         Schema toSchema = reqLoad.getJobSubmission().getToSchema();
         Matcher matcher = MatcherFactory.getMatcher(fromSchema, toSchema);
 
-        LOG.info("Sqoop Load Function is  starting");
-        try {
-            while (data.hasNext()) {
-                DataReader reader = new SparkDataReader(data.next());
-
-                Loader loader = (Loader) ClassUtils.instantiate(loaderName);
+        if (!data.hasNext()) {
+            LOG.info("No data in the partition, skipping loader");
+            return Collections.singletonList(null);
+        }
 
-                SparkPrefixContext subContext = new SparkPrefixContext(reqLoad.getConf(),
-                        SparkJobConstants.PREFIX_CONNECTOR_TO_CONTEXT);
+        LOG.info("Sqoop Load Function is  starting");
+        DataPathCounters counters = new DataPathCounters();
+        // Single loader (and so single connection or output file) for all
+        // chunks of the partition, as it is with the map reduce engine
+        DataReader reader = new SparkDataReader(data, counters);
 
-                Object toLinkConfig = reqLoad.getConnectorLinkConfig(Direction.TO);
-                Object toJobConfig = reqLoad.getJobConfig(Direction.TO);
+        Loader loader = (Loader) ClassUtils.instantiate(loaderName);
 
-                // Create loader context
-                LoaderContext loaderContext = new LoaderContext(subContext, reader, matcher.getToSchema(),SparkJobConstants.SUBMITTING_USER);
+        SparkPrefixContext subContext = new SparkPrefixContext(reqLoad.getConf(),
+                SparkJobConstants.PREFIX_CONNECTOR_TO_CONTEXT);
 
-                LOG.info("Running loader class " + loaderName);
-                loader.load(loaderContext, toLinkConfig, toJobConfig);
-                LOG.info("Loader has finished");
-                LOG.info(">>> REDUCE time ms:" + (System.currentTimeMillis() - reduceTime));
+        Object toLinkConfig = reqLoad.getConnectorLinkConfig(Direction.TO);
+        Object toJobConfig = reqLoad.getJobConfig(Direction.TO);
 
-                reqLoad.getConf().put("reduceTime",""+(System.currentTimeMillis() - reduceTime));
-            }
+        // Create loader context
+        LoaderContext loaderContext = new LoaderContext(subContext, reader, matcher.getToSchema(),SparkJobConstants.SUBMITTING_USER);
+        try {
+            LOG.info("Running loader class " + loaderName);
+            counters.mark();
+            loader.load(loaderContext, toLinkConfig, toJobConfig);
+            counters.addElapsed(SqoopCounters.LOADER_TIME);
+            LOG.info("Loader has finished");
+            LOG.info(">>> REDUCE time ms:" + (System.currentTimeMillis() - reduceTime));
         } catch (Throwable t) {
             LOG.error("Error while loading data out of MR job.", t);
             throw new SqoopException(SparkExecutionError.SPARK_EXEC_0000, t);
         }
+        sparkCounters.add(counters);
 
         return Collections.singletonList(null);
 
@@ -57,6 +57,9 @@ public static Map<String, String> prepareSparkConfMapFromSqoopConfig(SqoopConf s
         sparkConf.put(Constants.SPARK_MASTER, SPARK_DEFAULT_MASTER);
         sparkConf.put(Constants.SPARK_APP_NAME, SPARK_DEFAULT_APP_NAME);
         sparkConf.put(Constants.SPARK_SERIALIZER, SPARK_DEFAULT_SERIALIZER);
+        sparkConf.put(Constants.SPARK_KRYO_REGISTRATOR, SqoopKryoRegistrator.class.getName());
+        // Schema of shuffled rows is written only once thanks to the reference tracking
+        sparkConf.put(Constants.SPARK_KRYO_REFERENCE_TRACKING, "true");
 
         for (Map.Entry<String, String> p : sqoopConf.getProps().entrySet()) {
             LOG.info("sqoop spark properties from: " + p.getKey() + ": " + p.getValue());
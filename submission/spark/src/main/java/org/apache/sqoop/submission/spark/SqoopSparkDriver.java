@@ -7,6 +7,7 @@
 import org.apache.spark.SparkConf;
 import org.apache.spark.api.java.JavaRDD;
 import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.spark.broadcast.Broadcast;
 import org.apache.sqoop.common.Direction;
 import org.apache.sqoop.common.SqoopException;
 import org.apache.sqoop.connector.idf.IntermediateDataFormat;
@@ -19,6 +20,8 @@
 import org.apache.sqoop.job.etl.Partitioner;
 import org.apache.sqoop.job.etl.PartitionerContext;
 import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.submission.counter.Counters;
+import org.apache.sqoop.submission.counter.DataPathCounters;
 import org.apache.sqoop.utils.ClassUtils;
 
 public class SqoopSparkDriver {
@@ -51,21 +54,33 @@ public static void execute(JobRequest request, SparkConf conf, JavaSparkContext
 
         JavaRDD<Partition> rdd = sc.parallelize(sp, sp.size());
 
-        SqoopExtractFunction extractFunction= new SqoopExtractFunction(sparkJobRequest);
-        JavaRDD<List<IntermediateDataFormat<?>>> mapRDD = rdd.map(extractFunction);
-              // if max loaders or num loaders is given repartition to adjust the max
-        // loader parallelism
-        if (numLoaders != numExtractors) {
-            JavaRDD<List<IntermediateDataFormat<?>>> reParitionedRDD = mapRDD.repartition(numLoaders);
-            LOG.info(">>> RePartition RDD size:" + reParitionedRDD.partitions().size());
-            reParitionedRDD.mapPartitions(new SqoopLoadFunction(sparkJobRequest)).collect();
-            //            sparkJobRequest.getJobSubmission().setStatus(SubmissionStatus.RUNNING);
-        } else {
-            LOG.info(">>> Mapped RDD size:" + mapRDD.partitions().size());
-            mapRDD.mapPartitions(new SqoopLoadFunction(sparkJobRequest)).collect();
+        SparkCounters counters = new SparkCounters(sc);
+        // Request (configs, schemas, context) is immutable from now on, ship it
+        // to the executors only once instead of with every task closure
+        Broadcast<SparkJobRequest> broadcastRequest = sc.broadcast(sparkJobRequest);
+        try {
+            SqoopExtractFunction extractFunction = new SqoopExtractFunction(broadcastRequest, counters);
+            JavaRDD<List<IntermediateDataFormat<?>>> mapRDD = rdd.map(extractFunction);
+            // if max loaders or num loaders is given repartition to adjust the max
+            // loader parallelism
+            if (numLoaders != numExtractors) {
+                JavaRDD<List<IntermediateDataFormat<?>>> reParitionedRDD = mapRDD.repartition(numLoaders);
+                LOG.info(">>> RePartition RDD size:" + reParitionedRDD.partitions().size());
+                reParitionedRDD.mapPartitions(new SqoopLoadFunction(broadcastRequest, counters)).collect();
+                //            sparkJobRequest.getJobSubmission().setStatus(SubmissionStatus.RUNNING);
+            } else {
+                LOG.info(">>> Mapped RDD size:" + mapRDD.partitions().size());
+                mapRDD.mapPartitions(new SqoopLoadFunction(broadcastRequest, counters)).collect();
+            }
+        } finally {
+            // Failed jobs must not leave the request on the executors either
+            broadcastRequest.destroy();
         }
 
         LOG.info(">>> TOTAL time ms:" + (System.currentTimeMillis() - totalTime));
+        Counters jobCounters = counters.toCounters();
+        DataPathCounters.addThroughput(jobCounters, request.getJobSubmission().getCreationDate());
+        request.getJobSubmission().setCounters(jobCounters);
         //Change status when job has finished
         //        sparkJobRequest.getJobSubmission().setStatus(SubmissionStatus.SUCCEEDED);
         LOG.info("Done EL in sqoop spark job, next call destroy apis");
@@ -0,0 +1,188 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.submission.spark;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.spark.SparkConf;
+import org.apache.spark.serializer.KryoSerializer;
+import org.apache.spark.serializer.SerializerInstance;
+import org.apache.sqoop.connector.idf.AVROIntermediateDataFormat;
+import org.apache.sqoop.connector.idf.CSVIntermediateDataFormat;
+import org.apache.sqoop.connector.idf.IntermediateDataFormat;
+import org.apache.sqoop.connector.idf.JSONIntermediateDataFormat;
+import org.apache.sqoop.job.etl.Partition;
+import org.apache.sqoop.schema.NullSchema;
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.schema.type.FixedPoint;
+import org.apache.sqoop.schema.type.Text;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import scala.reflect.ClassTag;
+import scala.reflect.ClassTag$;
+
+public class TestSqoopKryoRegistrator {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private SerializerInstance serializer;
+
+    @BeforeMethod(alwaysRun = true)
+    public void setUp() {
+        SparkConf conf = new SparkConf()
+            .set("spark.kryo.registrator", SqoopKryoRegistrator.class.getName());
+        serializer = new KryoSerializer(conf).newInstance();
+    }
+
+    @DataProvider(name = "idfs")
+    public static Object[][] idfs() {
+        return new Object[][] {
+            { new CSVIntermediateDataFormat() },
+            { new JSONIntermediateDataFormat() },
+            { new AVROIntermediateDataFormat() },
+        };
+    }
+
+    @Test(dataProvider = "idfs")
+    public void testIntermediateDataFormat(IntermediateDataFormat<?> idf) {
+        idf.setSchema(schema("sqoop_kryo_column"));
+        idf.setObjectData(new Object[] { 42L, "Ünïcode, 'quoted' text" });
+
+        IntermediateDataFormat<?> copy = roundTrip(idf);
+
+        assertNotSame(copy, idf);
+        assertEquals(copy.getClass(), idf.getClass());
+        assertEquals(copy.getSchema(), idf.getSchema());
+        assertEquals(copy.getObjectData(), idf.getObjectData());
+        assertEquals(copy.getCSVTextData(), idf.getCSVTextData());
+    }
+
+    @Test(dataProvider = "idfs")
+    public void testIntermediateDataFormatWithoutSchema(IntermediateDataFormat<?> idf) {
+        idf.setSchema(NullSchema.getInstance());
+        idf.setObjectData(new Object[0]);
+
+        IntermediateDataFormat<?> copy = roundTrip(idf);
+
+        assertEquals(copy.getClass(), idf.getClass());
+        assertEquals(copy.getSchema(), NullSchema.getInstance());
+        assertEquals(copy.getSchema().getColumnsCount(), 0);
+        assertEquals(copy.getData(), idf.getData());
+    }
+
+    @Test
+    public void testSchema() {
+        Schema schema = schema("sqoop_kryo_column");
+
+        Schema copy = roundTrip(schema);
+
+        assertNotSame(copy, schema);
+        assertEquals(copy, schema);
+        assertEquals(copy.getColumnsList(), schema.getColumnsList());
+    }
+
+    @Test
+    public void testPartition() {
+        TestPartition partition = new TestPartition();
+        partition.setId(7L);
+
+        TestPartition copy = roundTrip(partition);
+
+        assertNotSame(copy, partition);
+        assertEquals(copy.getId(), 7L);
+    }
+
+    @Test
+    public void testSharedSchemaIsSerializedOnce() {
+        Schema schema = schema("sqoop_kryo_shared_column");
+        List<IntermediateDataFormat<?>> rows = new ArrayList<IntermediateDataFormat<?>>();
+        for (long i = 0; i < 10; i++) {
+            CSVIntermediateDataFormat row = new CSVIntermediateDataFormat(schema);
+            row.setObjectData(new Object[] { i, "row " + i });
+            rows.add(row);
+        }
+
+        ByteBuffer buffer = serializer.serialize(rows, ClassTag$.MODULE$.<List<IntermediateDataFormat<?>>>apply(List.class));
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        String serialized = new String(bytes, UTF8);
+        assertEquals(serialized.split("sqoop_kryo_shared_column", -1).length - 1, 1);
+
+        List<IntermediateDataFormat<?>> copy = serializer.deserialize(buffer,
+            ClassTag$.MODULE$.<List<IntermediateDataFormat<?>>>apply(List.class));
+        assertEquals(copy.size(), rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(copy.get(i).getCSVTextData(), rows.get(i).getCSVTextData());
+            // all rows still share one schema instance after deserialization
+            assertEquals(copy.get(i).getSchema(), schema);
+            assertSame(copy.get(i).getSchema(), copy.get(0).getSchema());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T roundTrip(T object) {
+        ClassTag<T> tag = ClassTag$.MODULE$.apply(object.getClass());
+        return serializer.deserialize(serializer.serialize(object, tag), tag);
+    }
+
+    private static Schema schema(String columnName) {
+        return new Schema("kryo")
+            .addColumn(new FixedPoint("id", 8L, true))
+            .addColumn(new Text(columnName));
+    }
+
+    public static class TestPartition extends Partition {
+
+        private long id;
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        @Override
+        public void readFields(DataInput in) throws IOException {
+            id = in.readLong();
+        }
+
+        @Override
+        public void write(DataOutput out) throws IOException {
+            out.writeLong(id);
+        }
+
+        @Override
+        public String toString() {
+            return "TestPartition{id=" + id + "}";
+        }
+    }
+}
@@ -36,6 +36,16 @@
  */
 public abstract class SqoopMiniCluster {
 
+  /**
+   * System property selecting submission and execution engines of the mini
+   * cluster, one of "mapreduce" (default), "spark" or "local".
+   */
+  public static final String ENGINE_PROPERTY = "sqoop.minicluster.engine";
+
+  public static final String ENGINE_MAPREDUCE = "mapreduce";
+  public static final String ENGINE_SPARK = "spark";
+  public static final String ENGINE_LOCAL = "local";
+
   /**
    * Hadoop configuration.
    *
@@ -178,11 +188,28 @@ protected Map<String, String> getRepositoryConfiguration() throws Exception {
     return RepositoryProviderFactory.getRepositoryProperties();
   }
 
+  /**
+   * Return name of the engine that should be used by this mini cluster.
+   *
+   * @return Value of ENGINE_PROPERTY system property, mapreduce by default
+   */
+  public String getEngine() {
+    return System.getProperty(ENGINE_PROPERTY, ENGINE_MAPREDUCE);
+  }
+
   protected Map<String, String> getSubmissionEngineConfiguration() {
     Map<String, String> properties = new HashMap<String, String>();
 
-    properties.put("org.apache.sqoop.submission.engine", "org.apache.sqoop.submission.mapreduce.MapreduceSubmissionEngine");
-    properties.put("org.apache.sqoop.submission.engine.mapreduce.configuration.directory", getConfigurationPath());
+    String engine = getEngine();
+    if (ENGINE_SPARK.equals(engine)) {
+      properties.put("org.apache.sqoop.submission.engine", "org.apache.sqoop.submission.spark.SparkSubmissionEngine");
+      properties.put("org.apache.sqoop.submission.engine.spark.configuration.directory", getConfigurationPath());
+    } else if (ENGINE_LOCAL.equals(engine)) {
+      properties.put("org.apache.sqoop.submission.engine", "org.apache.sqoop.submission.local.LocalSubmissionEngine");
+    } else {
+      properties.put("org.apache.sqoop.submission.engine", "org.apache.sqoop.submission.mapreduce.MapreduceSubmissionEngine");
+      properties.put("org.apache.sqoop.submission.engine.mapreduce.configuration.directory", getConfigurationPath());
+    }
 
     return properties;
   }
@@ -190,7 +217,14 @@ protected Map<String, String> getSubmissionEngineConfiguration() {
   protected Map<String, String> getExecutionEngineConfiguration() {
     Map<String, String> properties = new HashMap<String, String>();
 
-    properties.put("org.apache.sqoop.execution.engine", "org.apache.sqoop.execution.mapreduce.MapreduceExecutionEngine");
+    String engine = getEngine();
+    if (ENGINE_SPARK.equals(engine)) {
+      properties.put("org.apache.sqoop.execution.engine", "org.apache.sqoop.execution.spark.SparkExecutionEngine");
+    } else if (ENGINE_LOCAL.equals(engine)) {
+      properties.put("org.apache.sqoop.execution.engine", "org.apache.sqoop.execution.local.LocalExecutionEngine");
+    } else {
+      properties.put("org.apache.sqoop.execution.engine", "org.apache.sqoop.execution.mapreduce.MapreduceExecutionEngine");
+    }
 
     return properties;
   }
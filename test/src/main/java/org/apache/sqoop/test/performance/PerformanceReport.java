@@ -0,0 +1,179 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.test.performance;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.log4j.Logger;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Collects results of performance scenarios into a properties file and
+ * compares them with a stored baseline.
+ *
+ * Baseline is a properties file in the same format as the report, so a
+ * report generated on a reference machine can be used as baseline directly.
+ * Only metrics that are present in the baseline are compared. Throughput is
+ * considered regressed if it drops below baseline minus the tolerance, peak
+ * heap if it grows above baseline plus the tolerance. GC time is too noisy
+ * to be compared and is only reported. Throughput depends on the number of
+ * transferred rows, so scenarios with different number of rows than stored
+ * in the baseline are not compared.
+ */
+public class PerformanceReport {
+  private static final Logger LOG = Logger.getLogger(PerformanceReport.class);
+
+  /**
+   * Path to the baseline file, classpath resource BASELINE_RESOURCE is used if not set.
+   */
+  public static final String BASELINE_PROPERTY = "sqoop.performance.baseline";
+
+  public static final String BASELINE_RESOURCE = "performance-baseline.properties";
+
+  /**
+   * Path where the report will be written.
+   */
+  public static final String REPORT_PROPERTY = "sqoop.performance.report";
+
+  /**
+   * Allowed relative difference from the baseline, 0.25 by default.
+   */
+  public static final String TOLERANCE_PROPERTY = "sqoop.performance.tolerance";
+
+  public static final double DEFAULT_TOLERANCE = 0.25;
+
+  private static PerformanceReport instance;
+
+  private final File reportFile;
+
+  private final Properties baseline;
+
+  private final double tolerance;
+
+  private final Map<String, String> results = new TreeMap<String, String>();
+
+  /**
+   * Return report shared by all tests in the JVM.
+   */
+  public static synchronized PerformanceReport getInstance() {
+    if (instance == null) {
+      String defaultReport = System.getProperty("sqoop.integration.tmpdir", System.getProperty("java.io.tmpdir", "/tmp"))
+          + "/performance-report.properties";
+      instance = new PerformanceReport(
+          new File(System.getProperty(REPORT_PROPERTY, defaultReport)),
+          loadBaseline(System.getProperty(BASELINE_PROPERTY)),
+          Double.parseDouble(System.getProperty(TOLERANCE_PROPERTY, Double.toString(DEFAULT_TOLERANCE)))
+      );
+    }
+    return instance;
+  }
+
+  public PerformanceReport(File reportFile, Properties baseline, double tolerance) {
+    this.reportFile = reportFile;
+    this.baseline = baseline;
+    this.tolerance = tolerance;
+  }
+
+  /**
+   * Add result to the report and rewrite the report file, so that results of
+   * already finished scenarios are available even if the run is interrupted.
+   *
+   * @param result Measured scenario
+   */
+  public synchronized void record(PerformanceResult result) throws IOException {
+    LOG.info("Performance result: " + result);
+    result.store(results);
+
+    List<String> lines = new LinkedList<String>();
+    for (Map.Entry<String, String> entry : results.entrySet()) {
+      lines.add(entry.getKey() + "=" + entry.getValue());
+    }
+    FileUtils.writeLines(reportFile, lines);
+  }
+
+  /**
+   * Compare result with the baseline.
+   *
+   * @param result Measured scenario
+   * @return Description of all regressions, empty list if there are none
+   */
+  public List<String> compare(PerformanceResult result) {
+    List<String> regressions = new LinkedList<String>();
+    Long expectedRows = getBaseline(result.key(PerformanceResult.ROWS));
+    if (expectedRows != null && expectedRows != result.getRows()) {
+      LOG.warn("Scenario " + result.getScenario() + " transferred " + result.getRows()
+          + " rows, baseline is for " + expectedRows + " rows, results won't be compared");
+      return regressions;
+    }
+    checkLowerBound(regressions, result, PerformanceResult.ROWS_PER_SECOND, result.getRowsPerSecond());
+    checkLowerBound(regressions, result, PerformanceResult.BYTES_PER_SECOND, result.getBytesPerSecond());
+    checkUpperBound(regressions, result, PerformanceResult.PEAK_HEAP_BYTES, result.getPeakHeapBytes());
+    return regressions;
+  }
+
+  private void checkLowerBound(List<String> regressions, PerformanceResult result, String metric, long value) {
+    Long expected = getBaseline(result.key(metric));
+    if (expected != null && value < expected * (1 - tolerance)) {
+      regressions.add(result.key(metric) + " is " + value + ", baseline is " + expected);
+    }
+  }
+
+  private void checkUpperBound(List<String> regressions, PerformanceResult result, String metric, long value) {
+    Long expected = getBaseline(result.key(metric));
+    if (expected != null && value > expected * (1 + tolerance)) {
+      regressions.add(result.key(metric) + " is " + value + ", baseline is " + expected);
+    }
+  }
+
+  private Long getBaseline(String key) {
+    String value = baseline.getProperty(key);
+    return value == null ? null : Long.valueOf(value.trim());
+  }
+
+  private static Properties loadBaseline(String path) {
+    Properties properties = new Properties();
+    InputStream stream = null;
+    try {
+      if (path != null) {
+        stream = new FileInputStream(path);
+      } else {
+        stream = PerformanceReport.class.getClassLoader().getResourceAsStream(BASELINE_RESOURCE);
+      }
+
+      if (stream == null) {
+        LOG.warn("Performance baseline not found, results won't be compared");
+      } else {
+        properties.load(stream);
+      }
+    } catch (IOException e) {
+      throw new RuntimeException("Can't load performance baseline " + path, e);
+    } finally {
+      IOUtils.closeQuietly(stream);
+    }
+    return properties;
+  }
+}
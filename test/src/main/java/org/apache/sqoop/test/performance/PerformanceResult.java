@@ -0,0 +1,117 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.test.performance;
+
+import java.util.Map;
+
+/**
+ * Measurements of a single performance scenario.
+ */
+public class PerformanceResult {
+
+  public static final String ROWS = "rows";
+  public static final String BYTES = "bytes";
+  public static final String MILLIS = "millis";
+  public static final String ROWS_PER_SECOND = "rowsPerSecond";
+  public static final String BYTES_PER_SECOND = "bytesPerSecond";
+  public static final String GC_MILLIS = "gcMillis";
+  public static final String PEAK_HEAP_BYTES = "peakHeapBytes";
+
+  private final String scenario;
+  private final long rows;
+  private final long bytes;
+  private final long millis;
+  private final long gcMillis;
+  private final long peakHeapBytes;
+
+  public PerformanceResult(String scenario, long rows, long bytes, long millis, long gcMillis, long peakHeapBytes) {
+    this.scenario = scenario;
+    this.rows = rows;
+    this.bytes = bytes;
+    // Guard against division by zero for really fast runs
+    this.millis = Math.max(millis, 1);
+    this.gcMillis = gcMillis;
+    this.peakHeapBytes = peakHeapBytes;
+  }
+
+  public String getScenario() {
+    return scenario;
+  }
+
+  public long getRows() {
+    return rows;
+  }
+
+  public long getBytes() {
+    return bytes;
+  }
+
+  public long getMillis() {
+    return millis;
+  }
+
+  public long getGcMillis() {
+    return gcMillis;
+  }
+
+  public long getPeakHeapBytes() {
+    return peakHeapBytes;
+  }
+
+  public long getRowsPerSecond() {
+    return rows * 1000 / millis;
+  }
+
+  public long getBytesPerSecond() {
+    return bytes * 1000 / millis;
+  }
+
+  /**
+   * Store all measured values into given map, keys are prefixed with the
+   * scenario name.
+   *
+   * @param output Map that should be filled
+   */
+  public void store(Map<String, String> output) {
+    output.put(key(ROWS), Long.toString(rows));
+    output.put(key(BYTES), Long.toString(bytes));
+    output.put(key(MILLIS), Long.toString(millis));
+    output.put(key(ROWS_PER_SECOND), Long.toString(getRowsPerSecond()));
+    output.put(key(BYTES_PER_SECOND), Long.toString(getBytesPerSecond()));
+    output.put(key(GC_MILLIS), Long.toString(gcMillis));
+    output.put(key(PEAK_HEAP_BYTES), Long.toString(peakHeapBytes));
+  }
+
+  public String key(String metric) {
+    return scenario + "." + metric;
+  }
+
+  @Override
+  public String toString() {
+    return "PerformanceResult{" +
+      "scenario='" + scenario + '\'' +
+      ", rows=" + rows +
+      ", bytes=" + bytes +
+      ", millis=" + millis +
+      ", rowsPerSecond=" + getRowsPerSecond() +
+      ", bytesPerSecond=" + getBytesPerSecond() +
+      ", gcMillis=" + gcMillis +
+      ", peakHeapBytes=" + peakHeapBytes +
+      '}';
+  }
+}
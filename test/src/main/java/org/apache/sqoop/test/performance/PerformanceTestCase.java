@@ -0,0 +1,284 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.test.performance;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.log4j.Logger;
+import org.apache.sqoop.connector.hdfs.configuration.ToFormat;
+import org.apache.sqoop.model.MConfigList;
+import org.apache.sqoop.model.MJob;
+import org.apache.sqoop.model.MLink;
+import org.apache.sqoop.model.MSubmission;
+import org.apache.sqoop.submission.SubmissionStatus;
+import org.apache.sqoop.submission.counter.Counter;
+import org.apache.sqoop.submission.counter.CounterGroup;
+import org.apache.sqoop.submission.counter.Counters;
+import org.apache.sqoop.submission.counter.SqoopCounters;
+import org.apache.sqoop.test.infrastructure.SqoopTestCase;
+import org.apache.sqoop.test.infrastructure.providers.HadoopInfrastructureProvider;
+import org.apache.sqoop.test.infrastructure.providers.SqoopInfrastructureProvider;
+import org.apache.sqoop.test.utils.HdfsUtils;
+import org.testng.annotations.AfterMethod;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+/**
+ * Base class for throughput tests.
+ *
+ * Sqoop server, Hadoop and the execution engine run inside the test JVM,
+ * so GC time and peak heap are taken from the JVM of the test itself.
+ */
+public class PerformanceTestCase extends SqoopTestCase {
+  private static final Logger LOG = Logger.getLogger(PerformanceTestCase.class);
+
+  /**
+   * Number of rows transferred by each scenario.
+   */
+  public static final String ROWS_PROPERTY = "sqoop.performance.rows";
+
+  public static final long DEFAULT_ROWS = 100000;
+
+  /**
+   * Column types of the generated data, they can be stored in any database.
+   */
+  public static final String GENERATED_COLUMNS = "FIXED_POINT,FLOATING_POINT,TEXT";
+
+  public static final int GENERATED_TEXT_LENGTH = 64;
+
+  public static final long GENERATED_SEED = 42;
+
+  /**
+   * Derby columns matching GENERATED_COLUMNS.
+   */
+  public static final String[] TABLE_COLUMNS = new String[] {
+    "c0_fixed_point", "bigint",
+    "c1_floating_point", "double",
+    "c2_text", "varchar(" + GENERATED_TEXT_LENGTH + ")",
+  };
+
+  public static final String PARTITION_COLUMN = "c0_fixed_point";
+
+  /**
+   * Number of extractors that every scenario is measured with.
+   */
+  public static final Object[] EXTRACTORS = new Object[] {1, 4, 16};
+
+  /**
+   * Number of extractors used when preparing input data.
+   */
+  public static final int FIXTURE_EXTRACTORS = 4;
+
+  public long getRows() {
+    return Long.getLong(ROWS_PROPERTY, DEFAULT_ROWS);
+  }
+
+  /**
+   * Return HDFS directory for given name and number of extractors, any
+   * content left there by previous runs is removed.
+   *
+   * @param name
+   * @param extractors
+   * @return Path to the directory
+   * @throws IOException
+   */
+  public String prepareHdfsDirectory(String name, int extractors) throws IOException {
+    String path = HdfsUtils.joinPathFragments(getMapreduceDirectory(), name + "-" + extractors);
+    FileSystem fs = FileSystem.get(getInfrastructureProvider(HadoopInfrastructureProvider.class).getHadoopConfiguration());
+    fs.delete(new Path(path), true);
+    return path;
+  }
+
+  /**
+   * Create table for this test and fill it with generated rows.
+   *
+   * @throws Exception
+   */
+  public void createAndLoadGeneratedTable() throws Exception {
+    createTable(null, TABLE_COLUMNS);
+
+    MLink rdbmsLink = getClient().createLink("generic-jdbc-connector");
+    fillRdbmsLinkConfig(rdbmsLink);
+    saveLink(rdbmsLink);
+
+    MJob job = getClient().createJob(createGeneratorLink().getName(), rdbmsLink.getName());
+    fillGeneratorFromConfig(job);
+    fillRdbmsToConfig(job);
+    setExtractors(job, FIXTURE_EXTRACTORS);
+    saveJob(job);
+
+    executeJob(job.getName());
+    assertEquals(rowCount(), getRows());
+  }
+
+  /**
+   * Write generated rows as text files into given HDFS directory.
+   *
+   * @param directory
+   * @throws Exception
+   */
+  public void loadGeneratedFiles(String directory) throws Exception {
+    MLink hdfsLink = getClient().createLink("hdfs-connector");
+    fillHdfsLinkConfig(hdfsLink);
+    saveLink(hdfsLink);
+
+    MJob job = getClient().createJob(createGeneratorLink().getName(), hdfsLink.getName());
+    fillGeneratorFromConfig(job);
+    fillHdfsToConfig(job, ToFormat.TEXT_FILE);
+    job.getToJobConfig().getStringInput("toJobConfig.outputDirectory").setValue(directory);
+    setExtractors(job, FIXTURE_EXTRACTORS);
+    saveJob(job);
+
+    executeJob(job.getName());
+  }
+
+  /**
+   * Create and save link of the generator connector.
+   *
+   * @return Saved link
+   */
+  public MLink createGeneratorLink() {
+    MLink link = getClient().createLink("generator-connector");
+    saveLink(link);
+    return link;
+  }
+
+  /**
+   * Fill FROM configuration of the generator connector.
+   *
+   * @param job
+   */
+  public void fillGeneratorFromConfig(MJob job) {
+    MConfigList fromConfig = job.getFromJobConfig();
+    fromConfig.getLongInput("fromJobConfig.rows").setValue(getRows());
+    fromConfig.getStringInput("fromJobConfig.columns").setValue(GENERATED_COLUMNS);
+    fromConfig.getIntegerInput("fromJobConfig.textLength").setValue(GENERATED_TEXT_LENGTH);
+    fromConfig.getLongInput("fromJobConfig.seed").setValue(GENERATED_SEED);
+  }
+
+  /**
+   * Set number of extractors of given job.
+   *
+   * @param job
+   * @param extractors
+   */
+  public void setExtractors(MJob job, int extractors) {
+    job.getDriverConfig().getIntegerInput("throttlingConfig.numExtractors").setValue(extractors);
+  }
+
+  /**
+   * Run given job, record its throughput into the performance report and
+   * fail if it's worse than the baseline.
+   *
+   * @param transfer Name of the transfer, e.g. rdbms-to-hdfs
+   * @param job Saved job that should be measured
+   * @param extractors Number of extractors that the job is using
+   * @return Measured result
+   * @throws Exception
+   */
+  public PerformanceResult measureJob(String transfer, MJob job, int extractors) throws Exception {
+    String scenario = getInfrastructureProvider(SqoopInfrastructureProvider.class).getInstance().getEngine()
+        + "." + transfer + "." + extractors;
+
+    // Start with clean heap, so that garbage of previous scenarios is not accounted
+    System.gc();
+    long gcBefore = getGcMillis();
+    resetPeakHeap();
+    long start = System.currentTimeMillis();
+
+    MSubmission submission = getClient().startJob(job.getName(), DEFAULT_SUBMISSION_CALLBACKS, 100);
+
+    long millis = System.currentTimeMillis() - start;
+    long gcMillis = getGcMillis() - gcBefore;
+    long peakHeap = getPeakHeap();
+
+    if (submission.getStatus().isFailure()) {
+      LOG.error("Submission has failed: " + submission.getError().getErrorSummary());
+      LOG.error("Corresponding error details: " + submission.getError().getErrorDetails());
+    }
+    assertEquals(submission.getStatus(), SubmissionStatus.SUCCEEDED, "Submission finished with error: " + submission.getError().getErrorSummary());
+
+    // Engines that are not publishing sqoop counters are measured by the number of requested rows
+    long rows = getCounter(submission.getCounters(), SqoopCounters.ROWS_WRITTEN, getRows());
+    long bytes = getCounter(submission.getCounters(), SqoopCounters.BYTES_TRANSFERRED, 0);
+
+    PerformanceResult result = new PerformanceResult(scenario, rows, bytes, millis, gcMillis, peakHeap);
+    PerformanceReport report = PerformanceReport.getInstance();
+    report.record(result);
+
+    List<String> regressions = report.compare(result);
+    if (!regressions.isEmpty()) {
+      fail("Performance regression in scenario " + scenario + ": " + StringUtils.join(regressions, "; "));
+    }
+    return result;
+  }
+
+  @AfterMethod
+  public void clearPerformanceData() {
+    clearJob();
+    clearLink();
+  }
+
+  private static long getCounter(Counters counters, SqoopCounters name, long defaultValue) {
+    if (counters == null) {
+      return defaultValue;
+    }
+    CounterGroup group = counters.getCounterGroup(SqoopCounters.class.getName());
+    if (group == null) {
+      return defaultValue;
+    }
+    Counter counter = group.getCounter(name.name());
+    return counter == null ? defaultValue : counter.getValue();
+  }
+
+  private static long getGcMillis() {
+    long millis = 0;
+    for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+      // Collectors that don't support it are returning -1
+      millis += Math.max(bean.getCollectionTime(), 0);
+    }
+    return millis;
+  }
+
+  private static void resetPeakHeap() {
+    for (MemoryPoolMXBean bean : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (bean.getType() == MemoryType.HEAP) {
+        bean.resetPeakUsage();
+      }
+    }
+  }
+
+  private static long getPeakHeap() {
+    long bytes = 0;
+    for (MemoryPoolMXBean bean : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (bean.getType() == MemoryType.HEAP && bean.getPeakUsage() != null) {
+        bytes += bean.getPeakUsage().getUsed();
+      }
+    }
+    return bytes;
+  }
+}
@@ -0,0 +1,62 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.integration.performance;
+
+import com.google.common.collect.Iterables;
+import org.apache.sqoop.model.MJob;
+import org.apache.sqoop.model.MLink;
+import org.apache.sqoop.test.infrastructure.Infrastructure;
+import org.apache.sqoop.test.infrastructure.providers.HadoopInfrastructureProvider;
+import org.apache.sqoop.test.infrastructure.providers.SqoopInfrastructureProvider;
+import org.apache.sqoop.test.performance.PerformanceTestCase;
+import org.apache.sqoop.test.utils.ParametrizedUtils;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Factory;
+import org.testng.annotations.Test;
+
+/**
+ * Throughput of the data path itself, generated rows are thrown away by the sink.
+ */
+@Infrastructure(dependencies = {HadoopInfrastructureProvider.class, SqoopInfrastructureProvider.class})
+public class FromGeneratorToBlackholeThroughputTest extends PerformanceTestCase {
+
+  private int extractors;
+
+  @Factory(dataProvider="generator-to-blackhole-throughput-test")
+  public FromGeneratorToBlackholeThroughputTest(int extractors) {
+    this.extractors = extractors;
+  }
+
+  @DataProvider(name="generator-to-blackhole-throughput-test")
+  public static Object[][] data() {
+    return Iterables.toArray(ParametrizedUtils.toArrayOfArrays(EXTRACTORS), Object[].class);
+  }
+
+  @Test
+  public void testThroughput() throws Exception {
+    MLink blackholeLink = getClient().createLink("blackhole-connector");
+    saveLink(blackholeLink);
+
+    MJob job = getClient().createJob(createGeneratorLink().getName(), blackholeLink.getName());
+    fillGeneratorFromConfig(job);
+    setExtractors(job, extractors);
+    saveJob(job);
+
+    measureJob("generator-to-blackhole", job, extractors);
+  }
+}
@@ -0,0 +1,76 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.integration.performance;
+
+import static org.testng.Assert.assertEquals;
+
+import com.google.common.collect.Iterables;
+import org.apache.sqoop.model.MJob;
+import org.apache.sqoop.model.MLink;
+import org.apache.sqoop.test.infrastructure.Infrastructure;
+import org.apache.sqoop.test.infrastructure.providers.DatabaseInfrastructureProvider;
+import org.apache.sqoop.test.infrastructure.providers.HadoopInfrastructureProvider;
+import org.apache.sqoop.test.infrastructure.providers.SqoopInfrastructureProvider;
+import org.apache.sqoop.test.performance.PerformanceTestCase;
+import org.apache.sqoop.test.utils.ParametrizedUtils;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Factory;
+import org.testng.annotations.Test;
+
+/**
+ * Throughput of transfer from text files on HDFS to database table.
+ */
+@Infrastructure(dependencies = {HadoopInfrastructureProvider.class, SqoopInfrastructureProvider.class, DatabaseInfrastructureProvider.class})
+public class FromHDFSToRDBMSThroughputTest extends PerformanceTestCase {
+
+  private int extractors;
+
+  @Factory(dataProvider="hdfs-to-rdbms-throughput-test")
+  public FromHDFSToRDBMSThroughputTest(int extractors) {
+    this.extractors = extractors;
+  }
+
+  @DataProvider(name="hdfs-to-rdbms-throughput-test")
+  public static Object[][] data() {
+    return Iterables.toArray(ParametrizedUtils.toArrayOfArrays(EXTRACTORS), Object[].class);
+  }
+
+  @Test
+  public void testThroughput() throws Exception {
+    String input = prepareHdfsDirectory("input", extractors);
+    loadGeneratedFiles(input);
+    createTable(null, TABLE_COLUMNS);
+
+    MLink hdfsLink = getClient().createLink("hdfs-connector");
+    fillHdfsLinkConfig(hdfsLink);
+    saveLink(hdfsLink);
+
+    MLink rdbmsLink = getClient().createLink("generic-jdbc-connector");
+    fillRdbmsLinkConfig(rdbmsLink);
+    saveLink(rdbmsLink);
+
+    MJob job = getClient().createJob(hdfsLink.getName(), rdbmsLink.getName());
+    job.getFromJobConfig().getStringInput("fromJobConfig.inputDirectory").setValue(input);
+    fillRdbmsToConfig(job);
+    setExtractors(job, extractors);
+    saveJob(job);
+
+    measureJob("hdfs-to-rdbms", job, extractors);
+    assertEquals(rowCount(), getRows());
+  }
+}